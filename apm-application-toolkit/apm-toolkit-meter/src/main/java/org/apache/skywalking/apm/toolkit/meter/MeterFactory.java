@@ -64,4 +64,18 @@ public class MeterFactory {
         return new Histogram.Builder(meterId);
     }
 
+    /**
+     * Create a percentile builder by name
+     */
+    public static Percentile.Builder percentile(String name) {
+        return new Percentile.Builder(name);
+    }
+
+    /**
+     * Create a percentile builder by meterId
+     */
+    public static Percentile.Builder percentile(MeterId meterId) {
+        return new Percentile.Builder(meterId);
+    }
+
 }
@@ -82,7 +82,8 @@ public class MeterId {
     public enum MeterType {
         COUNTER,
         GAUGE,
-        HISTOGRAM
+        HISTOGRAM,
+        PERCENTILE
     }
 
     /**
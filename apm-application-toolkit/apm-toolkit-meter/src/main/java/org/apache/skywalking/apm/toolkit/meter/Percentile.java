@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.toolkit.meter;
+
+/**
+ * Percentile records values into a relative-error sketch, so any percentile of them could be calculated within the
+ * relative accuracy, without setting the bucket steps like {@link Histogram}. The memory is bounded by the max count of
+ * buckets, and it is reported as a histogram of all the buckets, so keep it in the tens.
+ *
+ * The source code of this class doesn't include the implementation, all logic are injected from its activation.
+ */
+public class Percentile extends BaseMeter {
+
+    protected Percentile(MeterId meterId, double relativeAccuracy, double minValue, int maxBuckets) {
+        super(meterId);
+    }
+
+    /**
+     * Add value into the sketch
+     */
+    public void addValue(double value) {
+    }
+
+    /**
+     * Get the value at the percentile, between 0 and 100
+     */
+    public double getValueAtPercentile(double percentile) {
+        return 0;
+    }
+
+    public static class Builder extends BaseBuilder<Builder, Percentile> {
+        private double relativeAccuracy = 0.1;
+        private double minValue = 1;
+        private int maxBuckets = 64;
+
+        public Builder(String name) {
+            super(name);
+        }
+
+        public Builder(MeterId meterId) {
+            super(meterId);
+        }
+
+        /**
+         * Set the max relative error of the percentiles, default is 0.1
+         */
+        public Builder relativeAccuracy(double relativeAccuracy) {
+            this.relativeAccuracy = relativeAccuracy;
+            return this;
+        }
+
+        /**
+         * Set the min positive value to be tracked, default is 1. The smaller values are counted in the underflow
+         * bucket.
+         */
+        public Builder minValue(double minValue) {
+            this.minValue = minValue;
+            return this;
+        }
+
+        /**
+         * Set the max count of buckets, default is 64, which covers 1 to about 4 * 10^5 with the default relative
+         * accuracy
+         */
+        public Builder maxBuckets(int maxBuckets) {
+            this.maxBuckets = maxBuckets;
+            return this;
+        }
+
+        @Override
+        protected MeterId.MeterType getType() {
+            return MeterId.MeterType.PERCENTILE;
+        }
+
+        @Override
+        protected Percentile create() {
+            if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+                throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+            }
+            if (!(minValue > 0)) {
+                throw new IllegalArgumentException("Min value must be positive");
+            }
+            if (maxBuckets <= 0) {
+                throw new IllegalArgumentException("Max buckets must be positive");
+            }
+            return new Percentile(meterId, relativeAccuracy, minValue, maxBuckets);
+        }
+    }
+
+}
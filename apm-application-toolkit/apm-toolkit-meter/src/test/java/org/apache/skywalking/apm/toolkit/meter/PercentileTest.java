@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.toolkit.meter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PercentileTest {
+
+    @Test
+    public void testBuild() {
+        Assert.assertNotNull(MeterFactory.percentile("test_percentile1").relativeAccuracy(0.02).minValue(0.1)
+                                         .maxBuckets(512).tag("k1", "v1").build());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBuildWithIllegalAccuracy() {
+        MeterFactory.percentile("test_percentile2").relativeAccuracy(1).build();
+    }
+
+}
@@ -20,11 +20,13 @@ package org.apache.skywalking.apm.commons.datacarrier;
 
 import java.util.Properties;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferType;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumeDriver;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.ConsumerPool;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IDriver;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.WaitStrategyType;
 import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
 import org.apache.skywalking.apm.commons.datacarrier.partition.SimpleRollingPartitioner;
 
@@ -49,10 +51,22 @@ public class DataCarrier<T> {
     }
 
     public DataCarrier(String name, String envPrefix, int channelSize, int bufferSize, BufferStrategy strategy) {
+        this(name, envPrefix, channelSize, bufferSize, strategy, BufferType.DEFAULT);
+    }
+
+    /**
+     * @param bufferType the implementation of each channel, see {@link BufferType}.
+     */
+    public DataCarrier(String name,
+                       String envPrefix,
+                       int channelSize,
+                       int bufferSize,
+                       BufferStrategy strategy,
+                       BufferType bufferType) {
         this.name = name;
         bufferSize = EnvUtil.getInt(envPrefix + "_BUFFER_SIZE", bufferSize);
         channelSize = EnvUtil.getInt(envPrefix + "_CHANNEL_SIZE", channelSize);
-        channels = new Channels<>(channelSize, bufferSize, new SimpleRollingPartitioner<T>(), strategy);
+        channels = new Channels<>(channelSize, bufferSize, new SimpleRollingPartitioner<T>(), strategy, bufferType);
     }
 
     public DataCarrier(int channelSize, int bufferSize, BufferStrategy strategy) {
@@ -123,10 +137,22 @@ public class DataCarrier<T> {
      * @param num      number of consumer threads
      */
     public DataCarrier consume(IConsumer<T> consumer, int num, long consumeCycle) {
+        return this.consume(consumer, num, consumeCycle, WaitStrategyType.SLEEP);
+    }
+
+    /**
+     * set consumeDriver to this Carrier. consumer begin to run when {@link DataCarrier#produce} begin to work.
+     *
+     * @param consumer         single instance of consumer, all consumer threads will all use this instance.
+     * @param num              number of consumer threads
+     * @param consumeCycle     the max millis of one wait, when there is nothing to consume.
+     * @param waitStrategyType how consumer threads wait, when there is nothing to consume.
+     */
+    public DataCarrier consume(IConsumer<T> consumer, int num, long consumeCycle, WaitStrategyType waitStrategyType) {
         if (driver != null) {
             driver.close(channels);
         }
-        driver = new ConsumeDriver<T>(this.name, this.channels, consumer, num, consumeCycle);
+        driver = new ConsumeDriver<T>(this.name, this.channels, consumer, num, consumeCycle, waitStrategyType);
         driver.begin(channels);
         return this;
     }
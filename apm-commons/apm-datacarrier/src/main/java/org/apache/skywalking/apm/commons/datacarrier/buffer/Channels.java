@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.apm.commons.datacarrier.buffer;
 
+import org.apache.skywalking.apm.commons.datacarrier.consumer.WaitStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
 
 /**
@@ -26,16 +27,28 @@ import org.apache.skywalking.apm.commons.datacarrier.partition.IDataPartitioner;
  */
 public class Channels<T> {
     private final QueueBuffer<T>[] bufferChannels;
+    private final WaitStrategy[] waitStrategies;
     private IDataPartitioner<T> dataPartitioner;
     private final BufferStrategy strategy;
     private final long size;
 
     public Channels(int channelSize, int bufferSize, IDataPartitioner<T> partitioner, BufferStrategy strategy) {
+        this(channelSize, bufferSize, partitioner, strategy, BufferType.DEFAULT);
+    }
+
+    public Channels(int channelSize,
+                    int bufferSize,
+                    IDataPartitioner<T> partitioner,
+                    BufferStrategy strategy,
+                    BufferType bufferType) {
         this.dataPartitioner = partitioner;
         this.strategy = strategy;
         bufferChannels = new QueueBuffer[channelSize];
+        waitStrategies = new WaitStrategy[channelSize];
         for (int i = 0; i < channelSize; i++) {
-            if (BufferStrategy.BLOCKING.equals(strategy)) {
+            if (BufferType.MPSC.equals(bufferType)) {
+                bufferChannels[i] = new MpscArrayBuffer<>(bufferSize, strategy);
+            } else if (BufferStrategy.BLOCKING.equals(strategy)) {
                 bufferChannels[i] = new ArrayBlockingQueueBuffer<>(bufferSize, strategy);
             } else {
                 bufferChannels[i] = new Buffer<>(bufferSize, strategy);
@@ -56,6 +69,10 @@ public class Channels<T> {
         }
         for (; retryCountDown > 0; retryCountDown--) {
             if (bufferChannels[index].save(data)) {
+                WaitStrategy waitStrategy = waitStrategies[index];
+                if (waitStrategy != null) {
+                    waitStrategy.signal();
+                }
                 return true;
             }
         }
@@ -76,6 +93,14 @@ public class Channels<T> {
         }
     }
 
+    /**
+     * Set the wait strategy of the consumer thread of the given channel, which is signaled after data saved into the
+     * channel.
+     */
+    public void setWaitStrategy(int index, WaitStrategy waitStrategy) {
+        this.waitStrategies[index] = waitStrategy;
+    }
+
     /**
      * get channelSize
      */
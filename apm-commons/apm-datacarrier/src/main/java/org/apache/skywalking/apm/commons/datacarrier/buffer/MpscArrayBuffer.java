@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free multi-producer/single-consumer ring queue.
+ * <p>
+ * Every slot carries a sequence number. A producer claims a position through a CAS on the padded producer cursor,
+ * writes the element, then publishes it by setting the slot sequence to {@code position + 1}. The consumer only reads
+ * slots whose sequence says they are published, and releases them for the next lap by setting the sequence to {@code
+ * position + capacity}. So {@link #obtain(List)} costs O(batch) rather than a scan of the whole array, and a full ring
+ * is detected exactly, instead of by hitting one occupied slot.
+ * <p>
+ * The capacity is the buffer size rounded up to the next power of 2.
+ */
+public class MpscArrayBuffer<T> implements QueueBuffer<T> {
+    /**
+     * The producer cursor lives in the middle of a 15 longs array, to keep it away from the cache lines of other
+     * fields.
+     */
+    private static final int CURSOR_OFFSET = 7;
+    private static final int MAX_SPIN_TIMES = 100;
+    private static final long PARK_NANOS = 100_000L;
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLongArray cursor;
+    private final AtomicBoolean draining;
+    private BufferStrategy strategy;
+    /**
+     * The next position to consume, only accessed by the thread holding {@link #draining}.
+     */
+    private long consumeIndex;
+
+    MpscArrayBuffer(int bufferSize, BufferStrategy strategy) {
+        this.capacity = roundToPowerOfTwo(bufferSize);
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.cursor = new AtomicLongArray(CURSOR_OFFSET * 2 + 1);
+        this.draining = new AtomicBoolean(false);
+        this.strategy = strategy;
+    }
+
+    @Override
+    public void setStrategy(BufferStrategy strategy) {
+        this.strategy = strategy;
+    }
+
+    @Override
+    public boolean save(T data) {
+        int idleTimes = 0;
+        long position = cursor.get(CURSOR_OFFSET);
+        while (true) {
+            int slot = (int) position & mask;
+            long gap = sequences.get(slot) - position;
+            if (gap == 0) {
+                if (cursor.compareAndSet(CURSOR_OFFSET, position, position + 1)) {
+                    elements.lazySet(slot, data);
+                    sequences.lazySet(slot, position + 1);
+                    return true;
+                }
+            } else if (gap < 0) {
+                // The slot still holds the element of the last lap, the ring is full.
+                if (BufferStrategy.IF_POSSIBLE.equals(strategy) || Thread.currentThread().isInterrupted()) {
+                    return false;
+                }
+                idleTimes = idle(idleTimes);
+            }
+            position = cursor.get(CURSOR_OFFSET);
+        }
+    }
+
+    /**
+     * Move the published elements into the list, at most one lap of the ring per call. Concurrent callers don't wait
+     * for each other, the one losing the race returns without obtaining anything.
+     */
+    @Override
+    public void obtain(List<T> consumeList) {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long position = consumeIndex;
+            long end = position + capacity;
+            while (position < end) {
+                int slot = (int) position & mask;
+                if (sequences.get(slot) != position + 1) {
+                    break;
+                }
+                consumeList.add(elements.get(slot));
+                elements.lazySet(slot, null);
+                sequences.lazySet(slot, position + capacity);
+                position++;
+            }
+            consumeIndex = position;
+        } finally {
+            draining.set(false);
+        }
+    }
+
+    @Override
+    public int getBufferSize() {
+        return capacity;
+    }
+
+    private static int idle(int idleTimes) {
+        if (idleTimes < MAX_SPIN_TIMES) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        return idleTimes + 1;
+    }
+
+    private static int roundToPowerOfTwo(int bufferSize) {
+        if (bufferSize <= 1) {
+            return 1;
+        }
+        int highestOneBit = Integer.highestOneBit(bufferSize);
+        return highestOneBit == bufferSize ? bufferSize : highestOneBit << 1;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spin for the first empty rounds, then yield, then park for 1 microsecond, doubled on every further empty round, up to
+ * the consume cycle. A busy channel is polled again almost immediately, while an idle one costs a few wakeups per
+ * consume cycle.
+ */
+public class BackoffWaitStrategy implements WaitStrategy {
+    private static final int SPIN_ROUNDS = 10;
+    private static final int YIELD_ROUNDS = 20;
+
+    private final long maxParkNanos;
+
+    public BackoffWaitStrategy(long consumeCycle) {
+        this.maxParkNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(consumeCycle, 1));
+    }
+
+    @Override
+    public void waitFor(int idleRounds) {
+        if (idleRounds <= SPIN_ROUNDS) {
+            return;
+        }
+        if (idleRounds <= YIELD_ROUNDS) {
+            Thread.yield();
+            return;
+        }
+        int shift = Math.min(idleRounds - YIELD_ROUNDS - 1, 30);
+        LockSupport.parkNanos(Math.min(TimeUnit.MICROSECONDS.toNanos(1L << shift), maxParkNanos));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Park the consumer thread until a producer signals new data. The wait is still limited by the consume cycle, so
+ * {@link IConsumer#nothingToConsume()} keeps being triggered on an idle channel.
+ * <p>
+ * A producer marks {@link #signalled} after saving the data, then only takes the lock to wake the consumer when it is
+ * {@link #waiting}. The consumer marks {@link #waiting} before it checks {@link #signalled} and parks. As both are
+ * volatile, either the producer sees the consumer waiting, or the consumer sees the signal and consumes again rather
+ * than parking, so the data saved while the consumer is going to park are not delayed to the next consume cycle.
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+    private final long maxWaitNanos;
+    private final ReentrantLock lock;
+    private final Condition dataAvailable;
+    private volatile boolean waiting;
+    private final AtomicBoolean signalled;
+
+    public BlockingWaitStrategy(long consumeCycle) {
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(consumeCycle, 1));
+        this.lock = new ReentrantLock();
+        this.dataAvailable = lock.newCondition();
+        this.signalled = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void waitFor(int idleRounds) {
+        lock.lock();
+        try {
+            waiting = true;
+            if (!signalled.getAndSet(false)) {
+                dataAvailable.awaitNanos(maxWaitNanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            waiting = false;
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void signal() {
+        signalled.set(true);
+        if (!waiting) {
+            return;
+        }
+        lock.lock();
+        try {
+            dataAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
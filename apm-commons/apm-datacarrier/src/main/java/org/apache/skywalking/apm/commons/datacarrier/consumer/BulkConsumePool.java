@@ -35,10 +35,15 @@ public class BulkConsumePool implements ConsumerPool {
     private volatile boolean isStarted = false;
 
     public BulkConsumePool(String name, int size, long consumeCycle) {
+        this(name, size, consumeCycle, WaitStrategyType.SLEEP);
+    }
+
+    public BulkConsumePool(String name, int size, long consumeCycle, WaitStrategyType waitStrategyType) {
         size = EnvUtil.getInt(name + "_THREAD", size);
         allConsumers = new ArrayList<MultipleChannelsConsumer>(size);
         for (int i = 0; i < size; i++) {
-            MultipleChannelsConsumer multipleChannelsConsumer = new MultipleChannelsConsumer("DataCarrier." + name + ".BulkConsumePool." + i + ".Thread", consumeCycle);
+            MultipleChannelsConsumer multipleChannelsConsumer = new MultipleChannelsConsumer(
+                "DataCarrier." + name + ".BulkConsumePool." + i + ".Thread", waitStrategyType.create(consumeCycle));
             multipleChannelsConsumer.setDaemon(true);
             allConsumers.add(multipleChannelsConsumer);
         }
@@ -99,16 +104,22 @@ public class BulkConsumePool implements ConsumerPool {
         private String name;
         private int size;
         private long consumeCycle;
+        private WaitStrategyType waitStrategyType;
 
         public Creator(String name, int poolSize, long consumeCycle) {
+            this(name, poolSize, consumeCycle, WaitStrategyType.SLEEP);
+        }
+
+        public Creator(String name, int poolSize, long consumeCycle, WaitStrategyType waitStrategyType) {
             this.name = name;
             this.size = poolSize;
             this.consumeCycle = consumeCycle;
+            this.waitStrategyType = waitStrategyType;
         }
 
         @Override
         public ConsumerPool call() {
-            return new BulkConsumePool(name, size, consumeCycle);
+            return new BulkConsumePool(name, size, consumeCycle, waitStrategyType);
         }
 
         public static int recommendMaxSize() {
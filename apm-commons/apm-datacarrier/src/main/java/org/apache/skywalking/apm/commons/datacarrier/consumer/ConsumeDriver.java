@@ -48,11 +48,22 @@ public class ConsumeDriver<T> implements IDriver {
     }
 
     public ConsumeDriver(String name, Channels<T> channels, IConsumer<T> prototype, int num, long consumeCycle) {
+        this(name, channels, prototype, num, consumeCycle, WaitStrategyType.SLEEP);
+    }
+
+    public ConsumeDriver(String name,
+                         Channels<T> channels,
+                         IConsumer<T> prototype,
+                         int num,
+                         long consumeCycle,
+                         WaitStrategyType waitStrategyType) {
         this(channels, num);
         prototype.init(new Properties());
         for (int i = 0; i < num; i++) {
             consumerThreads[i] = new ConsumerThread(
-                "DataCarrier." + name + ".Consumer." + i + ".Thread", prototype, consumeCycle);
+                "DataCarrier." + name + ".Consumer." + i + ".Thread", prototype,
+                waitStrategyType.create(consumeCycle)
+            );
             consumerThreads[i].setDaemon(true);
         }
 
@@ -121,6 +132,7 @@ public class ConsumeDriver<T> implements IDriver {
         for (int channelIndex = 0; channelIndex < channelSize; channelIndex++) {
             int consumerIndex = channelIndex % consumerThreads.length;
             consumerThreads[consumerIndex].addDataSource(channels.getBuffer(channelIndex));
+            channels.setWaitStrategy(channelIndex, consumerThreads[consumerIndex].getWaitStrategy());
         }
 
     }
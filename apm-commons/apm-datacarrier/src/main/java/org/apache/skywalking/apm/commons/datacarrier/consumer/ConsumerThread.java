@@ -27,14 +27,18 @@ public class ConsumerThread<T> extends Thread {
     private volatile boolean running;
     private IConsumer<T> consumer;
     private List<DataSource> dataSources;
-    private long consumeCycle;
+    private final WaitStrategy waitStrategy;
 
     ConsumerThread(String threadName, IConsumer<T> consumer, long consumeCycle) {
+        this(threadName, consumer, new SleepWaitStrategy(consumeCycle));
+    }
+
+    ConsumerThread(String threadName, IConsumer<T> consumer, WaitStrategy waitStrategy) {
         super(threadName);
         this.consumer = consumer;
         running = false;
         dataSources = new ArrayList<DataSource>(1);
-        this.consumeCycle = consumeCycle;
+        this.waitStrategy = waitStrategy;
     }
 
     /**
@@ -49,12 +53,12 @@ public class ConsumerThread<T> extends Thread {
         running = true;
 
         final List<T> consumeList = new ArrayList<T>(1500);
+        int idleRounds = 0;
         while (running) {
-            if (!consume(consumeList)) {
-                try {
-                    Thread.sleep(consumeCycle);
-                } catch (InterruptedException e) {
-                }
+            if (consume(consumeList)) {
+                idleRounds = 0;
+            } else {
+                waitStrategy.waitFor(++idleRounds);
             }
         }
 
@@ -84,8 +88,13 @@ public class ConsumerThread<T> extends Thread {
         return false;
     }
 
+    WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
     void shutdown() {
         running = false;
+        waitStrategy.signal();
     }
 
     /**
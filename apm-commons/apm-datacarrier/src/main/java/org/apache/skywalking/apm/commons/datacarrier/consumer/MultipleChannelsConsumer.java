@@ -32,12 +32,16 @@ public class MultipleChannelsConsumer extends Thread {
     private volatile ArrayList<Group> consumeTargets;
     @SuppressWarnings("NonAtomicVolatileUpdate")
     private volatile long size;
-    private final long consumeCycle;
+    private final WaitStrategy waitStrategy;
 
     public MultipleChannelsConsumer(String threadName, long consumeCycle) {
+        this(threadName, new SleepWaitStrategy(consumeCycle));
+    }
+
+    public MultipleChannelsConsumer(String threadName, WaitStrategy waitStrategy) {
         super(threadName);
         this.consumeTargets = new ArrayList<Group>();
-        this.consumeCycle = consumeCycle;
+        this.waitStrategy = waitStrategy;
     }
 
     @Override
@@ -45,6 +49,7 @@ public class MultipleChannelsConsumer extends Thread {
         running = true;
 
         final List consumeList = new ArrayList(2000);
+        int idleRounds = 0;
         while (running) {
             boolean hasData = false;
             for (Group target : consumeTargets) {
@@ -52,11 +57,10 @@ public class MultipleChannelsConsumer extends Thread {
                 hasData = hasData || consume;
             }
 
-            if (!hasData) {
-                try {
-                    Thread.sleep(consumeCycle);
-                } catch (InterruptedException e) {
-                }
+            if (hasData) {
+                idleRounds = 0;
+            } else {
+                waitStrategy.waitFor(++idleRounds);
             }
         }
 
@@ -93,6 +97,9 @@ public class MultipleChannelsConsumer extends Thread {
      * Add a new target channels.
      */
     public void addNewTarget(Channels channels, IConsumer consumer) {
+        for (int i = 0; i < channels.getChannelSize(); i++) {
+            channels.setWaitStrategy(i, waitStrategy);
+        }
         Group group = new Group(channels, consumer);
         // Recreate the new list to avoid change list while the list is used in consuming.
         ArrayList<Group> newList = new ArrayList<Group>();
@@ -110,6 +117,7 @@ public class MultipleChannelsConsumer extends Thread {
 
     void shutdown() {
         running = false;
+        waitStrategy.signal();
     }
 
     private static class Group {
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+/**
+ * WaitStrategy decides how a consumer thread waits, after a consuming round obtained nothing from its channels.
+ * <p>
+ * Each consumer thread owns its instance, so the implementation could keep the state of one thread.
+ */
+public interface WaitStrategy {
+    /**
+     * Called by the consumer thread when the latest round obtained nothing.
+     *
+     * @param idleRounds the number of continuous empty rounds, starting from 1.
+     */
+    void waitFor(int idleRounds);
+
+    /**
+     * Called by the producer threads after the data have been saved into the channel consumed by the owner thread.
+     * Only the strategies parking the consumer need to react.
+     */
+    default void signal() {
+    }
+}
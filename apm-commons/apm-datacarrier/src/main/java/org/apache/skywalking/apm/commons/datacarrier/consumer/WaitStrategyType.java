@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+/**
+ * The available {@link WaitStrategy}s of consumer threads.
+ */
+public enum WaitStrategyType {
+    /**
+     * Sleep a fixed consume cycle. This is the default behavior.
+     */
+    SLEEP {
+        @Override
+        public WaitStrategy create(long consumeCycle) {
+            return new SleepWaitStrategy(consumeCycle);
+        }
+    },
+    /**
+     * Retry immediately. Lowest latency, but takes a whole CPU core even if there is no data.
+     */
+    BUSY_SPIN {
+        @Override
+        public WaitStrategy create(long consumeCycle) {
+            return new BusySpinWaitStrategy();
+        }
+    },
+    /**
+     * Give up the CPU through {@link Thread#yield()} and retry.
+     */
+    YIELD {
+        @Override
+        public WaitStrategy create(long consumeCycle) {
+            return new YieldWaitStrategy();
+        }
+    },
+    /**
+     * Spin, then yield, then park for exponentially growing periods, up to the consume cycle.
+     */
+    BACKOFF {
+        @Override
+        public WaitStrategy create(long consumeCycle) {
+            return new BackoffWaitStrategy(consumeCycle);
+        }
+    },
+    /**
+     * Park until a producer signals new data, or the consume cycle passes.
+     */
+    BLOCKING {
+        @Override
+        public WaitStrategy create(long consumeCycle) {
+            return new BlockingWaitStrategy(consumeCycle);
+        }
+    };
+
+    /**
+     * @param consumeCycle in millis, the max time of one wait for the strategies which park the consumer.
+     * @return a new instance for one consumer thread.
+     */
+    public abstract WaitStrategy create(long consumeCycle);
+}
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.FieldGetter;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MpscArrayBufferTest {
+    @Test
+    public void testCapacityRoundedToPowerOfTwo() {
+        Assert.assertEquals(128, new MpscArrayBuffer<SampleData>(100, BufferStrategy.IF_POSSIBLE).getBufferSize());
+        Assert.assertEquals(64, new MpscArrayBuffer<SampleData>(64, BufferStrategy.IF_POSSIBLE).getBufferSize());
+        Assert.assertEquals(1, new MpscArrayBuffer<SampleData>(1, BufferStrategy.IF_POSSIBLE).getBufferSize());
+    }
+
+    @Test
+    public void testObtainInOrderAcrossLaps() {
+        MpscArrayBuffer<SampleData> buffer = new MpscArrayBuffer<>(8, BufferStrategy.IF_POSSIBLE);
+        List<SampleData> result = new ArrayList<>();
+        int value = 0;
+        for (int lap = 0; lap < 5; lap++) {
+            for (int i = 0; i < 6; i++) {
+                Assert.assertTrue(buffer.save(new SampleData().setIntValue(value++)));
+            }
+            buffer.obtain(result);
+        }
+        Assert.assertEquals(30, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            Assert.assertEquals(i, result.get(i).getIntValue());
+        }
+
+        result.clear();
+        buffer.obtain(result);
+        Assert.assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testIfPossibleWhenFull() {
+        MpscArrayBuffer<SampleData> buffer = new MpscArrayBuffer<>(16, BufferStrategy.IF_POSSIBLE);
+        for (int i = 0; i < 16; i++) {
+            Assert.assertTrue(buffer.save(new SampleData().setIntValue(i)));
+        }
+        Assert.assertFalse(buffer.save(new SampleData().setIntValue(16)));
+
+        List<SampleData> result = new ArrayList<>();
+        buffer.obtain(result);
+        Assert.assertEquals(16, result.size());
+        Assert.assertTrue(buffer.save(new SampleData().setIntValue(17)));
+    }
+
+    @Test
+    public void testBlockingUntilConsumed() throws InterruptedException {
+        final MpscArrayBuffer<SampleData> buffer = new MpscArrayBuffer<>(4, BufferStrategy.BLOCKING);
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(buffer.save(new SampleData().setIntValue(i)));
+        }
+        Thread producer = new Thread(() -> buffer.save(new SampleData().setIntValue(4)));
+        producer.start();
+        producer.join(200);
+        Assert.assertTrue(producer.isAlive());
+
+        List<SampleData> result = new ArrayList<>();
+        buffer.obtain(result);
+        producer.join(5000);
+        Assert.assertFalse(producer.isAlive());
+        buffer.obtain(result);
+        Assert.assertEquals(5, result.size());
+    }
+
+    @Test
+    public void testMultipleProducers() throws InterruptedException {
+        final int producerNum = 8;
+        final int dataPerProducer = 20000;
+        final MpscArrayBuffer<SampleData> buffer = new MpscArrayBuffer<>(256, BufferStrategy.BLOCKING);
+        Thread[] producers = new Thread[producerNum];
+        for (int p = 0; p < producerNum; p++) {
+            final int producerId = p;
+            producers[p] = new Thread(() -> {
+                for (int i = 0; i < dataPerProducer; i++) {
+                    buffer.save(new SampleData().setIntValue(producerId * dataPerProducer + i));
+                }
+            });
+            producers[p].start();
+        }
+
+        boolean[] received = new boolean[producerNum * dataPerProducer];
+        int[] lastOfProducer = new int[producerNum];
+        Arrays.fill(lastOfProducer, -1);
+        List<SampleData> result = new ArrayList<>();
+        int count = 0;
+        long deadline = System.currentTimeMillis() + 30000;
+        while (count < received.length && System.currentTimeMillis() < deadline) {
+            buffer.obtain(result);
+            for (SampleData data : result) {
+                int value = data.getIntValue();
+                Assert.assertFalse(received[value]);
+                received[value] = true;
+                int producerId = value / dataPerProducer;
+                // FIFO per producer
+                Assert.assertTrue(value > lastOfProducer[producerId]);
+                lastOfProducer[producerId] = value;
+            }
+            count += result.size();
+            result.clear();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        Assert.assertEquals(received.length, count);
+    }
+
+    @Test
+    public void testCreateMpscDataCarrier() throws IllegalAccessException, NoSuchFieldException {
+        DataCarrier<SampleData> carrier = new DataCarrier<>(
+            "MPSC", "MPSC", 2, 100, BufferStrategy.IF_POSSIBLE, BufferType.MPSC);
+        Channels<SampleData> channels = FieldGetter.getValue(carrier, "channels");
+        Assert.assertTrue(channels.getBuffer(0) instanceof MpscArrayBuffer);
+        Assert.assertEquals(128, channels.getBuffer(0).getBufferSize());
+
+        for (int i = 0; i < 256; i++) {
+            Assert.assertTrue(carrier.produce(new SampleData().setIntValue(i)));
+        }
+        Assert.assertFalse(carrier.produce(new SampleData().setIntValue(256)));
+
+        List<SampleData> result = new ArrayList<>();
+        channels.getBuffer(0).obtain(result);
+        channels.getBuffer(1).obtain(result);
+        Assert.assertEquals(256, result.size());
+    }
+}
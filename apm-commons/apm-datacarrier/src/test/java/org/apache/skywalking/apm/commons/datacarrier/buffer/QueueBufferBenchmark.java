@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Producers save into one channel while a background thread keeps obtaining from it, the way a consumer thread of
+ * DataCarrier does. All the buffers use {@link BufferStrategy#BLOCKING}. Notice {@link Buffer} doesn't wait with it, but
+ * overwrites the slot not consumed yet, while the others wait for the consumer when they are full.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueueBufferBenchmark {
+
+    // ArrayBlockingQueueBuffer always blocks when it is full, so all the buffers block for a like-for-like comparison
+    private static final BufferStrategy STRATEGY = BufferStrategy.BLOCKING;
+
+    @State(Scope.Benchmark)
+    public static class BufferState {
+        @Param({
+            "ArrayBlockingQueueBuffer",
+            "Buffer",
+            "MpscArrayBuffer"
+        })
+        public String bufferName;
+
+        private QueueBuffer<SampleData> buffer;
+        private volatile boolean running;
+        private Thread consumer;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            switch (bufferName) {
+                case "ArrayBlockingQueueBuffer":
+                    buffer = new ArrayBlockingQueueBuffer<>(1024, STRATEGY);
+                    break;
+                case "Buffer":
+                    buffer = new Buffer<>(1024, STRATEGY);
+                    break;
+                default:
+                    buffer = new MpscArrayBuffer<>(1024, STRATEGY);
+            }
+            running = true;
+            consumer = new Thread(() -> {
+                List<SampleData> consumeList = new ArrayList<>(1500);
+                while (running) {
+                    buffer.obtain(consumeList);
+                    consumeList.clear();
+                }
+            });
+            consumer.setDaemon(true);
+            consumer.start();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws InterruptedException {
+            running = false;
+            consumer.join();
+        }
+    }
+
+    private static final SampleData DATA = new SampleData();
+
+    @Benchmark
+    public boolean save(BufferState state) {
+        return state.buffer.save(DATA);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : new int[] {
+            1,
+            8,
+            64
+        }) {
+            Options opt = new OptionsBuilder().include(QueueBufferBenchmark.class.getName())
+                                              .threads(threads)
+                                              .forks(1)
+                                              .warmupIterations(3)
+                                              .measurementIterations(5)
+                                              .build();
+            new Runner(opt).run();
+        }
+    }
+}
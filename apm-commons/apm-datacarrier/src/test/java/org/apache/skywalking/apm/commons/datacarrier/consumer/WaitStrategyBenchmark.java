@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * {@link #handoff(CarrierState)} measures the latency from producing one segment-like data to the consumer receiving
+ * it, on an otherwise idle carrier, which is the typical case of a low traffic service. {@link #main(String[])} also
+ * prints the CPU time burnt by the idle consumer thread of each strategy.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WaitStrategyBenchmark {
+    private static final long CONSUME_CYCLE = 20;
+
+    @State(Scope.Benchmark)
+    public static class CarrierState {
+        @Param({
+            "SLEEP",
+            "BUSY_SPIN",
+            "YIELD",
+            "BACKOFF",
+            "BLOCKING"
+        })
+        public String waitStrategy;
+
+        private DataCarrier<SampleData> carrier;
+        private volatile long consumedCount;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            carrier = new DataCarrier<>(
+                "WaitStrategyBenchmark", "WaitStrategyBenchmark", 1, 300, BufferStrategy.IF_POSSIBLE);
+            carrier.consume(new CountingConsumer(this), 1, CONSUME_CYCLE, WaitStrategyType.valueOf(waitStrategy));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            carrier.shutdownConsumers();
+        }
+    }
+
+    private static class CountingConsumer implements IConsumer<SampleData> {
+        private final CarrierState state;
+
+        private CountingConsumer(CarrierState state) {
+            this.state = state;
+        }
+
+        @Override
+        public void init(final Properties properties) {
+        }
+
+        @Override
+        @SuppressWarnings("NonAtomicVolatileUpdate")
+        public void consume(List<SampleData> data) {
+            state.consumedCount += data.size();
+        }
+
+        @Override
+        public void onError(List<SampleData> data, Throwable t) {
+        }
+
+        @Override
+        public void onExit() {
+        }
+    }
+
+    @Benchmark
+    public long handoff(CarrierState state) {
+        long expected = state.consumedCount + 1;
+        state.carrier.produce(new SampleData());
+        while (state.consumedCount < expected) {
+            Thread.yield();
+        }
+        return expected;
+    }
+
+    public static void main(String[] args) throws RunnerException, InterruptedException {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        for (WaitStrategyType type : WaitStrategyType.values()) {
+            CarrierState state = new CarrierState();
+            state.waitStrategy = type.name();
+            state.setup();
+            Thread.sleep(1000);
+            long consumerThreadId = findConsumerThread().getId();
+            long cpuTimeStart = threadMXBean.getThreadCpuTime(consumerThreadId);
+            Thread.sleep(5000);
+            long cpuTime = threadMXBean.getThreadCpuTime(consumerThreadId) - cpuTimeStart;
+            state.tearDown();
+            System.out.printf("%-10s idle consumer CPU: %.2f%%%n", type, cpuTime / 5e9 * 100);
+        }
+
+        Options opt = new OptionsBuilder().include(WaitStrategyBenchmark.class.getName())
+                                          .forks(1)
+                                          .warmupIterations(3)
+                                          .measurementIterations(5)
+                                          .build();
+        new Runner(opt).run();
+    }
+
+    private static Thread findConsumerThread() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("DataCarrier.WaitStrategyBenchmark.Consumer") && thread.isAlive()) {
+                return thread;
+            }
+        }
+        throw new IllegalStateException("Consumer thread not found.");
+    }
+
+    /*
+     * # JMH version: 1.33
+     * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+     * # Consume cycle: 20ms
+     *
+     * SLEEP      idle consumer CPU: 0.42%
+     * BUSY_SPIN  idle consumer CPU: 97.09%
+     * YIELD      idle consumer CPU: 98.38%
+     * BACKOFF    idle consumer CPU: 0.35%
+     * BLOCKING   idle consumer CPU: 0.60%
+     */
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.commons.datacarrier.consumer;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
+import org.apache.skywalking.apm.commons.datacarrier.FieldGetter;
+import org.apache.skywalking.apm.commons.datacarrier.SampleData;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.buffer.Channels;
+import org.apache.skywalking.apm.commons.datacarrier.partition.SimpleRollingPartitioner;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WaitStrategyTest {
+    @Test
+    public void testCreateByType() {
+        Assert.assertTrue(WaitStrategyType.SLEEP.create(20) instanceof SleepWaitStrategy);
+        Assert.assertTrue(WaitStrategyType.BUSY_SPIN.create(20) instanceof BusySpinWaitStrategy);
+        Assert.assertTrue(WaitStrategyType.YIELD.create(20) instanceof YieldWaitStrategy);
+        Assert.assertTrue(WaitStrategyType.BACKOFF.create(20) instanceof BackoffWaitStrategy);
+        Assert.assertTrue(WaitStrategyType.BLOCKING.create(20) instanceof BlockingWaitStrategy);
+    }
+
+    @Test
+    public void testBackoffBoundedByConsumeCycle() {
+        BackoffWaitStrategy strategy = new BackoffWaitStrategy(5);
+        long start = System.nanoTime();
+        strategy.waitFor(1000);
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    public void testBlockingWakeUpBySignal() throws InterruptedException {
+        final BlockingWaitStrategy strategy = new BlockingWaitStrategy(60000);
+        final CountDownLatch finished = new CountDownLatch(1);
+        Thread consumer = new Thread(() -> {
+            strategy.waitFor(1);
+            finished.countDown();
+        });
+        consumer.start();
+        while (consumer.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+        strategy.signal();
+        Assert.assertTrue(finished.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testBlockingNotParkAfterPendingSignal() {
+        BlockingWaitStrategy strategy = new BlockingWaitStrategy(60000);
+        strategy.signal();
+        long start = System.nanoTime();
+        strategy.waitFor(1);
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    public void testBlockingKeepInterruptFlag() {
+        BlockingWaitStrategy strategy = new BlockingWaitStrategy(60000);
+        Thread.currentThread().interrupt();
+        strategy.waitFor(1);
+        Assert.assertTrue(Thread.interrupted());
+    }
+
+    @Test
+    public void testBlockingTimeout() {
+        BlockingWaitStrategy strategy = new BlockingWaitStrategy(10);
+        long start = System.nanoTime();
+        strategy.waitFor(1);
+        Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(10));
+    }
+
+    @Test
+    public void testDriverRegistersWaitStrategy() throws IllegalAccessException, NoSuchFieldException {
+        Channels<SampleData> channels = new Channels<SampleData>(
+            2, 100, new SimpleRollingPartitioner<SampleData>(), BufferStrategy.IF_POSSIBLE);
+        ConsumeDriver<SampleData> driver = new ConsumeDriver<SampleData>(
+            "default", channels, new SampleConsumer(), 1, 20, WaitStrategyType.BLOCKING);
+        driver.begin(channels);
+
+        WaitStrategy[] waitStrategies = FieldGetter.getValue(channels, "waitStrategies");
+        Assert.assertTrue(waitStrategies[0] instanceof BlockingWaitStrategy);
+        Assert.assertSame(waitStrategies[0], waitStrategies[1]);
+        driver.close(channels);
+    }
+
+    @Test
+    public void testBlockingHandoff() throws InterruptedException {
+        final CountDownLatch consumed = new CountDownLatch(1);
+        DataCarrier<SampleData> carrier = new DataCarrier<>(1, 100, BufferStrategy.IF_POSSIBLE);
+        carrier.consume(new IConsumer<SampleData>() {
+            @Override
+            public void init(final Properties properties) {
+            }
+
+            @Override
+            public void consume(List<SampleData> data) {
+                consumed.countDown();
+            }
+
+            @Override
+            public void onError(List<SampleData> data, Throwable t) {
+            }
+
+            @Override
+            public void onExit() {
+            }
+        }, 1, 60000, WaitStrategyType.BLOCKING);
+
+        // let the consumer thread park with a cycle much longer than the test timeout
+        Thread.sleep(200);
+        Assert.assertTrue(carrier.produce(new SampleData()));
+        Assert.assertTrue(consumed.await(10, TimeUnit.SECONDS));
+        carrier.shutdownConsumers();
+    }
+}
@@ -18,7 +18,7 @@
 
 package org.apache.skywalking.apm.agent.core.asyncprofiler;
 
-import com.google.protobuf.ByteString;
+import com.google.protobuf.UnsafeByteOperations;
 import io.grpc.Channel;
 import io.grpc.stub.ClientCallStreamObserver;
 import io.grpc.stub.ClientResponseObserver;
@@ -38,11 +38,14 @@ import org.apache.skywalking.apm.network.language.asyncprofiler.v10.AsyncProfile
 import org.apache.skywalking.apm.network.language.asyncprofiler.v10.AsyncProfilerMetaData;
 import org.apache.skywalking.apm.network.language.asyncprofiler.v10.AsyncProfilerTaskGrpc;
 import org.apache.skywalking.apm.network.language.asyncprofiler.v10.AsyncProfilingStatus;
+import org.apache.skywalking.apm.util.StringUtil;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.concurrent.TimeUnit;
 
 import static org.apache.skywalking.apm.agent.core.conf.Config.AsyncProfiler.DATA_CHUNK_SIZE;
@@ -92,66 +95,91 @@ public class AsyncProfilerDataSender implements BootService, GRPCChannelListener
             return;
         }
 
-        try (FileInputStream fileInputStream = new FileInputStream(dumpFile)) {
-            long fileSize = Files.size(dumpFile.toPath());
-            int size = Math.toIntExact(fileSize);
-            final GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
-            StreamObserver<AsyncProfilerData> dataStreamObserver = asyncProfilerTaskStub.withDeadlineAfter(
-                    GRPC_UPSTREAM_TIMEOUT, TimeUnit.SECONDS
-            ).collect(new ClientResponseObserver<AsyncProfilerData, AsyncProfilerCollectionResponse>() {
-                ClientCallStreamObserver<AsyncProfilerData> requestStream;
-                final byte[] buf = new byte[DATA_CHUNK_SIZE];
-
-                @Override
-                public void beforeStart(ClientCallStreamObserver<AsyncProfilerData> requestStream) {
-                    this.requestStream = requestStream;
-                }
-
-                @Override
-                public void onNext(AsyncProfilerCollectionResponse value) {
-                    if (AsyncProfilingStatus.TERMINATED_BY_OVERSIZE.equals(value.getType())) {
-                        LOGGER.warn("JFR is too large to be received by the oap server");
-                    } else {
-                        try {
-                            int bytesRead;
-                            while ((bytesRead = fileInputStream.read(buf)) != -1) {
-                                AsyncProfilerData asyncProfilerData = AsyncProfilerData.newBuilder()
-                                        .setContent(ByteString.copyFrom(buf, 0, bytesRead))
-                                        .build();
-                                requestStream.onNext(asyncProfilerData);
-                            }
-                        } catch (IOException e) {
-                            LOGGER.error("Failed to read JFR file and failed to upload to oap", e);
+        // the chunks are wrapped from the mapped file, rather than copied into the heap
+        final MappedByteBuffer content;
+        try (FileChannel fileChannel = FileChannel.open(dumpFile.toPath(), StandardOpenOption.READ)) {
+            content = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+        }
+        final int size = content.capacity();
+        final GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
+        AsyncProfilerTaskGrpc.AsyncProfilerTaskStub stub = asyncProfilerTaskStub.withDeadlineAfter(
+                GRPC_UPSTREAM_TIMEOUT, TimeUnit.SECONDS
+        );
+        if (StringUtil.isNotEmpty(Config.AsyncProfiler.DATA_TRANSPORT_COMPRESSION)) {
+            stub = stub.withCompression(Config.AsyncProfiler.DATA_TRANSPORT_COMPRESSION);
+        }
+        StreamObserver<AsyncProfilerData> dataStreamObserver = stub.collect(
+                new ClientResponseObserver<AsyncProfilerData, AsyncProfilerCollectionResponse>() {
+                    ClientCallStreamObserver<AsyncProfilerData> requestStream;
+                    // set when the oap server accepts the JFR file, all the callbacks of the call run one by one
+                    boolean accepted;
+                    boolean completed;
+                    int position;
+
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<AsyncProfilerData> requestStream) {
+                        this.requestStream = requestStream;
+                        requestStream.setOnReadyHandler(this::sendChunks);
+                    }
+
+                    @Override
+                    public void onNext(AsyncProfilerCollectionResponse value) {
+                        if (AsyncProfilingStatus.TERMINATED_BY_OVERSIZE.equals(value.getType())) {
+                            LOGGER.warn("JFR is too large to be received by the oap server");
+                            completed = true;
+                            requestStream.onCompleted();
+                            return;
                         }
+                        accepted = true;
+                        sendChunks();
                     }
 
-                    requestStream.onCompleted();
-                }
-
-                @Override
-                public void onError(Throwable t) {
-                    status.finished();
-                    LOGGER.error(t, "Send async profiler task data to collector fail with a grpc internal exception.");
-                    ServiceManager.INSTANCE.findService(GRPCChannelManager.class).reportError(t);
-                }
-
-                @Override
-                public void onCompleted() {
-                    status.finished();
-                }
-            });
-            AsyncProfilerMetaData metaData = AsyncProfilerMetaData.newBuilder()
-                    .setService(Config.Agent.SERVICE_NAME)
-                    .setServiceInstance(Config.Agent.INSTANCE_NAME)
-                    .setType(AsyncProfilingStatus.PROFILING_SUCCESS)
-                    .setContentSize(size)
-                    .setTaskId(task.getTaskId())
-                    .build();
-            AsyncProfilerData asyncProfilerData = AsyncProfilerData.newBuilder().setMetaData(metaData).build();
-            dataStreamObserver.onNext(asyncProfilerData);
-
-            status.wait4Finish();
-        }
+                    /**
+                     * Send the chunks as long as the transport is ready, and continue when it is ready again, so the
+                     * file is not buffered into the outbound buffers of gRPC as a whole.
+                     */
+                    private void sendChunks() {
+                        if (!accepted || completed) {
+                            return;
+                        }
+                        while (position < size && requestStream.isReady()) {
+                            ByteBuffer chunk = content.duplicate();
+                            chunk.position(position);
+                            chunk.limit(Math.min(position + DATA_CHUNK_SIZE, size));
+                            position = chunk.limit();
+                            requestStream.onNext(AsyncProfilerData.newBuilder()
+                                                                  .setContent(UnsafeByteOperations.unsafeWrap(chunk))
+                                                                  .build());
+                        }
+                        if (position == size) {
+                            completed = true;
+                            requestStream.onCompleted();
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        status.finished();
+                        LOGGER.error(t, "Send async profiler task data to collector fail with a grpc internal exception.");
+                        ServiceManager.INSTANCE.findService(GRPCChannelManager.class).reportError(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        status.finished();
+                    }
+                });
+        AsyncProfilerMetaData metaData = AsyncProfilerMetaData.newBuilder()
+                .setService(Config.Agent.SERVICE_NAME)
+                .setServiceInstance(Config.Agent.INSTANCE_NAME)
+                .setType(AsyncProfilingStatus.PROFILING_SUCCESS)
+                .setContentSize(size)
+                .setTaskId(task.getTaskId())
+                .build();
+        AsyncProfilerData asyncProfilerData = AsyncProfilerData.newBuilder().setMetaData(metaData).build();
+        dataStreamObserver.onNext(asyncProfilerData);
+
+        status.wait4Finish();
     }
 
     public void sendError(AsyncProfilerTask task, String errorMessage) {
@@ -95,7 +95,9 @@ public class AsyncProfilerTaskExecutionService implements BootService {
                 AsyncProfilerDataSender dataSender = ServiceManager.INSTANCE.findService(AsyncProfilerDataSender.class);
                 dataSender.sendData(task, dumpFile);
                 if (!dumpFile.delete()) {
-                    LOGGER.warn("Fail to delete the dump file of async profiler.");
+                    // the file could be still mapped by the sender on some platforms, until the mapping is collected
+                    LOGGER.warn("Fail to delete the dump file of async profiler, delete it on exit.");
+                    dumpFile.deleteOnExit();
                 }
             }
         } catch (Exception e) {
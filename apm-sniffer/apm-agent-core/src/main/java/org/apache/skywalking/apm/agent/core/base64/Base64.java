@@ -19,14 +19,37 @@
 package org.apache.skywalking.apm.agent.core.base64;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * A wrapper of {@link java.util.Base64} with convenient conversion methods between {@code byte[]} and {@code String}
+ * <p>
+ * {@link #encode(String, byte[])} and {@link #decode2UTFString(String, int, int)} do the same conversions without the
+ * intermediate arrays and strings, for the headers built and parsed in every RPC.
  */
 public final class Base64 {
     private static final java.util.Base64.Decoder DECODER = java.util.Base64.getDecoder();
     private static final java.util.Base64.Encoder ENCODER = java.util.Base64.getEncoder();
 
+    private static final char[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final char PADDING = '=';
+    /**
+     * The value of every ASCII char in the alphabet, -1 for the others.
+     */
+    private static final int[] VALUES = new int[128];
+    /**
+     * The scratch arrays of each thread, the larger ones are not kept.
+     */
+    private static final int MAX_REUSED_BUFFER_SIZE = 1024;
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    static {
+        Arrays.fill(VALUES, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUES[ALPHABET[i]] = i;
+        }
+    }
+
     private Base64() {
     }
 
@@ -38,4 +61,113 @@ public final class Base64 {
         return ENCODER.encodeToString(text.getBytes(StandardCharsets.UTF_8));
     }
 
+    /**
+     * Write the base64 of the UTF-8 bytes of the text into the head of the buffer, the same as {@link #encode(String)}
+     * without creating the encoded string. A buffer of {@code 4 * text.length() + 4} bytes is always large enough.
+     *
+     * @return the count of the written bytes.
+     * @throws IllegalArgumentException if the buffer is not large enough.
+     */
+    public static int encode(String text, byte[] buffer) {
+        return ENCODER.encode(text.getBytes(StandardCharsets.UTF_8), buffer);
+    }
+
+    /**
+     * Decode the chars of the text in [start, end) to the UTF-8 string, the same as {@link #decode2UTFString(String)}
+     * of the substring.
+     *
+     * @throws IllegalArgumentException if the chars are not in valid base64 scheme.
+     */
+    public static String decode2UTFString(String in, int start, int end) {
+        final int length = end - start;
+        final Buffers buffers = BUFFERS.get();
+        final char[] chars = buffers.chars(length);
+        final byte[] decoded = buffers.decoded((length + 3) / 4 * 3);
+        in.getChars(start, end, chars, 0);
+
+        int count = 0;
+        int position = 0;
+        // Fast path for the complete units without padding.
+        while (position + 4 <= length) {
+            final int c0 = chars[position];
+            final int c1 = chars[position + 1];
+            final int c2 = chars[position + 2];
+            final int c3 = chars[position + 3];
+            if ((c0 | c1 | c2 | c3) >= 0x80) {
+                break;
+            }
+            final int bits = VALUES[c0] << 18 | VALUES[c1] << 12 | VALUES[c2] << 6 | VALUES[c3];
+            if (bits < 0) {
+                break;
+            }
+            decoded[count++] = (byte) (bits >> 16);
+            decoded[count++] = (byte) (bits >> 8);
+            decoded[count++] = (byte) bits;
+            position += 4;
+        }
+
+        int bits = 0;
+        int shift = 18;
+        while (position < length) {
+            final char c = chars[position++];
+            final int value = c < 0x80 ? VALUES[c] : -1;
+            if (value < 0) {
+                if (c == PADDING) {
+                    if (shift == 6 && (position == length || chars[position++] != PADDING) || shift == 18) {
+                        throw new IllegalArgumentException("Input byte array has wrong 4-byte ending unit");
+                    }
+                    break;
+                }
+                throw new IllegalArgumentException("Illegal base64 character " + Integer.toString(c, 16));
+            }
+            bits |= value << shift;
+            shift -= 6;
+            if (shift < 0) {
+                decoded[count++] = (byte) (bits >> 16);
+                decoded[count++] = (byte) (bits >> 8);
+                decoded[count++] = (byte) bits;
+                shift = 18;
+                bits = 0;
+            }
+        }
+        if (shift == 6) {
+            decoded[count++] = (byte) (bits >> 16);
+        } else if (shift == 0) {
+            decoded[count++] = (byte) (bits >> 16);
+            decoded[count++] = (byte) (bits >> 8);
+        } else if (shift == 12) {
+            throw new IllegalArgumentException("Last unit does not have enough valid bits");
+        }
+        if (position < length) {
+            throw new IllegalArgumentException("Input byte array has incorrect ending byte at " + position);
+        }
+        return new String(decoded, 0, count, StandardCharsets.UTF_8);
+    }
+
+    private static class Buffers {
+        private char[] chars = new char[128];
+        private byte[] decoded = new byte[128];
+
+        private char[] chars(int size) {
+            if (chars.length >= size) {
+                return chars;
+            }
+            final char[] buffer = new char[size];
+            if (size <= MAX_REUSED_BUFFER_SIZE) {
+                chars = buffer;
+            }
+            return buffer;
+        }
+
+        private byte[] decoded(int size) {
+            if (decoded.length >= size) {
+                return decoded;
+            }
+            final byte[] buffer = new byte[size];
+            if (size <= MAX_REUSED_BUFFER_SIZE) {
+                decoded = buffer;
+            }
+            return buffer;
+        }
+    }
 }
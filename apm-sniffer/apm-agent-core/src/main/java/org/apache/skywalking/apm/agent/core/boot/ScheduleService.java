@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.boot;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The scheduler threads shared by the periodic work of the agent services, instead of a thread per service.
+ * <p>
+ * The local tasks, such as collecting the JVM metrics and resetting the sampling window, run on one thread. The tasks
+ * calling the backend run on another one, so a slow or hanging backend never delays the local tasks. A blocking call
+ * there only delays the other remote tasks, until its deadline.
+ * <p>
+ * The runs of a task are aligned to multiples of its period, counted from the boot of this service. So the tasks with
+ * the same period, or periods of multiples, run on the same wakeup of the thread, one by one.
+ */
+@DefaultImplementor
+public class ScheduleService implements BootService {
+    private final long origin = System.nanoTime();
+    private volatile ScheduledThreadPoolExecutor localExecutor;
+    private volatile ScheduledThreadPoolExecutor remoteExecutor;
+
+    @Override
+    public void prepare() {
+        localExecutor = newExecutor("ScheduleService");
+        remoteExecutor = newExecutor("ScheduleService-remote");
+    }
+
+    @Override
+    public void boot() {
+
+    }
+
+    @Override
+    public void onComplete() {
+
+    }
+
+    @Override
+    public void shutdown() {
+        localExecutor.shutdownNow();
+        remoteExecutor.shutdownNow();
+    }
+
+    /**
+     * Prepared before and shut down after the other services, which schedule and cancel their tasks in {@link
+     * #boot()} and {@link #shutdown()}.
+     */
+    @Override
+    public int priority() {
+        return Integer.MIN_VALUE;
+    }
+
+    /**
+     * Run the local task periodically. The first run happens after the initial delay, right away if it is 0, and the
+     * later ones at the multiples of the period. The task should never block, as it delays the other local tasks.
+     *
+     * @return the future of the periodic runs, cancel it to stop them
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return scheduleAtFixedRate(localExecutor, task, initialDelay, period, unit);
+    }
+
+    /**
+     * Run the task calling the backend periodically, the same as {@link #scheduleAtFixedRate(Runnable, long, long,
+     * TimeUnit)} but on the remote thread.
+     *
+     * @return the future of the periodic runs, cancel it to stop them
+     */
+    public ScheduledFuture<?> scheduleRemoteAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return scheduleAtFixedRate(remoteExecutor, task, initialDelay, period, unit);
+    }
+
+    /**
+     * Run the task calling the backend on the remote thread, with the delay between the end of a run and the start of
+     * the next one, so the runs delayed by a slow backend are not caught up. The first run happens after the initial
+     * delay, right away if it is 0, or else at the next multiple of the delay.
+     *
+     * @return the future of the periodic runs, cancel it to stop them
+     */
+    public ScheduledFuture<?> scheduleRemoteWithFixedDelay(Runnable task, long initialDelay, long delay,
+                                                           TimeUnit unit) {
+        final long delayNanos = unit.toNanos(delay);
+        final long firstRunDelay = initialDelay <= 0 ? 0 : alignedDelay(unit.toNanos(initialDelay), delayNanos);
+        return remoteExecutor.scheduleWithFixedDelay(task, firstRunDelay, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private ScheduledFuture<?> scheduleAtFixedRate(ScheduledThreadPoolExecutor executor, Runnable task,
+                                                   long initialDelay, long period, TimeUnit unit) {
+        final long periodNanos = unit.toNanos(period);
+        long initialDelayNanos = unit.toNanos(initialDelay);
+        if (initialDelay <= 0) {
+            executor.execute(task);
+            initialDelayNanos = 1;
+        }
+        return executor.scheduleAtFixedRate(
+            task, alignedDelay(initialDelayNanos, periodNanos), periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the delay to the next multiple of the period after the given delay.
+     */
+    private long alignedDelay(long delayNanos, long periodNanos) {
+        final long now = System.nanoTime() - origin;
+        // round up to the next multiple of the period
+        return (now + delayNanos + periodNanos - 1) / periodNanos * periodNanos - now;
+    }
+
+    private static ScheduledThreadPoolExecutor newExecutor(String name) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new DefaultNamedThreadFactory(name));
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+}
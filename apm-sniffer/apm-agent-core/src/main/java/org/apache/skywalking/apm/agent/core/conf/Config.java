@@ -25,6 +25,9 @@ import org.apache.skywalking.apm.agent.core.logging.core.LogLevel;
 import org.apache.skywalking.apm.agent.core.logging.core.LogOutput;
 import org.apache.skywalking.apm.agent.core.logging.core.ResolverType;
 import org.apache.skywalking.apm.agent.core.logging.core.WriterFactory;
+import org.apache.skywalking.apm.agent.core.remote.SegmentStreamMode;
+import org.apache.skywalking.apm.agent.core.sampling.SamplingStrategy;
+import org.apache.skywalking.apm.commons.datacarrier.consumer.WaitStrategyType;
 import org.apache.skywalking.apm.util.Length;
 
 /**
@@ -86,6 +89,18 @@ public class Config {
          */
         public static int SAMPLE_N_PER_3_SECS = -1;
 
+        /**
+         * How {@link #SAMPLE_N_PER_3_SECS} limits the new traces, see {@link SamplingStrategy}.
+         */
+        public static SamplingStrategy SAMPLING_STRATEGY = SamplingStrategy.FIXED_WINDOW;
+
+        /**
+         * Only for {@link SamplingStrategy#TOKEN_BUCKET}. If true, every endpoint, the first operation name of the
+         * trace, is guaranteed an equal share of {@link #SAMPLE_N_PER_3_SECS}, so the low-traffic endpoints are still
+         * sampled when others burst. Up to 1000 endpoints get a share.
+         */
+        public static boolean SAMPLE_PER_ENDPOINT = false;
+
         /**
          * If the operation name of the first span is included in this set, this segment should be ignored. Multiple
          * values should be separated by `,`.
@@ -103,6 +118,18 @@ public class Config {
          */
         public static int SPAN_LIMIT_PER_SEGMENT = 300;
 
+        /**
+         * If true, the finished segments and spans are recycled into pools after all reporters have sent them, and
+         * reused by the following traces. Plugins must not keep any span after it is stopped or async finished, and
+         * {@code TracingContextListener}s keeping a segment after {@code afterFinished} must retain it.
+         */
+        public static boolean RECYCLE_TRACING_OBJECTS = false;
+
+        /**
+         * The max number of pooled segments, each keeping the spans of its last trace, when recycling is activated.
+         */
+        public static int RECYCLE_POOL_CAPACITY = 1024;
+
         /**
          * If true, SkyWalking agent will save all instrumented classes files in `/debugging` folder. SkyWalking team
          * may ask for these files in order to resolve compatible problem.
@@ -126,6 +153,12 @@ public class Config {
          */
         public static int CAUSE_EXCEPTION_DEPTH = 5;
 
+        /**
+         * If true, the frames of a cause exception in common with the enclosing exception are replaced by "... N
+         * more" when log cause exceptions, like Throwable#printStackTrace does.
+         */
+        public static boolean CAUSE_EXCEPTION_TRIM_COMMON_FRAMES = false;
+
         /**
          * Force reconnection period of grpc, based on grpc_channel_check_interval. If count of check grpc channel
          * status more than this number. The channel check will call channel.getState(true) to requestConnection.
@@ -217,6 +250,15 @@ public class Config {
          * If true, skywalking agent will enable periodically resolving DNS to update receiver service addresses.
          */
         public static boolean IS_RESOLVE_DNS_PERIODICALLY = false;
+        /**
+         * How trace segments are streamed to the backend, see {@link SegmentStreamMode}.
+         */
+        public static SegmentStreamMode SEGMENT_STREAM_MODE = SegmentStreamMode.PER_BATCH;
+        /**
+         * The period in seconds to keep one segment stream open in the PERSISTENT stream mode, before completing it and
+         * opening a new one.
+         */
+        public static int SEGMENT_STREAM_ROTATE_PERIOD = 60;
     }
 
     public static class Profile {
@@ -246,10 +288,21 @@ public class Config {
          */
         public static int DUMP_MAX_STACK_DEPTH = 500;
 
+        /**
+         * If true, dump the stacks of all the profiling threads in one ThreadMXBean#getThreadInfo call per dump
+         * period, rather than one Thread#getStackTrace call per thread.
+         */
+        public static boolean BATCH_DUMP = false;
+
         /**
          * Snapshot transport to backend buffer size
          */
         public static int SNAPSHOT_TRANSPORT_BUFFER_SIZE = 500;
+
+        /**
+         * The gRPC compression of the snapshots sent to the backend, e.g. gzip. Empty means no compression.
+         */
+        public static String SNAPSHOT_TRANSPORT_COMPRESSION = "";
     }
 
     public static class AsyncProfiler {
@@ -277,6 +330,11 @@ public class Config {
          * The size of the chunk when uploading jfr
          */
         public static final int DATA_CHUNK_SIZE = 1024 * 1024;
+
+        /**
+         * The gRPC compression of the JFR data sent to the backend, e.g. gzip. Empty means no compression.
+         */
+        public static String DATA_TRANSPORT_COMPRESSION = "";
     }
 
     public static class Meter {
@@ -294,6 +352,12 @@ public class Config {
          * Max size of the meter count, using {@link org.apache.skywalking.apm.agent.core.meter.MeterId} as identity
          */
         public static Integer MAX_METER_SIZE = 500;
+
+        /**
+         * If true, the counters and histograms unchanged since the last report are skipped. A changed histogram still
+         * sends all of its buckets, and the reported values are still cumulative.
+         */
+        public static boolean REPORT_CHANGED_ONLY = false;
     }
 
     public static class Jvm {
@@ -305,6 +369,18 @@ public class Config {
          * The period in seconds of JVM metrics collection.
          */
         public static int METRICS_COLLECT_PERIOD = 1;
+        /**
+         * The period in seconds of sending the collected JVM metrics. When it is longer than {@link
+         * #METRICS_COLLECT_PERIOD}, the metrics of several collections are sent in one batch, and the memory pool and
+         * GC values not changed since the previous metric of the batch are omitted.
+         */
+        public static int METRICS_REPORT_PERIOD = 1;
+        /**
+         * The max number of threads whose states are read in one collection. If there are more live threads, a
+         * different subset is read in every period, and the state counts are extrapolated to all threads. Zero or
+         * negative reads all of them.
+         */
+        public static int THREAD_STATE_SAMPLE_SIZE = 0;
     }
 
     public static class Log {
@@ -318,6 +394,24 @@ public class Config {
         public static int CHANNEL_SIZE = 5;
 
         public static int BUFFER_SIZE = 300;
+
+        /**
+         * The max millis of one wait of the consumer threads of trace segments and logs, when the buffer is empty.
+         */
+        public static long CONSUME_CYCLE = 20;
+
+        /**
+         * How the consumer thread of trace segments waits when the buffer is empty. SLEEP, the default, sleeps
+         * {@link #CONSUME_CYCLE} millis per round. BACKOFF and BLOCKING hand the segment over faster at low load while staying idle otherwise.
+         * BUSY_SPIN and YIELD take a whole CPU core.
+         */
+        public static WaitStrategyType SEGMENT_WAIT_STRATEGY = WaitStrategyType.SLEEP;
+
+        /**
+         * How the consumer thread of logs waits when the buffer is empty. Same options as {@link
+         * #SEGMENT_WAIT_STRATEGY}.
+         */
+        public static WaitStrategyType LOG_WAIT_STRATEGY = WaitStrategyType.SLEEP;
     }
 
     public static class Logging {
@@ -403,6 +497,24 @@ public class Config {
          * Mount the folders of the plugins. The folder path is relative to agent.jar.
          */
         public static List<String> MOUNT = Arrays.asList("plugins", "activations");
+
+        /**
+         * If true, save the index of the entries in the mounted jars into the agent folder, and reuse it on the next
+         * boot as long as the jars keep their paths, sizes and modified times.
+         */
+        public static boolean CACHE_JAR_INDEX = false;
+
+        /**
+         * Measure the time cost of one in N interceptor invocations. 1 measures every invocation, 0 measures none. Above
+         * 1, the counts of the time cost histograms are of the sampled invocations, and tagged by {@code sample_rate=N}.
+         */
+        public static int INTERCEPTOR_TIME_COST_SAMPLE_RATE = 1;
+
+        /**
+         * If true, the time cost histograms of the plugins are split by the interceptor classes too. There could be
+         * hundreds of interceptors, so only turn it on to find the costly interceptors of a plugin.
+         */
+        public static boolean INTERCEPTOR_TIME_COST_BY_INTERCEPTOR = false;
     }
 
     public static class Correlation {
@@ -33,6 +33,12 @@ import org.apache.skywalking.apm.util.StringUtil;
  */
 @Setter(AccessLevel.PACKAGE)
 public class ContextCarrier implements Serializable {
+    /**
+     * The parent service and instance are the same in all carriers injected by this process.
+     */
+    private static final EncodedCache PARENT_SERVICE_CACHE = new EncodedCache();
+    private static final EncodedCache PARENT_SERVICE_INSTANCE_CACHE = new EncodedCache();
+
     @Getter
     private String traceId;
     /**
@@ -60,23 +66,23 @@ public class ContextCarrier implements Serializable {
     @Getter
     private String addressUsedAtClient;
     /**
-     * The extension context contains the optional context to enhance the analysis in some certain scenarios.
+     * The extension context contains the optional context to enhance the analysis in some certain scenarios. Created
+     * on first use, through {@link #getExtensionContext()}.
      */
-    @Getter(AccessLevel.PACKAGE)
-    private ExtensionContext extensionContext = new ExtensionContext();
+    private ExtensionContext extensionContext;
     /**
-     * User's custom context container. The context propagates with the main tracing context.
+     * User's custom context container. The context propagates with the main tracing context. Created on first use,
+     * through {@link #getCorrelationContext()}.
      */
-    @Getter(AccessLevel.PACKAGE)
-    private CorrelationContext correlationContext = new CorrelationContext();
+    private CorrelationContext correlationContext;
 
     /**
      * @return the list of items, which could exist in the current tracing context.
      */
     public CarrierItem items() {
-        SW8ExtensionCarrierItem sw8ExtensionCarrierItem = new SW8ExtensionCarrierItem(extensionContext, null);
+        SW8ExtensionCarrierItem sw8ExtensionCarrierItem = new SW8ExtensionCarrierItem(this, null);
         SW8CorrelationCarrierItem sw8CorrelationCarrierItem = new SW8CorrelationCarrierItem(
-            correlationContext, sw8ExtensionCarrierItem);
+            this, sw8ExtensionCarrierItem);
         SW8CarrierItem sw8CarrierItem = new SW8CarrierItem(this, sw8CorrelationCarrierItem);
         return new CarrierItemHead(sw8CarrierItem);
     }
@@ -85,13 +91,48 @@ public class ContextCarrier implements Serializable {
      * @return the injector for the extension context.
      */
     public ExtensionInjector extensionInjector() {
-        return new ExtensionInjector(extensionContext);
+        return new ExtensionInjector(getExtensionContext());
+    }
+
+    ExtensionContext getExtensionContext() {
+        if (extensionContext == null) {
+            extensionContext = new ExtensionContext();
+        }
+        return extensionContext;
+    }
+
+    CorrelationContext getCorrelationContext() {
+        if (correlationContext == null) {
+            correlationContext = new CorrelationContext();
+        }
+        return correlationContext;
+    }
+
+    boolean hasCorrelationContext() {
+        return correlationContext != null && !correlationContext.isEmpty();
+    }
+
+    /**
+     * @return the serialization of the extension context, without creating it.
+     */
+    String serializeExtension() {
+        return extensionContext == null ? ExtensionContext.EMPTY_SERIALIZATION : extensionContext.serialize();
+    }
+
+    /**
+     * @return the serialization of the correlation context, without creating it.
+     */
+    String serializeCorrelation() {
+        return correlationContext == null ? "" : correlationContext.serialize();
     }
 
     /**
      * Extract the extension context to tracing context
      */
     void extractExtensionTo(TracingContext tracingContext) {
+        if (extensionContext == null) {
+            return;
+        }
         tracingContext.getExtensionContext().extract(this);
         // The extension context could have field not to propagate further, so, must use the this.* to process.
         this.extensionContext.handle(tracingContext.activeSpan());
@@ -101,6 +142,9 @@ public class ContextCarrier implements Serializable {
      * Extract the correlation context to tracing context
      */
     void extractCorrelationTo(TracingContext tracingContext) {
+        if (correlationContext == null || correlationContext.isEmpty()) {
+            return;
+        }
         tracingContext.getCorrelationContext().extract(this);
         // The correlation context could have field not to propagate further, so, must use the this.* to process.
         this.correlationContext.handle(tracingContext.activeSpan());
@@ -113,17 +157,17 @@ public class ContextCarrier implements Serializable {
      */
     String serialize(HeaderVersion version) {
         if (this.isValid(version)) {
-            return StringUtil.join(
-                '-',
-                "1",
-                Base64.encode(this.getTraceId()),
-                Base64.encode(this.getTraceSegmentId()),
-                this.getSpanId() + "",
-                Base64.encode(this.getParentService()),
-                Base64.encode(this.getParentServiceInstance()),
-                Base64.encode(this.getParentEndpoint()),
-                Base64.encode(this.getAddressUsedAtClient())
-            );
+            return HeaderBuilder.get()
+                                .append('1').append('-')
+                                .appendBase64(this.getTraceId()).append('-')
+                                .appendBase64(this.getTraceSegmentId()).append('-')
+                                .append(this.getSpanId()).append('-')
+                                .append(PARENT_SERVICE_CACHE.encode(this.getParentService())).append('-')
+                                .append(PARENT_SERVICE_INSTANCE_CACHE.encode(this.getParentServiceInstance()))
+                                .append('-')
+                                .appendBase64(this.getParentEndpoint()).append('-')
+                                .appendBase64(this.getAddressUsedAtClient())
+                                .build();
         }
         return "";
     }
@@ -138,17 +182,33 @@ public class ContextCarrier implements Serializable {
             return this;
         }
         if (HeaderVersion.v3.equals(version)) {
-            String[] parts = text.split("-", 8);
-            if (parts.length == 8) {
+            // The header has 8 parts split by '-', the last one takes the rest.
+            int separators = 0;
+            for (int i = text.indexOf('-'); i >= 0 && separators < 7; i = text.indexOf('-', i + 1)) {
+                separators++;
+            }
+            if (separators == 7) {
                 try {
-                    // parts[0] is sample flag, always trace if header exists.
-                    this.traceId = Base64.decode2UTFString(parts[1]);
-                    this.traceSegmentId = Base64.decode2UTFString(parts[2]);
-                    this.spanId = Integer.parseInt(parts[3]);
-                    this.parentService = Base64.decode2UTFString(parts[4]);
-                    this.parentServiceInstance = Base64.decode2UTFString(parts[5]);
-                    this.parentEndpoint = Base64.decode2UTFString(parts[6]);
-                    this.addressUsedAtClient = Base64.decode2UTFString(parts[7]);
+                    // The first part is sample flag, always trace if header exists.
+                    int start = text.indexOf('-') + 1;
+                    int end = text.indexOf('-', start);
+                    this.traceId = Base64.decode2UTFString(text, start, end);
+                    start = end + 1;
+                    end = text.indexOf('-', start);
+                    this.traceSegmentId = Base64.decode2UTFString(text, start, end);
+                    start = end + 1;
+                    end = text.indexOf('-', start);
+                    this.spanId = parseInt(text, start, end);
+                    start = end + 1;
+                    end = text.indexOf('-', start);
+                    this.parentService = Base64.decode2UTFString(text, start, end);
+                    start = end + 1;
+                    end = text.indexOf('-', start);
+                    this.parentServiceInstance = Base64.decode2UTFString(text, start, end);
+                    start = end + 1;
+                    end = text.indexOf('-', start);
+                    this.parentEndpoint = Base64.decode2UTFString(text, start, end);
+                    this.addressUsedAtClient = Base64.decode2UTFString(text, end + 1, text.length());
                 } catch (IllegalArgumentException ignored) {
 
                 }
@@ -157,6 +217,24 @@ public class ContextCarrier implements Serializable {
         return this;
     }
 
+    /**
+     * The same as {@link Integer#parseInt(String)} of the substring, without creating it for the common case.
+     */
+    private static int parseInt(String text, int start, int end) {
+        if (end > start && end - start <= 9) {
+            int value = 0;
+            for (int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                if (c < '0' || c > '9') {
+                    return Integer.parseInt(text.substring(start, end));
+                }
+                value = value * 10 + c - '0';
+            }
+            return value;
+        }
+        return Integer.parseInt(text.substring(start, end));
+    }
+
     public boolean isValid() {
         return isValid(HeaderVersion.v3);
     }
@@ -182,4 +260,30 @@ public class ContextCarrier implements Serializable {
     public enum HeaderVersion {
         v3
     }
+
+    /**
+     * Keep the base64 of the latest value.
+     */
+    private static class EncodedCache {
+        private volatile Encoded latest;
+
+        private byte[] encode(String value) {
+            Encoded cached = latest;
+            if (cached == null || !cached.value.equals(value)) {
+                cached = new Encoded(value, HeaderBuilder.encode(value));
+                latest = cached;
+            }
+            return cached.bytes;
+        }
+    }
+
+    private static class Encoded {
+        private final String value;
+        private final byte[] bytes;
+
+        private Encoded(String value, byte[] bytes) {
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
 }
@@ -26,15 +26,27 @@ import org.apache.skywalking.apm.agent.core.profile.ProfileStatusContext;
  * The <code>ContextSnapshot</code> is a snapshot for current context. The snapshot carries the info for building
  * reference between two segments in two thread, but have a causal relationship.
  */
-@Getter
 public class ContextSnapshot {
+    @Getter
     private DistributedTraceId traceId;
+    @Getter
     private String traceSegmentId;
+    @Getter
     private int spanId;
+    @Getter
     private String parentEndpoint;
 
+    /**
+     * Null if the captured context has no correlation data, created on first use through {@link
+     * #getCorrelationContext()}.
+     */
     private CorrelationContext correlationContext;
+    /**
+     * Null if the captured context has no extension context, created on first use through {@link
+     * #getExtensionContext()}.
+     */
     private ExtensionContext extensionContext;
+    @Getter
     private ProfileStatusContext profileStatusContext;
 
     ContextSnapshot(String traceSegmentId,
@@ -48,8 +60,12 @@ public class ContextSnapshot {
         this.spanId = spanId;
         this.traceId = primaryTraceId;
         this.parentEndpoint = parentEndpoint;
-        this.correlationContext = correlationContext.clone();
-        this.extensionContext = extensionContext.clone();
+        if (correlationContext != null && !correlationContext.isEmpty()) {
+            this.correlationContext = correlationContext.clone();
+        }
+        if (extensionContext != null) {
+            this.extensionContext = extensionContext.clone();
+        }
         this.profileStatusContext = profileStatusContext.clone();
     }
 
@@ -58,9 +74,27 @@ public class ContextSnapshot {
     }
 
     public CorrelationContext getCorrelationContext() {
+        if (correlationContext == null) {
+            correlationContext = new CorrelationContext();
+        }
         return correlationContext;
     }
 
+    public ExtensionContext getExtensionContext() {
+        if (extensionContext == null) {
+            extensionContext = new ExtensionContext();
+        }
+        return extensionContext;
+    }
+
+    boolean hasCorrelationContext() {
+        return correlationContext != null && !correlationContext.isEmpty();
+    }
+
+    boolean hasExtensionContext() {
+        return extensionContext != null;
+    }
+
     public boolean isValid() {
         return traceSegmentId != null && spanId > -1 && traceId != null;
     }
@@ -20,11 +20,7 @@ package org.apache.skywalking.apm.agent.core.context;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 import org.apache.skywalking.apm.agent.core.base64.Base64;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.tag.StringTag;
@@ -33,10 +29,16 @@ import org.apache.skywalking.apm.util.StringUtil;
 
 /**
  * Correlation context, use to propagation user custom data.
+ * <p>
+ * The data is kept in an array of the keys and values in turn, as there are only a few elements. The array is never
+ * modified but replaced on write, so the contexts without any data share one empty array, a clone shares the array of
+ * the origin, and the data could be read without locking.
  */
 public class CorrelationContext {
 
-    private final Map<String, String> data;
+    private static final String[] EMPTY_DATA = new String[0];
+
+    private volatile String[] data = EMPTY_DATA;
 
     private static final List<String> AUTO_TAG_KEYS;
 
@@ -48,10 +50,6 @@ public class CorrelationContext {
         }
     }
 
-    public CorrelationContext() {
-        this.data = new ConcurrentHashMap<>(Config.Correlation.ELEMENT_MAX_NUMBER);
-    }
-
     /**
      * Add or override the context.
      *
@@ -67,7 +65,7 @@ public class CorrelationContext {
 
         // remove and return previous value when value is empty
         if (StringUtil.isEmpty(value)) {
-            return Optional.ofNullable(data.remove(key));
+            return Optional.ofNullable(remove(key));
         }
 
         // check value length
@@ -75,21 +73,27 @@ public class CorrelationContext {
             return Optional.empty();
         }
 
-        // already contain key
-        if (data.containsKey(key)) {
-            final String previousValue = data.put(key, value);
-            return Optional.of(previousValue);
-        }
+        synchronized (this) {
+            // already contain key
+            final String[] current = data;
+            final int index = indexOf(current, key);
+            if (index >= 0) {
+                final String[] updated = current.clone();
+                updated[index + 1] = value;
+                data = updated;
+                return Optional.of(current[index + 1]);
+            }
 
-        // check keys count
-        if (data.size() >= Config.Correlation.ELEMENT_MAX_NUMBER) {
-            return Optional.empty();
-        }
-        if (AUTO_TAG_KEYS.contains(key) && ContextManager.isActive()) {
-            ContextManager.activeSpan().tag(new StringTag(key), value);
+            // check keys count
+            if (size(current) >= Config.Correlation.ELEMENT_MAX_NUMBER) {
+                return Optional.empty();
+            }
+            if (AUTO_TAG_KEYS.contains(key) && ContextManager.isActive()) {
+                ContextManager.activeSpan().tag(new StringTag(key), value);
+            }
+            // setting
+            data = append(current, key, value);
         }
-        // setting
-        data.put(key, value);
         return Optional.empty();
     }
 
@@ -102,7 +106,13 @@ public class CorrelationContext {
             return Optional.empty();
         }
 
-        return Optional.ofNullable(data.get(key));
+        final String[] current = data;
+        final int index = indexOf(current, key);
+        return index >= 0 ? Optional.of(current[index + 1]) : Optional.empty();
+    }
+
+    boolean isEmpty() {
+        return data.length == 0;
     }
 
     /**
@@ -111,13 +121,19 @@ public class CorrelationContext {
      * @return the serialization string.
      */
     String serialize() {
-        if (data.isEmpty()) {
+        final String[] current = data;
+        if (current.length == 0) {
             return "";
         }
 
-        return data.entrySet().stream()
-                   .map(entry -> Base64.encode(entry.getKey()) + ":" + Base64.encode(entry.getValue()))
-                   .collect(Collectors.joining(","));
+        final HeaderBuilder builder = HeaderBuilder.get();
+        for (int i = 0; i < current.length; i += 2) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            builder.appendBase64(current[i]).append(':').appendBase64(current[i + 1]);
+        }
+        return builder.build();
     }
 
     /**
@@ -128,16 +144,32 @@ public class CorrelationContext {
             return;
         }
 
-        for (String perData : value.split(",")) {
+        // The elements are split by ',', each of them is a key and a value split by ':'.
+        int start = 0;
+        final int length = value.length();
+        while (start < length) {
+            int end = value.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
             // Only data with limited count of elements can be added
-            if (data.size() >= Config.Correlation.ELEMENT_MAX_NUMBER) {
+            if (size(data) >= Config.Correlation.ELEMENT_MAX_NUMBER) {
                 break;
             }
-            final String[] parts = perData.split(":");
-            if (parts.length != 2) {
-                continue;
+            // The trailing ':' are ignored, the same as String#split.
+            int elementEnd = end;
+            while (elementEnd > start && value.charAt(elementEnd - 1) == ':') {
+                elementEnd--;
+            }
+            final int separator = value.indexOf(':', start);
+            final int nextSeparator = separator < 0 ? -1 : value.indexOf(':', separator + 1);
+            if (separator >= 0 && separator < elementEnd && (nextSeparator < 0 || nextSeparator >= elementEnd)) {
+                set(
+                    Base64.decode2UTFString(value, start, separator),
+                    Base64.decode2UTFString(value, separator + 1, elementEnd)
+                );
             }
-            data.put(Base64.decode2UTFString(parts[0]), Base64.decode2UTFString(parts[1]));
+            start = end + 1;
         }
     }
 
@@ -146,21 +178,24 @@ public class CorrelationContext {
      * ContextCarrier#getCorrelationContext()}
      */
     void inject(ContextCarrier carrier) {
-        carrier.getCorrelationContext().data.putAll(this.data);
+        if (isEmpty()) {
+            return;
+        }
+        carrier.getCorrelationContext().putAll(this.data);
     }
 
     /**
      * Extra the {@link ContextCarrier#getCorrelationContext()} into this context.
      */
     void extract(ContextCarrier carrier) {
-        final Map<String, String> carrierCorrelationContext = carrier.getCorrelationContext().data;
-        for (Map.Entry<String, String> entry : carrierCorrelationContext.entrySet()) {
+        final String[] carrierData = carrier.getCorrelationContext().data;
+        for (int i = 0; i < carrierData.length; i += 2) {
             // Only data with limited count of elements can be added
-            if (data.size() >= Config.Correlation.ELEMENT_MAX_NUMBER) {
+            if (size(data) >= Config.Correlation.ELEMENT_MAX_NUMBER) {
                 break;
             }
 
-            this.data.put(entry.getKey(), entry.getValue());
+            set(carrierData[i], carrierData[i + 1]);
         }
     }
 
@@ -170,6 +205,9 @@ public class CorrelationContext {
      * 1. Inject the tags with auto-tag flag into the span
      */
     void handle(AbstractSpan span) {
+        if (isEmpty()) {
+            return;
+        }
         AUTO_TAG_KEYS.forEach(key -> this.get(key).ifPresent(val -> span.tag(new StringTag(key), val)));
     }
 
@@ -179,7 +217,7 @@ public class CorrelationContext {
     @Override
     public CorrelationContext clone() {
         final CorrelationContext context = new CorrelationContext();
-        context.data.putAll(this.data);
+        context.data = this.data;
         return context;
     }
 
@@ -189,7 +227,68 @@ public class CorrelationContext {
      * @param snapshot holds the context.
      */
     void continued(ContextSnapshot snapshot) {
-        this.data.putAll(snapshot.getCorrelationContext().data);
+        putAll(snapshot.getCorrelationContext().data);
+    }
+
+    /**
+     * Put the data without checking the count of elements.
+     */
+    private synchronized void putAll(String[] other) {
+        if (other.length == 0) {
+            return;
+        }
+        if (data.length == 0) {
+            data = other;
+            return;
+        }
+        for (int i = 0; i < other.length; i += 2) {
+            set(other[i], other[i + 1]);
+        }
+    }
+
+    private synchronized void set(String key, String value) {
+        final String[] current = data;
+        final int index = indexOf(current, key);
+        if (index >= 0) {
+            final String[] updated = current.clone();
+            updated[index + 1] = value;
+            data = updated;
+        } else {
+            data = append(current, key, value);
+        }
+    }
+
+    private synchronized String remove(String key) {
+        final String[] current = data;
+        final int index = indexOf(current, key);
+        if (index < 0) {
+            return null;
+        }
+        final String[] updated = new String[current.length - 2];
+        System.arraycopy(current, 0, updated, 0, index);
+        System.arraycopy(current, index + 2, updated, index, current.length - index - 2);
+        data = updated.length == 0 ? EMPTY_DATA : updated;
+        return current[index + 1];
+    }
+
+    private static String[] append(String[] current, String key, String value) {
+        final String[] updated = Arrays.copyOf(current, current.length + 2);
+        updated[current.length] = key;
+        updated[current.length + 1] = value;
+        return updated;
+    }
+
+    private static int indexOf(String[] current, String key) {
+        for (int i = 0; i < current.length; i += 2) {
+            if (current[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int size(String[] current) {
+        return current.length >> 1;
     }
 
     @Override
@@ -198,12 +297,27 @@ public class CorrelationContext {
             return true;
         if (o == null || getClass() != o.getClass())
             return false;
-        CorrelationContext that = (CorrelationContext) o;
-        return Objects.equals(data, that.data);
+        final String[] current = data;
+        final String[] other = ((CorrelationContext) o).data;
+        if (current.length != other.length) {
+            return false;
+        }
+        for (int i = 0; i < current.length; i += 2) {
+            final int index = indexOf(other, current[i]);
+            if (index < 0 || !current[i + 1].equals(other[index + 1])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(data);
+        final String[] current = data;
+        int hashCode = 0;
+        for (int i = 0; i < current.length; i += 2) {
+            hashCode += current[i].hashCode() ^ current[i + 1].hashCode();
+        }
+        return hashCode;
     }
 }
@@ -42,6 +42,10 @@ public class ExtensionContext {
      * The default value of extendable fields.
      */
     private static final String PLACEHOLDER = " ";
+    /**
+     * The serialization of the context without any field set.
+     */
+    static final String EMPTY_SERIALIZATION = "0" + SEPARATOR + PLACEHOLDER;
     /**
      * Tracing Mode. If true means represents all spans generated in this context should skip analysis.
      */
@@ -60,6 +64,9 @@ public class ExtensionContext {
      * @return the serialization string.
      */
     String serialize() {
+        if (!skipAnalysis && sendingTimestamp == null) {
+            return EMPTY_SERIALIZATION;
+        }
         String res = skipAnalysis ? "1" : "0";
         res += SEPARATOR;
         res += Objects.isNull(sendingTimestamp) ? PLACEHOLDER : sendingTimestamp;
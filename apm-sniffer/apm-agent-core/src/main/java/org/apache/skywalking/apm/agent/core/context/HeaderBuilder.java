@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.apache.skywalking.apm.agent.core.base64.Base64;
+
+/**
+ * Build the propagation headers, which are always ASCII, in the bytes reused by the thread. Only the header string is
+ * created in {@link #build()}.
+ */
+final class HeaderBuilder {
+    /**
+     * The bytes larger than this are not kept by the thread.
+     */
+    private static final int MAX_REUSED_SIZE = 4096;
+    private static final ThreadLocal<HeaderBuilder> BUILDER = ThreadLocal.withInitial(HeaderBuilder::new);
+
+    private byte[] bytes = new byte[256];
+    private byte[] scratch = new byte[256];
+    private int length;
+
+    private HeaderBuilder() {
+    }
+
+    /**
+     * @return the empty builder of the current thread, the headers must be built one by one.
+     */
+    static HeaderBuilder get() {
+        HeaderBuilder builder = BUILDER.get();
+        builder.length = 0;
+        return builder;
+    }
+
+    /**
+     * Encode the UTF-8 bytes of the text into base64, the bytes are the same as {@link Base64#encode(String)}.
+     */
+    static byte[] encode(String text) {
+        return Base64.encode(text).getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    HeaderBuilder append(char c) {
+        ensureCapacity(1);
+        bytes[length++] = (byte) c;
+        return this;
+    }
+
+    HeaderBuilder append(int value) {
+        if (value >= 0 && value < 10) {
+            return append((char) ('0' + value));
+        }
+        final String text = Integer.toString(value);
+        ensureCapacity(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            bytes[length++] = (byte) text.charAt(i);
+        }
+        return this;
+    }
+
+    /**
+     * Append the bytes created by {@link #encode(String)}.
+     */
+    HeaderBuilder append(byte[] encoded) {
+        ensureCapacity(encoded.length);
+        System.arraycopy(encoded, 0, bytes, length, encoded.length);
+        length += encoded.length;
+        return this;
+    }
+
+    /**
+     * Append the base64 of the UTF-8 bytes of the text, the same as {@link Base64#encode(String)}.
+     */
+    HeaderBuilder appendBase64(String text) {
+        final int maxLength = 4 * text.length() + 4;
+        if (scratch.length < maxLength) {
+            scratch = new byte[Math.max(maxLength, scratch.length * 2)];
+        }
+        final int count = Base64.encode(text, scratch);
+        ensureCapacity(count);
+        System.arraycopy(scratch, 0, bytes, length, count);
+        length += count;
+        return this;
+    }
+
+    String build() {
+        final String header = new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+        length = 0;
+        if (bytes.length > MAX_REUSED_SIZE || scratch.length > MAX_REUSED_SIZE) {
+            BUILDER.remove();
+        }
+        return header;
+    }
+
+    private void ensureCapacity(int count) {
+        if (length + count > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(length + count, bytes.length * 2));
+        }
+    }
+}
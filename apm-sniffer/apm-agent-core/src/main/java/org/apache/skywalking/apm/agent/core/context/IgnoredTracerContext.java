@@ -35,44 +35,48 @@ public class IgnoredTracerContext implements AbstractTracerContext {
     private static final NoopSpan NOOP_SPAN = new NoopSpan();
     private static final String IGNORE_TRACE = "Ignored_Trace";
 
-    private final CorrelationContext correlationContext;
-    private final ExtensionContext extensionContext;
+    /**
+     * Created on first use, through {@link #getCorrelationContext()}.
+     */
+    private CorrelationContext correlationContext;
     private final ProfileStatusContext profileStatusContext;
 
     private int stackDepth;
 
     public IgnoredTracerContext() {
         this.stackDepth = 0;
-        this.correlationContext = new CorrelationContext();
-        this.extensionContext = new ExtensionContext();
         this.profileStatusContext = ProfileStatusContext.createWithNone();
     }
 
     public IgnoredTracerContext(int stackDepth) {
         this.stackDepth = stackDepth;
-        this.correlationContext = new CorrelationContext();
-        this.extensionContext = new ExtensionContext();
         this.profileStatusContext = ProfileStatusContext.createWithNone();
     }
 
     @Override
     public void inject(ContextCarrier carrier) {
-        this.correlationContext.inject(carrier);
+        if (this.correlationContext != null) {
+            this.correlationContext.inject(carrier);
+        }
     }
 
     @Override
     public void extract(ContextCarrier carrier) {
-        this.correlationContext.extract(carrier);
+        if (carrier.hasCorrelationContext()) {
+            getCorrelationContext().extract(carrier);
+        }
     }
 
     @Override
     public ContextSnapshot capture() {
-        return new ContextSnapshot(null, -1, null, null, correlationContext, extensionContext, profileStatusContext);
+        return new ContextSnapshot(null, -1, null, null, correlationContext, null, profileStatusContext);
     }
 
     @Override
     public void continued(ContextSnapshot snapshot) {
-        this.correlationContext.continued(snapshot);
+        if (snapshot.hasCorrelationContext()) {
+            getCorrelationContext().continued(snapshot);
+        }
     }
 
     @Override
@@ -135,6 +139,9 @@ public class IgnoredTracerContext implements AbstractTracerContext {
 
     @Override
     public CorrelationContext getCorrelationContext() {
+        if (this.correlationContext == null) {
+            this.correlationContext = new CorrelationContext();
+        }
         return this.correlationContext;
     }
 
@@ -17,17 +17,34 @@
 
 package org.apache.skywalking.apm.agent.core.context;
 
+import org.apache.skywalking.apm.util.StringUtil;
+
 public class SW8CorrelationCarrierItem extends CarrierItem {
     public static final String HEADER_NAME = "sw8-correlation";
+    private final ContextCarrier carrier;
     private final CorrelationContext correlationContext;
 
+    public SW8CorrelationCarrierItem(ContextCarrier carrier, CarrierItem next) {
+        super(HEADER_NAME, carrier.serializeCorrelation(), next);
+        this.carrier = carrier;
+        this.correlationContext = null;
+    }
+
+    /**
+     * @deprecated the context has to be created before the carrier is read. Use {@link
+     * #SW8CorrelationCarrierItem(ContextCarrier, CarrierItem)} instead, which creates it only when the header is set.
+     */
+    @Deprecated
     public SW8CorrelationCarrierItem(CorrelationContext correlationContext, CarrierItem next) {
         super(HEADER_NAME, correlationContext.serialize(), next);
+        this.carrier = null;
         this.correlationContext = correlationContext;
     }
 
     @Override
     public void setHeadValue(String headValue) {
-        this.correlationContext.deserialize(headValue);
+        if (StringUtil.isNotEmpty(headValue)) {
+            (carrier != null ? carrier.getCorrelationContext() : correlationContext).deserialize(headValue);
+        }
     }
 }
@@ -18,18 +18,35 @@
 
 package org.apache.skywalking.apm.agent.core.context;
 
+import org.apache.skywalking.apm.util.StringUtil;
+
 public class SW8ExtensionCarrierItem extends CarrierItem {
     public static final String HEADER_NAME = "sw8-x";
+    private final ContextCarrier carrier;
     private final ExtensionContext extensionContext;
 
+    public SW8ExtensionCarrierItem(ContextCarrier carrier, CarrierItem next) {
+        super(HEADER_NAME, carrier.serializeExtension(), next);
+        this.carrier = carrier;
+        this.extensionContext = null;
+    }
+
+    /**
+     * @deprecated the context has to be created before the carrier is read. Use {@link
+     * #SW8ExtensionCarrierItem(ContextCarrier, CarrierItem)} instead, which creates it only when the header is set.
+     */
+    @Deprecated
     public SW8ExtensionCarrierItem(ExtensionContext extensionContext, CarrierItem next) {
         super(HEADER_NAME, extensionContext.serialize(), next);
+        this.carrier = null;
         this.extensionContext = extensionContext;
     }
 
     @Override
     public void setHeadValue(String headValue) {
-        this.extensionContext.deserialize(headValue);
+        if (StringUtil.isNotEmpty(headValue)) {
+            (carrier != null ? carrier.getExtensionContext() : extensionContext).deserialize(headValue);
+        }
     }
 
 }
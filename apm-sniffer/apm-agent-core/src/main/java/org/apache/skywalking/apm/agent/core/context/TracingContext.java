@@ -22,7 +22,6 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.locks.ReentrantLock;
-import lombok.AccessLevel;
 import lombok.Getter;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
@@ -39,6 +38,7 @@ import org.apache.skywalking.apm.agent.core.context.trace.NoopExitSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.NoopSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
 import org.apache.skywalking.apm.agent.core.context.trace.TraceSegmentRef;
+import org.apache.skywalking.apm.agent.core.context.trace.TracingObjectPool;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.agent.core.profile.ProfileStatusContext;
@@ -108,10 +108,14 @@ public class TracingContext implements AbstractTracerContext {
      * profile status
      */
     private final ProfileStatusContext profileStatus;
-    @Getter(AccessLevel.PACKAGE)
-    private final CorrelationContext correlationContext;
-    @Getter(AccessLevel.PACKAGE)
-    private final ExtensionContext extensionContext;
+    /**
+     * Created on first use, through {@link #getCorrelationContext()}.
+     */
+    private CorrelationContext correlationContext;
+    /**
+     * Created on first use, through {@link #getExtensionContext()}.
+     */
+    private ExtensionContext extensionContext;
 
     //CDS watcher
     private final SpanLimitWatcher spanLimitWatcher;
@@ -120,7 +124,7 @@ public class TracingContext implements AbstractTracerContext {
      * Initialize all fields with default value.
      */
     TracingContext(String firstOPName, SpanLimitWatcher spanLimitWatcher) {
-        this.segment = new TraceSegment();
+        this.segment = TracingObjectPool.newSegment();
         this.spanIdGenerator = 0;
         isRunningInAsyncMode = false;
         createTime = System.currentTimeMillis();
@@ -130,11 +134,8 @@ public class TracingContext implements AbstractTracerContext {
         if (PROFILE_TASK_EXECUTION_SERVICE == null) {
             PROFILE_TASK_EXECUTION_SERVICE = ServiceManager.INSTANCE.findService(ProfileTaskExecutionService.class);
         }
-        this.profileStatus = PROFILE_TASK_EXECUTION_SERVICE.addProfiling(
-            this, segment.getTraceSegmentId(), firstOPName);
+        this.profileStatus = PROFILE_TASK_EXECUTION_SERVICE.addProfiling(this, firstOPName);
 
-        this.correlationContext = new CorrelationContext();
-        this.extensionContext = new ExtensionContext();
         this.spanLimitWatcher = spanLimitWatcher;
     }
 
@@ -178,8 +179,12 @@ public class TracingContext implements AbstractTracerContext {
         carrier.setParentEndpoint(primaryEndpoint.getName());
         carrier.setAddressUsedAtClient(peer);
 
-        this.correlationContext.inject(carrier);
-        this.extensionContext.inject(carrier);
+        if (this.correlationContext != null) {
+            this.correlationContext.inject(carrier);
+        }
+        if (this.extensionContext != null) {
+            this.extensionContext.inject(carrier);
+        }
     }
 
     /**
@@ -233,11 +238,15 @@ public class TracingContext implements AbstractTracerContext {
             this.segment.ref(segmentRef);
             this.activeSpan().ref(segmentRef);
             this.segment.relatedGlobalTrace(snapshot.getTraceId());
-            this.correlationContext.continued(snapshot);
-            this.extensionContext.continued(snapshot);
-            this.extensionContext.handle(this.activeSpan());
+            if (snapshot.hasCorrelationContext()) {
+                getCorrelationContext().continued(snapshot);
+            }
+            if (snapshot.hasExtensionContext()) {
+                getExtensionContext().continued(snapshot);
+                this.extensionContext.handle(this.activeSpan());
+            }
             if (this.profileStatus.continued(snapshot)) {
-                PROFILE_TASK_EXECUTION_SERVICE.continueProfiling(this, this.segment.getTraceSegmentId());
+                PROFILE_TASK_EXECUTION_SERVICE.continueProfiling(this);
             }
         }
     }
@@ -290,8 +299,8 @@ public class TracingContext implements AbstractTracerContext {
             entrySpan = parentSpan;
             return entrySpan.start();
         } else {
-            entrySpan = new EntrySpan(
-                spanIdGenerator++, parentSpanId,
+            entrySpan = TracingObjectPool.newEntrySpan(
+                segment, spanIdGenerator++, parentSpanId,
                 operationName, owner
             );
             entrySpan.start();
@@ -313,7 +322,8 @@ public class TracingContext implements AbstractTracerContext {
         }
         AbstractSpan parentSpan = peek();
         final int parentSpanId = parentSpan == null ? -1 : parentSpan.getSpanId();
-        AbstractTracingSpan span = new LocalSpan(spanIdGenerator++, parentSpanId, operationName, this);
+        AbstractTracingSpan span = TracingObjectPool.newLocalSpan(
+            segment, spanIdGenerator++, parentSpanId, operationName, this);
         span.start();
         return push(span);
     }
@@ -343,7 +353,8 @@ public class TracingContext implements AbstractTracerContext {
             // Since 8.10.0
             remotePeer = StringUtil.isEmpty(CLUSTER) ? remotePeer : CLUSTER + "/" + remotePeer;
             final int parentSpanId = parentSpan == null ? -1 : parentSpan.getSpanId();
-            exitSpan = new ExitSpan(spanIdGenerator++, parentSpanId, operationName, remotePeer, owner);
+            exitSpan = TracingObjectPool.newExitSpan(
+                segment, spanIdGenerator++, parentSpanId, operationName, remotePeer, owner);
             push(exitSpan);
         }
         exitSpan.start();
@@ -412,9 +423,19 @@ public class TracingContext implements AbstractTracerContext {
 
     @Override
     public CorrelationContext getCorrelationContext() {
+        if (this.correlationContext == null) {
+            this.correlationContext = new CorrelationContext();
+        }
         return this.correlationContext;
     }
 
+    ExtensionContext getExtensionContext() {
+        if (this.extensionContext == null) {
+            this.extensionContext = new ExtensionContext();
+        }
+        return this.extensionContext;
+    }
+
     @Override
     public String getPrimaryEndpointName() {
         return primaryEndpoint.getName();
@@ -440,7 +461,7 @@ public class TracingContext implements AbstractTracerContext {
             return;
         }
 
-        PROFILE_TASK_EXECUTION_SERVICE.profilingRecheck(this, segment.getTraceSegmentId(), operationName);
+        PROFILE_TASK_EXECUTION_SERVICE.profilingRecheck(this, operationName);
     }
 
     /**
@@ -467,8 +488,14 @@ public class TracingContext implements AbstractTracerContext {
                 }
                 AgentSo11y.measureTracingContextCompletion(false);
                 TraceSegment finishedSegment = segment.finish(limitMechanismWorking);
+                if (profileStatus.isBeingWatched()) {
+                    // The profiler may still read the segment id.
+                    finishedSegment.disableRecycling();
+                }
                 TracingContext.ListenerManager.notifyFinish(finishedSegment);
                 running = false;
+                // The listeners retain the segment to keep it after notified.
+                finishedSegment.release();
             }
         } finally {
             if (isRunningInAsyncMode) {
@@ -555,7 +582,9 @@ public class TracingContext implements AbstractTracerContext {
             primaryEndpoint.set(span);
         }
         activeSpanStack.addLast(span);
-        this.extensionContext.handle(span);
+        if (this.extensionContext != null) {
+            this.extensionContext.handle(span);
+        }
         return span;
     }
 
@@ -18,11 +18,6 @@
 
 package org.apache.skywalking.apm.agent.core.context.ids;
 
-import lombok.EqualsAndHashCode;
-import lombok.Getter;
-import lombok.RequiredArgsConstructor;
-import lombok.ToString;
-
 /**
  * The <code>DistributedTraceId</code> presents a distributed call chain.
  * <p>
@@ -31,13 +26,60 @@ import lombok.ToString;
  * such as: Service : http://www.skywalking.com/cust/query, all the remote, called behind this service, rest remote, db
  * executions, are using the same <code>DistributedTraceId</code> even in different JVM.
  * <p>
- * The <code>DistributedTraceId</code> contains only one string, and can NOT be reset, creating a new instance is the
- * only option.
+ * The <code>DistributedTraceId</code> contains only one id, and can NOT be reset, creating a new instance is the only
+ * option. A generated id is kept as {@link GlobalId}, and rendered to the string on the first {@link #getId()}.
  */
-@RequiredArgsConstructor
-@ToString
-@EqualsAndHashCode
 public abstract class DistributedTraceId {
-    @Getter
-    private final String id;
+    private final GlobalId globalId;
+    private String id;
+
+    protected DistributedTraceId(String id) {
+        this.globalId = null;
+        this.id = id;
+    }
+
+    protected DistributedTraceId(GlobalId globalId) {
+        this.globalId = globalId;
+    }
+
+    public String getId() {
+        String result = id;
+        if (result == null) {
+            result = globalId.toString();
+            id = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the generated id, or null if the id is propagated as a string.
+     */
+    public GlobalId getGlobalId() {
+        return globalId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DistributedTraceId)) {
+            return false;
+        }
+        DistributedTraceId traceId = (DistributedTraceId) o;
+        if (globalId != null && traceId.globalId != null) {
+            return globalId.equals(traceId.globalId);
+        }
+        return getId().equals(traceId.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getId().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "DistributedTraceId(id=" + getId() + ")";
+    }
 }
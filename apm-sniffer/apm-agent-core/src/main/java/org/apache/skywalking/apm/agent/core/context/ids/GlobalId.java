@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.ids;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The id generated by {@link GlobalIdGenerator}, kept as primitives. The text, {@code processId.threadId.sequence}
+ * with the process id as 32 lower-case hex digits, is rendered on the first {@link #toString()} and cached, or written
+ * straight into a byte array by {@link #writeTo(byte[], int)} when the id is only reported.
+ */
+public final class GlobalId {
+    /**
+     * 32 hex digits, two dots, a thread id and a sequence of at most 19 digits.
+     */
+    public static final int MAX_LENGTH = 32 + 2 + 19 + 19;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final long processIdHigh;
+    private final long processIdLow;
+    private final long threadId;
+    private final long sequence;
+    /**
+     * Rendered once, racing threads render the same text.
+     */
+    private String text;
+
+    GlobalId(long processIdHigh, long processIdLow, long threadId, long sequence) {
+        this.processIdHigh = processIdHigh;
+        this.processIdLow = processIdLow;
+        this.threadId = threadId;
+        this.sequence = sequence;
+    }
+
+    /**
+     * @return the length of the text, in bytes and chars, as it is all ASCII.
+     */
+    public int length() {
+        return 32 + 2 + stringSize(threadId) + stringSize(sequence);
+    }
+
+    /**
+     * Write the ASCII text into the target.
+     *
+     * @return the length written.
+     */
+    public int writeTo(byte[] target, int offset) {
+        int position = offset;
+        position = writeHex(target, position, processIdHigh);
+        position = writeHex(target, position, processIdLow);
+        target[position++] = '.';
+        position = writeDecimal(target, position, threadId);
+        target[position++] = '.';
+        position = writeDecimal(target, position, sequence);
+        return position - offset;
+    }
+
+    @Override
+    public String toString() {
+        String result = text;
+        if (result == null) {
+            byte[] bytes = new byte[length()];
+            writeTo(bytes, 0);
+            result = new String(bytes, StandardCharsets.ISO_8859_1);
+            text = result;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GlobalId)) {
+            return false;
+        }
+        GlobalId id = (GlobalId) o;
+        return processIdHigh == id.processIdHigh && processIdLow == id.processIdLow
+            && threadId == id.threadId && sequence == id.sequence;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(processIdHigh);
+        result = 31 * result + Long.hashCode(processIdLow);
+        result = 31 * result + Long.hashCode(threadId);
+        result = 31 * result + Long.hashCode(sequence);
+        return result;
+    }
+
+    private static int writeHex(byte[] target, int position, long value) {
+        for (int shift = 60; shift >= 0; shift -= 4) {
+            target[position++] = (byte) HEX_DIGITS[(int) (value >>> shift) & 0xF];
+        }
+        return position;
+    }
+
+    /**
+     * Thread ids and sequences are never negative.
+     */
+    private static int writeDecimal(byte[] target, int position, long value) {
+        int end = position + stringSize(value);
+        int index = end;
+        do {
+            target[--index] = (byte) ('0' + (int) (value % 10));
+            value /= 10;
+        } while (value > 0);
+        return end;
+    }
+
+    private static int stringSize(long value) {
+        long limit = 10;
+        for (int size = 1; size < 19; size++) {
+            if (value < limit) {
+                return size;
+            }
+            limit *= 10;
+        }
+        return 19;
+    }
+}
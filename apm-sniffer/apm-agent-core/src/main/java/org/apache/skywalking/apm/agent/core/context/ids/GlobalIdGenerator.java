@@ -20,10 +20,10 @@ package org.apache.skywalking.apm.agent.core.context.ids;
 
 import java.util.UUID;
 
-import org.apache.skywalking.apm.util.StringUtil;
-
 public final class GlobalIdGenerator {
-    private static final String PROCESS_ID = UUID.randomUUID().toString().replaceAll("-", "");
+    private static final UUID PROCESS_ID = UUID.randomUUID();
+    private static final long PROCESS_ID_HIGH = PROCESS_ID.getMostSignificantBits();
+    private static final long PROCESS_ID_LOW = PROCESS_ID.getLeastSignificantBits();
     private static final ThreadLocal<IDContext> THREAD_ID_SEQUENCE = ThreadLocal.withInitial(
         () -> new IDContext(System.currentTimeMillis(), (short) 0));
 
@@ -39,15 +39,17 @@ public final class GlobalIdGenerator {
      * <p>
      * The third one also has two parts, 1) a timestamp, measured in milliseconds 2) a seq, in current thread, between
      * 0(included) and 9999(included)
+     * <p>
+     * The parts are kept as primitives, see {@link GlobalId} for the text.
      *
      * @return unique id to represent a trace or segment
      */
-    public static String generate() {
-        return StringUtil.join(
-            '.',
-            PROCESS_ID,
-            String.valueOf(Thread.currentThread().getId()),
-            String.valueOf(THREAD_ID_SEQUENCE.get().nextSeq())
+    public static GlobalId generate() {
+        return new GlobalId(
+            PROCESS_ID_HIGH,
+            PROCESS_ID_LOW,
+            Thread.currentThread().getId(),
+            THREAD_ID_SEQUENCE.get().nextSeq()
         );
     }
 
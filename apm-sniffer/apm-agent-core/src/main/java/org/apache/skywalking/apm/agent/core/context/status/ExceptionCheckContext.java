@@ -18,33 +18,62 @@
 
 package org.apache.skywalking.apm.agent.core.context.status;
 
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-
 /**
- * ExceptionCheckContext contains the exceptions that have been checked by the exceptionCheckStrategies.
+ * ExceptionCheckContext caches the status of the exception classes that have been checked by the
+ * exceptionCheckStrategies, so the strategies run once per exception class rather than once per traced exception.
+ * <p>
+ * The status is kept in a {@link ClassValue}, which doesn't hold the exception class or its class loader strongly, so
+ * the classes of an undeployed application could still be unloaded. As a class is unique in its class loader, this is
+ * a cache per (exception class, class loader). The cached status is dropped by {@link #invalidate()} when the ignored
+ * exceptions change.
  */
 public enum ExceptionCheckContext {
     INSTANCE;
 
-    private final Set<Class<? extends Throwable>> ignoredExceptions = ConcurrentHashMap.newKeySet(32);
-    private final Set<Class<? extends Throwable>> errorStatusExceptions = ConcurrentHashMap.newKeySet(128);
+    private static final int UNCHECKED = -1;
+    private static final int MAX_GENERATION = 0x3FFFFFFF;
+
+    private final ClassValue<CheckedStatus> checkedStatuses = new ClassValue<CheckedStatus>() {
+        @Override
+        protected CheckedStatus computeValue(final Class<?> type) {
+            return new CheckedStatus();
+        }
+    };
+
+    /**
+     * The status registered in an older generation is treated as unchecked.
+     */
+    private volatile int generation = 0;
 
     public boolean isChecked(Throwable throwable) {
-        return ignoredExceptions.contains(throwable.getClass()) || errorStatusExceptions.contains(throwable.getClass());
+        return checkedStatuses.get(throwable.getClass()).status >> 1 == generation;
     }
 
     public boolean isError(Throwable throwable) {
-        Class<? extends Throwable> clazz = throwable.getClass();
-        return errorStatusExceptions.contains(clazz) || !ignoredExceptions.contains(clazz);
+        int status = checkedStatuses.get(throwable.getClass()).status;
+        return status >> 1 != generation || (status & 1) == 1;
     }
 
     public void registerIgnoredException(Throwable throwable) {
-        ignoredExceptions.add(throwable.getClass());
+        checkedStatuses.get(throwable.getClass()).status = generation << 1;
     }
 
     public void registerErrorStatusException(Throwable throwable) {
-        errorStatusExceptions.add(throwable.getClass());
+        checkedStatuses.get(throwable.getClass()).status = generation << 1 | 1;
     }
 
+    /**
+     * Drop the status of all checked exceptions, they would be checked by the strategies again.
+     */
+    public void invalidate() {
+        generation = (generation + 1) & MAX_GENERATION;
+    }
+
+    private static class CheckedStatus {
+        /**
+         * The generation in which the status is registered, shifted left by 1, with the lowest bit set for the error
+         * status.
+         */
+        private volatile int status = UNCHECKED;
+    }
 }
@@ -18,29 +18,43 @@
 
 package org.apache.skywalking.apm.agent.core.context.status;
 
+import java.util.Set;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 
 /**
  * HierarchyMatchExceptionCheckStrategy does a hierarchy check for a traced exception. If it or its parent has been
  * listed in org.apache.skywalking.apm.agent.core.conf.Config.StatusCheck#IGNORED_EXCEPTIONS, the error status of the
  * span wouldn't be changed.
+ * <p>
+ * The names of the exception class, its super classes and interfaces are compared with the ignored names, so no class
+ * is loaded, and a listed exception absent in the class loader of the traced one costs nothing.
  */
 public class HierarchyMatchExceptionCheckStrategy implements ExceptionCheckStrategy {
 
     @Override
     public boolean isError(final Throwable e) {
-        Class<? extends Throwable> clazz = e.getClass();
-        StatusCheckService statusTriggerService = ServiceManager.INSTANCE.findService(StatusCheckService.class);
-        String[] ignoredExceptionNames = statusTriggerService.getIgnoredExceptionNames();
-        for (final String ignoredExceptionName : ignoredExceptionNames) {
-            try {
-                Class<?> parentClazz = Class.forName(ignoredExceptionName, true, clazz.getClassLoader());
-                if (parentClazz.isAssignableFrom(clazz)) {
-                    return false;
-                }
-            } catch (ClassNotFoundException ignore) {
+        StatusCheckService statusCheckService = ServiceManager.INSTANCE.findService(StatusCheckService.class);
+        Set<String> ignoredExceptionNames = statusCheckService.getIgnoredExceptionNameSet();
+        if (ignoredExceptionNames.isEmpty()) {
+            return true;
+        }
+        for (Class<?> clazz = e.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+            if (isIgnored(clazz, ignoredExceptionNames)) {
+                return false;
             }
         }
         return true;
     }
+
+    private static boolean isIgnored(final Class<?> clazz, final Set<String> ignoredExceptionNames) {
+        if (ignoredExceptionNames.contains(clazz.getName())) {
+            return true;
+        }
+        for (final Class<?> interfaceClazz : clazz.getInterfaces()) {
+            if (isIgnored(interfaceClazz, ignoredExceptionNames)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -19,6 +19,9 @@
 package org.apache.skywalking.apm.agent.core.context.status;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import lombok.Getter;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
@@ -38,6 +41,9 @@ public class StatusCheckService implements BootService {
     @Getter
     private String[] ignoredExceptionNames;
 
+    @Getter
+    private Set<String> ignoredExceptionNameSet;
+
     private StatusChecker statusChecker;
 
     @Override
@@ -45,6 +51,8 @@ public class StatusCheckService implements BootService {
         ignoredExceptionNames = Arrays.stream(Config.StatusCheck.IGNORED_EXCEPTIONS.split(","))
                                       .filter(StringUtil::isNotEmpty)
                                       .toArray(String[]::new);
+        ignoredExceptionNameSet = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(ignoredExceptionNames)));
+        ExceptionCheckContext.INSTANCE.invalidate();
         statusChecker = Config.StatusCheck.MAX_RECURSIVE_DEPTH > 0 ? HIERARCHY_MATCH : OFF;
     }
 
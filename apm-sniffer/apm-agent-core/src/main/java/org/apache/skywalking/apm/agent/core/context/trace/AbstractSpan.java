@@ -113,6 +113,12 @@ public interface AbstractSpan extends AsyncSpan {
 
     AbstractSpan start(long startTime);
 
+    /**
+     * @return the start time of the span in milliseconds, or 0 if the span doesn't record time, such as {@link
+     * NoopSpan}.
+     */
+    long getStartTime();
+
     AbstractSpan setPeer(String remotePeer);
 
     /**
@@ -19,7 +19,6 @@
 package org.apache.skywalking.apm.agent.core.context.trace;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
@@ -42,6 +41,8 @@ import org.apache.skywalking.apm.network.trace.component.Component;
  * distributed trace.
  */
 public abstract class AbstractTracingSpan implements AbstractSpan {
+    private static final String RECYCLED_MESSAGE = "The span has been stopped and recycled.";
+
     /**
      * Span id starts from 0.
      */
@@ -66,7 +67,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      * The context to which the span belongs.
      * This should not be called when {@link #ignored} is true.
      */
-    protected final TracingContext owner;
+    protected TracingContext owner;
 
     /**
      * The start time of this Span.
@@ -105,6 +106,12 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     protected boolean ignored;
 
+    /**
+     * The span is in {@link TracingObjectPool}, any use of it is a bug of the holder. Only checked when assertions
+     * are enabled.
+     */
+    private boolean recycled;
+
     protected AbstractTracingSpan(int spanId, int parentSpanId, String operationName, TracingContext owner) {
         this.operationName = operationName;
         this.spanId = spanId;
@@ -112,6 +119,49 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
         this.owner = owner;
     }
 
+    /**
+     * Re-initialize a recycled span, the same as the constructor does.
+     */
+    void reuse(int spanId, int parentSpanId, String operationName, TracingContext owner) {
+        this.operationName = operationName;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.owner = owner;
+        this.recycled = false;
+    }
+
+    /**
+     * Clear the state before going back to {@link TracingObjectPool}, keeping the capacity of the lists.
+     */
+    void recycle() {
+        if (tags != null) {
+            tags.clear();
+        }
+        if (logs != null) {
+            logs.clear();
+        }
+        if (refs != null) {
+            refs.clear();
+        }
+        this.operationName = null;
+        this.layer = null;
+        // Skip the volatile writes of the common case.
+        if (isInAsyncMode) {
+            this.isInAsyncMode = false;
+        }
+        if (isAsyncStopped) {
+            this.isAsyncStopped = false;
+        }
+        this.owner = null;
+        this.startTime = 0;
+        this.endTime = 0;
+        this.errorOccurred = false;
+        this.componentId = 0;
+        this.skipAnalysis = false;
+        this.ignored = false;
+        this.recycled = true;
+    }
+
     /**
      * Set a key:value tag on the Span.
      * <p>
@@ -126,6 +176,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
 
     @Override
     public AbstractTracingSpan tag(AbstractTag<?> tag, String value) {
+        assert !recycled : RECYCLED_MESSAGE;
         if (tags == null) {
             tags = new ArrayList<>(8);
         }
@@ -150,6 +201,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      * @param owner of the Span.
      */
     public boolean finish(TraceSegment owner) {
+        assert !recycled : RECYCLED_MESSAGE;
         this.endTime = System.currentTimeMillis();
         owner.archive(this);
         return true;
@@ -157,6 +209,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
 
     @Override
     public AbstractTracingSpan start() {
+        assert !recycled : RECYCLED_MESSAGE;
         this.startTime = System.currentTimeMillis();
         return this;
     }
@@ -169,8 +222,9 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     @Override
     public AbstractTracingSpan log(Throwable t) {
+        assert !recycled : RECYCLED_MESSAGE;
         if (logs == null) {
-            logs = new LinkedList<>();
+            logs = new ArrayList<>(4);
         }
         if (!errorOccurred && ServiceManager.INSTANCE.findService(StatusCheckService.class).isError(t)) {
             errorOccurred();
@@ -193,8 +247,9 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     @Override
     public AbstractTracingSpan log(long timestampMicroseconds, Map<String, ?> fields) {
+        assert !recycled : RECYCLED_MESSAGE;
         if (logs == null) {
-            logs = new LinkedList<>();
+            logs = new ArrayList<>(4);
         }
         LogDataEntity.Builder builder = new LogDataEntity.Builder();
         for (Map.Entry<String, ?> entry : fields.entrySet()) {
@@ -212,6 +267,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     @Override
     public AbstractTracingSpan errorOccurred() {
+        assert !recycled : RECYCLED_MESSAGE;
         this.errorOccurred = true;
         return this;
     }
@@ -224,6 +280,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
      */
     @Override
     public AbstractTracingSpan setOperationName(String operationName) {
+        assert !recycled : RECYCLED_MESSAGE;
         this.operationName = operationName;
         return this;
     }
@@ -261,6 +318,11 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
         return this;
     }
 
+    @Override
+    public long getStartTime() {
+        return startTime;
+    }
+
     public SpanObject.Builder transform() {
         SpanObject.Builder spanBuilder = SpanObject.newBuilder();
 
@@ -305,8 +367,9 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
 
     @Override
     public void ref(TraceSegmentRef ref) {
+        assert !recycled : RECYCLED_MESSAGE;
         if (refs == null) {
-            refs = new LinkedList<>();
+            refs = new ArrayList<>(4);
         }
         /*
          * Provide the OOM protection if the entry span hosts too many references.
@@ -321,6 +384,7 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
 
     @Override
     public AbstractSpan prepareForAsync() {
+        assert !recycled : RECYCLED_MESSAGE;
         if (isInAsyncMode) {
             throw new RuntimeException("Prepare for async repeatedly. Span is already in async mode.");
         }
@@ -340,10 +404,11 @@ public abstract class AbstractTracingSpan implements AbstractSpan {
             throw new RuntimeException("Can not do async finish for the span repeatedly.");
         }
         this.endTime = System.currentTimeMillis();
+        // Mark it before stopping, the span may be recycled once the owner finishes.
+        isAsyncStopped = true;
         if (!ignored) {
             owner.asyncStop(this);
         }
-        isAsyncStopped = true;
         return this;
     }
 
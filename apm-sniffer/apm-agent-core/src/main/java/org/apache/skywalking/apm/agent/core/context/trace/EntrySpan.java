@@ -41,6 +41,12 @@ public class EntrySpan extends StackBasedTracingSpan {
         this.currentMaxDepth = 0;
     }
 
+    @Override
+    void recycle() {
+        super.recycle();
+        this.currentMaxDepth = 0;
+    }
+
     /**
      * Set the {@link #startTime}, when the first start, which means the first service provided.
      */
@@ -107,7 +113,11 @@ public class EntrySpan extends StackBasedTracingSpan {
     private void clearWhenRestart() {
         this.componentId = Constants.NULL_VALUE;
         this.layer = null;
-        this.logs = null;
-        this.tags = null;
+        if (this.logs != null) {
+            this.logs.clear();
+        }
+        if (this.tags != null) {
+            this.tags.clear();
+        }
     }
 }
@@ -109,6 +109,11 @@ public class NoopSpan implements AbstractSpan {
         return this;
     }
 
+    @Override
+    public long getStartTime() {
+        return 0;
+    }
+
     @Override
     public AbstractSpan setPeer(String remotePeer) {
         return this;
@@ -43,6 +43,13 @@ public abstract class StackBasedTracingSpan extends AbstractTracingSpan {
         this.peer = peer;
     }
 
+    @Override
+    void recycle() {
+        super.recycle();
+        this.stackDepth = 0;
+        this.peer = null;
+    }
+
     @Override
     public SpanObject.Builder transform() {
         SpanObject.Builder spanBuilder = super.transform();
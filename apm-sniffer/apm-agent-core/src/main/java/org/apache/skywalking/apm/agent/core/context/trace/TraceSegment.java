@@ -18,10 +18,12 @@
 
 package org.apache.skywalking.apm.agent.core.context.trace;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.ids.DistributedTraceId;
+import org.apache.skywalking.apm.agent.core.context.ids.GlobalId;
 import org.apache.skywalking.apm.agent.core.context.ids.GlobalIdGenerator;
 import org.apache.skywalking.apm.agent.core.context.ids.NewDistributedTraceId;
 import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
@@ -35,7 +37,7 @@ public class TraceSegment {
     /**
      * The id of this trace segment. Every segment has its unique-global-id.
      */
-    private String traceSegmentId;
+    private GlobalId traceSegmentId;
 
     /**
      * The refs of parent trace segments, except the primary one. For most RPC call, {@link #ref} contains only one
@@ -63,18 +65,48 @@ public class TraceSegment {
 
     private boolean isSizeLimited = false;
 
-    private final long createTime;
+    private long createTime;
+
+    /**
+     * The number of holders of this finished segment, starting from the {@link
+     * org.apache.skywalking.apm.agent.core.context.TracingContext} notifying the listeners. The segment goes back to
+     * {@link TracingObjectPool} when the last holder releases it, if {@link #recyclable}.
+     */
+    @SuppressWarnings("unused") // updated by REF_COUNT_UPDATER
+    private volatile int refCount = 1;
+    private static final AtomicIntegerFieldUpdater<TraceSegment> REF_COUNT_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(TraceSegment.class, "refCount");
+
+    private boolean recyclable = false;
+
+    /**
+     * The spans of the last trace, when this segment is recycled by {@link TracingObjectPool}.
+     */
+    private TracingObjectPool.RecycledSpans recycledSpans;
 
     /**
      * Create a default/empty trace segment, with current time as start time, and generate a new segment id.
      */
     public TraceSegment() {
         this.traceSegmentId = GlobalIdGenerator.generate();
-        this.spans = new LinkedList<>();
+        this.spans = new ArrayList<>();
         this.relatedGlobalTraceId = new NewDistributedTraceId();
         this.createTime = System.currentTimeMillis();
     }
 
+    /**
+     * Re-initialize a recycled segment, the same as the constructor does, keeping the capacity of {@link #spans}.
+     */
+    void reuse() {
+        this.traceSegmentId = GlobalIdGenerator.generate();
+        this.ref = null;
+        this.relatedGlobalTraceId = new NewDistributedTraceId();
+        this.ignore = false;
+        this.isSizeLimited = false;
+        this.createTime = System.currentTimeMillis();
+        REF_COUNT_UPDATER.lazySet(this, 1);
+    }
+
     /**
      * Establish the link between this segment and its parents.
      *
@@ -100,6 +132,7 @@ public class TraceSegment {
      * TraceSegment} to archive it.
      */
     public void archive(AbstractTracingSpan finishedSpan) {
+        assert refCount > 0 : "Archive a span into a recycled segment.";
         spans.add(finishedSpan);
     }
 
@@ -111,7 +144,57 @@ public class TraceSegment {
         return this;
     }
 
+    /**
+     * Keep this finished segment from being recycled, until {@link #release()}. A {@link
+     * org.apache.skywalking.apm.agent.core.context.TracingContextListener} holding the segment after {@code
+     * afterFinished} returns, such as queueing it for an async reporter, must retain it first.
+     */
+    public void retain() {
+        if (recyclable && REF_COUNT_UPDATER.getAndIncrement(this) <= 0) {
+            throw new IllegalStateException("Retain a recycled segment.");
+        }
+    }
+
+    /**
+     * Release one holder of this segment, once it is not used anymore. The last release recycles the segment and its
+     * spans.
+     */
+    public void release() {
+        if (!recyclable) {
+            return;
+        }
+        int remaining = REF_COUNT_UPDATER.decrementAndGet(this);
+        if (remaining == 0) {
+            TracingObjectPool.recycle(this);
+        } else if (remaining < 0) {
+            throw new IllegalStateException("Release the segment more times than retained.");
+        }
+    }
+
+    /**
+     * Keep this segment out of the pools, when it may still be read after finished, such as by the thread profiler.
+     */
+    public void disableRecycling() {
+        this.recyclable = false;
+    }
+
+    void enableRecycling() {
+        this.recyclable = true;
+    }
+
+    TracingObjectPool.RecycledSpans getRecycledSpans() {
+        return recycledSpans;
+    }
+
+    void setRecycledSpans(TracingObjectPool.RecycledSpans recycledSpans) {
+        this.recycledSpans = recycledSpans;
+    }
+
     public String getTraceSegmentId() {
+        return traceSegmentId.toString();
+    }
+
+    GlobalId getTraceSegmentGlobalId() {
         return traceSegmentId;
     }
 
@@ -126,6 +209,14 @@ public class TraceSegment {
         return relatedGlobalTraceId;
     }
 
+    List<AbstractTracingSpan> getSpans() {
+        return spans;
+    }
+
+    boolean isSizeLimited() {
+        return isSizeLimited;
+    }
+
     public boolean isSingleSpanSegment() {
         return this.spans != null && this.spans.size() == 1;
     }
@@ -149,7 +240,7 @@ public class TraceSegment {
         /*
          * Trace Segment
          */
-        traceSegmentBuilder.setTraceSegmentId(this.traceSegmentId);
+        traceSegmentBuilder.setTraceSegmentId(getTraceSegmentId());
         // Don't serialize TraceSegmentReference
 
         // SpanObject
@@ -163,6 +254,15 @@ public class TraceSegment {
         return traceSegmentBuilder.build();
     }
 
+    /**
+     * The same content as {@link #transform()}, encoded straight into the protobuf wire format.
+     *
+     * @see TraceSegmentEncoder
+     */
+    public byte[] encode() {
+        return TraceSegmentEncoder.encode(this);
+    }
+
     @Override
     public String toString() {
         return "TraceSegment{" + "traceSegmentId='" + traceSegmentId + '\'' + ", ref=" + ref + ", spans=" + spans + "}";
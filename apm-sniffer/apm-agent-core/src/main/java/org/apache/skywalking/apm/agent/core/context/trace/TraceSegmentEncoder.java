@@ -0,0 +1,395 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.conf.Constants;
+import org.apache.skywalking.apm.agent.core.context.ids.DistributedTraceId;
+import org.apache.skywalking.apm.agent.core.context.ids.GlobalId;
+import org.apache.skywalking.apm.agent.core.context.util.KeyValuePair;
+import org.apache.skywalking.apm.agent.core.context.util.TagValuePair;
+import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
+
+/**
+ * Encode a {@link TraceSegment} into the wire format of {@link SegmentObject}, without building the SegmentObject,
+ * SpanObject and KeyStringValuePair messages of {@link TraceSegment#transform()}.
+ * <p>
+ * The output is byte-identical to {@code segment.transform().toByteArray()}. Fields are written in field number order,
+ * and fields holding the default value are skipped, the same as the generated code does. Any change of the transform
+ * methods or of Tracing.proto must be followed here.
+ * <p>
+ * An encoding takes two passes. The first one computes the size of every nested message, in the order they are
+ * written, into a reused int array. The second one writes the fields with these sizes as the length prefixes. Each
+ * thread owns an encoder, and the bytes written to an {@link OutputStream} go through a byte array reused by the
+ * thread. The generated ids are written from their {@link GlobalId} parts, without rendering the strings.
+ */
+public class TraceSegmentEncoder {
+    private static final ThreadLocal<TraceSegmentEncoder> ENCODERS = ThreadLocal.withInitial(TraceSegmentEncoder::new);
+    /**
+     * A segment larger than this is encoded into a temporary array, rather than making the reused one grow.
+     */
+    private static final int MAX_REUSED_BUFFER_SIZE = 1024 * 1024;
+
+    private int[] sizes = new int[64];
+    private int sizeCount;
+    private int sizeIndex;
+    private byte[] buffer = new byte[4096];
+    private final byte[] idBuffer = new byte[GlobalId.MAX_LENGTH];
+
+    private TraceSegmentEncoder() {
+    }
+
+    /**
+     * @return the length of the encoded segment.
+     */
+    public static int computeSize(TraceSegment segment) {
+        return ENCODERS.get().sizeOfSegment(segment);
+    }
+
+    /**
+     * @return a new array holding the encoded segment.
+     */
+    public static byte[] encode(TraceSegment segment) {
+        TraceSegmentEncoder encoder = ENCODERS.get();
+        byte[] result = new byte[encoder.sizeOfSegment(segment)];
+        encoder.write(segment, result);
+        return result;
+    }
+
+    /**
+     * Encode the segment into the array reused by the current thread, then copy it to the output.
+     *
+     * @return the length of the encoded segment.
+     */
+    public static int writeTo(TraceSegment segment, OutputStream output) throws IOException {
+        TraceSegmentEncoder encoder = ENCODERS.get();
+        int size = encoder.sizeOfSegment(segment);
+        byte[] target = encoder.bufferOf(size);
+        encoder.write(segment, target);
+        output.write(target, 0, size);
+        return size;
+    }
+
+    private byte[] bufferOf(int size) {
+        if (size <= buffer.length) {
+            return buffer;
+        }
+        if (size > MAX_REUSED_BUFFER_SIZE) {
+            return new byte[size];
+        }
+        buffer = new byte[Math.min(Math.max(buffer.length << 1, size), MAX_REUSED_BUFFER_SIZE)];
+        return buffer;
+    }
+
+    private void write(TraceSegment segment, byte[] target) {
+        CodedOutputStream output = CodedOutputStream.newInstance(target, 0, sizes[0]);
+        try {
+            writeSegment(segment, output);
+        } catch (IOException e) {
+            throw new IllegalStateException("The segment changed during encoding.", e);
+        }
+        output.checkNoSpaceLeft();
+    }
+
+    /*
+     * The first pass. The size of the segment itself takes the first place of the sizes.
+     */
+
+    private int sizeOfSegment(TraceSegment segment) {
+        sizeCount = 0;
+        int index = reserveSize();
+        int size = sizeOfTraceId(1, segment.getRelatedGlobalTrace())
+            + sizeOfId(2, segment.getTraceSegmentGlobalId());
+        for (AbstractTracingSpan span : segment.getSpans()) {
+            size += sizeOfMessage(3, sizeOfSpan(span));
+        }
+        size += sizeOfString(4, Config.Agent.SERVICE_NAME)
+            + sizeOfString(5, Config.Agent.INSTANCE_NAME)
+            + sizeOfBool(6, segment.isSizeLimited());
+        sizes[index] = size;
+        return size;
+    }
+
+    private int sizeOfSpan(AbstractTracingSpan span) {
+        int index = reserveSize();
+        int size = sizeOfInt32(1, span.spanId)
+            + sizeOfInt32(2, span.parentSpanId)
+            + sizeOfInt64(3, span.startTime)
+            + sizeOfInt64(4, span.endTime);
+        if (span.refs != null) {
+            for (TraceSegmentRef ref : span.refs) {
+                size += sizeOfMessage(5, sizeOfRef(ref));
+            }
+        }
+        size += sizeOfString(6, span.operationName)
+            + sizeOfString(7, peerOf(span))
+            + sizeOfInt32(8, spanTypeOf(span))
+            + sizeOfInt32(9, spanLayerOf(span))
+            + sizeOfInt32(10, componentIdOf(span))
+            + sizeOfBool(11, span.errorOccurred);
+        if (span.tags != null) {
+            for (TagValuePair tag : span.tags) {
+                size += sizeOfMessage(12, sizeOfKeyValue(tag.getKey().key(), tag.getValue()));
+            }
+        }
+        if (span.logs != null) {
+            for (LogDataEntity log : span.logs) {
+                size += sizeOfMessage(13, sizeOfLog(log));
+            }
+        }
+        size += sizeOfBool(14, span.skipAnalysis);
+        sizes[index] = size;
+        return size;
+    }
+
+    private int sizeOfRef(TraceSegmentRef ref) {
+        int index = reserveSize();
+        int size = sizeOfInt32(1, refTypeOf(ref))
+            + sizeOfString(2, ref.getTraceId())
+            + sizeOfString(3, ref.getTraceSegmentId())
+            + sizeOfInt32(4, ref.getSpanId())
+            + sizeOfString(5, ref.getParentService())
+            + sizeOfString(6, ref.getParentServiceInstance())
+            + sizeOfString(7, ref.getParentEndpoint())
+            + sizeOfString(8, ref.getAddressUsedAtClient());
+        sizes[index] = size;
+        return size;
+    }
+
+    private int sizeOfLog(LogDataEntity log) {
+        int index = reserveSize();
+        int size = sizeOfInt64(1, log.getTimestamp());
+        for (KeyValuePair data : log.getLogs()) {
+            size += sizeOfMessage(2, sizeOfKeyValue(data.getKey(), data.getValue()));
+        }
+        sizes[index] = size;
+        return size;
+    }
+
+    private int sizeOfKeyValue(String key, String value) {
+        int index = reserveSize();
+        int size = sizeOfString(1, key) + sizeOfString(2, value);
+        sizes[index] = size;
+        return size;
+    }
+
+    private int reserveSize() {
+        if (sizeCount == sizes.length) {
+            sizes = Arrays.copyOf(sizes, sizes.length << 1);
+        }
+        return sizeCount++;
+    }
+
+    /*
+     * The second pass, takes the sizes in the order they are computed.
+     */
+
+    private void writeSegment(TraceSegment segment, CodedOutputStream output) throws IOException {
+        sizeIndex = 1;
+        writeTraceId(output, 1, segment.getRelatedGlobalTrace());
+        writeId(output, 2, segment.getTraceSegmentGlobalId());
+        for (AbstractTracingSpan span : segment.getSpans()) {
+            writeSpan(output, span);
+        }
+        writeString(output, 4, Config.Agent.SERVICE_NAME);
+        writeString(output, 5, Config.Agent.INSTANCE_NAME);
+        writeBool(output, 6, segment.isSizeLimited());
+    }
+
+    private void writeSpan(CodedOutputStream output, AbstractTracingSpan span) throws IOException {
+        writeMessageHead(output, 3);
+        writeInt32(output, 1, span.spanId);
+        writeInt32(output, 2, span.parentSpanId);
+        writeInt64(output, 3, span.startTime);
+        writeInt64(output, 4, span.endTime);
+        if (span.refs != null) {
+            for (TraceSegmentRef ref : span.refs) {
+                writeRef(output, ref);
+            }
+        }
+        writeString(output, 6, span.operationName);
+        writeString(output, 7, peerOf(span));
+        writeInt32(output, 8, spanTypeOf(span));
+        writeInt32(output, 9, spanLayerOf(span));
+        writeInt32(output, 10, componentIdOf(span));
+        writeBool(output, 11, span.errorOccurred);
+        if (span.tags != null) {
+            for (TagValuePair tag : span.tags) {
+                writeKeyValue(output, 12, tag.getKey().key(), tag.getValue());
+            }
+        }
+        if (span.logs != null) {
+            for (LogDataEntity log : span.logs) {
+                writeLog(output, log);
+            }
+        }
+        writeBool(output, 14, span.skipAnalysis);
+    }
+
+    private void writeRef(CodedOutputStream output, TraceSegmentRef ref) throws IOException {
+        writeMessageHead(output, 5);
+        writeInt32(output, 1, refTypeOf(ref));
+        writeString(output, 2, ref.getTraceId());
+        writeString(output, 3, ref.getTraceSegmentId());
+        writeInt32(output, 4, ref.getSpanId());
+        writeString(output, 5, ref.getParentService());
+        writeString(output, 6, ref.getParentServiceInstance());
+        writeString(output, 7, ref.getParentEndpoint());
+        writeString(output, 8, ref.getAddressUsedAtClient());
+    }
+
+    private void writeLog(CodedOutputStream output, LogDataEntity log) throws IOException {
+        writeMessageHead(output, 13);
+        writeInt64(output, 1, log.getTimestamp());
+        for (KeyValuePair data : log.getLogs()) {
+            writeKeyValue(output, 2, data.getKey(), data.getValue());
+        }
+    }
+
+    private void writeKeyValue(CodedOutputStream output, int fieldNumber, String key,
+                               String value) throws IOException {
+        writeMessageHead(output, fieldNumber);
+        writeString(output, 1, key);
+        writeString(output, 2, value);
+    }
+
+    private void writeTraceId(CodedOutputStream output, int fieldNumber,
+                              DistributedTraceId traceId) throws IOException {
+        if (traceId.getGlobalId() != null) {
+            writeId(output, fieldNumber, traceId.getGlobalId());
+        } else {
+            writeString(output, fieldNumber, traceId.getId());
+        }
+    }
+
+    /**
+     * The id is ASCII, so the bytes are the same as the UTF-8 encoded string.
+     */
+    private void writeId(CodedOutputStream output, int fieldNumber, GlobalId id) throws IOException {
+        int length = id.writeTo(idBuffer, 0);
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(length);
+        output.writeRawBytes(idBuffer, 0, length);
+    }
+
+    private void writeMessageHead(CodedOutputStream output, int fieldNumber) throws IOException {
+        output.writeTag(fieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        output.writeUInt32NoTag(sizes[sizeIndex++]);
+    }
+
+    /*
+     * The field values, as the transform methods set them.
+     */
+
+    private static String peerOf(AbstractTracingSpan span) {
+        return span instanceof StackBasedTracingSpan ? ((StackBasedTracingSpan) span).peer : null;
+    }
+
+    /**
+     * @return the number of SpanType.
+     */
+    private static int spanTypeOf(AbstractTracingSpan span) {
+        if (span.isEntry()) {
+            return 0;
+        } else if (span.isExit()) {
+            return 1;
+        }
+        return 2;
+    }
+
+    private static int spanLayerOf(AbstractTracingSpan span) {
+        return span.layer != null ? span.layer.getCode() : 0;
+    }
+
+    private static int componentIdOf(AbstractTracingSpan span) {
+        return span.componentId != Constants.NULL_VALUE ? span.componentId : 0;
+    }
+
+    /**
+     * @return the number of RefType.
+     */
+    private static int refTypeOf(TraceSegmentRef ref) {
+        return TraceSegmentRef.SegmentRefType.CROSS_PROCESS.equals(ref.getType()) ? 0 : 1;
+    }
+
+    /*
+     * The proto3 scalar fields, skipped when holding the default value.
+     */
+
+    private static int sizeOfMessage(int fieldNumber, int size) {
+        return CodedOutputStream.computeTagSize(fieldNumber) + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+
+    private static int sizeOfTraceId(int fieldNumber, DistributedTraceId traceId) {
+        if (traceId.getGlobalId() != null) {
+            return sizeOfId(fieldNumber, traceId.getGlobalId());
+        }
+        return sizeOfString(fieldNumber, traceId.getId());
+    }
+
+    private static int sizeOfId(int fieldNumber, GlobalId id) {
+        int length = id.length();
+        return CodedOutputStream.computeTagSize(fieldNumber) + CodedOutputStream.computeUInt32SizeNoTag(length) + length;
+    }
+
+    private static int sizeOfString(int fieldNumber, String value) {
+        return value == null || value.isEmpty() ? 0 : CodedOutputStream.computeStringSize(fieldNumber, value);
+    }
+
+    private static int sizeOfInt32(int fieldNumber, int value) {
+        return value == 0 ? 0 : CodedOutputStream.computeInt32Size(fieldNumber, value);
+    }
+
+    private static int sizeOfInt64(int fieldNumber, long value) {
+        return value == 0 ? 0 : CodedOutputStream.computeInt64Size(fieldNumber, value);
+    }
+
+    private static int sizeOfBool(int fieldNumber, boolean value) {
+        return value ? CodedOutputStream.computeBoolSize(fieldNumber, true) : 0;
+    }
+
+    private static void writeString(CodedOutputStream output, int fieldNumber, String value) throws IOException {
+        if (value != null && !value.isEmpty()) {
+            output.writeString(fieldNumber, value);
+        }
+    }
+
+    private static void writeInt32(CodedOutputStream output, int fieldNumber, int value) throws IOException {
+        if (value != 0) {
+            output.writeInt32(fieldNumber, value);
+        }
+    }
+
+    private static void writeInt64(CodedOutputStream output, int fieldNumber, long value) throws IOException {
+        if (value != 0) {
+            output.writeInt64(fieldNumber, value);
+        }
+    }
+
+    private static void writeBool(CodedOutputStream output, int fieldNumber, boolean value) throws IOException {
+        if (value) {
+            output.writeBool(fieldNumber, true);
+        }
+    }
+}
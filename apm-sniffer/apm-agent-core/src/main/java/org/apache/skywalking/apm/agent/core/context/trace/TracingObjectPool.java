@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.TracingContext;
+
+/**
+ * The pool of recycled {@link TraceSegment}s, activated by {@link Config.Agent#RECYCLE_TRACING_OBJECTS}.
+ * <p>
+ * A finished segment is recycled when the last holder {@link TraceSegment#release()}s it, usually the reporter after
+ * sending it. Its spans are cleared and kept in the segment, to be reused by the next trace taking the segment, so
+ * they need no synchronization of their own. The lists inside keep their capacity, therefore a steady traced request
+ * allocates neither the segment and spans nor their lists. The {@link TracingContext} isn't pooled, because it is
+ * still reachable from the plugins holding the span and the context snapshot after the segment is finished.
+ * <p>
+ * When assertions are enabled, the use of a recycled span fails, to find the plugin holding it too long.
+ */
+public final class TracingObjectPool {
+    private static final StripedPool SEGMENTS = new StripedPool(Config.Agent.RECYCLE_POOL_CAPACITY);
+
+    private TracingObjectPool() {
+    }
+
+    public static TraceSegment newSegment() {
+        if (!Config.Agent.RECYCLE_TRACING_OBJECTS) {
+            return new TraceSegment();
+        }
+        TraceSegment segment = SEGMENTS.poll();
+        if (segment == null) {
+            segment = new TraceSegment();
+        } else {
+            segment.reuse();
+        }
+        segment.enableRecycling();
+        return segment;
+    }
+
+    public static EntrySpan newEntrySpan(TraceSegment segment, int spanId, int parentSpanId, String operationName,
+                                         TracingContext owner) {
+        RecycledSpans recycledSpans = segment.getRecycledSpans();
+        if (recycledSpans != null) {
+            EntrySpan span = poll(recycledSpans.entrySpans);
+            if (span != null) {
+                span.reuse(spanId, parentSpanId, operationName, owner);
+                return span;
+            }
+        }
+        return new EntrySpan(spanId, parentSpanId, operationName, owner);
+    }
+
+    public static LocalSpan newLocalSpan(TraceSegment segment, int spanId, int parentSpanId, String operationName,
+                                         TracingContext owner) {
+        RecycledSpans recycledSpans = segment.getRecycledSpans();
+        if (recycledSpans != null) {
+            LocalSpan span = poll(recycledSpans.localSpans);
+            if (span != null) {
+                span.reuse(spanId, parentSpanId, operationName, owner);
+                return span;
+            }
+        }
+        return new LocalSpan(spanId, parentSpanId, operationName, owner);
+    }
+
+    public static ExitSpan newExitSpan(TraceSegment segment, int spanId, int parentSpanId, String operationName,
+                                       String peer, TracingContext owner) {
+        RecycledSpans recycledSpans = segment.getRecycledSpans();
+        if (recycledSpans != null) {
+            ExitSpan span = poll(recycledSpans.exitSpans);
+            if (span != null) {
+                span.reuse(spanId, parentSpanId, operationName, owner);
+                span.peer = peer;
+                return span;
+            }
+        }
+        return new ExitSpan(spanId, parentSpanId, operationName, peer, owner);
+    }
+
+    /**
+     * Called by the last {@link TraceSegment#release()}.
+     */
+    static void recycle(TraceSegment segment) {
+        RecycledSpans recycledSpans = segment.getRecycledSpans();
+        if (recycledSpans == null) {
+            recycledSpans = new RecycledSpans();
+            segment.setRecycledSpans(recycledSpans);
+        }
+        List<AbstractTracingSpan> spans = segment.getSpans();
+        for (int i = 0; i < spans.size(); i++) {
+            AbstractTracingSpan span = spans.get(i);
+            span.recycle();
+            if (span.getClass() == EntrySpan.class) {
+                recycledSpans.entrySpans.add((EntrySpan) span);
+            } else if (span.getClass() == ExitSpan.class) {
+                recycledSpans.exitSpans.add((ExitSpan) span);
+            } else if (span.getClass() == LocalSpan.class) {
+                recycledSpans.localSpans.add((LocalSpan) span);
+            }
+        }
+        spans.clear();
+        SEGMENTS.offer(segment);
+    }
+
+    private static <T extends AbstractTracingSpan> T poll(List<T> spans) {
+        int size = spans.size();
+        return size == 0 ? null : spans.remove(size - 1);
+    }
+
+    /**
+     * The cleared spans of a recycled segment, only accessed by the thread owning the segment.
+     */
+    static final class RecycledSpans {
+        private final List<EntrySpan> entrySpans = new ArrayList<>(2);
+        private final List<ExitSpan> exitSpans = new ArrayList<>(4);
+        private final List<LocalSpan> localSpans = new ArrayList<>(4);
+    }
+
+    /**
+     * Bounded stacks striped by thread. A thread polls from its own stripe first, then from the others, while the
+     * recycled segments are spread over all stripes, because one reporter thread releases the segments of all
+     * application threads. A stripe locked by another thread is skipped rather than waited for, the segment is
+     * allocated or left to GC instead.
+     */
+    private static final class StripedPool {
+        private static final int MAX_STRIPES = 64;
+
+        private final Stripe[] stripes;
+        private final int mask;
+        /**
+         * The stripe to offer the next recycled segment to, racy updates only skew the spreading a little.
+         */
+        private int nextStripe;
+
+        private StripedPool(int capacity) {
+            int stripeNum = Math.min(MAX_STRIPES, Integer.highestOneBit(
+                Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)));
+            this.stripes = new Stripe[stripeNum];
+            for (int i = 0; i < stripeNum; i++) {
+                stripes[i] = new Stripe(Math.max(1, capacity / stripeNum));
+            }
+            this.mask = stripeNum - 1;
+        }
+
+        private TraceSegment poll() {
+            int start = (int) Thread.currentThread().getId();
+            for (int i = 0; i < stripes.length; i++) {
+                TraceSegment segment = stripes[(start + i) & mask].pop();
+                if (segment != null) {
+                    return segment;
+                }
+            }
+            return null;
+        }
+
+        private void offer(TraceSegment segment) {
+            stripes[nextStripe++ & mask].push(segment);
+        }
+    }
+
+    private static final class Stripe {
+        private final AtomicBoolean locked = new AtomicBoolean(false);
+        private final TraceSegment[] segments;
+        /**
+         * Only changed by the thread holding {@link #locked}, and read without the lock as a hint.
+         */
+        private int size;
+
+        private Stripe(int capacity) {
+            this.segments = new TraceSegment[capacity];
+        }
+
+        private TraceSegment pop() {
+            if (size == 0 || !locked.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                if (size == 0) {
+                    return null;
+                }
+                TraceSegment segment = segments[--size];
+                segments[size] = null;
+                return segment;
+            } finally {
+                locked.lazySet(false);
+            }
+        }
+
+        private void push(TraceSegment segment) {
+            if (size == segments.length || !locked.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (size < segments.length) {
+                    segments[size++] = segment;
+                }
+            } finally {
+                locked.lazySet(false);
+            }
+        }
+    }
+}
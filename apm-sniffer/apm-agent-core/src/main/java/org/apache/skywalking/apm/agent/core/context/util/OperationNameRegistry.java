@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The operation names of the exit spans joined by a few parts, such as the db type, the statement type and the method
+ * name of JDBC, are the same for the same parts. The registry keeps the joined names in a tree keyed by the parts,
+ * rather than joining them again in every span creation.
+ * <p>
+ * At most {@link #MAX_SIZE} nodes are kept, the names of the other parts are joined every time, as some parts may be
+ * unbounded.
+ */
+public final class OperationNameRegistry {
+    static final int MAX_SIZE = 4096;
+
+    private static final Node ROOT = new Node();
+    private static final AtomicInteger SIZE = new AtomicInteger();
+
+    private OperationNameRegistry() {
+    }
+
+    /**
+     * @return the same as {@code first + second}
+     */
+    public static String get(String first, String second) {
+        Node node = ROOT.next(first);
+        node = node == null ? null : node.next(second);
+        if (node == null) {
+            return first + second;
+        }
+        String name = node.name;
+        if (name == null) {
+            name = first + second;
+            node.name = name;
+        }
+        return name;
+    }
+
+    /**
+     * @return the same as {@code first + second + third}
+     */
+    public static String get(String first, String second, String third) {
+        Node node = ROOT.next(first);
+        node = node == null ? null : node.next(second);
+        node = node == null ? null : node.next(third);
+        if (node == null) {
+            return first + second + third;
+        }
+        String name = node.name;
+        if (name == null) {
+            name = first + second + third;
+            node.name = name;
+        }
+        return name;
+    }
+
+    /**
+     * @return the same as {@code first + second + third + fourth + fifth}
+     */
+    public static String get(String first, String second, String third, String fourth, String fifth) {
+        Node node = ROOT.next(first);
+        node = node == null ? null : node.next(second);
+        node = node == null ? null : node.next(third);
+        node = node == null ? null : node.next(fourth);
+        node = node == null ? null : node.next(fifth);
+        if (node == null) {
+            return first + second + third + fourth + fifth;
+        }
+        String name = node.name;
+        if (name == null) {
+            name = first + second + third + fourth + fifth;
+            node.name = name;
+        }
+        return name;
+    }
+
+    private static class Node {
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+        /**
+         * The name joined by the parts from the root to this node, may be joined by several threads at the beginning.
+         */
+        private volatile String name;
+
+        /**
+         * @return the child of the part, null if the part is null or the registry is full.
+         */
+        private Node next(String part) {
+            if (part == null) {
+                return null;
+            }
+            Node child = children.get(part);
+            if (child != null) {
+                return child;
+            }
+            if (SIZE.get() >= MAX_SIZE) {
+                return null;
+            }
+            child = new Node();
+            Node existing = children.putIfAbsent(part, child);
+            if (existing != null) {
+                return existing;
+            }
+            SIZE.incrementAndGet();
+            return child;
+        }
+    }
+}
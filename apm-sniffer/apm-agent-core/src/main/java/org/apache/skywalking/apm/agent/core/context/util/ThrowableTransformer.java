@@ -18,72 +18,185 @@
 
 package org.apache.skywalking.apm.agent.core.context.util;
 
+import org.apache.skywalking.apm.agent.core.conf.Config;
+
 import static org.apache.skywalking.apm.agent.core.conf.Config.Agent.CAUSE_EXCEPTION_DEPTH;
 
 /**
  * {@link ThrowableTransformer} is responsible for transferring stack trace of throwable.
+ * <p>
+ * The exception infos and the components of the stack frames are appended straight into a buffer reused by the
+ * thread, which never grows beyond the max length, and the stack walking stops once the buffer is full.
  */
 public enum ThrowableTransformer {
     INSTANCE;
 
     private static final String LINE_SEPARATOR = System.getProperty("line.separator");
 
-    public String convert2String(Throwable throwable, final int maxLength) {
-        final StringBuilder stackMessage = new StringBuilder();
-        Throwable causeException = throwable;
+    /**
+     * A larger buffer is dropped after the conversion, rather than being kept by the thread.
+     */
+    private static final int MAX_REUSED_CAPACITY = 16 * 1024;
+
+    /**
+     * Whether the exception class overrides {@link Throwable#toString()}, then its header is built by it.
+     */
+    private static final ClassValue<Boolean> OVERRIDES_TO_STRING = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("toString").getDeclaringClass() != Throwable.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
 
-        int depth = CAUSE_EXCEPTION_DEPTH;
-        while (causeException != null && depth != 0) {
-            stackMessage.append(printExceptionInfo(causeException));
+    private final ThreadLocal<StackTraceWriter> writers = ThreadLocal.withInitial(StackTraceWriter::new);
 
-            boolean isLookDeeper = printStackElement(causeException.getStackTrace(), new AppendListener() {
-                @Override
-                public void append(String value) {
-                    stackMessage.append(value);
-                }
+    public String convert2String(Throwable throwable, final int maxLength) {
+        StackTraceWriter writer = writers.get();
+        if (writer.inUse) {
+            // Converting inside a conversion, e.g. a getter of the exception logs another one.
+            writer = new StackTraceWriter();
+        }
+        writer.inUse = true;
+        try {
+            return writer.write(throwable, maxLength);
+        } finally {
+            writer.reset();
+        }
+    }
 
-                @Override
-                public boolean overMaxLength() {
-                    return stackMessage.length() > maxLength;
+    private static class StackTraceWriter {
+        private StringBuilder buffer = new StringBuilder();
+        private int maxLength;
+        private boolean inUse;
+
+        private String write(Throwable throwable, int maxLength) {
+            this.maxLength = maxLength;
+            StackTraceElement[] enclosingTrace = null;
+            Throwable causeException = throwable;
+
+            int depth = CAUSE_EXCEPTION_DEPTH;
+            while (causeException != null && depth != 0 && !isFull()) {
+                appendExceptionInfo(causeException);
+
+                StackTraceElement[] stackTrace = causeException.getStackTrace();
+                if (stackTrace.length == 0) {
+                    /*
+                     * In some cases, people would fill empty stackTrace intentionally.
+                     * This is a quick stop.
+                     */
+                    break;
+                }
+                int framesInCommon = enclosingTrace != null && Config.Agent.CAUSE_EXCEPTION_TRIM_COMMON_FRAMES
+                    ? countFramesInCommon(stackTrace, enclosingTrace) : 0;
+                for (int i = 0; i < stackTrace.length - framesInCommon; i++) {
+                    appendStackElement(stackTrace[i]);
+                    if (isFull()) {
+                        return buffer.toString();
+                    }
+                }
+                if (framesInCommon > 0) {
+                    append("... ");
+                    append(framesInCommon);
+                    append(" more");
+                    append(LINE_SEPARATOR);
                 }
-            });
 
-            if (isLookDeeper) {
-                break;
+                enclosingTrace = stackTrace;
+                causeException = causeException.getCause();
+                depth--;
             }
 
-            causeException = causeException.getCause();
-            depth--;
+            return buffer.toString();
         }
 
-        return stackMessage.toString();
-    }
+        /**
+         * The same as {@link Throwable#toString()}, which is called instead when the exception overrides it.
+         */
+        private void appendExceptionInfo(Throwable causeException) {
+            if (OVERRIDES_TO_STRING.get(causeException.getClass())) {
+                append(String.valueOf(causeException));
+                append(LINE_SEPARATOR);
+                return;
+            }
+            append(causeException.getClass().getName());
+            String message = causeException.getLocalizedMessage();
+            if (message != null) {
+                append(": ");
+                append(message);
+            }
+            append(LINE_SEPARATOR);
+        }
 
-    private String printExceptionInfo(Throwable causeException) {
-        return causeException.toString() + LINE_SEPARATOR;
-    }
+        /**
+         * The same as {@link StackTraceElement#toString()} of JDK 8.
+         */
+        private void appendStackElement(StackTraceElement element) {
+            append("at ");
+            append(element.getClassName());
+            append(".");
+            append(element.getMethodName());
+            if (element.isNativeMethod()) {
+                append("(Native Method)");
+            } else if (element.getFileName() == null) {
+                append("(Unknown Source)");
+            } else {
+                append("(");
+                append(element.getFileName());
+                if (element.getLineNumber() >= 0) {
+                    append(":");
+                    append(element.getLineNumber());
+                }
+                append(")");
+            }
+            append(LINE_SEPARATOR);
+        }
 
-    private boolean printStackElement(StackTraceElement[] stackTrace, AppendListener printListener) {
-        if (stackTrace.length == 0) {
-            /**
-             * In some cases, people would fill empty stackTrace intentionally.
-             * This is a quick stop.
-             */
-            return true;
+        private void append(String value) {
+            int remaining = maxLength - buffer.length();
+            if (remaining >= value.length()) {
+                buffer.append(value);
+            } else if (remaining > 0) {
+                buffer.append(value, 0, remaining);
+            }
         }
 
-        for (StackTraceElement traceElement : stackTrace) {
-            printListener.append("at " + traceElement + LINE_SEPARATOR);
-            if (printListener.overMaxLength()) {
-                return true;
+        private void append(int value) {
+            if (maxLength - buffer.length() >= 11) {
+                buffer.append(value);
+            } else {
+                append(String.valueOf(value));
             }
         }
-        return false;
-    }
 
-    private interface AppendListener {
-        void append(String value);
+        private boolean isFull() {
+            return buffer.length() >= maxLength;
+        }
 
-        boolean overMaxLength();
+        private void reset() {
+            inUse = false;
+            if (buffer.capacity() > MAX_REUSED_CAPACITY) {
+                buffer = new StringBuilder();
+            } else {
+                buffer.setLength(0);
+            }
+        }
+
+        /**
+         * Count the frames at the bottom of the cause's stack which are the same as the ones of the enclosing
+         * exception, like {@link Throwable#printStackTrace()} does.
+         */
+        private static int countFramesInCommon(StackTraceElement[] stackTrace, StackTraceElement[] enclosingTrace) {
+            int m = stackTrace.length - 1;
+            int n = enclosingTrace.length - 1;
+            while (m >= 0 && n >= 0 && stackTrace[m].equals(enclosingTrace[n])) {
+                m--;
+                n--;
+            }
+            return stackTrace.length - 1 - m;
+        }
     }
 }
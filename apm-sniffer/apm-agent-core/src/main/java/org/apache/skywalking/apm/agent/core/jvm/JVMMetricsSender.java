@@ -19,7 +19,10 @@
 package org.apache.skywalking.apm.agent.core.jvm;
 
 import io.grpc.Channel;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
@@ -33,12 +36,19 @@ import org.apache.skywalking.apm.agent.core.remote.GRPCChannelListener;
 import org.apache.skywalking.apm.agent.core.remote.GRPCChannelManager;
 import org.apache.skywalking.apm.agent.core.remote.GRPCChannelStatus;
 import org.apache.skywalking.apm.network.common.v3.Commands;
+import org.apache.skywalking.apm.network.language.agent.v3.GC;
 import org.apache.skywalking.apm.network.language.agent.v3.JVMMetric;
 import org.apache.skywalking.apm.network.language.agent.v3.JVMMetricCollection;
 import org.apache.skywalking.apm.network.language.agent.v3.JVMMetricReportServiceGrpc;
+import org.apache.skywalking.apm.network.language.agent.v3.MemoryPool;
+import org.apache.skywalking.apm.network.language.agent.v3.PoolType;
 
 import static org.apache.skywalking.apm.agent.core.conf.Config.Collector.GRPC_UPSTREAM_TIMEOUT;
 
+/**
+ * Send the JVM metrics collected since the last sending in one batch. Except the first metric of the batch, the memory
+ * pools not changed since the previous metric and the GC phases without collection are omitted.
+ */
 @DefaultImplementor
 public class JVMMetricsSender implements BootService, Runnable, GRPCChannelListener {
     private static final ILog LOGGER = LogManager.getLogger(JVMMetricsSender.class);
@@ -72,10 +82,10 @@ public class JVMMetricsSender implements BootService, Runnable, GRPCChannelListe
         if (status == GRPCChannelStatus.CONNECTED) {
             try {
                 JVMMetricCollection.Builder builder = JVMMetricCollection.newBuilder();
-                LinkedList<JVMMetric> buffer = new LinkedList<>();
+                List<JVMMetric> buffer = new ArrayList<>(queue.size());
                 queue.drainTo(buffer);
                 if (buffer.size() > 0) {
-                    builder.addAllMetrics(buffer);
+                    builder.addAllMetrics(omitUnchanged(buffer));
                     builder.setService(Config.Agent.SERVICE_NAME);
                     builder.setServiceInstance(Config.Agent.INSTANCE_NAME);
                     Commands commands = stub.withDeadlineAfter(GRPC_UPSTREAM_TIMEOUT, TimeUnit.SECONDS)
@@ -89,6 +99,37 @@ public class JVMMetricsSender implements BootService, Runnable, GRPCChannelListe
         }
     }
 
+    protected static List<JVMMetric> omitUnchanged(List<JVMMetric> metrics) {
+        if (metrics.size() < 2) {
+            return metrics;
+        }
+        List<JVMMetric> result = new ArrayList<>(metrics.size());
+        Map<PoolType, MemoryPool> lastMemoryPools = new HashMap<>();
+        for (JVMMetric metric : metrics) {
+            if (result.isEmpty()) {
+                result.add(metric);
+                for (MemoryPool memoryPool : metric.getMemoryPoolList()) {
+                    lastMemoryPools.put(memoryPool.getType(), memoryPool);
+                }
+                continue;
+            }
+            JVMMetric.Builder builder = metric.toBuilder().clearMemoryPool().clearGc();
+            for (MemoryPool memoryPool : metric.getMemoryPoolList()) {
+                if (!memoryPool.equals(lastMemoryPools.put(memoryPool.getType(), memoryPool))) {
+                    builder.addMemoryPool(memoryPool);
+                }
+            }
+            // the GC values are the increments since the last collection
+            for (GC gc : metric.getGcList()) {
+                if (gc.getCount() != 0 || gc.getTime() != 0) {
+                    builder.addGc(gc);
+                }
+            }
+            result.add(builder.build());
+        }
+        return result;
+    }
+
     @Override
     public void statusChanged(GRPCChannelStatus status) {
         if (GRPCChannelStatus.CONNECTED.equals(status)) {
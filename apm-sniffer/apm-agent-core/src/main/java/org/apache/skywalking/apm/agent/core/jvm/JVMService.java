@@ -18,12 +18,11 @@
 
 package org.apache.skywalking.apm.agent.core.jvm;
 
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
-import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
+import org.apache.skywalking.apm.agent.core.boot.ScheduleService;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.jvm.clazz.ClassProvider;
@@ -39,7 +38,7 @@ import org.apache.skywalking.apm.network.language.agent.v3.JVMMetric;
 import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
 
 /**
- * The <code>JVMService</code> represents a timer, which collectors JVM cpu, memory, memorypool, gc, thread and class info,
+ * The <code>JVMService</code> represents a timer on {@link ScheduleService}, which collectors JVM cpu, memory, memorypool, gc, thread and class info,
  * and send the collected info to Collector through the channel provided by {@link GRPCChannelManager}
  */
 @DefaultImplementor
@@ -57,28 +56,25 @@ public class JVMService implements BootService, Runnable {
 
     @Override
     public void boot() throws Throwable {
-        collectMetricFuture = Executors.newSingleThreadScheduledExecutor(
-            new DefaultNamedThreadFactory("JVMService-produce"))
-                                       .scheduleAtFixedRate(new RunnableWithExceptionProtection(
-                                           this,
-                                           new RunnableWithExceptionProtection.CallbackWhenException() {
-                                               @Override
-                                               public void handle(Throwable t) {
-                                                   LOGGER.error("JVMService produces metrics failure.", t);
-                                               }
-                                           }
-                                       ), 0, Config.Jvm.METRICS_COLLECT_PERIOD, TimeUnit.SECONDS);
-        sendMetricFuture = Executors.newSingleThreadScheduledExecutor(
-            new DefaultNamedThreadFactory("JVMService-consume"))
-                                    .scheduleAtFixedRate(new RunnableWithExceptionProtection(
-                                        sender,
-                                        new RunnableWithExceptionProtection.CallbackWhenException() {
-                                            @Override
-                                            public void handle(Throwable t) {
-                                                LOGGER.error("JVMService consumes and upload failure.", t);
-                                            }
-                                        }
-                                    ), 0, 1, TimeUnit.SECONDS);
+        ScheduleService scheduleService = ServiceManager.INSTANCE.findService(ScheduleService.class);
+        collectMetricFuture = scheduleService.scheduleAtFixedRate(new RunnableWithExceptionProtection(
+            this,
+            new RunnableWithExceptionProtection.CallbackWhenException() {
+                @Override
+                public void handle(Throwable t) {
+                    LOGGER.error("JVMService produces metrics failure.", t);
+                }
+            }
+        ), 0, Config.Jvm.METRICS_COLLECT_PERIOD, TimeUnit.SECONDS);
+        sendMetricFuture = scheduleService.scheduleRemoteAtFixedRate(new RunnableWithExceptionProtection(
+            sender,
+            new RunnableWithExceptionProtection.CallbackWhenException() {
+                @Override
+                public void handle(Throwable t) {
+                    LOGGER.error("JVMService consumes and upload failure.", t);
+                }
+            }
+        ), 0, Config.Jvm.METRICS_REPORT_PERIOD, TimeUnit.SECONDS);
     }
 
     @Override
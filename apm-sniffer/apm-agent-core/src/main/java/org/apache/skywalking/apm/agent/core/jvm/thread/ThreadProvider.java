@@ -21,28 +21,51 @@ package org.apache.skywalking.apm.agent.core.jvm.thread;
 import java.lang.management.ManagementFactory;
 import java.lang.management.ThreadInfo;
 import java.lang.management.ThreadMXBean;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.so11y.AgentSo11y;
 import org.apache.skywalking.apm.network.language.agent.v3.Thread;
 
+/**
+ * Count the threads by their states. Reading the states of thousands of threads is costly, so with {@link
+ * Config.Jvm#THREAD_STATE_SAMPLE_SIZE} only a window of the thread ids is read per collection, the window moves
+ * forward in the next one, and the counts are extrapolated to all threads.
+ */
 public enum ThreadProvider {
     INSTANCE;
     private final ThreadMXBean threadMXBean;
+    /**
+     * The start of the next sampled window, only accessed by the collecting thread.
+     */
+    private int sampleOffset;
 
     ThreadProvider() {
         this.threadMXBean = ManagementFactory.getThreadMXBean();
     }
 
     public Thread getThreadMetrics() {
+        final long startTime = System.nanoTime();
         int runnableStateThreadCount = 0;
         int blockedStateThreadCount = 0;
         int waitingStateThreadCount = 0;
         int timedWaitingStateThreadCount = 0;
 
-        ThreadInfo[] threadInfos = threadMXBean.getThreadInfo(threadMXBean.getAllThreadIds(), 0);
+        long[] threadIds = threadMXBean.getAllThreadIds();
+        long[] sampledThreadIds = threadIds;
+        final int sampleSize = Config.Jvm.THREAD_STATE_SAMPLE_SIZE;
+        if (sampleSize > 0 && threadIds.length > sampleSize) {
+            sampleOffset = sampleOffset % threadIds.length;
+            sampledThreadIds = sample(threadIds, sampleOffset, sampleSize);
+            sampleOffset += sampleSize;
+        }
+
+        int sampledThreadCount = 0;
+        ThreadInfo[] threadInfos = threadMXBean.getThreadInfo(sampledThreadIds, 0);
         if (threadInfos != null) {
             for (ThreadInfo threadInfo : threadInfos) {
                 if (threadInfo == null) {
                     continue;
                 }
+                sampledThreadCount++;
                 switch (threadInfo.getThreadState()) {
                     case RUNNABLE:
                         runnableStateThreadCount++;
@@ -61,11 +84,18 @@ public enum ThreadProvider {
                     }
             }
         }
+        if (sampledThreadIds != threadIds) {
+            runnableStateThreadCount = extrapolate(runnableStateThreadCount, sampledThreadCount, threadIds.length);
+            blockedStateThreadCount = extrapolate(blockedStateThreadCount, sampledThreadCount, threadIds.length);
+            waitingStateThreadCount = extrapolate(waitingStateThreadCount, sampledThreadCount, threadIds.length);
+            timedWaitingStateThreadCount = extrapolate(
+                timedWaitingStateThreadCount, sampledThreadCount, threadIds.length);
+        }
 
         int threadCount = threadMXBean.getThreadCount();
         int daemonThreadCount = threadMXBean.getDaemonThreadCount();
         int peakThreadCount = threadMXBean.getPeakThreadCount();
-        return Thread.newBuilder().setLiveCount(threadCount)
+        Thread thread = Thread.newBuilder().setLiveCount(threadCount)
                 .setDaemonCount(daemonThreadCount)
                 .setPeakCount(peakThreadCount)
                 .setRunnableStateThreadCount(runnableStateThreadCount)
@@ -73,6 +103,26 @@ public enum ThreadProvider {
                 .setWaitingStateThreadCount(waitingStateThreadCount)
                 .setTimedWaitingStateThreadCount(timedWaitingStateThreadCount)
                 .build();
+        AgentSo11y.durationOfThreadMetricsCollection(System.nanoTime() - startTime);
+        return thread;
+    }
+
+    /**
+     * @return the {@code size} ids from {@code offset}, wrapping around to the head of the ids.
+     */
+    static long[] sample(long[] threadIds, int offset, int size) {
+        long[] sampled = new long[size];
+        int head = Math.min(size, threadIds.length - offset);
+        System.arraycopy(threadIds, offset, sampled, 0, head);
+        System.arraycopy(threadIds, 0, sampled, head, size - head);
+        return sampled;
+    }
+
+    static int extrapolate(int count, int sampledCount, int totalCount) {
+        if (sampledCount == 0) {
+            return 0;
+        }
+        return (int) Math.round((double) count * totalCount / sampledCount);
     }
 
 }
@@ -18,76 +18,102 @@
 
 package org.apache.skywalking.apm.agent.core.logging.core;
 
+import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.conf.Constants;
 import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.List;
 import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.regex.Pattern;
 
 /**
  * The <code>FileWriter</code> support async file output, by using a queue as buffer.
+ * <p>
+ * The flusher thread wakes up every second, or as soon as the queue is half full. It encodes the lines into one reused
+ * direct buffer, and writes the buffer through a {@link FileChannel} whenever it is full and at the end of the batch.
+ * The lines dropped because of a full queue are counted, and the count is written into the file by the next batch.
+ * <p>
+ * The file is rolled over as soon as a written line makes it exceed {@link Config.Logging#MAX_FILE_SIZE}, at most once
+ * per second as the history files are named by the second. The expired history files are deleted by one cleaner
+ * thread, created at the first rollover and reused by the later ones.
  */
 public class FileWriter implements IWriter {
+    private static final int BUFFER_SIZE = 1024;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
     private static FileWriter INSTANCE;
     private static final Object CREATE_LOCK = new Object();
-    private FileOutputStream fileOutputStream;
-    private ArrayBlockingQueue logBuffer;
-    private volatile int fileSize;
+    private final ArrayBlockingQueue<String> logBuffer;
+    private final List<String> outputLogs = new ArrayList<>(BUFFER_SIZE);
+    /**
+     * The lines in {@link #logBuffer}, the flusher thread is unparked when it reaches half of the buffer size.
+     */
+    private final AtomicInteger pendingCount = new AtomicInteger(0);
+    private final AtomicLong droppedCount = new AtomicLong(0);
+    private final Thread logFlusherThread;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    private final CharsetEncoder encoder = Charset.defaultCharset()
+                                                  .newEncoder()
+                                                  .onMalformedInput(CodingErrorAction.REPLACE)
+                                                  .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final byte[] lineSeparator = Constants.LINE_SEPARATOR.getBytes(Charset.defaultCharset());
+    /**
+     * Deletes the expired history files, created at the first rollover.
+     */
+    private ExecutorService fileCleaner;
+    private FileChannel fileChannel;
+    private volatile long fileSize;
     private Pattern filenamePattern = Pattern.compile(Config.Logging.FILE_NAME + "\\.\\d{4}_\\d{2}_\\d{2}_\\d{2}_\\d{2}_\\d{2}");
 
     public static FileWriter get() {
         if (INSTANCE == null) {
             synchronized (CREATE_LOCK) {
                 if (INSTANCE == null) {
-                    INSTANCE = new FileWriter();
+                    FileWriter writer = new FileWriter();
+                    writer.logFlusherThread.start();
+                    INSTANCE = writer;
                 }
             }
         }
         return INSTANCE;
     }
 
-    private FileWriter() {
-        logBuffer = new ArrayBlockingQueue(1024);
-        final ArrayList<String> outputLogs = new ArrayList<String>(200);
-        Thread logFlusherThread = new Thread(new RunnableWithExceptionProtection(new Runnable() {
+    /**
+     * The flusher thread is not started, so the tests could flush by {@link #flush()}.
+     */
+    FileWriter() {
+        logBuffer = new ArrayBlockingQueue<>(BUFFER_SIZE);
+        logFlusherThread = new Thread(new RunnableWithExceptionProtection(new Runnable() {
 
             @Override
             public void run() {
                 while (true) {
-                    // flush log to file
-                    try {
-                        logBuffer.drainTo(outputLogs);
-                        for (String log : outputLogs) {
-                            writeToFile(log + Constants.LINE_SEPARATOR);
-                        }
-                        try {
-                            if (fileOutputStream != null) {
-                                fileOutputStream.flush();
-                            }
-                        } catch (IOException e) {
-                            e.printStackTrace();
-                        }
-                    } finally {
-                        outputLogs.clear();
-                    }
+                    flush();
 
-                    // flush log once per second
-                    try {
-                        TimeUnit.SECONDS.sleep(1);
-                    } catch (InterruptedException e) {
+                    // flush log once per second, or when the buffer is half full
+                    if (pendingCount.get() < BUFFER_SIZE / 2) {
+                        LockSupport.parkNanos(this, TimeUnit.SECONDS.toNanos(1));
                     }
                 }
 
@@ -98,60 +124,100 @@ public class FileWriter implements IWriter {
             }
         }), "SkywalkingAgent-LogFileWriter");
         logFlusherThread.setDaemon(true);
-        logFlusherThread.start();
     }
 
     /**
-     * @param message to be written into the file.
+     * Write the lines in the queue to the file, only called by the flusher thread.
+     */
+    void flush() {
+        try {
+            pendingCount.addAndGet(-logBuffer.drainTo(outputLogs));
+            writeLines(outputLogs);
+        } finally {
+            outputLogs.clear();
+        }
+    }
+
+    /**
+     * Write the lines, with the count of the dropped lines if any, only called by the flusher thread.
      */
-    private void writeToFile(String message) {
-        if (prepareWriteStream()) {
-            try {
-                fileOutputStream.write(message.getBytes());
-                fileSize += message.length();
-            } catch (IOException e) {
-                e.printStackTrace();
-            } finally {
-                switchFile();
+    void writeLines(List<String> lines) {
+        final long dropped = droppedCount.getAndSet(0);
+        if (lines.isEmpty() && dropped == 0) {
+            return;
+        }
+        if (!prepareWriteStream()) {
+            return;
+        }
+        try {
+            if (dropped > 0) {
+                encode("WARN " + dropped + " log lines were dropped, because the log buffer was full.");
             }
+            for (String line : lines) {
+                encode(line);
+            }
+            flushWriteBuffer();
+        } catch (IOException e) {
+            writeBuffer.clear();
+            e.printStackTrace();
         }
     }
 
-    private void switchFile() {
-        if (fileSize > Config.Logging.MAX_FILE_SIZE) {
-            forceExecute(new Callable() {
-                @Override
-                public Object call() throws Exception {
-                    fileOutputStream.flush();
-                    return null;
-                }
-            });
-            forceExecute(new Callable() {
-                @Override
-                public Object call() throws Exception {
-                    fileOutputStream.close();
-                    return null;
-                }
-            });
-            forceExecute(new Callable() {
-                @Override
-                public Object call() throws Exception {
-                    new File(Config.Logging.DIR, Config.Logging.FILE_NAME).renameTo(new File(Config.Logging.DIR, Config.Logging.FILE_NAME + new SimpleDateFormat(".yyyy_MM_dd_HH_mm_ss")
-                        .format(new Date())));
-                    return null;
-                }
-            });
-            forceExecute(new Callable() {
-                @Override
-                public Object call() throws Exception {
-                    fileOutputStream = null;
-                    return null;
-                }
-            });
+    private void encode(String line) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(line);
+        encoder.reset();
+        while (encoder.encode(chars, writeBuffer, true).isOverflow()) {
+            flushWriteBuffer();
+        }
+        while (encoder.flush(writeBuffer).isOverflow()) {
+            flushWriteBuffer();
+        }
+        if (writeBuffer.remaining() < lineSeparator.length) {
+            flushWriteBuffer();
+        }
+        writeBuffer.put(lineSeparator);
+        if (fileSize + writeBuffer.position() > Config.Logging.MAX_FILE_SIZE) {
+            switchFile();
+        }
+    }
+
+    private void flushWriteBuffer() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            fileSize += fileChannel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
 
-            if (Config.Logging.MAX_HISTORY_FILES > 0) {
-                deleteExpiredFiles();
+    /**
+     * Rename the current file to a history file and open a new one, skipped if there is a history file of this second
+     * already.
+     */
+    private void switchFile() throws IOException {
+        File historyFile = new File(
+            Config.Logging.DIR,
+            Config.Logging.FILE_NAME + new SimpleDateFormat(".yyyy_MM_dd_HH_mm_ss").format(new Date())
+        );
+        if (historyFile.exists()) {
+            return;
+        }
+        flushWriteBuffer();
+        fileChannel.close();
+        fileChannel = null;
+        new File(Config.Logging.DIR, Config.Logging.FILE_NAME).renameTo(historyFile);
+
+        if (Config.Logging.MAX_HISTORY_FILES > 0) {
+            if (fileCleaner == null) {
+                // one cleaner is enough, a rollover while it is still deleting needs no other run
+                fileCleaner = new ThreadPoolExecutor(
+                    1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(1),
+                    new DefaultNamedThreadFactory("LogFileCleaner"), new ThreadPoolExecutor.DiscardPolicy()
+                );
             }
+            fileCleaner.execute(this::deleteExpiredFiles);
+        }
+        if (!prepareWriteStream()) {
+            throw new IOException("Fail to open the log file after the rollover.");
         }
     }
 
@@ -175,7 +241,7 @@ public class FileWriter implements IWriter {
     /**
      * delete expired log files
      */
-    private void deleteExpiredFiles() {
+    private synchronized void deleteExpiredFiles() {
         String[] historyFileArr = getHistoryFilePath();
         if (historyFileArr != null && historyFileArr.length > Config.Logging.MAX_HISTORY_FILES) {
 
@@ -193,19 +259,11 @@ public class FileWriter implements IWriter {
         }
     }
 
-    private void forceExecute(Callable callable) {
-        try {
-            callable.call();
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
-
     /**
      * @return true if stream is prepared ready.
      */
     private boolean prepareWriteStream() {
-        if (fileOutputStream != null) {
+        if (fileChannel != null) {
             return true;
         }
         File logFilePath = new File(Config.Logging.DIR);
@@ -215,13 +273,15 @@ public class FileWriter implements IWriter {
             System.err.println("Log dir(" + Config.Logging.DIR + ") is not a directory.");
         }
         try {
-            fileOutputStream = new FileOutputStream(new File(logFilePath, Config.Logging.FILE_NAME), true);
-            fileSize = Long.valueOf(new File(logFilePath, Config.Logging.FILE_NAME).length()).intValue();
-        } catch (FileNotFoundException e) {
+            File logFile = new File(logFilePath, Config.Logging.FILE_NAME);
+            fileChannel = FileChannel.open(
+                logFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            fileSize = logFile.length();
+        } catch (IOException e) {
             e.printStackTrace();
         }
 
-        return fileOutputStream != null;
+        return fileChannel != null;
     }
 
     /**
@@ -231,6 +291,12 @@ public class FileWriter implements IWriter {
      */
     @Override
     public void write(String message) {
-        logBuffer.offer(message);
+        if (logBuffer.offer(message)) {
+            if (pendingCount.incrementAndGet() == BUFFER_SIZE / 2) {
+                LockSupport.unpark(logFlusherThread);
+            }
+        } else {
+            droppedCount.incrementAndGet();
+        }
     }
 }
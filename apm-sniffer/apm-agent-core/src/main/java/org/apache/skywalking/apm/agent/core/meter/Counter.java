@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.apm.agent.core.meter;
 
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.network.language.agent.v3.MeterData;
 import org.apache.skywalking.apm.network.language.agent.v3.MeterSingleValue;
 
@@ -33,6 +34,10 @@ public class Counter extends BaseMeter {
     protected final DoubleAdder count;
     protected final CounterMode mode;
     private final AtomicReference<Double> previous = new AtomicReference();
+    /**
+     * The value of the last report, only accessed by the thread reporting the meters.
+     */
+    private double lastReported = Double.NaN;
 
     public Counter(MeterId meterId, CounterMode mode) {
         super(meterId);
@@ -48,10 +53,18 @@ public class Counter extends BaseMeter {
         return count.doubleValue();
     }
 
+    /**
+     * With {@link Config.Meter#REPORT_CHANGED_ONLY}, the counter without any increment since the last report is
+     * skipped.
+     */
     @Override
     public MeterData.Builder transform() {
         // using rate mode or increase
         final double currentValue = get();
+        if (Config.Meter.REPORT_CHANGED_ONLY && currentValue == lastReported) {
+            return null;
+        }
+        lastReported = currentValue;
         double count;
         if (Objects.equals(mode, CounterMode.RATE)) {
             final Double previousValue = previous.getAndSet(currentValue);
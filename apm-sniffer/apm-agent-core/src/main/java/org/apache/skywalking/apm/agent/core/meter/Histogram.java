@@ -19,11 +19,11 @@
 package org.apache.skywalking.apm.agent.core.meter;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.network.language.agent.v3.MeterBucketValue;
 import org.apache.skywalking.apm.network.language.agent.v3.MeterData;
 import org.apache.skywalking.apm.network.language.agent.v3.MeterHistogram;
@@ -32,9 +32,31 @@ import org.apache.skywalking.apm.network.language.agent.v3.MeterHistogram;
  * Histogram represents the distribution of data. It includes the buckets representing continuous ranges of values, with
  * the num of collected values in every specific range. The ranges could start from any value(default 0) to positive
  * infinitive. They can be set through the constructor and immutable after that.
+ * <p>
+ * The count of every bucket is a {@link LongAdder}, which spreads the concurrent increments over cells on their own
+ * cache lines. The bucket of a value is calculated directly when the steps are linear or exponential, and found by
+ * binary search otherwise.
  */
 public class Histogram extends BaseMeter {
+    /**
+     * Check the ratios and differences of the steps with this relative tolerance, the bucket found by the formula is
+     * corrected by the exact step values anyway.
+     */
+    private static final double LAYOUT_TOLERANCE = 1e-9;
+    private static final int MIN_STEPS_OF_LAYOUT = 3;
+
     protected final Bucket[] buckets;
+    private final double[] steps;
+    private final StepLayout layout;
+    /**
+     * The first step of {@link StepLayout#LINEAR}, or the second step of {@link StepLayout#EXPONENTIAL}, the start of
+     * the formula.
+     */
+    private final double layoutBase;
+    /**
+     * The width of {@link StepLayout#LINEAR} steps, or the log of the ratio of {@link StepLayout#EXPONENTIAL} steps.
+     */
+    private final double layoutFactor;
 
     /**
      * @param meterId as the unique id of this meter instance
@@ -43,6 +65,21 @@ public class Histogram extends BaseMeter {
     public Histogram(MeterId meterId, List<Double> steps) {
         super(meterId);
         this.buckets = initBuckets(steps);
+        this.steps = steps.stream().mapToDouble(Double::doubleValue).toArray();
+        if (isLinear(this.steps)) {
+            this.layout = StepLayout.LINEAR;
+            this.layoutBase = this.steps[0];
+            this.layoutFactor = this.steps[1] - this.steps[0];
+        } else if (isExponential(this.steps)) {
+            double ratio = this.steps[2] / this.steps[1];
+            this.layout = ratio == 2 ? StepLayout.BINARY_EXPONENTIAL : StepLayout.EXPONENTIAL;
+            this.layoutBase = this.steps[1];
+            this.layoutFactor = Math.log(ratio);
+        } else {
+            this.layout = StepLayout.CUSTOM;
+            this.layoutBase = 0;
+            this.layoutFactor = 0;
+        }
     }
 
     /**
@@ -57,10 +94,38 @@ public class Histogram extends BaseMeter {
         bucket.increment(1L);
     }
 
+    private Bucket findBucket(double value) {
+        if (value < steps[0]) {
+            return null;
+        }
+        int last = steps.length - 1;
+        int index;
+        switch (layout) {
+            case LINEAR:
+                index = (int) Math.min((value - layoutBase) / layoutFactor, last);
+                break;
+            case BINARY_EXPONENTIAL:
+                index = value < layoutBase ? 0 : Math.min(1 + Math.getExponent(value / layoutBase), last);
+                break;
+            case EXPONENTIAL:
+                index = value < layoutBase ? 0 : (int) Math.min(1 + Math.log(value / layoutBase) / layoutFactor, last);
+                break;
+            default:
+                return binarySearch(value);
+        }
+        // Correct the rounding error of the formula at the bucket boundaries.
+        if (index < last && value >= steps[index + 1]) {
+            index++;
+        } else if (value < steps[index]) {
+            index--;
+        }
+        return buckets[index];
+    }
+
     /**
      * Using binary search the bucket
      */
-    private Bucket findBucket(double value) {
+    private Bucket binarySearch(double value) {
         int low = 0;
         int high = buckets.length - 1;
 
@@ -84,19 +149,74 @@ public class Histogram extends BaseMeter {
         return steps.stream().map(Bucket::new).toArray(Bucket[]::new);
     }
 
+    private static boolean isLinear(double[] steps) {
+        if (steps.length < MIN_STEPS_OF_LAYOUT) {
+            return false;
+        }
+        double width = steps[1] - steps[0];
+        for (int i = 2; i < steps.length; i++) {
+            double expected = steps[0] + width * i;
+            if (Math.abs(steps[i] - expected) > Math.abs(expected) * LAYOUT_TOLERANCE + width * LAYOUT_TOLERANCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The steps after the min value grow by the same ratio, such as the min value 0 and steps 1, 2, 4, 8.
+     */
+    private static boolean isExponential(double[] steps) {
+        if (steps.length < MIN_STEPS_OF_LAYOUT || steps[1] <= 0) {
+            return false;
+        }
+        double ratio = steps[2] / steps[1];
+        for (int i = 3; i < steps.length; i++) {
+            if (Math.abs(steps[i] / steps[i - 1] - ratio) > ratio * LAYOUT_TOLERANCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * With {@link Config.Meter#REPORT_CHANGED_ONLY}, the histogram without any new value since the last report is
+     * skipped. Otherwise all buckets are sent, so the backend always receives the complete bucket layout.
+     */
     @Override
     public MeterData.Builder transform() {
-        final MeterData.Builder builder = MeterData.newBuilder();
+        final MeterHistogram.Builder histogramBuilder = MeterHistogram.newBuilder();
+        boolean changed = false;
+        for (Bucket bucket : buckets) {
+            long count = bucket.count.sum();
+            if (count != bucket.lastReportedCount) {
+                bucket.lastReportedCount = count;
+                changed = true;
+            }
+            histogramBuilder.addValues(MeterBucketValue.newBuilder().setBucket(bucket.bucket).setCount(count));
+        }
+        if (Config.Meter.REPORT_CHANGED_ONLY && !changed) {
+            return null;
+        }
 
-        // get all values
-        List<MeterBucketValue> values = Arrays.stream(buckets)
-                                              .map(Histogram.Bucket::transform).collect(Collectors.toList());
+        return MeterData.newBuilder().setHistogram(histogramBuilder.setName(getName())
+                                                                   .addAllLabels(transformTags()));
+    }
 
-        return builder.setHistogram(MeterHistogram.newBuilder()
-                                                  .setName(getName())
-                                                  .addAllLabels(transformTags())
-                                                  .addAllValues(values)
-                                                  .build());
+    private enum StepLayout {
+        /**
+         * The steps are the same distance apart.
+         */
+        LINEAR,
+        /**
+         * The steps after the min value double each time, the bucket is the binary exponent of the value.
+         */
+        BINARY_EXPONENTIAL,
+        /**
+         * The steps after the min value grow by any other same ratio.
+         */
+        EXPONENTIAL,
+        CUSTOM
     }
 
     public static class Builder extends AbstractBuilder<Builder, Histogram> {
@@ -157,20 +277,24 @@ public class Histogram extends BaseMeter {
      */
     protected static class Bucket {
         protected double bucket;
-        protected AtomicLong count = new AtomicLong();
+        protected LongAdder count = new LongAdder();
+        /**
+         * Only accessed by the thread reporting the meters.
+         */
+        private long lastReportedCount;
 
         public Bucket(double bucket) {
             this.bucket = bucket;
         }
 
         public void increment(long count) {
-            this.count.addAndGet(count);
+            this.count.add(count);
         }
 
         public MeterBucketValue transform() {
             return MeterBucketValue.newBuilder()
                                    .setBucket(bucket)
-                                   .setCount(count.get())
+                                   .setCount(count.sum())
                                    .build();
         }
 
@@ -0,0 +1,301 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.meter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.network.language.agent.v3.MeterBucketValue;
+import org.apache.skywalking.apm.network.language.agent.v3.MeterData;
+import org.apache.skywalking.apm.network.language.agent.v3.MeterHistogram;
+
+/**
+ * Percentile records values into a relative-error sketch, so any percentile of them could be calculated without
+ * guessing the bucket steps first. The buckets grow exponentially, bucket {@code i} covers {@code [gamma^i,
+ * gamma^(i+1))} with {@code gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy)}, so every value in it is within the
+ * relative accuracy of the bucket's representative value.
+ * <p>
+ * The counts are kept in chunks of {@link #CHUNK_SIZE} buckets, allocated when the first value falls into them, and at
+ * most {@link Builder#maxBuckets(int)} buckets are kept. The values above the last bucket are counted in it, and the
+ * values below the min value, including zero and negatives, are counted in an underflow bucket.
+ * <p>
+ * It is reported as a histogram of all the buckets, so the backend always receives the same bucket layout, of {@link
+ * Builder#maxBuckets(int)} + 1 buckets. The underflow bucket is keyed by negative infinity, the first bucket by the min
+ * value, and the others by their lower bounds, computed once in the constructor. So keep the max buckets small, the
+ * default 64 buckets of 10% relative accuracy cover 1 to about 4 * 10^5. The bucket bounds depend only on the
+ * relative accuracy, min value and max buckets, so sketches of the same settings could be merged, in the agent through
+ * {@link #merge(Percentile)}, or by the backend.
+ */
+public class Percentile extends BaseMeter {
+    private static final int CHUNK_SHIFT = 6;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double indexMultiplier;
+    private final double minValue;
+    /**
+     * The index of the first bucket, containing the min value.
+     */
+    private final int minIndex;
+    private final int maxBuckets;
+    /**
+     * The reported lower bounds of the buckets.
+     */
+    private final double[] lowerBounds;
+    private final AtomicReferenceArray<AtomicLongArray> chunks;
+    private final LongAdder underflowCount = new LongAdder();
+    /**
+     * The total count of the last report, only accessed by the thread reporting the meters.
+     */
+    private long lastReportedCount;
+
+    /**
+     * @param meterId          as the unique id of this meter instance
+     * @param relativeAccuracy the max relative error of the percentiles, between 0 and 1
+     * @param minValue         the min positive value to be tracked, the values below it are counted in the
+     *                         underflow bucket
+     * @param maxBuckets       the max count of buckets, as the memory bound of this meter
+     */
+    public Percentile(MeterId meterId, double relativeAccuracy, double minValue, int maxBuckets) {
+        super(meterId);
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+        if (!(minValue > 0)) {
+            throw new IllegalArgumentException("Min value must be positive");
+        }
+        if (maxBuckets <= 0) {
+            throw new IllegalArgumentException("Max buckets must be positive");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.indexMultiplier = 1 / Math.log(gamma);
+        this.minValue = minValue;
+        this.minIndex = index(minValue);
+        this.maxBuckets = maxBuckets;
+        this.lowerBounds = new double[maxBuckets];
+        // the values in the first bucket below the min value are counted in the underflow bucket
+        lowerBounds[0] = minValue;
+        for (int bucket = 1; bucket < maxBuckets; bucket++) {
+            lowerBounds[bucket] = Math.pow(gamma, bucket + minIndex);
+        }
+        this.chunks = new AtomicReferenceArray<>((maxBuckets + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+    }
+
+    /**
+     * Add value into the sketch
+     */
+    public void addValue(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (value < minValue) {
+            underflowCount.increment();
+            return;
+        }
+        int bucket = Math.min(index(value) - minIndex, maxBuckets - 1);
+        AtomicLongArray chunk = chunks.get(bucket >>> CHUNK_SHIFT);
+        if (chunk == null) {
+            chunk = allocateChunk(bucket >>> CHUNK_SHIFT);
+        }
+        chunk.getAndIncrement(bucket & CHUNK_MASK);
+    }
+
+    /**
+     * @return the count of the recorded values
+     */
+    public long getCount() {
+        long count = underflowCount.sum();
+        for (int i = 0; i < chunks.length(); i++) {
+            AtomicLongArray chunk = chunks.get(i);
+            if (chunk != null) {
+                for (int j = 0; j < CHUNK_SIZE; j++) {
+                    count += chunk.get(j);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the value at the percentile within the relative accuracy, 0 when it falls into the underflow bucket, or
+     * NaN if there is no value yet
+     */
+    public double getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long count = getCount();
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.ceil(percentile / 100 * count);
+        long accumulated = underflowCount.sum();
+        if (rank <= accumulated) {
+            return 0;
+        }
+        int lastNonEmpty = -1;
+        for (int i = 0; i < chunks.length(); i++) {
+            AtomicLongArray chunk = chunks.get(i);
+            if (chunk == null) {
+                continue;
+            }
+            for (int j = 0; j < CHUNK_SIZE; j++) {
+                long bucketCount = chunk.get(j);
+                if (bucketCount == 0) {
+                    continue;
+                }
+                lastNonEmpty = (i << CHUNK_SHIFT) + j;
+                accumulated += bucketCount;
+                if (accumulated >= rank) {
+                    return representativeValue(lastNonEmpty);
+                }
+            }
+        }
+        // The values recorded while iterating raised the rank above the counts read.
+        return lastNonEmpty < 0 ? 0 : representativeValue(lastNonEmpty);
+    }
+
+    /**
+     * Add the counts of another sketch into this one.
+     *
+     * @throws IllegalArgumentException if the sketches don't have the same buckets
+     */
+    public void merge(Percentile other) {
+        if (other.relativeAccuracy != relativeAccuracy || other.minValue != minValue
+            || other.maxBuckets != maxBuckets) {
+            throw new IllegalArgumentException("Could not merge the percentile of different buckets");
+        }
+        underflowCount.add(other.underflowCount.sum());
+        for (int i = 0; i < other.chunks.length(); i++) {
+            AtomicLongArray otherChunk = other.chunks.get(i);
+            if (otherChunk == null) {
+                continue;
+            }
+            AtomicLongArray chunk = chunks.get(i);
+            if (chunk == null) {
+                chunk = allocateChunk(i);
+            }
+            for (int j = 0; j < CHUNK_SIZE; j++) {
+                long count = otherChunk.get(j);
+                if (count > 0) {
+                    chunk.getAndAdd(j, count);
+                }
+            }
+        }
+    }
+
+    /**
+     * Report all buckets as a histogram, the buckets of the chunks not allocated yet are empty. With {@link
+     * Config.Meter#REPORT_CHANGED_ONLY}, the sketch without any new value is skipped.
+     */
+    @Override
+    public MeterData.Builder transform() {
+        final MeterHistogram.Builder histogramBuilder = MeterHistogram.newBuilder();
+        long total = underflowCount.sum();
+        histogramBuilder.addValues(MeterBucketValue.newBuilder().setIsNegativeInfinity(true).setCount(total));
+        for (int bucket = 0; bucket < maxBuckets; bucket++) {
+            AtomicLongArray chunk = chunks.get(bucket >>> CHUNK_SHIFT);
+            long count = chunk == null ? 0 : chunk.get(bucket & CHUNK_MASK);
+            total += count;
+            histogramBuilder.addValues(MeterBucketValue.newBuilder().setBucket(lowerBounds[bucket]).setCount(count));
+        }
+        if (Config.Meter.REPORT_CHANGED_ONLY && total == lastReportedCount) {
+            return null;
+        }
+        lastReportedCount = total;
+
+        return MeterData.newBuilder().setHistogram(histogramBuilder.setName(getName())
+                                                                   .addAllLabels(transformTags()));
+    }
+
+    /**
+     * The bucket of the index k starts from gamma^k, and ends before gamma^(k+1).
+     */
+    private int index(double value) {
+        return (int) Math.floor(Math.log(value) * indexMultiplier);
+    }
+
+    /**
+     * The value with the same relative distance to both bounds of the bucket.
+     */
+    private double representativeValue(int bucket) {
+        return 2 * Math.pow(gamma, bucket + minIndex + 1) / (gamma + 1);
+    }
+
+    private AtomicLongArray allocateChunk(int chunkIndex) {
+        AtomicLongArray chunk = new AtomicLongArray(CHUNK_SIZE);
+        if (chunks.compareAndSet(chunkIndex, null, chunk)) {
+            return chunk;
+        }
+        return chunks.get(chunkIndex);
+    }
+
+    public static class Builder extends AbstractBuilder<Builder, Percentile> {
+        private double relativeAccuracy = 0.1;
+        private double minValue = 1;
+        private int maxBuckets = 64;
+
+        /**
+         * Build a new meter build, meter name is required
+         */
+        public Builder(String name) {
+            super(name);
+        }
+
+        /**
+         * Set the max relative error of the percentiles, default is 0.1
+         */
+        public Builder relativeAccuracy(double relativeAccuracy) {
+            this.relativeAccuracy = relativeAccuracy;
+            return this;
+        }
+
+        /**
+         * Set the min positive value to be tracked, default is 1
+         */
+        public Builder minValue(double minValue) {
+            this.minValue = minValue;
+            return this;
+        }
+
+        /**
+         * Set the max count of buckets, default is 64, which covers 1 to about 4 * 10^5 with the default relative
+         * accuracy. All of them are reported, so it is also the size of the reported histogram, keep it in the tens.
+         */
+        public Builder maxBuckets(int maxBuckets) {
+            this.maxBuckets = maxBuckets;
+            return this;
+        }
+
+        @Override
+        protected MeterType getType() {
+            return MeterType.PERCENTILE;
+        }
+
+        @Override
+        protected Percentile create(MeterId meterId) {
+            return new Percentile(meterId, relativeAccuracy, minValue, maxBuckets);
+        }
+    }
+}
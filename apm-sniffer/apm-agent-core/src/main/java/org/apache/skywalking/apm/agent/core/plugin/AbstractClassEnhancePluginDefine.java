@@ -177,6 +177,19 @@ public abstract class AbstractClassEnhancePluginDefine {
         return false;
     }
 
+    /**
+     * Inline the calls of the instance methods interceptors into the enhanced methods through byte-buddy's advice,
+     * rather than delegating to {@link org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstMethodsInter}.
+     * It avoids the allocations of the origin call and the reflective parameter types in every call. Only the methods
+     * declared by the enhanced class are intercepted in this mode, while the delegation also overrides the inherited
+     * methods. The bootstrap instrumentation and the intercept points overriding arguments always delegate.
+     *
+     * @return true to inline the interceptors of the instance methods.
+     */
+    public boolean isAdviceInlined() {
+        return false;
+    }
+
     /**
      * Constructor methods intercept point. See {@link ConstructorInterceptPoint}
      *
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.type.TypeDefinition;
+import net.bytebuddy.description.type.TypeDescription;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassAnnotationMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.HierarchyMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.IndirectMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.MultiClassNameMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.PrefixMatch;
+
+/**
+ * The index of the plugins enhancing classes by {@link IndirectMatch}, so a type is only checked by the plugins which
+ * could match it, rather than all of them.
+ * <p>
+ * {@link MultiClassNameMatch} is indexed by the class names, {@link PrefixMatch} by the prefixes in a character trie,
+ * {@link HierarchyMatch} by its first parent type and {@link ClassAnnotationMatch} by its first annotation. The plugins
+ * found through the index are confirmed by {@link IndirectMatch#isMatch(TypeDescription)}. Other matches are not
+ * indexed, and checked one by one as before.
+ */
+final class IndirectMatchIndex {
+    private final Map<String, List<IndexedPlugin>> byClassName = new HashMap<>();
+    private final PrefixNode prefixRoot = new PrefixNode();
+    private final Map<String, List<IndexedPlugin>> byParentType = new HashMap<>();
+    private final Map<String, List<IndexedPlugin>> byAnnotation = new HashMap<>();
+    private final List<IndexedPlugin> unindexed = new ArrayList<>();
+    private final List<AbstractClassEnhancePluginDefine> unindexedPlugins = new ArrayList<>();
+    private int size;
+
+    void add(AbstractClassEnhancePluginDefine plugin, IndirectMatch match) {
+        IndexedPlugin indexedPlugin = new IndexedPlugin(size++, plugin, match);
+        if (match instanceof MultiClassNameMatch) {
+            for (String className : ((MultiClassNameMatch) match).getClassNames()) {
+                addTo(byClassName, className, indexedPlugin);
+            }
+        } else if (match instanceof PrefixMatch) {
+            for (String prefix : ((PrefixMatch) match).getPrefixes()) {
+                prefixRoot.add(prefix, indexedPlugin);
+            }
+        } else if (match instanceof HierarchyMatch) {
+            addTo(byParentType, ((HierarchyMatch) match).getParentTypes()[0], indexedPlugin);
+        } else if (match instanceof ClassAnnotationMatch) {
+            addTo(byAnnotation, ((ClassAnnotationMatch) match).getAnnotations()[0], indexedPlugin);
+        } else {
+            unindexed.add(indexedPlugin);
+            unindexedPlugins.add(plugin);
+        }
+    }
+
+    /**
+     * @return the plugins not indexed, which have to be checked one by one.
+     */
+    List<AbstractClassEnhancePluginDefine> getUnindexedPlugins() {
+        return unindexedPlugins;
+    }
+
+    /**
+     * Add all plugins matching the type into the list, in the order of adding.
+     */
+    void find(TypeDescription typeDescription, List<AbstractClassEnhancePluginDefine> matchedPlugins) {
+        List<IndexedPlugin> candidates = new ArrayList<>();
+        collectByName(typeDescription, candidates);
+        collectByAnnotation(typeDescription, candidates);
+        collectByHierarchy(typeDescription, candidates);
+        candidates.addAll(unindexed);
+        if (candidates.size() > 1) {
+            Collections.sort(candidates);
+        }
+
+        IndexedPlugin last = null;
+        for (IndexedPlugin candidate : candidates) {
+            // a plugin could be found through more than one prefix
+            if (candidate != last && candidate.match.isMatch(typeDescription)) {
+                matchedPlugins.add(candidate.plugin);
+            }
+            last = candidate;
+        }
+    }
+
+    /**
+     * @return true if any indexed plugin matches the type, the plugins not indexed are not checked.
+     */
+    boolean matchesIndexed(TypeDescription typeDescription) {
+        List<IndexedPlugin> candidates = new ArrayList<>();
+        collectByName(typeDescription, candidates);
+        collectByAnnotation(typeDescription, candidates);
+        if (matchesAny(candidates, typeDescription)) {
+            return true;
+        }
+        collectByHierarchy(typeDescription, candidates);
+        return matchesAny(candidates, typeDescription);
+    }
+
+    private static boolean matchesAny(List<IndexedPlugin> candidates, TypeDescription typeDescription) {
+        for (IndexedPlugin candidate : candidates) {
+            if (candidate.match.isMatch(typeDescription)) {
+                return true;
+            }
+        }
+        candidates.clear();
+        return false;
+    }
+
+    private void collectByName(TypeDescription typeDescription, List<IndexedPlugin> candidates) {
+        String typeName = typeDescription.getTypeName();
+        List<IndexedPlugin> plugins = byClassName.get(typeName);
+        if (plugins != null) {
+            candidates.addAll(plugins);
+        }
+        prefixRoot.collect(typeDescription.getName(), candidates);
+    }
+
+    private void collectByAnnotation(TypeDescription typeDescription, List<IndexedPlugin> candidates) {
+        if (byAnnotation.isEmpty()) {
+            return;
+        }
+        for (AnnotationDescription annotation : typeDescription.getDeclaredAnnotations()) {
+            List<IndexedPlugin> plugins = byAnnotation.get(annotation.getAnnotationType().getActualName());
+            if (plugins != null) {
+                candidates.addAll(plugins);
+            }
+        }
+    }
+
+    private void collectByHierarchy(TypeDescription typeDescription, List<IndexedPlugin> candidates) {
+        if (byParentType.isEmpty()) {
+            return;
+        }
+        collectBySuperTypes(typeDescription, new HashSet<>(), candidates);
+    }
+
+    /**
+     * Walk the interfaces and super classes the same way as {@link HierarchyMatch}, but only once for all plugins.
+     */
+    private void collectBySuperTypes(TypeDefinition type, Set<String> visited, List<IndexedPlugin> candidates) {
+        for (TypeDescription.Generic superInterface : type.getInterfaces()) {
+            collectBySuperType(superInterface, visited, candidates);
+        }
+        TypeDescription.Generic superClass = type.getSuperClass();
+        if (superClass != null) {
+            collectBySuperType(superClass, visited, candidates);
+        }
+    }
+
+    private void collectBySuperType(TypeDescription.Generic superType, Set<String> visited,
+                                    List<IndexedPlugin> candidates) {
+        String typeName = superType.asRawType().getTypeName();
+        if (!visited.add(typeName)) {
+            return;
+        }
+        List<IndexedPlugin> plugins = byParentType.get(typeName);
+        if (plugins != null) {
+            candidates.addAll(plugins);
+        }
+        if (!"java.lang.Object".equals(typeName)) {
+            collectBySuperTypes(superType, visited, candidates);
+        }
+    }
+
+    private static void addTo(Map<String, List<IndexedPlugin>> index, String key, IndexedPlugin plugin) {
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(plugin);
+    }
+
+    private static class IndexedPlugin implements Comparable<IndexedPlugin> {
+        private final int order;
+        private final AbstractClassEnhancePluginDefine plugin;
+        private final IndirectMatch match;
+
+        private IndexedPlugin(int order, AbstractClassEnhancePluginDefine plugin, IndirectMatch match) {
+            this.order = order;
+            this.plugin = plugin;
+            this.match = match;
+        }
+
+        @Override
+        public int compareTo(IndexedPlugin o) {
+            return Integer.compare(order, o.order);
+        }
+    }
+
+    /**
+     * A node of the prefix trie, holding the plugins whose prefix ends here.
+     */
+    private static class PrefixNode {
+        private final Map<Character, PrefixNode> children = new HashMap<>();
+        private final List<IndexedPlugin> plugins = new ArrayList<>(0);
+
+        void add(String prefix, IndexedPlugin plugin) {
+            PrefixNode node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new PrefixNode());
+            }
+            node.plugins.add(plugin);
+        }
+
+        void collect(String name, List<IndexedPlugin> candidates) {
+            PrefixNode node = this;
+            for (int i = 0; ; i++) {
+                candidates.addAll(node.plugins);
+                if (i == name.length()) {
+                    return;
+                }
+                node = node.children.get(name.charAt(i));
+                if (node == null) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -23,7 +23,6 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import net.bytebuddy.description.NamedElement;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
 import org.apache.skywalking.apm.agent.core.plugin.bytebuddy.AbstractJunction;
@@ -41,7 +40,7 @@ import static net.bytebuddy.matcher.ElementMatchers.not;
  */
 public class PluginFinder {
     private final Map<String, LinkedList<AbstractClassEnhancePluginDefine>> nameMatchDefine = new HashMap<String, LinkedList<AbstractClassEnhancePluginDefine>>();
-    private final List<AbstractClassEnhancePluginDefine> signatureMatchDefine = new ArrayList<AbstractClassEnhancePluginDefine>();
+    private final IndirectMatchIndex signatureMatchDefine = new IndirectMatchIndex();
     private final List<AbstractClassEnhancePluginDefine> bootstrapClassMatchDefine = new ArrayList<AbstractClassEnhancePluginDefine>();
     private static boolean IS_PLUGIN_INIT_COMPLETED = false;
 
@@ -61,8 +60,8 @@ public class PluginFinder {
                     nameMatchDefine.put(nameMatch.getClassName(), pluginDefines);
                 }
                 pluginDefines.add(plugin);
-            } else {
-                signatureMatchDefine.add(plugin);
+            } else if (match instanceof IndirectMatch) {
+                signatureMatchDefine.add(plugin, (IndirectMatch) match);
             }
 
             if (plugin.isBootstrapInstrumentation()) {
@@ -78,24 +77,20 @@ public class PluginFinder {
             matchedPlugins.addAll(nameMatchDefine.get(typeName));
         }
 
-        for (AbstractClassEnhancePluginDefine pluginDefine : signatureMatchDefine) {
-            IndirectMatch match = (IndirectMatch) pluginDefine.enhanceClass();
-            if (match.isMatch(typeDescription)) {
-                matchedPlugins.add(pluginDefine);
-            }
-        }
+        signatureMatchDefine.find(typeDescription, matchedPlugins);
 
         return matchedPlugins;
     }
 
     public ElementMatcher<? super TypeDescription> buildMatch() {
-        ElementMatcher.Junction judge = new AbstractJunction<NamedElement>() {
+        ElementMatcher.Junction judge = new AbstractJunction<TypeDescription>() {
             @Override
-            public boolean matches(NamedElement target) {
-                return nameMatchDefine.containsKey(target.getActualName());
+            public boolean matches(TypeDescription target) {
+                return nameMatchDefine.containsKey(target.getActualName())
+                    || signatureMatchDefine.matchesIndexed(target);
             }
         };
-        for (AbstractClassEnhancePluginDefine define : signatureMatchDefine) {
+        for (AbstractClassEnhancePluginDefine define : signatureMatchDefine.getUnindexedPlugins()) {
             ClassMatch match = define.enhanceClass();
             if (match instanceof IndirectMatch) {
                 judge = judge.or(((IndirectMatch) match).buildJunction());
@@ -61,8 +61,9 @@ public class ConstructorInterTemplate {
      */
     @RuntimeType
     public static void intercept(@This Object obj, @AllArguments Object[] allArguments) {
+        boolean timeCostSampled = PLUGIN_SO11Y.isTimeCostSampled();
         long interceptorTimeCost = 0L;
-        long startTime = System.nanoTime();
+        long startTime = timeCostSampled ? System.nanoTime() : 0L;
         try {
             prepare();
 
@@ -76,8 +77,10 @@ public class ConstructorInterTemplate {
             LOGGER.error("ConstructorInter failure.", t);
             PLUGIN_SO11Y.error(PLUGIN_NAME, INTERCEPTOR_TYPE);
         }
-        interceptorTimeCost += System.nanoTime() - startTime;
-        PLUGIN_SO11Y.duration(interceptorTimeCost);
+        if (timeCostSampled) {
+            interceptorTimeCost += System.nanoTime() - startTime;
+            PLUGIN_SO11Y.duration(PLUGIN_NAME, TARGET_INTERCEPTOR, interceptorTimeCost);
+        }
     }
 
     /**
@@ -76,8 +76,9 @@ public class InstanceMethodInterWithOverrideArgsTemplate {
 
         prepare();
 
+        boolean timeCostSampled = PLUGIN_SO11Y.isTimeCostSampled();
         long interceptorTimeCost = 0L;
-        long startTimeOfMethodBeforeInter = System.nanoTime();
+        long startTimeOfMethodBeforeInter = timeCostSampled ? System.nanoTime() : 0L;
         MethodInterceptResult result = new MethodInterceptResult();
         try {
             if (INTERCEPTOR != null) {
@@ -89,7 +90,9 @@ public class InstanceMethodInterWithOverrideArgsTemplate {
             }
             PLUGIN_SO11Y.error(PLUGIN_NAME, INTERCEPTOR_TYPE);
         }
-        interceptorTimeCost += System.nanoTime() - startTimeOfMethodBeforeInter;
+        if (timeCostSampled) {
+            interceptorTimeCost += System.nanoTime() - startTimeOfMethodBeforeInter;
+        }
 
         Object ret = null;
         try {
@@ -99,7 +102,7 @@ public class InstanceMethodInterWithOverrideArgsTemplate {
                 ret = zuper.call(allArguments);
             }
         } catch (Throwable t) {
-            long startTimeOfMethodHandleExceptionInter = System.nanoTime();
+            long startTimeOfMethodHandleExceptionInter = timeCostSampled ? System.nanoTime() : 0L;
             try {
                 if (INTERCEPTOR != null) {
                     INTERCEPTOR.handleMethodException(targetObject, method, allArguments, method.getParameterTypes(), t);
@@ -110,10 +113,12 @@ public class InstanceMethodInterWithOverrideArgsTemplate {
                 }
                 PLUGIN_SO11Y.error(PLUGIN_NAME, INTERCEPTOR_TYPE);
             }
-            interceptorTimeCost += System.nanoTime() - startTimeOfMethodHandleExceptionInter;
+            if (timeCostSampled) {
+                interceptorTimeCost += System.nanoTime() - startTimeOfMethodHandleExceptionInter;
+            }
             throw t;
         } finally {
-            long startTimeOfMethodAfterInter = System.nanoTime();
+            long startTimeOfMethodAfterInter = timeCostSampled ? System.nanoTime() : 0L;
             try {
                 if (INTERCEPTOR != null) {
                     ret = INTERCEPTOR.afterMethod(targetObject, method, allArguments, method.getParameterTypes(), ret);
@@ -124,9 +129,13 @@ public class InstanceMethodInterWithOverrideArgsTemplate {
                 }
                 PLUGIN_SO11Y.error(PLUGIN_NAME, INTERCEPTOR_TYPE);
             }
-            interceptorTimeCost += System.nanoTime() - startTimeOfMethodAfterInter;
+            if (timeCostSampled) {
+                interceptorTimeCost += System.nanoTime() - startTimeOfMethodAfterInter;
+            }
+        }
+        if (timeCostSampled) {
+            PLUGIN_SO11Y.duration(PLUGIN_NAME, TARGET_INTERCEPTOR, interceptorTimeCost);
         }
-        PLUGIN_SO11Y.duration(interceptorTimeCost);
 
         return ret;
     }
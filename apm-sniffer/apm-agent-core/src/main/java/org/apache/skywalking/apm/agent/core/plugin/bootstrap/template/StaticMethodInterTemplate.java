@@ -72,8 +72,9 @@ public class StaticMethodInterTemplate {
         @SuperCall Callable<?> zuper) throws Throwable {
         prepare();
 
+        boolean timeCostSampled = PLUGIN_SO11Y.isTimeCostSampled();
         long interceptorTimeCost = 0L;
-        long startTimeOfMethodBeforeInter = System.nanoTime();
+        long startTimeOfMethodBeforeInter = timeCostSampled ? System.nanoTime() : 0L;
         MethodInterceptResult result = new MethodInterceptResult();
         try {
             if (INTERCEPTOR != null) {
@@ -83,7 +84,9 @@ public class StaticMethodInterTemplate {
             LOGGER.error(t, "class[{}] before static method[{}] intercept failure", clazz, method.getName());
             PLUGIN_SO11Y.error(PLUGIN_NAME, INTERCEPTOR_TYPE);
         }
-        interceptorTimeCost += System.nanoTime() - startTimeOfMethodBeforeInter;
+        if (timeCostSampled) {
+            interceptorTimeCost += System.nanoTime() - startTimeOfMethodBeforeInter;
+        }
 
         Object ret = null;
         try {
@@ -93,7 +96,7 @@ public class StaticMethodInterTemplate {
                 ret = zuper.call();
             }
         } catch (Throwable t) {
-            long startTimeOfMethodHandleExceptionInter = System.nanoTime();
+            long startTimeOfMethodHandleExceptionInter = timeCostSampled ? System.nanoTime() : 0L;
             try {
                 if (INTERCEPTOR != null) {
                     INTERCEPTOR.handleMethodException(clazz, method, allArguments, method.getParameterTypes(), t);
@@ -102,10 +105,12 @@ public class StaticMethodInterTemplate {
                 LOGGER.error(t2, "class[{}] handle static method[{}] exception failure", clazz, method.getName(), t2.getMessage());
                 PLUGIN_SO11Y.error(PLUGIN_NAME, INTERCEPTOR_TYPE);
             }
-            interceptorTimeCost += System.nanoTime() - startTimeOfMethodHandleExceptionInter;
+            if (timeCostSampled) {
+                interceptorTimeCost += System.nanoTime() - startTimeOfMethodHandleExceptionInter;
+            }
             throw t;
         } finally {
-            long startTimeOfMethodAfterInter = System.nanoTime();
+            long startTimeOfMethodAfterInter = timeCostSampled ? System.nanoTime() : 0L;
             try {
                 if (INTERCEPTOR != null) {
                     ret = INTERCEPTOR.afterMethod(clazz, method, allArguments, method.getParameterTypes(), ret);
@@ -114,9 +119,13 @@ public class StaticMethodInterTemplate {
                 LOGGER.error(t, "class[{}] after static method[{}] intercept failure:{}", clazz, method.getName(), t.getMessage());
                 PLUGIN_SO11Y.error(PLUGIN_NAME, INTERCEPTOR_TYPE);
             }
-            interceptorTimeCost += System.nanoTime() - startTimeOfMethodAfterInter;
+            if (timeCostSampled) {
+                interceptorTimeCost += System.nanoTime() - startTimeOfMethodAfterInter;
+            }
+        }
+        if (timeCostSampled) {
+            PLUGIN_SO11Y.duration(PLUGIN_NAME, TARGET_INTERCEPTOR, interceptorTimeCost);
         }
-        PLUGIN_SO11Y.duration(interceptorTimeCost);
 
         return ret;
     }
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.description.method.ParameterDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.implementation.bytecode.constant.IntegerConstant;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.agent.core.plugin.PluginException;
+import org.apache.skywalking.apm.agent.core.plugin.loader.InterceptorInstanceLoader;
+import org.apache.skywalking.apm.agent.core.so11y.AgentSo11y;
+
+/**
+ * An instance method enhanced by inlining the interceptor calls through byte-buddy's {@link Advice}, rather than
+ * delegating every call to {@link InstMethodsInter}. The inlined code finds it by the index bound as a constant when
+ * the method is transformed, so each enhanced method has its own call sites of the interceptor, and the {@link Method}
+ * and its parameter types are resolved once instead of per call.
+ * <p>
+ * The registered methods are never removed, the same as the interceptor instances cached by {@link
+ * InterceptorInstanceLoader}.
+ */
+public class AdvisedMethod {
+    private static final ILog LOGGER = LogManager.getLogger(AdvisedMethod.class);
+
+    private static final String INTERCEPTOR_TYPE = "inst";
+
+    private static final Object REGISTER_LOCK = new Object();
+
+    private static volatile AdvisedMethod[] ADVISED_METHODS = new AdvisedMethod[0];
+
+    private final String pluginName;
+    private final Object interceptor;
+    private final String methodName;
+    private final String[] parameterTypeNames;
+    private volatile Method method;
+    private volatile Class<?>[] parameterTypes;
+
+    private AdvisedMethod(String pluginName, Object interceptor, String methodName, String[] parameterTypeNames) {
+        this.pluginName = pluginName;
+        this.interceptor = interceptor;
+        this.methodName = methodName;
+        this.parameterTypeNames = parameterTypeNames;
+    }
+
+    /**
+     * @param index         bound by {@link Binder} when the method is transformed.
+     * @param declaringType the enhanced class, which declares the method.
+     * @return the advised method, with the {@link Method} resolved.
+     */
+    public static AdvisedMethod get(int index, Class<?> declaringType) {
+        AdvisedMethod advisedMethod = ADVISED_METHODS[index];
+        if (advisedMethod.method == null) {
+            advisedMethod.resolve(declaringType);
+        }
+        return advisedMethod;
+    }
+
+    private static int register(AdvisedMethod advisedMethod) {
+        synchronized (REGISTER_LOCK) {
+            AdvisedMethod[] advisedMethods = Arrays.copyOf(ADVISED_METHODS, ADVISED_METHODS.length + 1);
+            advisedMethods[advisedMethods.length - 1] = advisedMethod;
+            ADVISED_METHODS = advisedMethods;
+            return advisedMethods.length - 1;
+        }
+    }
+
+    private void resolve(Class<?> declaringType) {
+        for (Method declaredMethod : declaringType.getDeclaredMethods()) {
+            if (!declaredMethod.getName().equals(methodName)) {
+                continue;
+            }
+            Class<?>[] types = declaredMethod.getParameterTypes();
+            if (types.length != parameterTypeNames.length) {
+                continue;
+            }
+            boolean matched = true;
+            for (int i = 0; i < types.length && matched; i++) {
+                matched = types[i].getName().equals(parameterTypeNames[i]);
+            }
+            if (matched) {
+                parameterTypes = types;
+                method = declaredMethod;
+                return;
+            }
+        }
+        throw new IllegalStateException("Can't find method " + methodName + " in " + declaringType);
+    }
+
+    public Object getInterceptor() {
+        return interceptor;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /**
+     * @return the parameter types, shared by all the calls, which must not be modified.
+     */
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public void duration(long timeCostInNanos) {
+        AgentSo11y.durationOfInterceptor(pluginName, interceptor.getClass().getName(), timeCostInNanos);
+    }
+
+    public void beforeMethodFailure(Object obj, Throwable t) {
+        LOGGER.error(t, "class[{}] before method[{}] intercept failure", obj.getClass(), methodName);
+        AgentSo11y.errorOfPlugin(pluginName, INTERCEPTOR_TYPE);
+    }
+
+    public void handleMethodExceptionFailure(Object obj, Throwable t) {
+        LOGGER.error(t, "class[{}] handle method[{}] exception failure", obj.getClass(), methodName);
+        AgentSo11y.errorOfPlugin(pluginName, INTERCEPTOR_TYPE);
+    }
+
+    public void afterMethodFailure(Object obj, Throwable t) {
+        LOGGER.error(t, "class[{}] after method[{}] intercept failure", obj.getClass(), methodName);
+        AgentSo11y.errorOfPlugin(pluginName, INTERCEPTOR_TYPE);
+    }
+
+    /**
+     * The advice parameter bound to the index of the {@link AdvisedMethod}, which must be an <code>int</code>.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.PARAMETER)
+    public @interface Index {
+    }
+
+    /**
+     * Registers an {@link AdvisedMethod} for each method transformed by the advice, and binds its index to the
+     * parameter annotated by {@link Index}.
+     */
+    public static class Binder implements Advice.OffsetMapping.Factory<Index> {
+        private final String pluginName;
+        private final Object interceptor;
+        private final Map<MethodDescription.SignatureToken, Integer> indexes = new HashMap<>();
+
+        public Binder(String pluginName, String interceptorClassName, ClassLoader classLoader) {
+            this.pluginName = pluginName;
+            try {
+                interceptor = InterceptorInstanceLoader.load(interceptorClassName, classLoader);
+            } catch (Throwable t) {
+                throw new PluginException("Can't create InstanceMethodsAroundInterceptor.", t);
+            }
+        }
+
+        @Override
+        public Class<Index> getAnnotationType() {
+            return Index.class;
+        }
+
+        @Override
+        public Advice.OffsetMapping make(ParameterDescription.InDefinedShape target,
+                                         AnnotationDescription.Loadable<Index> annotation,
+                                         AdviceType adviceType) {
+            if (!target.getType().represents(int.class)) {
+                throw new IllegalStateException(target + " annotated by @Index must be an int");
+            }
+            return (instrumentedType, instrumentedMethod, assigner, argumentHandler, sort) ->
+                new Advice.OffsetMapping.Target.ForStackManipulation(IntegerConstant.forValue(index(instrumentedMethod)));
+        }
+
+        private synchronized int index(MethodDescription instrumentedMethod) {
+            return indexes.computeIfAbsent(instrumentedMethod.asSignatureToken(), token -> register(new AdvisedMethod(
+                pluginName, interceptor, instrumentedMethod.getName(),
+                instrumentedMethod.getParameters().asTypeList().asErasures().stream()
+                                  .map(TypeDescription::getName).toArray(String[]::new)
+            )));
+        }
+    }
+}
@@ -64,8 +64,9 @@ public class ConstructorInter {
      */
     @RuntimeType
     public void intercept(@This Object obj, @AllArguments Object[] allArguments) {
+        boolean timeCostSampled = AgentSo11y.isInterceptorTimeCostSampled();
         long interceptorTimeCost = 0L;
-        long startTime = System.nanoTime();
+        long startTime = timeCostSampled ? System.nanoTime() : 0L;
         try {
             EnhancedInstance targetObject = (EnhancedInstance) obj;
 
@@ -74,7 +75,9 @@ public class ConstructorInter {
             LOGGER.error("ConstructorInter failure.", t);
             AgentSo11y.errorOfPlugin(pluginName, INTERCEPTOR_TYPE);
         }
-        interceptorTimeCost += System.nanoTime() - startTime;
-        AgentSo11y.durationOfInterceptor(interceptorTimeCost);
+        if (timeCostSampled) {
+            interceptorTimeCost += System.nanoTime() - startTime;
+            AgentSo11y.durationOfInterceptor(pluginName, interceptor.getClass().getName(), interceptorTimeCost);
+        }
     }
 }
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import net.bytebuddy.asm.Advice;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+import org.apache.skywalking.apm.agent.core.so11y.AgentSo11y;
+
+/**
+ * The byte-buddy's advice inlined into the class instance methods, the inlined alternative of {@link InstMethodsInter}.
+ * It calls the {@link InstanceMethodsAroundInterceptor} the same way, but without the {@link java.util.concurrent.Callable}
+ * of the origin call and the reflective parameter types of every call.
+ * <p>
+ * The code of the methods is copied into the enhanced methods, so it should only access public members.
+ */
+public class InstMethodsAdvice {
+
+    @Advice.OnMethodEnter(skipOn = Advice.OnNonDefaultValue.class)
+    public static boolean beforeMethod(@AdvisedMethod.Index int index,
+                                       @Advice.Origin Class<?> type,
+                                       @Advice.This Object obj,
+                                       @Advice.AllArguments Object[] allArguments,
+                                       @Advice.Local("advisedMethod") AdvisedMethod advisedMethod,
+                                       @Advice.Local("allArguments") Object[] arguments,
+                                       @Advice.Local("result") MethodInterceptResult result,
+                                       @Advice.Local("timeCostSampled") boolean timeCostSampled,
+                                   @Advice.Local("interceptorTimeCost") long interceptorTimeCost) {
+        advisedMethod = AdvisedMethod.get(index, type);
+        arguments = allArguments;
+        timeCostSampled = AgentSo11y.isInterceptorTimeCostSampled();
+        long startTimeOfMethodBeforeInter = timeCostSampled ? System.nanoTime() : 0L;
+        result = new MethodInterceptResult();
+        try {
+            ((InstanceMethodsAroundInterceptor) advisedMethod.getInterceptor()).beforeMethod(
+                (EnhancedInstance) obj, advisedMethod.getMethod(), allArguments, advisedMethod.getParameterTypes(), result);
+        } catch (Throwable t) {
+            advisedMethod.beforeMethodFailure(obj, t);
+        }
+        if (timeCostSampled) {
+            interceptorTimeCost = System.nanoTime() - startTimeOfMethodBeforeInter;
+        }
+        return !result.isContinue();
+    }
+
+    @Advice.OnMethodExit(onThrowable = Throwable.class)
+    public static void afterMethod(@Advice.This Object obj,
+                                   @Advice.Return(readOnly = false, typing = Assigner.Typing.DYNAMIC) Object ret,
+                                   @Advice.Thrown Throwable throwable,
+                                   @Advice.Local("advisedMethod") AdvisedMethod advisedMethod,
+                                   @Advice.Local("allArguments") Object[] arguments,
+                                   @Advice.Local("result") MethodInterceptResult result,
+                                   @Advice.Local("timeCostSampled") boolean timeCostSampled,
+                                   @Advice.Local("interceptorTimeCost") long interceptorTimeCost) {
+        InstanceMethodsAroundInterceptor interceptor = (InstanceMethodsAroundInterceptor) advisedMethod.getInterceptor();
+        if (!result.isContinue()) {
+            ret = result._ret();
+        }
+        if (throwable != null) {
+            long startTimeOfMethodHandleExceptionInter = timeCostSampled ? System.nanoTime() : 0L;
+            try {
+                interceptor.handleMethodException(
+                    (EnhancedInstance) obj, advisedMethod.getMethod(), arguments, advisedMethod.getParameterTypes(), throwable);
+            } catch (Throwable t) {
+                advisedMethod.handleMethodExceptionFailure(obj, t);
+            }
+            if (timeCostSampled) {
+                interceptorTimeCost += System.nanoTime() - startTimeOfMethodHandleExceptionInter;
+            }
+        }
+        long startTimeOfMethodAfterInter = timeCostSampled ? System.nanoTime() : 0L;
+        try {
+            ret = interceptor.afterMethod(
+                (EnhancedInstance) obj, advisedMethod.getMethod(), arguments, advisedMethod.getParameterTypes(), ret);
+        } catch (Throwable t) {
+            advisedMethod.afterMethodFailure(obj, t);
+        }
+        if (timeCostSampled) {
+            interceptorTimeCost += System.nanoTime() - startTimeOfMethodAfterInter;
+            advisedMethod.duration(interceptorTimeCost);
+        }
+    }
+}
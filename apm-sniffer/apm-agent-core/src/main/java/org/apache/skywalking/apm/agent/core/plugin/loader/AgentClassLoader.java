@@ -18,10 +18,10 @@
 
 package org.apache.skywalking.apm.agent.core.plugin.loader;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.Enumeration;
@@ -31,7 +31,6 @@ import java.util.List;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
-import lombok.RequiredArgsConstructor;
 import org.apache.skywalking.apm.agent.core.boot.AgentPackageNotFoundException;
 import org.apache.skywalking.apm.agent.core.boot.AgentPackagePath;
 import org.apache.skywalking.apm.agent.core.boot.PluginConfig;
@@ -59,8 +58,14 @@ public class AgentClassLoader extends ClassLoader {
      */
     private static AgentClassLoader DEFAULT_LOADER;
 
+    /**
+     * The file of the saved {@link JarIndex}, in the agent folder.
+     */
+    private static final String JAR_INDEX_FILE_NAME = "plugin-jar-index.cache";
+
+    private final File agentDictionary;
     private List<File> classpath;
-    private List<Jar> allJars;
+    private volatile JarIndex jarIndex;
     private ReentrantLock jarScanLock = new ReentrantLock();
 
     public static AgentClassLoader getDefault() {
@@ -84,30 +89,24 @@ public class AgentClassLoader extends ClassLoader {
 
     public AgentClassLoader(ClassLoader parent) throws AgentPackageNotFoundException {
         super(parent);
-        File agentDictionary = AgentPackagePath.getPath();
+        agentDictionary = AgentPackagePath.getPath();
         classpath = new LinkedList<>();
         Config.Plugin.MOUNT.forEach(mountFolder -> classpath.add(new File(agentDictionary, mountFolder)));
     }
 
     @Override
     protected Class<?> findClass(String name) throws ClassNotFoundException {
-        List<Jar> allJars = getAllJars();
         String path = name.replace('.', '/').concat(".class");
-        for (Jar jar : allJars) {
-            JarEntry entry = jar.jarFile.getJarEntry(path);
-            if (entry == null) {
-                continue;
-            }
+        for (JarIndex.Jar jar : getJarIndex().find(path)) {
             try {
-                URL classFileUrl = new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + path);
+                JarFile jarFile = jar.getJarFile();
+                JarEntry entry = jarFile.getJarEntry(path);
+                if (entry == null) {
+                    continue;
+                }
                 byte[] data;
-                try (final BufferedInputStream is = new BufferedInputStream(
-                    classFileUrl.openStream()); final ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                    int ch;
-                    while ((ch = is.read()) != -1) {
-                        baos.write(ch);
-                    }
-                    data = baos.toByteArray();
+                try (InputStream is = jarFile.getInputStream(entry)) {
+                    data = readFully(is, entry.getSize());
                 }
                 return processLoadedClass(defineClass(name, data, 0, data.length));
             } catch (IOException e) {
@@ -119,14 +118,10 @@ public class AgentClassLoader extends ClassLoader {
 
     @Override
     protected URL findResource(String name) {
-        List<Jar> allJars = getAllJars();
-        for (Jar jar : allJars) {
-            JarEntry entry = jar.jarFile.getJarEntry(name);
-            if (entry != null) {
-                try {
-                    return new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + name);
-                } catch (MalformedURLException ignored) {
-                }
+        for (JarIndex.Jar jar : getJarIndex().find(name)) {
+            try {
+                return new URL("jar:file:" + jar.getSourceFile().getAbsolutePath() + "!/" + name);
+            } catch (MalformedURLException ignored) {
             }
         }
         return null;
@@ -135,12 +130,8 @@ public class AgentClassLoader extends ClassLoader {
     @Override
     protected Enumeration<URL> findResources(String name) throws IOException {
         List<URL> allResources = new LinkedList<>();
-        List<Jar> allJars = getAllJars();
-        for (Jar jar : allJars) {
-            JarEntry entry = jar.jarFile.getJarEntry(name);
-            if (entry != null) {
-                allResources.add(new URL("jar:file:" + jar.sourceFile.getAbsolutePath() + "!/" + name));
-            }
+        for (JarIndex.Jar jar : getJarIndex().find(name)) {
+            allResources.add(new URL("jar:file:" + jar.getSourceFile().getAbsolutePath() + "!/" + name));
         }
 
         final Iterator<URL> iterator = allResources.iterator();
@@ -169,44 +160,61 @@ public class AgentClassLoader extends ClassLoader {
         return loadedClass;
     }
 
-    private List<Jar> getAllJars() {
-        if (allJars == null) {
+    /**
+     * Read the whole entry in bulk, the size is -1 if it is unknown.
+     */
+    private static byte[] readFully(InputStream is, long size) throws IOException {
+        if (size >= 0) {
+            byte[] data = new byte[(int) size];
+            int offset = 0;
+            while (offset < data.length) {
+                int read = is.read(data, offset, data.length - offset);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of the entry, " + offset + " of " + size + " bytes read");
+                }
+                offset += read;
+            }
+            return data;
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            baos.write(buffer, 0, read);
+        }
+        return baos.toByteArray();
+    }
+
+    private JarIndex getJarIndex() {
+        if (jarIndex == null) {
             jarScanLock.lock();
             try {
-                if (allJars == null) {
-                    allJars = doGetJars();
+                if (jarIndex == null) {
+                    jarIndex = buildJarIndex();
                 }
             } finally {
                 jarScanLock.unlock();
             }
         }
 
-        return allJars;
+        return jarIndex;
     }
 
-    private LinkedList<Jar> doGetJars() {
-        LinkedList<Jar> jars = new LinkedList<>();
-        for (File path : classpath) {
-            if (path.exists() && path.isDirectory()) {
-                String[] jarFileNames = path.list((dir, name) -> name.endsWith(".jar"));
-                for (String fileName : jarFileNames) {
-                    try {
-                        File file = new File(path, fileName);
-                        Jar jar = new Jar(new JarFile(file), file);
-                        jars.add(jar);
-                        LOGGER.info("{} loaded.", file.toString());
-                    } catch (IOException e) {
-                        LOGGER.error(e, "{} jar file can't be resolved", fileName);
-                    }
-                }
-            }
+    /**
+     * Load the saved index if {@link Config.Plugin#CACHE_JAR_INDEX} is true and the jars don't change, otherwise scan
+     * the jars.
+     */
+    private JarIndex buildJarIndex() {
+        List<File> jarFiles = JarIndex.listJarFiles(classpath);
+        if (!Config.Plugin.CACHE_JAR_INDEX) {
+            return JarIndex.scan(jarFiles);
         }
-        return jars;
-    }
-
-    @RequiredArgsConstructor
-    private static class Jar {
-        private final JarFile jarFile;
-        private final File sourceFile;
+        File indexFile = new File(agentDictionary, JAR_INDEX_FILE_NAME);
+        JarIndex index = JarIndex.load(indexFile, jarFiles);
+        if (index == null) {
+            index = JarIndex.scan(jarFiles);
+            index.save(indexFile);
+        }
+        return index;
     }
-}
\ No newline at end of file
+}
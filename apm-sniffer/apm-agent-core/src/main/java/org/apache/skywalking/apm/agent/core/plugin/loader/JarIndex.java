@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.loader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+
+/**
+ * The index from the entry names to the plugin jars containing them, in the order of the jars in the classpath, so
+ * {@link AgentClassLoader} goes to the jar of a class or resource directly, instead of probing every jar.
+ * <p>
+ * The entries of the jars are listed in parallel when building the index. The index could be saved into a file, and
+ * loaded by the next start as long as the jars keep the same paths, sizes and modified times. Then the jars are only
+ * opened when a class or resource is read from them.
+ */
+final class JarIndex {
+    private static final ILog LOGGER = LogManager.getLogger(JarIndex.class);
+    private static final int FILE_VERSION = 2;
+
+    private final List<Jar> jars;
+    private final Map<String, List<Jar>> entries;
+
+    private JarIndex(List<Jar> jars, Map<String, List<Jar>> entries) {
+        this.jars = jars;
+        this.entries = entries;
+    }
+
+    /**
+     * @return the jars containing the entry, in the order of the classpath.
+     */
+    List<Jar> find(String entryName) {
+        List<Jar> found = entries.get(entryName);
+        return found == null ? Collections.emptyList() : found;
+    }
+
+    /**
+     * List the jar files in the classpath folders, without opening them.
+     */
+    static List<File> listJarFiles(List<File> classpath) {
+        List<File> jarFiles = new ArrayList<>();
+        for (File path : classpath) {
+            if (path.exists() && path.isDirectory()) {
+                String[] jarFileNames = path.list((dir, name) -> name.endsWith(".jar"));
+                for (String fileName : jarFileNames) {
+                    jarFiles.add(new File(path, fileName));
+                }
+            }
+        }
+        return jarFiles;
+    }
+
+    /**
+     * Open the jars and list their entries, in parallel when there are more than one processor.
+     */
+    static JarIndex scan(List<File> jarFiles) {
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), jarFiles.size());
+        List<Jar> jars = new ArrayList<>(jarFiles.size());
+        List<String[]> entryNames = new ArrayList<>(jarFiles.size());
+        if (threads <= 1) {
+            for (File file : jarFiles) {
+                addScanned(jars, entryNames, file, scanJar(file));
+            }
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(
+                threads, new DefaultNamedThreadFactory("AgentClassLoader-scan"));
+            try {
+                List<Future<ScannedJar>> futures = new ArrayList<>(jarFiles.size());
+                for (File file : jarFiles) {
+                    futures.add(executor.submit(() -> scanJar(file)));
+                }
+                for (int i = 0; i < jarFiles.size(); i++) {
+                    addScanned(jars, entryNames, jarFiles.get(i), futures.get(i).get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Scanning plugin jars is interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Scanning plugin jars fails", e.getCause());
+            } finally {
+                executor.shutdown();
+            }
+        }
+        return build(jars, entryNames);
+    }
+
+    private static void addScanned(List<Jar> jars, List<String[]> entryNames, File file, ScannedJar scanned) {
+        if (scanned == null) {
+            return;
+        }
+        jars.add(new Jar(file, scanned.jarFile));
+        entryNames.add(scanned.entryNames);
+        LOGGER.info("{} loaded.", file.toString());
+    }
+
+    private static ScannedJar scanJar(File file) {
+        try {
+            JarFile jarFile = new JarFile(file);
+            List<String> names = new ArrayList<>(jarFile.size());
+            Enumeration<JarEntry> jarEntries = jarFile.entries();
+            // The directory entries are kept, as a resource of the folder could be found by its name ending with "/".
+            while (jarEntries.hasMoreElements()) {
+                names.add(jarEntries.nextElement().getName());
+            }
+            return new ScannedJar(jarFile, names.toArray(new String[0]));
+        } catch (IOException e) {
+            LOGGER.error(e, "{} jar file can't be resolved", file.getName());
+            return null;
+        }
+    }
+
+    private static JarIndex build(List<Jar> jars, List<String[]> entryNames) {
+        Map<String, List<Jar>> entries = new HashMap<>();
+        for (int i = 0; i < jars.size(); i++) {
+            Jar jar = jars.get(i);
+            for (String name : entryNames.get(i)) {
+                List<Jar> found = entries.get(name);
+                if (found == null) {
+                    entries.put(name, Collections.singletonList(jar));
+                } else {
+                    // The resources in every jar, such as skywalking-plugin.def
+                    if (found.size() == 1) {
+                        found = new ArrayList<>(found);
+                        entries.put(name, found);
+                    }
+                    found.add(jar);
+                }
+            }
+        }
+        return new JarIndex(jars, entries);
+    }
+
+    /**
+     * @return the index saved in the file, or null if the file doesn't exist, or the jars have changed since it was
+     * saved.
+     */
+    static JarIndex load(File indexFile, List<File> jarFiles) {
+        if (!indexFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (in.readInt() != FILE_VERSION || in.readInt() != jarFiles.size()) {
+                return null;
+            }
+            List<Jar> jars = new ArrayList<>(jarFiles.size());
+            List<String[]> entryNames = new ArrayList<>(jarFiles.size());
+            for (File file : jarFiles) {
+                if (!file.getAbsolutePath().equals(in.readUTF())
+                    || file.length() != in.readLong() || file.lastModified() != in.readLong()) {
+                    return null;
+                }
+                String[] names = new String[in.readInt()];
+                for (int i = 0; i < names.length; i++) {
+                    names[i] = in.readUTF();
+                }
+                jars.add(new Jar(file, null));
+                entryNames.add(names);
+            }
+            for (File file : jarFiles) {
+                LOGGER.info("{} loaded.", file.toString());
+            }
+            return build(jars, entryNames);
+        } catch (IOException e) {
+            LOGGER.warn(e, "Can't load the jar index from {}, scan the jars instead.", indexFile);
+            return null;
+        }
+    }
+
+    /**
+     * Save the index into the file, through a temporary file, so a concurrent start never reads half of it.
+     */
+    void save(File indexFile) {
+        Map<Jar, List<String>> entriesOfJar = new HashMap<>();
+        for (Map.Entry<String, List<Jar>> entry : entries.entrySet()) {
+            for (Jar jar : entry.getValue()) {
+                entriesOfJar.computeIfAbsent(jar, k -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+        File tempFile = new File(indexFile.getParentFile(), indexFile.getName() + ".tmp" + System.nanoTime());
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                out.writeInt(FILE_VERSION);
+                out.writeInt(jars.size());
+                for (Jar jar : jars) {
+                    out.writeUTF(jar.sourceFile.getAbsolutePath());
+                    out.writeLong(jar.sourceFile.length());
+                    out.writeLong(jar.sourceFile.lastModified());
+                    List<String> names = entriesOfJar.getOrDefault(jar, Collections.emptyList());
+                    out.writeInt(names.size());
+                    for (String name : names) {
+                        out.writeUTF(name);
+                    }
+                }
+            }
+            try {
+                Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            LOGGER.warn(e, "Can't save the jar index into {}.", indexFile);
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * A plugin jar, opened when it is read for the first time.
+     */
+    static class Jar {
+        private final File sourceFile;
+        private volatile JarFile jarFile;
+
+        private Jar(File sourceFile, JarFile jarFile) {
+            this.sourceFile = sourceFile;
+            this.jarFile = jarFile;
+        }
+
+        File getSourceFile() {
+            return sourceFile;
+        }
+
+        JarFile getJarFile() throws IOException {
+            JarFile opened = jarFile;
+            if (opened == null) {
+                synchronized (this) {
+                    opened = jarFile;
+                    if (opened == null) {
+                        opened = new JarFile(sourceFile);
+                        jarFile = opened;
+                    }
+                }
+            }
+            return opened;
+        }
+    }
+
+    private static class ScannedJar {
+        private final JarFile jarFile;
+        private final String[] entryNames;
+
+        private ScannedJar(JarFile jarFile, String[] entryNames) {
+            this.jarFile = jarFile;
+            this.entryNames = entryNames;
+        }
+    }
+}
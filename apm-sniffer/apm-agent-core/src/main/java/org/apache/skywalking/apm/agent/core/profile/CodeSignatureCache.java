@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.profile;
+
+import com.google.protobuf.ByteString;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache the code signatures of the dumped stack elements, as the dictionary of the frames of one profile task. The
+ * profiled threads mostly stay in the same frames from dump to dump, so their signatures are built and UTF-8 encoded
+ * once and shared by the snapshots, rather than concatenated per frame per dump and encoded again per upload. It is only
+ * accessed by the {@link ProfileThread}, and dropped when it grows over {@link #MAX_SIZE}.
+ */
+public class CodeSignatureCache {
+    private static final int MAX_SIZE = 10000;
+
+    private final Map<StackTraceElement, ByteString> signatures = new HashMap<>();
+
+    /**
+     * @return the UTF-8 bytes of code sign: className.methodName:lineNumber, the same instance for the equal elements
+     * until the cache is dropped.
+     */
+    public ByteString get(StackTraceElement element) {
+        ByteString signature = signatures.get(element);
+        if (signature == null) {
+            if (signatures.size() >= MAX_SIZE) {
+                signatures.clear();
+            }
+            signature = ByteString.copyFromUtf8(build(element));
+            signatures.put(element, signature);
+        }
+        return signature;
+    }
+
+    /**
+     * build thread stack element code signature
+     *
+     * @return code sign: className.methodName:lineNumber
+     */
+    public static String build(StackTraceElement element) {
+        return element.getClassName() + "." + element.getMethodName() + ":" + element.getLineNumber();
+    }
+}
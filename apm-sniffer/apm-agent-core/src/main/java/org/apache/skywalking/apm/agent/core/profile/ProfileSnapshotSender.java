@@ -25,6 +25,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.agent.core.remote.GRPCChannelListener;
@@ -34,6 +35,7 @@ import org.apache.skywalking.apm.agent.core.remote.GRPCStreamServiceStatus;
 import org.apache.skywalking.apm.network.common.v3.Commands;
 import org.apache.skywalking.apm.network.language.profile.v3.ProfileTaskGrpc;
 import org.apache.skywalking.apm.network.language.profile.v3.ThreadSnapshot;
+import org.apache.skywalking.apm.util.StringUtil;
 
 import static org.apache.skywalking.apm.agent.core.conf.Config.Collector.GRPC_UPSTREAM_TIMEOUT;
 
@@ -73,9 +75,14 @@ public class ProfileSnapshotSender implements BootService, GRPCChannelListener {
         if (status == GRPCChannelStatus.CONNECTED) {
             try {
                 final GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
-                StreamObserver<ThreadSnapshot> snapshotStreamObserver = profileTaskStub.withDeadlineAfter(
+                ProfileTaskGrpc.ProfileTaskStub stub = profileTaskStub.withDeadlineAfter(
                     GRPC_UPSTREAM_TIMEOUT, TimeUnit.SECONDS
-                ).collectSnapshot(
+                );
+                if (StringUtil.isNotEmpty(Config.Profile.SNAPSHOT_TRANSPORT_COMPRESSION)) {
+                    // the code signatures of one snapshot repeat the same package names, so they compress well
+                    stub = stub.withCompression(Config.Profile.SNAPSHOT_TRANSPORT_COMPRESSION);
+                }
+                StreamObserver<ThreadSnapshot> snapshotStreamObserver = stub.collectSnapshot(
                     new StreamObserver<Commands>() {
                         @Override
                         public void onNext(
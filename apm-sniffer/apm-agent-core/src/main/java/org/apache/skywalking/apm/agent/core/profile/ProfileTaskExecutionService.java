@@ -91,7 +91,6 @@ public class ProfileTaskExecutionService implements BootService, TracingThreadLi
      * check and add {@link TracingContext} profiling
      */
     public ProfileStatusContext addProfiling(TracingContext tracingContext,
-                                             String traceSegmentId,
                                              String firstSpanOPName) {
         // get current profiling task, check need profiling
         final ProfileTaskExecutionContext executionContext = taskExecutionContext.get();
@@ -99,32 +98,32 @@ public class ProfileTaskExecutionService implements BootService, TracingThreadLi
             return ProfileStatusContext.createWithNone();
         }
 
-        return executionContext.attemptProfiling(tracingContext, traceSegmentId, firstSpanOPName);
+        return executionContext.attemptProfiling(tracingContext, firstSpanOPName);
     }
 
     /**
      * continue profiling task when cross-thread
      */
-    public void continueProfiling(TracingContext tracingContext, String traceSegmentId) {
+    public void continueProfiling(TracingContext tracingContext) {
         final ProfileTaskExecutionContext executionContext = taskExecutionContext.get();
         if (executionContext == null) {
             return;
         }
 
-        executionContext.continueProfiling(tracingContext, traceSegmentId);
+        executionContext.continueProfiling(tracingContext);
     }
 
     /**
      * Re-check current trace need profiling, in case that third-party plugins change the operation name.
      */
-    public void profilingRecheck(TracingContext tracingContext, String traceSegmentId, String firstSpanOPName) {
+    public void profilingRecheck(TracingContext tracingContext, String firstSpanOPName) {
         // get current profiling task, check need profiling
         final ProfileTaskExecutionContext executionContext = taskExecutionContext.get();
         if (executionContext == null) {
             return;
         }
 
-        executionContext.profilingRecheck(tracingContext, traceSegmentId, firstSpanOPName);
+        executionContext.profilingRecheck(tracingContext, firstSpanOPName);
     }
 
     /**
@@ -19,9 +19,15 @@
 package org.apache.skywalking.apm.agent.core.profile;
 
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
@@ -31,12 +37,19 @@ public class ProfileThread implements Runnable {
 
     private static final ILog LOGGER = LogManager.getLogger(ProfileThread.class);
 
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
     // profiling task context
     private final ProfileTaskExecutionContext taskExecutionContext;
 
     private final ProfileTaskExecutionService profileTaskExecutionService;
     private final ProfileTaskChannelService profileTaskChannelService;
 
+    // code signatures of the dumped stack elements, shared by all the snapshots of the task
+    private final CodeSignatureCache signatureCache = new CodeSignatureCache();
+    // the profilers dumped together in the loop, with Config.Profile.BATCH_DUMP
+    private final List<ThreadProfiler> batchProfilers = new ArrayList<>();
+
     public ProfileThread(ProfileTaskExecutionContext taskExecutionContext) {
         this.taskExecutionContext = taskExecutionContext;
         profileTaskExecutionService = ServiceManager.INSTANCE.findService(ProfileTaskExecutionService.class);
@@ -66,6 +79,7 @@ public class ProfileThread implements Runnable {
     private void profiling(ProfileTaskExecutionContext executionContext) throws InterruptedException {
 
         int maxSleepPeriod = executionContext.getTask().getThreadDumpPeriod();
+        boolean batchDump = Config.Profile.BATCH_DUMP;
 
         // run loop when current thread still running
         long currentLoopStartTime = -1;
@@ -89,18 +103,23 @@ public class ProfileThread implements Runnable {
                         break;
 
                     case PROFILING:
-                        // dump stack
-                        TracingThreadSnapshot snapshot = currentProfiler.buildSnapshot();
-                        if (snapshot != null) {
-                            profileTaskChannelService.addProfilingSnapshot(snapshot);
-                        } else {
-                            // tell execution context current tracing thread dump failed, stop it
-                            executionContext.stopTracingProfile(currentProfiler.tracingContext());
+                        if (batchDump) {
+                            if (currentProfiler.isProfilingContinuable()) {
+                                batchProfilers.add(currentProfiler);
+                            } else {
+                                executionContext.stopTracingProfile(currentProfiler.tracingContext());
+                            }
+                            break;
                         }
+                        // dump stack
+                        addSnapshot(executionContext, currentProfiler, currentProfiler.buildSnapshot(signatureCache));
                         break;
 
                 }
             }
+            if (!batchProfilers.isEmpty()) {
+                dumpInBatch(executionContext);
+            }
 
             // sleep to next period
             // if out of period, sleep one period
@@ -110,4 +129,42 @@ public class ProfileThread implements Runnable {
         }
     }
 
+    /**
+     * dump the stacks of all the profiling threads in one {@link ThreadMXBean#getThreadInfo(long[], int)} call, which
+     * only walks the top {@link Config.Profile#DUMP_MAX_STACK_DEPTH} frames of each thread.
+     */
+    private void dumpInBatch(ProfileTaskExecutionContext executionContext) {
+        long[] threadIds = new long[batchProfilers.size()];
+        for (int i = 0; i < threadIds.length; i++) {
+            threadIds[i] = batchProfilers.get(i).profilingThread().getId();
+        }
+
+        long currentTime = System.currentTimeMillis();
+        ThreadInfo[] threadInfos;
+        try {
+            threadInfos = THREAD_MX_BEAN.getThreadInfo(threadIds, Config.Profile.DUMP_MAX_STACK_DEPTH);
+        } catch (Exception e) {
+            // dump error ignore and make these profilers stop
+            threadInfos = new ThreadInfo[threadIds.length];
+        }
+
+        for (int i = 0; i < threadIds.length; i++) {
+            ThreadProfiler profiler = batchProfilers.get(i);
+            // thread info is null if the thread is already run finished
+            StackTraceElement[] stackTrace = threadInfos[i] == null ? null : threadInfos[i].getStackTrace();
+            addSnapshot(executionContext, profiler, profiler.buildSnapshot(currentTime, stackTrace, signatureCache));
+        }
+        batchProfilers.clear();
+    }
+
+    private void addSnapshot(ProfileTaskExecutionContext executionContext, ThreadProfiler profiler,
+                             TracingThreadSnapshot snapshot) {
+        if (snapshot != null) {
+            profileTaskChannelService.addProfilingSnapshot(snapshot);
+        } else {
+            // tell execution context current tracing thread dump failed, stop it
+            executionContext.stopTracingProfile(profiler.tracingContext());
+        }
+    }
+
 }
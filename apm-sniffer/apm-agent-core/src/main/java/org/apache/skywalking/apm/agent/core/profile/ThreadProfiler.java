@@ -19,7 +19,10 @@
 package org.apache.skywalking.apm.agent.core.profile;
 
 import com.google.common.base.Objects;
+import com.google.protobuf.ByteString;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.TracingContext;
@@ -43,6 +46,8 @@ public class ThreadProfiler {
     private final ProfileStatusContext profilingStatus;
     // thread dump sequence
     private int dumpSequence = 0;
+    // stack of the last snapshot, never changed after the snapshot is built
+    private List<ByteString> lastStackList = Collections.emptyList();
 
     public ThreadProfiler(TracingContext tracingContext, String traceSegmentId, Thread profilingThread,
         ProfileTaskExecutionContext executionContext) {
@@ -82,7 +87,7 @@ public class ThreadProfiler {
      *
      * @return snapshot, if null means dump snapshot error, should stop it
      */
-    public TracingThreadSnapshot buildSnapshot() {
+    public TracingThreadSnapshot buildSnapshot(CodeSignatureCache signatureCache) {
         if (!isProfilingContinuable()) {
             return null;
         }
@@ -92,15 +97,25 @@ public class ThreadProfiler {
         StackTraceElement[] stackTrace;
         try {
             stackTrace = profilingThread.getStackTrace();
-
-            // stack depth is zero, means thread is already run finished
-            if (stackTrace.length == 0) {
-                return null;
-            }
         } catch (Exception e) {
             // dump error ignore and make this profiler stop
             return null;
         }
+        return buildSnapshot(currentTime, stackTrace, signatureCache);
+    }
+
+    /**
+     * build thread snapshot from the stack dumped by {@link ProfileThread} together with the other profiled threads
+     *
+     * @param stackTrace the dumped stack, null or empty if the thread is already run finished
+     * @return snapshot, if null means dump snapshot error, should stop it
+     */
+    public TracingThreadSnapshot buildSnapshot(long currentTime, StackTraceElement[] stackTrace,
+                                               CodeSignatureCache signatureCache) {
+        // stack depth is zero, means thread is already run finished
+        if (stackTrace == null || stackTrace.length == 0) {
+            return null;
+        }
 
         // if is first dump, check is can start profiling
         if (dumpSequence == 0 && !executionContext.isStartProfileable()) {
@@ -110,24 +125,29 @@ public class ThreadProfiler {
         int dumpElementCount = Math.min(stackTrace.length, Config.Profile.DUMP_MAX_STACK_DEPTH);
 
         // use inverted order, because thread dump is start with bottom
-        final ArrayList<String> stackList = new ArrayList<>(dumpElementCount);
-        for (int i = dumpElementCount - 1; i >= 0; i--) {
-            stackList.add(buildStackElementCodeSignature(stackTrace[i]));
+        // the thread mostly stays in the frames of the last dump, share the stack of the last snapshot if nothing changed
+        List<ByteString> stackList = lastStackList;
+        for (int i = dumpElementCount - 1, index = 0; i >= 0; i--, index++) {
+            ByteString signature = signatureCache.get(stackTrace[i]);
+            if (stackList == lastStackList) {
+                if (index < lastStackList.size() && lastStackList.get(index) == signature) {
+                    continue;
+                }
+                stackList = new ArrayList<>(dumpElementCount);
+                stackList.addAll(lastStackList.subList(0, index));
+            }
+            stackList.add(signature);
+        }
+        if (stackList.size() != dumpElementCount) {
+            // the thread returned from the top frames of the last dump
+            stackList = new ArrayList<>(lastStackList.subList(0, dumpElementCount));
         }
+        lastStackList = stackList;
 
         String taskId = executionContext.getTask().getTaskId();
         return new TracingThreadSnapshot(taskId, traceSegmentId, dumpSequence++, currentTime, stackList);
     }
 
-    /**
-     * build thread stack element code signature
-     *
-     * @return code sign: className.methodName:lineNumber
-     */
-    private String buildStackElementCodeSignature(StackTraceElement element) {
-        return element.getClassName() + "." + element.getMethodName() + ":" + element.getLineNumber();
-    }
-
     /**
      * matches profiling tracing context
      */
@@ -141,10 +161,14 @@ public class ThreadProfiler {
      *
      * @return if true means this thread profiling is continuable
      */
-    private boolean isProfilingContinuable() {
+    public boolean isProfilingContinuable() {
         return System.currentTimeMillis() - profilingStartTime < profilingMaxTimeMills;
     }
 
+    public Thread profilingThread() {
+        return profilingThread;
+    }
+
     public TracingContext tracingContext() {
         return tracingContext;
     }
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.apm.agent.core.profile;
 
+import com.google.protobuf.ByteString;
 import java.util.List;
 import org.apache.skywalking.apm.network.language.profile.v3.ThreadSnapshot;
 import org.apache.skywalking.apm.network.language.profile.v3.ThreadStack;
@@ -31,13 +32,14 @@ public class TracingThreadSnapshot {
     // dump info
     private final int sequence;
     private final long time;
-    private final List<String> stackList;
+    // the code signatures from the CodeSignatureCache of the task, shared with the last snapshot of the same segment
+    private final List<ByteString> stackList;
 
     public TracingThreadSnapshot(String taskId,
                                  String traceSegmentId,
                                  int sequence,
                                  long time,
-                                 List<String> stackList) {
+                                 List<ByteString> stackList) {
         this.taskId = taskId;
         this.traceSegmentId = traceSegmentId;
         this.sequence = sequence;
@@ -60,8 +62,8 @@ public class TracingThreadSnapshot {
         builder.setSequence(sequence);
         // snapshot stack
         final ThreadStack.Builder stackBuilder = ThreadStack.newBuilder();
-        for (String codeSign : stackList) {
-            stackBuilder.addCodeSignatures(codeSign);
+        for (ByteString codeSign : stackList) {
+            stackBuilder.addCodeSignaturesBytes(codeSign);
         }
         builder.setStack(stackBuilder);
 
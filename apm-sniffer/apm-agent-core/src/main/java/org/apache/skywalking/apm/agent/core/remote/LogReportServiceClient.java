@@ -61,7 +61,7 @@ public class LogReportServiceClient implements BootService, GRPCChannelListener,
                                     Config.Buffer.BUFFER_SIZE,
                                     BufferStrategy.IF_POSSIBLE
         );
-        carrier.consume(this, 1);
+        carrier.consume(this, 1, Config.Buffer.CONSUME_CYCLE, Config.Buffer.LOG_WAIT_STRATEGY);
     }
 
     @Override
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.commands.CommandService;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.core.logging.api.ILog;
+import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
+import org.apache.skywalking.apm.network.common.v3.Commands;
+import org.apache.skywalking.apm.network.language.agent.v3.TraceSegmentReportServiceGrpc;
+
+/**
+ * A long-lived segment collect stream, used by {@link SegmentStreamMode#PERSISTENT}. It is only written by the consumer
+ * thread, while the gRPC callbacks mark it closed and wake up the consumer waiting for readiness.
+ */
+class PersistentSegmentStream implements ClientResponseObserver<TraceSegment, Commands> {
+    private static final ILog LOGGER = LogManager.getLogger(PersistentSegmentStream.class);
+
+    private final TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub stub;
+    private final long expireTime;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition readyCondition = lock.newCondition();
+    private volatile ClientCallStreamObserver<TraceSegment> requestStream;
+    private volatile boolean closed = false;
+    /**
+     * The sent segments to release after the stream closes, as gRPC may replay them until then. Only used when {@link
+     * Config.Agent#RECYCLE_TRACING_OBJECTS} is activated, guarded by itself.
+     */
+    private final List<TraceSegment> sentSegments = new ArrayList<>();
+    private boolean segmentsReleased = false;
+
+    /**
+     * @param rotatePeriod  seconds to keep this stream for new segments.
+     * @param upstreamTimeout seconds the backend has to complete the stream, after the rotation. The consumer completes
+     *                        the expired stream even when it is idle, through {@link
+     *                        TraceSegmentServiceClient#nothingToConsume()}, so the deadline is only exceeded when the
+     *                        backend doesn't close the completed stream in time.
+     */
+    PersistentSegmentStream(TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub stub,
+                            long rotatePeriod,
+                            long upstreamTimeout) {
+        this.stub = stub;
+        this.expireTime = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(rotatePeriod);
+        TraceSegmentMarshaller.collect(stub.withDeadlineAfter(rotatePeriod + upstreamTimeout, TimeUnit.SECONDS), this);
+    }
+
+    @Override
+    public void beforeStart(ClientCallStreamObserver<TraceSegment> requestStream) {
+        this.requestStream = requestStream;
+        requestStream.setOnReadyHandler(this::wakeUp);
+    }
+
+    @Override
+    public void onNext(Commands commands) {
+        ServiceManager.INSTANCE.findService(CommandService.class).receiveCommand(commands);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        closed = true;
+        wakeUp();
+        releaseSentSegments();
+        if (LOGGER.isErrorEnable()) {
+            LOGGER.error(throwable, "Send UpstreamSegment to collector fail with a grpc internal exception.");
+        }
+        ServiceManager.INSTANCE.findService(GRPCChannelManager.class).reportError(throwable);
+    }
+
+    @Override
+    public void onCompleted() {
+        closed = true;
+        wakeUp();
+        releaseSentSegments();
+    }
+
+    /**
+     * @return true if the stream could still take new segments through the given stub.
+     */
+    boolean isUsable(TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub currentStub) {
+        return !closed && stub == currentStub && System.currentTimeMillis() < expireTime;
+    }
+
+    /**
+     * Wait until gRPC flow control accepts more messages.
+     *
+     * @return false if the stream is closed, or still not ready after the timeout.
+     */
+    boolean awaitReady(long timeoutMillis) {
+        if (closed) {
+            return false;
+        }
+        if (requestStream.isReady()) {
+            return true;
+        }
+        long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        lock.lock();
+        try {
+            while (!closed && !requestStream.isReady() && nanos > 0) {
+                nanos = readyCondition.awaitNanos(nanos);
+            }
+        } catch (InterruptedException ignored) {
+        } finally {
+            lock.unlock();
+        }
+        return !closed && requestStream.isReady();
+    }
+
+    void send(TraceSegment segment) {
+        requestStream.onNext(segment);
+        if (Config.Agent.RECYCLE_TRACING_OBJECTS) {
+            synchronized (sentSegments) {
+                if (!segmentsReleased) {
+                    sentSegments.add(segment);
+                    return;
+                }
+            }
+            segment.release();
+        }
+    }
+
+    /**
+     * Complete the stream, the backend responses the commands and closes it.
+     */
+    void complete() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            requestStream.onCompleted();
+        } catch (Throwable t) {
+            LOGGER.warn(t, "Complete the segment stream failure.");
+        }
+    }
+
+    /**
+     * Abort the stream, the segments not acknowledged by the backend are lost.
+     */
+    void cancel(String reason) {
+        closed = true;
+        requestStream.cancel(reason, null);
+    }
+
+    private void releaseSentSegments() {
+        synchronized (sentSegments) {
+            segmentsReleased = true;
+            for (int i = 0; i < sentSegments.size(); i++) {
+                sentSegments.get(i).release();
+            }
+            sentSegments.clear();
+        }
+    }
+
+    private void wakeUp() {
+        lock.lock();
+        try {
+            readyCondition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+/**
+ * How {@link TraceSegmentServiceClient} streams the consumed segments to the backend.
+ */
+public enum SegmentStreamMode {
+    /**
+     * Open a new stream for every consumed batch, and wait for the backend to complete it before consuming the next.
+     */
+    PER_BATCH,
+    /**
+     * Open a new stream for every consumed batch, but transform the next batch while the last one is still in flight.
+     * The consumer only waits for the last stream before opening the next one.
+     */
+    PIPELINED,
+    /**
+     * Keep one stream open across batches, and rotate it after {@code collector.segment_stream_rotate_period} or on
+     * error. Segments are only sent when the stream is ready per gRPC flow control, the consumer waits otherwise, so
+     * the carrier buffer fills up and abandons new segments instead of the gRPC outbound buffer growing.
+     */
+    PERSISTENT
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.remote;
+
+import io.grpc.Drainable;
+import io.grpc.KnownLength;
+import io.grpc.MethodDescriptor;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegmentEncoder;
+import org.apache.skywalking.apm.network.common.v3.Commands;
+import org.apache.skywalking.apm.network.language.agent.v3.TraceSegmentReportServiceGrpc;
+
+/**
+ * Marshal {@link TraceSegment} through {@link TraceSegmentEncoder}, instead of the SegmentObject marshaller of the
+ * generated stub. The backend receives the same bytes, while the agent doesn't build the SegmentObject.
+ */
+class TraceSegmentMarshaller implements MethodDescriptor.Marshaller<TraceSegment> {
+    /**
+     * TraceSegmentReportService#collect, taking {@link TraceSegment} as the request.
+     */
+    static final MethodDescriptor<TraceSegment, Commands> COLLECT_METHOD =
+        TraceSegmentReportServiceGrpc.getCollectMethod().toBuilder(
+            new TraceSegmentMarshaller(),
+            TraceSegmentReportServiceGrpc.getCollectMethod().getResponseMarshaller()
+        ).build();
+
+    /**
+     * Start a collect stream with the channel and call options of the stub, such as the deadline.
+     */
+    static StreamObserver<TraceSegment> collect(TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub stub,
+                                                StreamObserver<Commands> responseObserver) {
+        return ClientCalls.asyncClientStreamingCall(
+            stub.getChannel().newCall(COLLECT_METHOD, stub.getCallOptions()), responseObserver);
+    }
+
+    @Override
+    public InputStream stream(TraceSegment segment) {
+        return new EncodedSegmentStream(segment);
+    }
+
+    @Override
+    public TraceSegment parse(InputStream stream) {
+        throw new UnsupportedOperationException("TraceSegment is only sent by the agent.");
+    }
+
+    /**
+     * gRPC drains the stream into its own write buffer when it sends the message, that is when the segment is encoded.
+     * Reading it as a plain stream encodes the segment into a new array instead, the way of the in-process transport.
+     */
+    private static class EncodedSegmentStream extends InputStream implements Drainable, KnownLength {
+        private TraceSegment segment;
+        private int size = -1;
+        private byte[] encoded;
+        private int position;
+
+        private EncodedSegmentStream(TraceSegment segment) {
+            this.segment = segment;
+        }
+
+        @Override
+        public int drainTo(OutputStream target) throws IOException {
+            int written;
+            if (segment != null) {
+                written = TraceSegmentEncoder.writeTo(segment, target);
+                segment = null;
+            } else if (encoded != null) {
+                written = encoded.length - position;
+                target.write(encoded, position, written);
+                encoded = null;
+            } else {
+                written = 0;
+            }
+            return written;
+        }
+
+        @Override
+        public int read() {
+            if (!prepareToRead()) {
+                return -1;
+            }
+            return encoded[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!prepareToRead()) {
+                return -1;
+            }
+            int count = Math.min(len, encoded.length - position);
+            System.arraycopy(encoded, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            if (segment != null) {
+                if (size < 0) {
+                    size = TraceSegmentEncoder.computeSize(segment);
+                }
+                return size;
+            } else if (encoded != null) {
+                return encoded.length - position;
+            }
+            return 0;
+        }
+
+        private boolean prepareToRead() {
+            if (segment != null) {
+                encoded = TraceSegmentEncoder.encode(segment);
+                position = 0;
+                segment = null;
+            }
+            if (encoded != null && position == encoded.length) {
+                encoded = null;
+            }
+            return encoded != null;
+        }
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.skywalking.apm.agent.core.remote;
 
 import io.grpc.Channel;
 import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
@@ -37,11 +38,12 @@ import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
 import org.apache.skywalking.apm.network.common.v3.Commands;
-import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 import org.apache.skywalking.apm.network.language.agent.v3.TraceSegmentReportServiceGrpc;
 
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.BUFFER_SIZE;
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.CHANNEL_SIZE;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.CONSUME_CYCLE;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.SEGMENT_WAIT_STRATEGY;
 import static org.apache.skywalking.apm.agent.core.remote.GRPCChannelStatus.CONNECTED;
 
 @DefaultImplementor
@@ -54,6 +56,25 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
     private volatile DataCarrier<TraceSegment> carrier;
     private volatile TraceSegmentReportServiceGrpc.TraceSegmentReportServiceStub serviceStub;
     private volatile GRPCChannelStatus status = GRPCChannelStatus.DISCONNECT;
+    /**
+     * The stream of {@link SegmentStreamMode#PERSISTENT}, only accessed by the consumer thread, including {@link
+     * #onExit()} which the consumer thread calls after its last consume.
+     */
+    private PersistentSegmentStream persistentStream;
+    /**
+     * The status of the last stream of {@link SegmentStreamMode#PIPELINED}, only accessed by the consumer thread, as
+     * {@link #persistentStream}.
+     */
+    private GRPCStreamServiceStatus inFlightStreamStatus;
+    /**
+     * The number of segments of the stream of {@link #inFlightStreamStatus}, counted as uplinked after it finishes.
+     */
+    private int inFlightSegmentCount;
+    /**
+     * The segments of the stream of {@link #inFlightStreamStatus}, to release after it finishes. Only used when
+     * {@link Config.Agent#RECYCLE_TRACING_OBJECTS} is activated.
+     */
+    private final List<TraceSegment> inFlightSegments = new ArrayList<>();
 
     @Override
     public void prepare() {
@@ -66,7 +87,7 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
         segmentUplinkedCounter = 0;
         segmentAbandonedCounter = 0;
         carrier = new DataCarrier<>(CHANNEL_SIZE, BUFFER_SIZE, BufferStrategy.IF_POSSIBLE);
-        carrier.consume(this, 1);
+        carrier.consume(this, 1, CONSUME_CYCLE, SEGMENT_WAIT_STRATEGY);
     }
 
     @Override
@@ -88,55 +109,169 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
     @Override
     public void consume(List<TraceSegment> data) {
         if (CONNECTED.equals(status)) {
-            final GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
-            StreamObserver<SegmentObject> upstreamSegmentStreamObserver = serviceStub.withDeadlineAfter(
-                Config.Collector.GRPC_UPSTREAM_TIMEOUT, TimeUnit.SECONDS
-            ).collect(new StreamObserver<Commands>() {
-                @Override
-                public void onNext(Commands commands) {
-                    ServiceManager.INSTANCE.findService(CommandService.class)
-                                           .receiveCommand(commands);
-                }
+            switch (Config.Collector.SEGMENT_STREAM_MODE) {
+                case PERSISTENT:
+                    sendThroughPersistentStream(data);
+                    break;
+                case PIPELINED:
+                    sendThroughPipelinedStream(data);
+                    break;
+                default:
+                    sendThroughNewStream(data);
+            }
+        } else {
+            // The stream of the last pipelined batch was opened before the disconnection, so it is finished first.
+            waitForInFlightStream();
+            closePersistentStream();
+            segmentAbandonedCounter += data.size();
+            release(data);
+        }
 
-                @Override
-                public void onError(
-                    Throwable throwable) {
-                    status.finished();
-                    if (LOGGER.isErrorEnable()) {
-                        LOGGER.error(
-                            throwable,
-                            "Send UpstreamSegment to collector fail with a grpc internal exception."
-                        );
-                    }
-                    ServiceManager.INSTANCE
-                        .findService(GRPCChannelManager.class)
-                        .reportError(throwable);
-                }
+        printUplinkStatus();
+    }
+
+    private void sendThroughNewStream(List<TraceSegment> data) {
+        final GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
+        StreamObserver<TraceSegment> upstreamSegmentStreamObserver = newStream(status);
+
+        try {
+            for (TraceSegment segment : data) {
+                upstreamSegmentStreamObserver.onNext(segment);
+            }
+        } catch (Throwable t) {
+            LOGGER.error(t, "Transform and send UpstreamSegment to collector fail.");
+        }
+
+        upstreamSegmentStreamObserver.onCompleted();
+
+        status.wait4Finish();
+        segmentUplinkedCounter += data.size();
+        release(data);
+    }
+
+    /**
+     * Open the stream of the next batch first, and wait for the stream of the last batch only right before sending, so
+     * the network round trip of the last batch overlaps the consumer collecting the next batch and starting its call.
+     * The new stream is left in flight.
+     */
+    private void sendThroughPipelinedStream(List<TraceSegment> data) {
+        final GRPCStreamServiceStatus status = new GRPCStreamServiceStatus(false);
+        StreamObserver<TraceSegment> upstreamSegmentStreamObserver = newStream(status);
+        waitForInFlightStream();
+        try {
+            for (TraceSegment segment : data) {
+                upstreamSegmentStreamObserver.onNext(segment);
+            }
+        } catch (Throwable t) {
+            LOGGER.error(t, "Transform and send UpstreamSegment to collector fail.");
+        }
+        upstreamSegmentStreamObserver.onCompleted();
+
+        inFlightStreamStatus = status;
+        inFlightSegmentCount = data.size();
+        if (Config.Agent.RECYCLE_TRACING_OBJECTS) {
+            inFlightSegments.addAll(data);
+        }
+    }
+
+    private void sendThroughPersistentStream(List<TraceSegment> data) {
+        PersistentSegmentStream stream = persistentStream;
+        if (stream != null && !stream.isUsable(serviceStub)) {
+            stream.complete();
+            stream = null;
+        }
+        if (stream == null) {
+            stream = new PersistentSegmentStream(
+                serviceStub, Config.Collector.SEGMENT_STREAM_ROTATE_PERIOD, Config.Collector.GRPC_UPSTREAM_TIMEOUT);
+            persistentStream = stream;
+        }
 
-                @Override
-                public void onCompleted() {
-                    status.finished();
+        int sent = 0;
+        try {
+            for (TraceSegment segment : data) {
+                if (!stream.awaitReady(TimeUnit.SECONDS.toMillis(Config.Collector.GRPC_UPSTREAM_TIMEOUT))) {
+                    LOGGER.warn("The segment stream is closed or not ready in {} seconds, abandon {} segments.",
+                                Config.Collector.GRPC_UPSTREAM_TIMEOUT, data.size() - sent
+                    );
+                    stream.cancel("Not ready in time.");
+                    break;
                 }
-            });
+                stream.send(segment);
+                sent++;
+            }
+        } catch (Throwable t) {
+            LOGGER.error(t, "Transform and send UpstreamSegment to collector fail.");
+            stream.cancel("Fail to send segments.");
+        }
+
+        segmentUplinkedCounter += sent;
+        segmentAbandonedCounter += data.size() - sent;
+        // The sent ones are released by the stream after it closes.
+        for (int i = sent; i < data.size(); i++) {
+            data.get(i).release();
+        }
+    }
 
-            try {
-                for (TraceSegment segment : data) {
-                    SegmentObject upstreamSegment = segment.transform();
-                    upstreamSegmentStreamObserver.onNext(upstreamSegment);
+    /**
+     * The segments are encoded by {@link TraceSegmentMarshaller} when gRPC writes them.
+     */
+    private StreamObserver<TraceSegment> newStream(final GRPCStreamServiceStatus status) {
+        return TraceSegmentMarshaller.collect(serviceStub.withDeadlineAfter(
+            Config.Collector.GRPC_UPSTREAM_TIMEOUT, TimeUnit.SECONDS
+        ), new StreamObserver<Commands>() {
+            @Override
+            public void onNext(Commands commands) {
+                ServiceManager.INSTANCE.findService(CommandService.class)
+                                       .receiveCommand(commands);
+            }
+
+            @Override
+            public void onError(
+                Throwable throwable) {
+                status.finished();
+                if (LOGGER.isErrorEnable()) {
+                    LOGGER.error(
+                        throwable,
+                        "Send UpstreamSegment to collector fail with a grpc internal exception."
+                    );
                 }
-            } catch (Throwable t) {
-                LOGGER.error(t, "Transform and send UpstreamSegment to collector fail.");
+                ServiceManager.INSTANCE
+                    .findService(GRPCChannelManager.class)
+                    .reportError(throwable);
             }
 
-            upstreamSegmentStreamObserver.onCompleted();
+            @Override
+            public void onCompleted() {
+                status.finished();
+            }
+        });
+    }
 
-            status.wait4Finish();
-            segmentUplinkedCounter += data.size();
-        } else {
-            segmentAbandonedCounter += data.size();
+    private void waitForInFlightStream() {
+        if (inFlightStreamStatus != null) {
+            inFlightStreamStatus.wait4Finish();
+            inFlightStreamStatus = null;
+            segmentUplinkedCounter += inFlightSegmentCount;
+            inFlightSegmentCount = 0;
+            release(inFlightSegments);
+            inFlightSegments.clear();
         }
+    }
 
-        printUplinkStatus();
+    private void closePersistentStream() {
+        if (persistentStream != null) {
+            persistentStream.complete();
+            persistentStream = null;
+        }
+    }
+
+    /**
+     * gRPC may still replay the segments until the stream is closed, so they are released after it.
+     */
+    private static void release(List<TraceSegment> segments) {
+        for (int i = 0; i < segments.size(); i++) {
+            segments.get(i).release();
+        }
     }
 
     private void printUplinkStatus() {
@@ -160,9 +295,23 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
         LOGGER.error(t, "Try to send {} trace segments to collector, with unexpected exception.", data.size());
     }
 
+    /**
+     * Complete the expired persistent stream when no segment comes, rather than leaving it to the deadline.
+     */
     @Override
-    public void onExit() {
+    public void nothingToConsume() {
+        if (persistentStream != null && !persistentStream.isUsable(serviceStub)) {
+            closePersistentStream();
+        }
+    }
 
+    /**
+     * Called by the consumer thread after its last consume, see {@code ConsumerThread#run()}.
+     */
+    @Override
+    public void onExit() {
+        waitForInFlightStream();
+        closePersistentStream();
     }
 
     @Override
@@ -170,7 +319,9 @@ public class TraceSegmentServiceClient implements BootService, IConsumer<TraceSe
         if (traceSegment.isIgnore()) {
             return;
         }
+        traceSegment.retain();
         if (!carrier.produce(traceSegment)) {
+            traceSegment.release();
             if (LOGGER.isDebugEnable()) {
                 LOGGER.debug("One trace segment has been abandoned, cause by buffer is full.");
             }
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @see SamplingStrategy#FIXED_WINDOW
+ */
+class FixedWindowSampler implements Sampler {
+    private final int samplingRate;
+    private volatile AtomicInteger samplingFactorHolder = new AtomicInteger(0);
+
+    FixedWindowSampler(int samplingRate) {
+        this.samplingRate = samplingRate;
+    }
+
+    @Override
+    public boolean trySampling(String operationName) {
+        int factor = samplingFactorHolder.get();
+        if (factor < samplingRate) {
+            return samplingFactorHolder.compareAndSet(factor, factor + 1);
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public void forceSampled() {
+        samplingFactorHolder.incrementAndGet();
+    }
+
+    /**
+     * Start a new window, called every 3 seconds.
+     */
+    void reset() {
+        samplingFactorHolder = new AtomicInteger(0);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+/**
+ * The sampling engine of {@link SamplingService} for one sampling rate.
+ */
+interface Sampler {
+    /**
+     * @param operationName the first operation name of the new tracing context.
+     * @return true if the new trace should be sampled.
+     */
+    boolean trySampling(String operationName);
+
+    /**
+     * Take one sample by force, for the trace propagated from upstream, which is always sampled.
+     */
+    void forceSampled();
+}
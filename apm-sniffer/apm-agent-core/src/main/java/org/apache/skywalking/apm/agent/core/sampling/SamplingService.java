@@ -18,14 +18,11 @@
 
 package org.apache.skywalking.apm.agent.core.sampling;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.skywalking.apm.agent.core.boot.BootService;
 import org.apache.skywalking.apm.agent.core.boot.DefaultImplementor;
-import org.apache.skywalking.apm.agent.core.boot.DefaultNamedThreadFactory;
+import org.apache.skywalking.apm.agent.core.boot.ScheduleService;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.conf.dynamic.ConfigurationDiscoveryService;
@@ -46,12 +43,14 @@ import org.apache.skywalking.apm.util.RunnableWithExceptionProtection;
 public class SamplingService implements BootService {
     private static final ILog LOGGER = LogManager.getLogger(SamplingService.class);
 
-    private volatile boolean on = false;
-    private volatile AtomicInteger samplingFactorHolder;
+    /**
+     * The sampler of the current sampling rate, null when sampling is off.
+     */
+    private volatile Sampler sampler;
     private volatile ScheduledFuture<?> scheduledFuture;
 
     private SamplingRateWatcher samplingRateWatcher;
-    private ScheduledExecutorService service;
+    private ScheduleService service;
 
     @Override
     public void prepare() {
@@ -59,8 +58,7 @@ public class SamplingService implements BootService {
 
     @Override
     public void boot() {
-        service = Executors.newSingleThreadScheduledExecutor(
-                new DefaultNamedThreadFactory("SamplingService"));
+        service = ServiceManager.INSTANCE.findService(ScheduleService.class);
         samplingRateWatcher = new SamplingRateWatcher("agent.sample_n_per_3_secs", this);
         ServiceManager.INSTANCE.findService(ConfigurationDiscoveryService.class)
                                .registerAgentConfigChangeWatcher(samplingRateWatcher);
@@ -88,15 +86,8 @@ public class SamplingService implements BootService {
      * @return true if should sample this trace segment. When sampling mechanism is on, return true if sample limited is not reached.
      */
     public boolean trySampling(String operationName) {
-        if (on) {
-            int factor = samplingFactorHolder.get();
-            if (factor < samplingRateWatcher.getSamplingRate()) {
-                return samplingFactorHolder.compareAndSet(factor, factor + 1);
-            } else {
-                return false;
-            }
-        }
-        return true;
+        Sampler current = sampler;
+        return current == null || current.trySampling(operationName);
     }
 
     /**
@@ -104,37 +95,36 @@ public class SamplingService implements BootService {
      * sampled, the trace beginning at local, has less chance to be sampled.
      */
     public void forceSampled() {
-        if (on) {
-            samplingFactorHolder.incrementAndGet();
+        Sampler current = sampler;
+        if (current != null) {
+            current.forceSampled();
         }
     }
 
-    private void resetSamplingFactor() {
-        samplingFactorHolder = new AtomicInteger(0);
-    }
-
     /**
-     * Handle the samplingRate changed.
+     * Handle the samplingRate changed, the sampling restarts with the new rate.
      */
-    public void handleSamplingRateChanged() {
-        if (samplingRateWatcher.getSamplingRate() > 0) {
-            if (!on) {
-                on = true;
-                this.resetSamplingFactor();
+    public synchronized void handleSamplingRateChanged() {
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(true);
+            scheduledFuture = null;
+        }
+        int samplingRate = samplingRateWatcher.getSamplingRate();
+        if (samplingRate > 0) {
+            if (Config.Agent.SAMPLING_STRATEGY == SamplingStrategy.TOKEN_BUCKET) {
+                sampler = new TokenBucketSampler(samplingRate, Config.Agent.SAMPLE_PER_ENDPOINT);
+            } else {
+                FixedWindowSampler fixedWindowSampler = new FixedWindowSampler(samplingRate);
+                sampler = fixedWindowSampler;
                 scheduledFuture = service.scheduleAtFixedRate(new RunnableWithExceptionProtection(
-                    this::resetSamplingFactor, t -> LOGGER.error("unexpected exception.", t)), 0, 3, TimeUnit.SECONDS);
-                LOGGER.debug(
-                    "Agent sampling mechanism started. Sample {} traces in 3 seconds.",
-                    samplingRateWatcher.getSamplingRate()
-                );
+                    fixedWindowSampler::reset, t -> LOGGER.error("unexpected exception.", t)), 3, 3, TimeUnit.SECONDS);
             }
+            LOGGER.debug(
+                "Agent sampling mechanism started. Sample {} traces in 3 seconds by {}.",
+                samplingRate, Config.Agent.SAMPLING_STRATEGY
+            );
         } else {
-            if (on) {
-                if (scheduledFuture != null) {
-                    scheduledFuture.cancel(true);
-                }
-                on = false;
-            }
+            sampler = null;
         }
     }
 }
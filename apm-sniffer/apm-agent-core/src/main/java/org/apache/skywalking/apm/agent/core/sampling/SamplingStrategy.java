@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+/**
+ * How {@link SamplingService} limits the new traces to {@code agent.sample_n_per_3_secs}.
+ */
+public enum SamplingStrategy {
+    /**
+     * One counter shared by all threads, reset every 3 seconds. The traces starting first in each window take all the
+     * samples.
+     */
+    FIXED_WINDOW,
+    /**
+     * Striped token buckets refilled continuously at the sampling rate, with the burst of 3 seconds. Only a sampled
+     * trace writes the shared state, and the writes of different threads spread over the stripes. Optionally
+     * guarantees every endpoint a fair share, see {@code agent.sample_per_endpoint}.
+     */
+    TOKEN_BUCKET
+}
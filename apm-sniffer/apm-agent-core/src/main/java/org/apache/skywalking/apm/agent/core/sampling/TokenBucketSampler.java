@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token buckets of the generic cell rate algorithm. A bucket is one theoretical arrival time (TAT), the time when it
+ * would be full again. Taking a token moves the TAT one interval forward, and is allowed while the TAT is at most the
+ * burst ahead of now. So the bucket refills continuously without any timer, a denied trace only reads the TAT, and a
+ * sampled one writes it by one CAS.
+ * <p>
+ * The sampling rate is split over up to one bucket per CPU, each padded on its own cache line. A thread takes from
+ * the bucket of its own first, then from the others, so no token is stranded in the bucket of an idle thread.
+ * <p>
+ * With {@link #perEndpoint}, every endpoint(the first operation name) also has a bucket of one token, refilled at an
+ * equal share of the sampling rate. A trace taking the token of its endpoint is sampled even when the buckets of the
+ * rate are empty, and still charges them, so the bursty endpoints can't starve the quiet ones, while the total stays at
+ * the sampling rate over time. Endpoints beyond {@link #MAX_ENDPOINTS} only share the buckets of the rate.
+ *
+ * @see SamplingStrategy#TOKEN_BUCKET
+ */
+class TokenBucketSampler implements Sampler {
+    static final int MAX_ENDPOINTS = 1000;
+    private static final long PERIOD_NANOS = TimeUnit.SECONDS.toNanos(3);
+    private static final int MAX_STRIPES = 64;
+    /**
+     * 8 longs apart, to keep every bucket on its own cache line.
+     */
+    private static final int PADDING = 8;
+
+    private final int samplingRate;
+    private final int stripeNum;
+    private final AtomicLongArray tats;
+    /**
+     * The nanoseconds to refill one token into one bucket.
+     */
+    private final long interval;
+    /**
+     * How far the TAT of a bucket could be ahead of now, for the burst of {@code samplingRate / stripeNum}.
+     */
+    private final long tolerance;
+    private final boolean perEndpoint;
+    private final ConcurrentHashMap<String, AtomicLong> endpointTats;
+    private final AtomicInteger endpointNum = new AtomicInteger(0);
+
+    TokenBucketSampler(int samplingRate, boolean perEndpoint) {
+        this(samplingRate, perEndpoint, Runtime.getRuntime().availableProcessors(), System.nanoTime());
+    }
+
+    TokenBucketSampler(int samplingRate, boolean perEndpoint, int processors, long now) {
+        this.samplingRate = samplingRate;
+        // No more buckets than tokens, every bucket holds one token at least.
+        this.stripeNum = Math.min(
+            Math.min(MAX_STRIPES, Integer.highestOneBit(Math.max(1, processors * 2 - 1))),
+            Integer.highestOneBit(samplingRate)
+        );
+        this.interval = PERIOD_NANOS * stripeNum / samplingRate;
+        this.tolerance = (samplingRate / stripeNum - 1) * interval;
+        this.tats = new AtomicLongArray(stripeNum * PADDING);
+        for (int i = 0; i < stripeNum; i++) {
+            tats.set(i * PADDING, now);
+        }
+        this.perEndpoint = perEndpoint;
+        this.endpointTats = perEndpoint ? new ConcurrentHashMap<>() : null;
+    }
+
+    @Override
+    public boolean trySampling(String operationName) {
+        return trySampling(operationName, System.nanoTime());
+    }
+
+    boolean trySampling(String operationName, long now) {
+        if (perEndpoint && operationName != null && takeEndpointShare(operationName, now)) {
+            charge(now);
+            return true;
+        }
+        return take(now);
+    }
+
+    @Override
+    public void forceSampled() {
+        forceSampled(System.nanoTime());
+    }
+
+    /**
+     * Take a token if there is any. When all buckets are empty, the rate has been reached anyway, and the sampled
+     * trace isn't charged, the same as a counter already over the rate.
+     */
+    void forceSampled(long now) {
+        take(now);
+    }
+
+    private boolean take(long now) {
+        int start = (int) Thread.currentThread().getId();
+        for (int i = 0; i < stripeNum; i++) {
+            int index = ((start + i) & (stripeNum - 1)) * PADDING;
+            long tat = tats.get(index);
+            while (tat - now <= tolerance) {
+                if (tats.compareAndSet(index, tat, Math.max(tat, now) + interval)) {
+                    return true;
+                }
+                tat = tats.get(index);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Charge the bucket of the current thread even it is empty, the later traces wait for it to refill.
+     */
+    private void charge(long now) {
+        int index = ((int) Thread.currentThread().getId() & (stripeNum - 1)) * PADDING;
+        long tat;
+        do {
+            tat = tats.get(index);
+        }
+        while (!tats.compareAndSet(index, tat, Math.max(tat, now) + interval));
+    }
+
+    private boolean takeEndpointShare(String operationName, long now) {
+        AtomicLong endpointTat = endpointTats.get(operationName);
+        if (endpointTat == null) {
+            if (endpointNum.get() >= MAX_ENDPOINTS) {
+                return false;
+            }
+            AtomicLong newTat = new AtomicLong(now);
+            endpointTat = endpointTats.putIfAbsent(operationName, newTat);
+            if (endpointTat == null) {
+                endpointNum.incrementAndGet();
+                endpointTat = newTat;
+            }
+        }
+        // The share shrinks as more endpoints show up.
+        long endpointInterval = PERIOD_NANOS * endpointNum.get() / samplingRate;
+        long tat = endpointTat.get();
+        return tat - now <= 0 && endpointTat.compareAndSet(tat, now + endpointInterval);
+    }
+}
@@ -22,7 +22,9 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.meter.Counter;
 import org.apache.skywalking.apm.agent.core.meter.Histogram;
 import org.apache.skywalking.apm.agent.core.meter.MeterFactory;
@@ -35,6 +37,10 @@ public class AgentSo11y {
     // A map to cache meter obj(s) for plugins. The key is the plugin name.
     private static final Map<String, Counter> ERROR_COUNTER_CACHE = new ConcurrentHashMap<>();
 
+    // A map to cache the interceptor time cost histograms. The key is the plugin name, then the interceptor class name
+    // with Config.Plugin#INTERCEPTOR_TIME_COST_BY_INTERCEPTOR, or an empty string without it.
+    private static final Map<String, Map<String, Histogram>> INTERCEPTOR_TIME_COST_CACHE = new ConcurrentHashMap<>();
+
     // Steps of interceptor time cost histogram
     private static final List<Double> TIME_COST_HISTOGRAM_STEPS = Arrays.asList(
         1000d, 10000d, 50000d, 100000d, 300000d, 500000d,
@@ -58,6 +64,9 @@ public class AgentSo11y {
     // context perf histogram
     private static Histogram INTERCEPTOR_TIME_COST;
 
+    // thread state collection perf histogram
+    private static Histogram THREAD_METRICS_COLLECTION_TIME_COST;
+
     public static void measureTracingContextCreation(boolean forceSampling, boolean ignoredTracingContext) {
         if (!ServiceManager.INSTANCE.isBooted()) {
             // Agent kernel services could be not-booted-yet as ServiceManager#INSTANCE#boot executed after agent
@@ -150,7 +159,29 @@ public class AgentSo11y {
         }
     }
 
-    public static void durationOfInterceptor(double timeCostInNanos) {
+    /**
+     * Decide whether to measure the time cost of an interceptor invocation, so the invocations not sampled skip reading
+     * {@link System#nanoTime()}.
+     *
+     * @return true for one in {@link Config.Plugin#INTERCEPTOR_TIME_COST_SAMPLE_RATE} invocations.
+     */
+    public static boolean isInterceptorTimeCostSampled() {
+        final int sampleRate = Config.Plugin.INTERCEPTOR_TIME_COST_SAMPLE_RATE;
+        if (sampleRate <= 0 || !ServiceManager.INSTANCE.isBooted()) {
+            return false;
+        }
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /**
+     * Record the time cost of a sampled interceptor invocation, into the histogram of all the interceptors and the
+     * histogram of the plugin. With {@link Config.Plugin#INTERCEPTOR_TIME_COST_SAMPLE_RATE} N above 1, the counts of
+     * both histograms are of the 1/N sampled invocations, and the histograms are tagged by {@code sample_rate=N}.
+     *
+     * @param interceptorName the class name of the interceptor, only used as a label with {@link
+     *                        Config.Plugin#INTERCEPTOR_TIME_COST_BY_INTERCEPTOR}.
+     */
+    public static void durationOfInterceptor(String pluginName, String interceptorName, double timeCostInNanos) {
         if (!ServiceManager.INSTANCE.isBooted()) {
             // Agent kernel services could be not-booted-yet as ServiceManager#INSTANCE#boot executed after agent
             // transfer initialization.
@@ -158,12 +189,56 @@ public class AgentSo11y {
             return;
         }
         if (INTERCEPTOR_TIME_COST == null) {
-            INTERCEPTOR_TIME_COST = MeterFactory
-                .histogram("tracing_context_performance")
+            INTERCEPTOR_TIME_COST = interceptorTimeCostHistogram("tracing_context_performance").build();
+        }
+        INTERCEPTOR_TIME_COST.addValue(timeCostInNanos);
+
+        final boolean byInterceptor = Config.Plugin.INTERCEPTOR_TIME_COST_BY_INTERCEPTOR;
+        // the same interceptor class could be used by several plugins, so it is keyed under the plugin
+        Map<String, Histogram> pluginHistograms = INTERCEPTOR_TIME_COST_CACHE.get(pluginName);
+        if (pluginHistograms == null) {
+            pluginHistograms = INTERCEPTOR_TIME_COST_CACHE.computeIfAbsent(
+                pluginName, key -> new ConcurrentHashMap<>());
+        }
+        final String interceptorKey = byInterceptor ? interceptorName : "";
+        Histogram histogram = pluginHistograms.get(interceptorKey);
+        if (histogram == null) {
+            histogram = pluginHistograms.computeIfAbsent(interceptorKey, key -> {
+                Histogram.Builder builder = interceptorTimeCostHistogram("interceptor_performance")
+                    .tag("plugin_name", pluginName);
+                if (byInterceptor) {
+                    builder.tag("interceptor", interceptorName);
+                }
+                return builder.build();
+            });
+        }
+        histogram.addValue(timeCostInNanos);
+    }
+
+    private static Histogram.Builder interceptorTimeCostHistogram(String name) {
+        Histogram.Builder builder = MeterFactory.histogram(name).steps(TIME_COST_HISTOGRAM_STEPS);
+        final int sampleRate = Config.Plugin.INTERCEPTOR_TIME_COST_SAMPLE_RATE;
+        if (sampleRate > 1) {
+            // multiply the counts by the rate to estimate the counts of all the invocations
+            builder.tag("sample_rate", String.valueOf(sampleRate));
+        }
+        return builder;
+    }
+
+    public static void durationOfThreadMetricsCollection(double timeCostInNanos) {
+        if (!ServiceManager.INSTANCE.isBooted()) {
+            // Agent kernel services could be not-booted-yet as ServiceManager#INSTANCE#boot executed after agent
+            // transfer initialization.
+            // Skip when the services are not ready to avoid MeterService status is not initialized.
+            return;
+        }
+        if (THREAD_METRICS_COLLECTION_TIME_COST == null) {
+            THREAD_METRICS_COLLECTION_TIME_COST = MeterFactory
+                .histogram("thread_metrics_collection_performance")
                 .steps(TIME_COST_HISTOGRAM_STEPS)
                 .build();
         }
-        INTERCEPTOR_TIME_COST.addValue(timeCostInNanos);
+        THREAD_METRICS_COLLECTION_TIME_COST.addValue(timeCostInNanos);
     }
 
     public static void errorOfPlugin(String pluginName, String interType) {
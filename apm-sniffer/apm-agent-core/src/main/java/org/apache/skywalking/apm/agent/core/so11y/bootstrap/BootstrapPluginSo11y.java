@@ -19,7 +19,9 @@
 package org.apache.skywalking.apm.agent.core.so11y.bootstrap;
 
 public interface BootstrapPluginSo11y {
-    void duration(double timeCostInNanos);
+    boolean isTimeCostSampled();
+
+    void duration(String pluginName, String interceptorName, double timeCostInNanos);
 
     void error(String pluginName, String interType);
 }
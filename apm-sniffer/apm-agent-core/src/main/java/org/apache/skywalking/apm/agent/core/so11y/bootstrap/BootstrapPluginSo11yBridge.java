@@ -35,8 +35,13 @@ public class BootstrapPluginSo11yBridge implements BootstrapPluginSo11y {
     }
 
     @Override
-    public void duration(final double timeCostInNanos) {
-        AgentSo11y.durationOfInterceptor(timeCostInNanos);
+    public boolean isTimeCostSampled() {
+        return AgentSo11y.isInterceptorTimeCostSampled();
+    }
+
+    @Override
+    public void duration(final String pluginName, final String interceptorName, final double timeCostInNanos) {
+        AgentSo11y.durationOfInterceptor(pluginName, interceptorName, timeCostInNanos);
     }
 
     @Override
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.asyncprofiler;
+
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcServerRule;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.util.Random;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.remote.GRPCChannelStatus;
+import org.apache.skywalking.apm.network.language.asyncprofiler.v10.AsyncProfilerCollectionResponse;
+import org.apache.skywalking.apm.network.language.asyncprofiler.v10.AsyncProfilerData;
+import org.apache.skywalking.apm.network.language.asyncprofiler.v10.AsyncProfilerMetaData;
+import org.apache.skywalking.apm.network.language.asyncprofiler.v10.AsyncProfilerTaskGrpc;
+import org.apache.skywalking.apm.network.language.asyncprofiler.v10.AsyncProfilingStatus;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AsyncProfilerDataSenderTest {
+
+    @Rule
+    public GrpcServerRule grpcServerRule = new GrpcServerRule();
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final AsyncProfilerDataSender sender = new AsyncProfilerDataSender();
+    private final ByteArrayOutputStream receivedContent = new ByteArrayOutputStream();
+    private AsyncProfilerMetaData receivedMetaData;
+    private AsyncProfilingStatus responseType = AsyncProfilingStatus.PROFILING_SUCCESS;
+
+    private final AsyncProfilerTaskGrpc.AsyncProfilerTaskImplBase serviceImplBase = new AsyncProfilerTaskGrpc.AsyncProfilerTaskImplBase() {
+        @Override
+        public StreamObserver<AsyncProfilerData> collect(StreamObserver<AsyncProfilerCollectionResponse> responseObserver) {
+            return new StreamObserver<AsyncProfilerData>() {
+                @Override
+                public void onNext(AsyncProfilerData value) {
+                    if (value.hasMetaData()) {
+                        receivedMetaData = value.getMetaData();
+                        responseObserver.onNext(AsyncProfilerCollectionResponse.newBuilder().setType(responseType).build());
+                    } else {
+                        byte[] chunk = value.getContent().toByteArray();
+                        receivedContent.write(chunk, 0, chunk.length);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onCompleted() {
+                    responseObserver.onCompleted();
+                }
+            };
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        grpcServerRule.getServiceRegistry().addService(serviceImplBase);
+        Field stub = AsyncProfilerDataSender.class.getDeclaredField("asyncProfilerTaskStub");
+        Field status = AsyncProfilerDataSender.class.getDeclaredField("status");
+        stub.setAccessible(true);
+        status.setAccessible(true);
+        stub.set(sender, AsyncProfilerTaskGrpc.newStub(grpcServerRule.getChannel()));
+        status.set(sender, GRPCChannelStatus.CONNECTED);
+    }
+
+    @After
+    public void tearDown() {
+        Config.AsyncProfiler.DATA_TRANSPORT_COMPRESSION = "";
+    }
+
+    @Test
+    public void testSendDataInChunks() throws Exception {
+        byte[] content = new byte[Config.AsyncProfiler.DATA_CHUNK_SIZE * 3 + 1234];
+        new Random(7).nextBytes(content);
+
+        sender.sendData(task(), dumpFile(content));
+
+        Assert.assertEquals("task", receivedMetaData.getTaskId());
+        Assert.assertEquals(content.length, receivedMetaData.getContentSize());
+        Assert.assertArrayEquals(content, receivedContent.toByteArray());
+    }
+
+    @Test
+    public void testSendCompressedData() throws Exception {
+        Config.AsyncProfiler.DATA_TRANSPORT_COMPRESSION = "gzip";
+        byte[] content = new byte[Config.AsyncProfiler.DATA_CHUNK_SIZE + 1];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i % 64);
+        }
+
+        sender.sendData(task(), dumpFile(content));
+
+        Assert.assertArrayEquals(content, receivedContent.toByteArray());
+    }
+
+    @Test
+    public void testSendEmptyData() throws Exception {
+        sender.sendData(task(), dumpFile(new byte[0]));
+
+        Assert.assertEquals(0, receivedMetaData.getContentSize());
+        Assert.assertEquals(0, receivedContent.size());
+    }
+
+    @Test
+    public void testTerminatedByOversize() throws Exception {
+        responseType = AsyncProfilingStatus.TERMINATED_BY_OVERSIZE;
+
+        sender.sendData(task(), dumpFile(new byte[1024]));
+
+        Assert.assertNotNull(receivedMetaData);
+        Assert.assertEquals(0, receivedContent.size());
+    }
+
+    private static AsyncProfilerTask task() {
+        AsyncProfilerTask task = new AsyncProfilerTask();
+        task.setTaskId("task");
+        return task;
+    }
+
+    private File dumpFile(byte[] content) throws Exception {
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), content);
+        return file;
+    }
+}
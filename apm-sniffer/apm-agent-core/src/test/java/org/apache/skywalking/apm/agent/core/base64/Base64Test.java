@@ -20,6 +20,8 @@ package org.apache.skywalking.apm.agent.core.base64;
 
 import static org.junit.Assert.assertEquals;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
 import org.junit.Test;
 
 public class Base64Test {
@@ -33,4 +35,95 @@ public class Base64Test {
     public void testEncode() {
         assertEquals(Base64.encode("SkyWalking"), "U2t5V2Fsa2luZw==");
     }
+
+    @Test
+    public void testEncodeIntoBuffer() {
+        byte[] buffer = new byte[44];
+        int length = Base64.encode("SkyWalking", buffer);
+        assertEquals("U2t5V2Fsa2luZw==", new String(buffer, 0, length, StandardCharsets.ISO_8859_1));
+    }
+
+    @Test
+    public void testDecodeRange() {
+        assertEquals("SkyWalking", Base64.decode2UTFString("1-U2t5V2Fsa2luZw==-2", 2, 18));
+        assertEquals("", Base64.decode2UTFString("1--2", 2, 2));
+    }
+
+    @Test
+    public void testEncodeFuzz() {
+        Random random = new Random(20211018L);
+        for (int i = 0; i < 20000; i++) {
+            String text = randomText(random, random.nextInt(40));
+            byte[] buffer = new byte[4 * text.length() + 4];
+            int length = Base64.encode(text, buffer);
+            assertEquals(text, Base64.encode(text), new String(buffer, 0, length, StandardCharsets.ISO_8859_1));
+        }
+    }
+
+    @Test
+    public void testDecodeFuzz() {
+        Random random = new Random(20211018L);
+        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/====-_ \u00e9\u4e2d";
+        for (int i = 0; i < 50000; i++) {
+            String text;
+            if (random.nextBoolean()) {
+                // valid base64, maybe without padding or broken
+                text = java.util.Base64.getEncoder()
+                                       .encodeToString(randomText(random, random.nextInt(20))
+                                                           .getBytes(StandardCharsets.UTF_8));
+                if (random.nextBoolean() && text.endsWith("=")) {
+                    text = text.substring(0, text.indexOf('='));
+                }
+                if (random.nextInt(4) == 0 && !text.isEmpty()) {
+                    int position = random.nextInt(text.length());
+                    text = text.substring(0, position) + chars.charAt(random.nextInt(chars.length()))
+                        + text.substring(position + 1);
+                }
+            } else {
+                StringBuilder builder = new StringBuilder();
+                for (int j = random.nextInt(12); j > 0; j--) {
+                    builder.append(chars.charAt(random.nextInt(chars.length())));
+                }
+                text = builder.toString();
+            }
+
+            String expected;
+            try {
+                expected = new String(java.util.Base64.getDecoder().decode(text), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                expected = null;
+            }
+            String actual;
+            try {
+                actual = Base64.decode2UTFString("-" + text + "-", 1, text.length() + 1);
+            } catch (IllegalArgumentException e) {
+                actual = null;
+            }
+            assertEquals(text, expected, actual);
+        }
+    }
+
+    static String randomText(Random random, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(6)) {
+                case 0:
+                    builder.append((char) (0x80 + random.nextInt(0x780)));
+                    break;
+                case 1:
+                    builder.append((char) (0x800 + random.nextInt(0xD000)));
+                    break;
+                case 2:
+                    builder.appendCodePoint(0x10000 + random.nextInt(0x100000));
+                    break;
+                case 3:
+                    // unpaired surrogate
+                    builder.append((char) (0xD800 + random.nextInt(0x800)));
+                    break;
+                default:
+                    builder.append((char) random.nextInt(0x80));
+            }
+        }
+        return builder.toString();
+    }
 }
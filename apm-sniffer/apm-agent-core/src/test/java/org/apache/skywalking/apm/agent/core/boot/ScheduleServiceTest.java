@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.boot;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScheduleServiceTest {
+    private ScheduleService scheduleService;
+
+    @Before
+    public void setUp() {
+        scheduleService = new ScheduleService();
+        scheduleService.prepare();
+    }
+
+    @After
+    public void tearDown() {
+        scheduleService.shutdown();
+    }
+
+    @Test
+    public void testRunRightAwayAndPeriodically() throws InterruptedException {
+        CountDownLatch runs = new CountDownLatch(3);
+        ScheduledFuture<?> future = scheduleService.scheduleAtFixedRate(runs::countDown, 0, 50, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(runs.await(5, TimeUnit.SECONDS));
+        future.cancel(true);
+    }
+
+    @Test
+    public void testTasksShareThreadAndWakeup() throws InterruptedException {
+        List<String> threads = new CopyOnWriteArrayList<>();
+        List<Long> firstTaskRuns = new CopyOnWriteArrayList<>();
+        List<Long> secondTaskRuns = new CopyOnWriteArrayList<>();
+        CountDownLatch runs = new CountDownLatch(6);
+        scheduleService.scheduleAtFixedRate(() -> {
+            threads.add(Thread.currentThread().getName());
+            firstTaskRuns.add(System.nanoTime());
+            runs.countDown();
+        }, 200, 200, TimeUnit.MILLISECONDS);
+        Thread.sleep(70);
+        scheduleService.scheduleAtFixedRate(() -> {
+            threads.add(Thread.currentThread().getName());
+            secondTaskRuns.add(System.nanoTime());
+            runs.countDown();
+        }, 200, 200, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(runs.await(10, TimeUnit.SECONDS));
+
+        Assert.assertEquals(1, threads.stream().distinct().count());
+        // scheduled 70ms apart, but run on the same multiples of the period
+        Assert.assertTrue(
+            Math.abs(firstTaskRuns.get(1) - secondTaskRuns.get(0)) < TimeUnit.MILLISECONDS.toNanos(50)
+                || Math.abs(firstTaskRuns.get(0) - secondTaskRuns.get(0)) < TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        List<Long> taskRuns = new CopyOnWriteArrayList<>();
+        ScheduledFuture<?> future = scheduleService.scheduleAtFixedRate(
+            () -> taskRuns.add(System.nanoTime()), 10, 10, TimeUnit.MILLISECONDS);
+        Thread.sleep(100);
+        future.cancel(true);
+        Thread.sleep(20);
+        int runCount = taskRuns.size();
+        Thread.sleep(100);
+        Assert.assertEquals(runCount, taskRuns.size());
+    }
+
+    @Test
+    public void testBlockedRemoteTaskNotDelayLocalTasks() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        ScheduledFuture<?> remote = scheduleService.scheduleRemoteWithFixedDelay(() -> {
+            threads.add(Thread.currentThread().getName());
+            blocked.countDown();
+            try {
+                released.await();
+            } catch (InterruptedException ignored) {
+            }
+        }, 0, 50, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch localRuns = new CountDownLatch(3);
+        ScheduledFuture<?> local = scheduleService.scheduleAtFixedRate(() -> {
+            threads.add(Thread.currentThread().getName());
+            localRuns.countDown();
+        }, 0, 50, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(localRuns.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(2, threads.stream().distinct().count());
+
+        released.countDown();
+        remote.cancel(true);
+        local.cancel(true);
+    }
+
+    @Test
+    public void testFixedDelayNotCatchUp() throws InterruptedException {
+        List<Long> taskRuns = new CopyOnWriteArrayList<>();
+        CountDownLatch runs = new CountDownLatch(3);
+        ScheduledFuture<?> future = scheduleService.scheduleRemoteWithFixedDelay(() -> {
+            taskRuns.add(System.nanoTime());
+            runs.countDown();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ignored) {
+            }
+        }, 0, 50, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(runs.await(5, TimeUnit.SECONDS));
+        future.cancel(true);
+
+        // every run starts the delay after the end of the last one
+        for (int i = 1; i < 3; i++) {
+            Assert.assertTrue(taskRuns.get(i) - taskRuns.get(i - 1) >= TimeUnit.MILLISECONDS.toNanos(150));
+        }
+    }
+}
@@ -18,10 +18,13 @@
 
 package org.apache.skywalking.apm.agent.core.context;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import org.apache.skywalking.apm.agent.core.context.ids.DistributedTraceId;
 import org.apache.skywalking.apm.agent.core.context.ids.PropagatedTraceId;
+import org.apache.skywalking.apm.util.StringUtil;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -162,4 +165,112 @@ public class ContextCarrierV3HeaderTest {
         Assert.assertEquals(contextCarrier.getCorrelationContext(), contextCarrier2.getCorrelationContext());
         Assert.assertEquals(contextCarrier.getExtensionContext(), contextCarrier2.getExtensionContext());
     }
+
+    @Test
+    public void testHeaderCompatibleFuzz() {
+        Random random = new Random(20211018L);
+        for (int i = 0; i < 20000; i++) {
+            ContextCarrier carrier = new ContextCarrier();
+            carrier.setTraceId(randomText(random));
+            carrier.setTraceSegmentId(randomText(random));
+            carrier.setSpanId(random.nextInt(Integer.MAX_VALUE));
+            carrier.setParentService(random.nextBoolean() ? "service" : randomText(random));
+            carrier.setParentServiceInstance(random.nextBoolean() ? "instance" : randomText(random));
+            carrier.setParentEndpoint(randomText(random));
+            carrier.setAddressUsedAtClient(randomText(random));
+
+            String header = carrier.serialize(ContextCarrier.HeaderVersion.v3);
+            Assert.assertEquals(serializeByJoin(carrier), header);
+
+            String mutated = mutate(random, header);
+            Assert.assertEquals(
+                mutated,
+                fieldsOf(deserializeBySplit(mutated)),
+                fieldsOf(new ContextCarrier().deserialize(mutated, ContextCarrier.HeaderVersion.v3))
+            );
+        }
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = random.nextInt(16) + 1; i > 0; i--) {
+            int kind = random.nextInt(10);
+            if (kind == 0) {
+                builder.append((char) (0x80 + random.nextInt(0xD700)));
+            } else if (kind == 1) {
+                builder.appendCodePoint(0x10000 + random.nextInt(0x1000));
+            } else {
+                builder.append((char) (0x20 + random.nextInt(0x5F)));
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String mutate(Random random, String header) {
+        String chars = "-=+/09Aaz:_ \u00e9";
+        StringBuilder builder = new StringBuilder(header);
+        for (int i = random.nextInt(4); i > 0 && builder.length() > 0; i--) {
+            int position = random.nextInt(builder.length());
+            switch (random.nextInt(3)) {
+                case 0:
+                    builder.deleteCharAt(position);
+                    break;
+                case 1:
+                    builder.insert(position, chars.charAt(random.nextInt(chars.length())));
+                    break;
+                default:
+                    builder.setCharAt(position, chars.charAt(random.nextInt(chars.length())));
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The serialization before the single-pass codec.
+     */
+    private static String serializeByJoin(ContextCarrier carrier) {
+        java.util.Base64.Encoder encoder = java.util.Base64.getEncoder();
+        return StringUtil.join(
+            '-',
+            "1",
+            encoder.encodeToString(carrier.getTraceId().getBytes(StandardCharsets.UTF_8)),
+            encoder.encodeToString(carrier.getTraceSegmentId().getBytes(StandardCharsets.UTF_8)),
+            carrier.getSpanId() + "",
+            encoder.encodeToString(carrier.getParentService().getBytes(StandardCharsets.UTF_8)),
+            encoder.encodeToString(carrier.getParentServiceInstance().getBytes(StandardCharsets.UTF_8)),
+            encoder.encodeToString(carrier.getParentEndpoint().getBytes(StandardCharsets.UTF_8)),
+            encoder.encodeToString(carrier.getAddressUsedAtClient().getBytes(StandardCharsets.UTF_8))
+        );
+    }
+
+    /**
+     * The deserialization before the single-pass codec.
+     */
+    private static ContextCarrier deserializeBySplit(String text) {
+        ContextCarrier carrier = new ContextCarrier();
+        String[] parts = text.split("-", 8);
+        if (parts.length == 8) {
+            try {
+                carrier.setTraceId(decode(parts[1]));
+                carrier.setTraceSegmentId(decode(parts[2]));
+                carrier.setSpanId(Integer.parseInt(parts[3]));
+                carrier.setParentService(decode(parts[4]));
+                carrier.setParentServiceInstance(decode(parts[5]));
+                carrier.setParentEndpoint(decode(parts[6]));
+                carrier.setAddressUsedAtClient(decode(parts[7]));
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        return carrier;
+    }
+
+    private static String decode(String part) {
+        return new String(java.util.Base64.getDecoder().decode(part), StandardCharsets.UTF_8);
+    }
+
+    private static String fieldsOf(ContextCarrier carrier) {
+        return carrier.getTraceId() + "|" + carrier.getTraceSegmentId() + "|" + carrier.getSpanId() + "|"
+            + carrier.getParentService() + "|" + carrier.getParentServiceInstance() + "|"
+            + carrier.getParentEndpoint() + "|" + carrier.getAddressUsedAtClient();
+    }
 }
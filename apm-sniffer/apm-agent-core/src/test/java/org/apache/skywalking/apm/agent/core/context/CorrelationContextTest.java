@@ -18,6 +18,11 @@
 
 package org.apache.skywalking.apm.agent.core.context;
 
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
 import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.junit.Assert;
 import org.junit.Before;
@@ -82,6 +87,18 @@ public class CorrelationContextTest {
         Assert.assertNull(context.get("test2").orElse(null));
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testCarrierItemOfContext() {
+        final CorrelationContext context = new CorrelationContext();
+        context.put("test1", "t1");
+        final SW8CorrelationCarrierItem item = new SW8CorrelationCarrierItem(context, null);
+        Assert.assertEquals("dGVzdDE=:dDE=", item.getHeadValue());
+
+        item.setHeadValue("dGVzdDI=:dDI=");
+        Assert.assertEquals("t2", context.get("test2").get());
+    }
+
     @Test
     public void testSerialize() {
         // manual
@@ -120,4 +137,125 @@ public class CorrelationContextTest {
         context.deserialize(null);
         Assert.assertNull(context.get("test1").orElse(null));
     }
+
+    @Test
+    public void testRemoveAndClone() {
+        final CorrelationContext context = new CorrelationContext();
+        Assert.assertTrue(context.isEmpty());
+        context.put("test1", "t1");
+        context.put("test2", "t2");
+
+        final CorrelationContext clone = context.clone();
+        Assert.assertEquals(context, clone);
+        Assert.assertEquals(context.hashCode(), clone.hashCode());
+
+        // remove by an empty value
+        Assert.assertEquals("t1", context.put("test1", "").get());
+        Assert.assertFalse(context.get("test1").isPresent());
+        Assert.assertEquals("dGVzdDI=:dDI=", context.serialize());
+        // the clone is not changed
+        Assert.assertEquals("t1", clone.get("test1").get());
+        Assert.assertNotEquals(context, clone);
+
+        // the removed element frees the room
+        context.put("test3", "t3");
+        Assert.assertEquals("t3", context.get("test3").get());
+        context.put("test2", null);
+        context.put("test3", null);
+        Assert.assertTrue(context.isEmpty());
+    }
+
+    @Test
+    public void testEqualsInAnyOrder() {
+        final CorrelationContext context1 = new CorrelationContext();
+        context1.put("test1", "t1");
+        context1.put("test2", "t2");
+        final CorrelationContext context2 = new CorrelationContext();
+        context2.put("test2", "t2");
+        context2.put("test1", "t1");
+        Assert.assertEquals(context1, context2);
+        Assert.assertEquals(context1.hashCode(), context2.hashCode());
+    }
+
+    @Test
+    public void testCarrierWithoutCorrelation() {
+        final ContextCarrier carrier = new ContextCarrier();
+        CarrierItem next = carrier.items();
+        while (next.hasNext()) {
+            next = next.next();
+            if (SW8CorrelationCarrierItem.HEADER_NAME.equals(next.getHeadKey())) {
+                Assert.assertEquals("", next.getHeadValue());
+                next.setHeadValue(null);
+            } else if (SW8ExtensionCarrierItem.HEADER_NAME.equals(next.getHeadKey())) {
+                Assert.assertEquals("0- ", next.getHeadValue());
+            }
+        }
+        Assert.assertFalse(carrier.hasCorrelationContext());
+
+        final CorrelationContext context = new CorrelationContext();
+        context.inject(carrier);
+        Assert.assertFalse(carrier.hasCorrelationContext());
+
+        context.put("test1", "t1");
+        context.inject(carrier);
+        Assert.assertTrue(carrier.hasCorrelationContext());
+        Assert.assertEquals("dGVzdDE=:dDE=", carrier.serializeCorrelation());
+    }
+
+    @Test
+    public void testDeserializeCompatibleFuzz() {
+        Config.Correlation.ELEMENT_MAX_NUMBER = 3;
+        Config.Correlation.VALUE_MAX_LENGTH = 128;
+        Random random = new Random(20211018L);
+        String[] tokens = {"dGVzdDE=", "dDE=", "dGVzdDI=", "dDI=", "", ":", ",", "=", "a", "dGVzdDM"};
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder builder = new StringBuilder();
+            for (int j = random.nextInt(10); j > 0; j--) {
+                builder.append(tokens[random.nextInt(tokens.length)]);
+            }
+            String value = builder.toString();
+
+            String expected;
+            try {
+                expected = deserializeBySplit(value);
+            } catch (IllegalArgumentException e) {
+                expected = "error";
+            }
+            String actual;
+            try {
+                CorrelationContext context = new CorrelationContext();
+                context.deserialize(value);
+                actual = context.serialize();
+            } catch (IllegalArgumentException e) {
+                actual = "error";
+            }
+            Assert.assertEquals(value, expected, actual);
+        }
+    }
+
+    /**
+     * The deserialization before scanning the indexes.
+     */
+    private static String deserializeBySplit(String value) {
+        Map<String, String> data = new LinkedHashMap<>();
+        java.util.Base64.Decoder decoder = java.util.Base64.getDecoder();
+        for (String perData : value.split(",")) {
+            if (data.size() >= Config.Correlation.ELEMENT_MAX_NUMBER) {
+                break;
+            }
+            String[] parts = perData.split(":");
+            if (parts.length != 2) {
+                continue;
+            }
+            data.put(
+                new String(decoder.decode(parts[0]), StandardCharsets.UTF_8),
+                new String(decoder.decode(parts[1]), StandardCharsets.UTF_8)
+            );
+        }
+        java.util.Base64.Encoder encoder = java.util.Base64.getEncoder();
+        return data.entrySet().stream()
+                   .map(entry -> encoder.encodeToString(entry.getKey().getBytes(StandardCharsets.UTF_8)) + ":"
+                       + encoder.encodeToString(entry.getValue().getBytes(StandardCharsets.UTF_8)))
+                   .collect(Collectors.joining(","));
+    }
 }
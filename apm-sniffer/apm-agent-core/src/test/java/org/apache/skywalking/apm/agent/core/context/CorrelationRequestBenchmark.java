@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * A request without correlation data: extract the headers of the upstream, call a downstream, and hand the context
+ * over to another thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CorrelationRequestBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RequestState {
+        static {
+            // trace without the backend
+            Config.Agent.KEEP_TRACING = true;
+            ServiceManager.INSTANCE.boot();
+        }
+
+        private final String sw8 = "1-My40LjU=-MS4yLjM=-4-c2VydmljZQ==-aW5zdGFuY2U=-L2FwcA==-MTI3LjAuMC4xOjgwODA=";
+    }
+
+    @Benchmark
+    public Object request(RequestState state) {
+        ContextCarrier entryCarrier = new ContextCarrier();
+        CarrierItem next = entryCarrier.items();
+        while (next.hasNext()) {
+            next = next.next();
+            if (SW8CarrierItem.HEADER_NAME.equals(next.getHeadKey())) {
+                next.setHeadValue(state.sw8);
+            }
+        }
+        ContextManager.createEntrySpan("/request", entryCarrier);
+
+        ContextCarrier exitCarrier = new ContextCarrier();
+        AbstractSpan exitSpan = ContextManager.createExitSpan("/downstream", exitCarrier, "127.0.0.1:8080");
+        int headerLength = 0;
+        next = exitCarrier.items();
+        while (next.hasNext()) {
+            next = next.next();
+            headerLength += next.getHeadValue().length();
+        }
+        ContextManager.stopSpan(exitSpan);
+
+        ContextSnapshot snapshot = ContextManager.capture();
+        ContextManager.stopSpan();
+        return headerLength + snapshot.getSpanId();
+    }
+
+    @Benchmark
+    public Object ignoredRequest() {
+        IgnoredTracerContext context = new IgnoredTracerContext();
+        ContextCarrier exitCarrier = new ContextCarrier();
+        context.inject(exitCarrier);
+        int headerLength = 0;
+        CarrierItem next = exitCarrier.items();
+        while (next.hasNext()) {
+            next = next.next();
+            headerLength += next.getHeadValue().length();
+        }
+        return headerLength + context.capture().getSpanId();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder().include(CorrelationRequestBenchmark.class.getSimpleName())
+                                              .forks(1)
+                                              .warmupIterations(3)
+                                              .measurementIterations(5)
+                                              .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * # JMH version: 1.33
+     * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * Correlation and extension contexts created with every context, carrier and snapshot
+     * Benchmark                                                         Mode  Cnt     Score      Error  Units
+     * CorrelationRequestBenchmark.ignoredRequest                        avgt    5   254.608 ±  201.247  ns/op
+     * CorrelationRequestBenchmark.ignoredRequest:·gc.alloc.rate.norm    avgt    5   864.753 ±    0.031   B/op
+     * CorrelationRequestBenchmark.request                               avgt    5  9402.499 ± 1483.576  ns/op
+     * CorrelationRequestBenchmark.request:·gc.alloc.rate.norm           avgt    5  4392.222 ±  369.770   B/op
+     *
+     * Created on first write
+     * Benchmark                                                         Mode  Cnt     Score      Error  Units
+     * CorrelationRequestBenchmark.ignoredRequest                        avgt    5    62.743 ±   17.944  ns/op
+     * CorrelationRequestBenchmark.ignoredRequest:·gc.alloc.rate.norm    avgt    5   208.182 ±    0.007   B/op
+     * CorrelationRequestBenchmark.request                               avgt    5  8587.332 ± 2992.353  ns/op
+     * CorrelationRequestBenchmark.request:·gc.alloc.rate.norm           avgt    5  3818.984 ±  705.960   B/op
+     */
+}
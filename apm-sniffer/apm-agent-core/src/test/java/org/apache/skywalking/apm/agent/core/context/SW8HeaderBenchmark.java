@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Build and parse the sw8 and sw8-correlation headers of a typical RPC.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class SW8HeaderBenchmark {
+    private ContextCarrier carrier;
+    private String header;
+    private CorrelationContext correlationContext;
+    private String correlationHeader;
+
+    @Setup
+    public void setup() {
+        carrier = new ContextCarrier();
+        carrier.setTraceId("2a3b4c5d6e7f48a1b2c3d4e5f6a7b8c9.52.16343842000010001");
+        carrier.setTraceSegmentId("2a3b4c5d6e7f48a1b2c3d4e5f6a7b8c9.52.16343842000010002");
+        carrier.setSpanId(3);
+        carrier.setParentService("order-service");
+        carrier.setParentServiceInstance("b1f3c2d4e5a6@10.0.12.34");
+        carrier.setParentEndpoint("{GET}/api/orders/{id}");
+        carrier.setAddressUsedAtClient("inventory-service:8080");
+        header = carrier.serialize(ContextCarrier.HeaderVersion.v3);
+
+        Config.Correlation.ELEMENT_MAX_NUMBER = 3;
+        correlationContext = new CorrelationContext();
+        correlationContext.put("tenant", "acme");
+        correlationContext.put("region", "eu-west-1");
+        correlationHeader = correlationContext.serialize();
+    }
+
+    @Benchmark
+    public String serialize() {
+        return carrier.serialize(ContextCarrier.HeaderVersion.v3);
+    }
+
+    @Benchmark
+    public ContextCarrier deserialize() {
+        return new ContextCarrier().deserialize(header, ContextCarrier.HeaderVersion.v3);
+    }
+
+    @Benchmark
+    public String serializeCorrelation() {
+        return correlationContext.serialize();
+    }
+
+    @Benchmark
+    public CorrelationContext deserializeCorrelation() {
+        CorrelationContext context = new CorrelationContext();
+        context.deserialize(correlationHeader);
+        return context;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder().include(SW8HeaderBenchmark.class.getSimpleName())
+                                              .forks(1)
+                                              .warmupIterations(3)
+                                              .measurementIterations(5)
+                                              .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * # JMH version: 1.33
+     * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * String#split, StringUtil#join and the string of every part
+     * Benchmark                                                         Mode  Cnt     Score     Error  Units
+     * SW8HeaderBenchmark.deserialize                                    avgt    5  1047.682 ± 265.095  ns/op
+     * SW8HeaderBenchmark.deserialize:·gc.alloc.rate.norm                avgt    5  1873.651 ±   0.117   B/op
+     * SW8HeaderBenchmark.deserializeCorrelation                         avgt    5   793.121 ± 407.434  ns/op
+     * SW8HeaderBenchmark.deserializeCorrelation:·gc.alloc.rate.norm     avgt    5  1121.004 ±   0.103   B/op
+     * SW8HeaderBenchmark.serialize                                      avgt    5   839.087 ± 179.473  ns/op
+     * SW8HeaderBenchmark.serialize:·gc.alloc.rate.norm                  avgt    5  1857.637 ±   0.136   B/op
+     * SW8HeaderBenchmark.serializeCorrelation                           avgt    5   321.112 ± 112.931  ns/op
+     * SW8HeaderBenchmark.serializeCorrelation:·gc.alloc.rate.norm       avgt    5   568.501 ±   0.052   B/op
+     *
+     * Scanned in place and built in the bytes of the thread
+     * Benchmark                                                         Mode  Cnt     Score     Error  Units
+     * SW8HeaderBenchmark.deserialize                                    avgt    5  1085.087 ± 209.837  ns/op
+     * SW8HeaderBenchmark.deserialize:·gc.alloc.rate.norm                avgt    5   488.449 ±   0.028   B/op
+     * SW8HeaderBenchmark.deserializeCorrelation                         avgt    5   378.738 ±  26.573  ns/op
+     * SW8HeaderBenchmark.deserializeCorrelation:·gc.alloc.rate.norm     avgt    5   272.245 ±   0.018   B/op
+     * SW8HeaderBenchmark.serialize                                      avgt    5   414.157 ±  59.496  ns/op
+     * SW8HeaderBenchmark.serialize:·gc.alloc.rate.norm                  avgt    5   536.474 ±   0.016   B/op
+     * SW8HeaderBenchmark.serializeCorrelation                           avgt    5   235.861 ±  41.983  ns/op
+     * SW8HeaderBenchmark.serializeCorrelation:·gc.alloc.rate.norm       avgt    5   184.164 ±   0.006   B/op
+     */
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.ids;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.util.StringUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Allocations per id, run with the GC profiler. {@code generateString} is how the ids were built before
+ * {@link GlobalId}.
+ */
+@Fork(value = 1, warmups = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GlobalIdGeneratorBenchmark {
+    private static final String PROCESS_ID = UUID.randomUUID().toString().replaceAll("-", "");
+
+    @Benchmark
+    public void generate(Blackhole bh) {
+        bh.consume(GlobalIdGenerator.generate());
+    }
+
+    @Benchmark
+    public void generateAndRender(Blackhole bh) {
+        bh.consume(GlobalIdGenerator.generate().toString());
+    }
+
+    @Benchmark
+    public void generateString(Blackhole bh) {
+        bh.consume(StringUtil.join(
+            '.',
+            PROCESS_ID,
+            String.valueOf(Thread.currentThread().getId()),
+            String.valueOf(System.currentTimeMillis() * 10000)
+        ));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(GlobalIdGeneratorBenchmark.class.getSimpleName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * # JMH version: 1.33
+     * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * Benchmark                                                                   Mode  Cnt     Score     Error   Units
+     * GlobalIdGeneratorBenchmark.generate                                         avgt    5    65.191 ±   7.574   ns/op
+     * GlobalIdGeneratorBenchmark.generate:·gc.alloc.rate.norm                     avgt    5    48.043 ±   0.003    B/op
+     * GlobalIdGeneratorBenchmark.generateAndRender                                avgt    5   220.142 ±  54.987   ns/op
+     * GlobalIdGeneratorBenchmark.generateAndRender:·gc.alloc.rate.norm            avgt    5   216.192 ±   0.010    B/op
+     * GlobalIdGeneratorBenchmark.generateString                                   avgt    5   182.515 ±  30.187   ns/op
+     * GlobalIdGeneratorBenchmark.generateString:·gc.alloc.rate.norm               avgt    5   312.275 ±   0.003    B/op
+     */
+}
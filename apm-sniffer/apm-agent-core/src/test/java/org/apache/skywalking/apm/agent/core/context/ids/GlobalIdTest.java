@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.ids;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import org.apache.skywalking.apm.util.StringUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GlobalIdTest {
+    @Test
+    public void testSameTextAsStringId() {
+        UUID uuid = UUID.fromString("0f1e2d3c-4b5a-6978-8796-a5b4c3d2e1f0");
+        assertRendered(uuid, 1L, 16294736912340001L);
+        assertRendered(uuid, 0L, 0L);
+        assertRendered(uuid, 123456789L, Long.MAX_VALUE);
+        assertRendered(new UUID(0L, 0L), 9L, 10L);
+        assertRendered(new UUID(-1L, Long.MIN_VALUE), 10L, 99999L);
+        for (int i = 0; i < 100; i++) {
+            assertRendered(UUID.randomUUID(), i * 7919L, System.currentTimeMillis() * 10000 + i);
+        }
+    }
+
+    @Test
+    public void testGenerate() {
+        GlobalId id = GlobalIdGenerator.generate();
+        String text = id.toString();
+        Assert.assertTrue(text.matches("[0-9a-f]{32}\\.\\d+\\.\\d+"));
+        Assert.assertSame(text, id.toString());
+
+        String[] parts = text.split("\\.");
+        Assert.assertEquals(String.valueOf(Thread.currentThread().getId()), parts[1]);
+        GlobalId next = GlobalIdGenerator.generate();
+        Assert.assertNotEquals(id, next);
+        Assert.assertTrue(next.toString().startsWith(parts[0] + "."));
+    }
+
+    @Test
+    public void testTraceIdEquality() {
+        NewDistributedTraceId newTraceId = new NewDistributedTraceId();
+        PropagatedTraceId propagatedTraceId = new PropagatedTraceId(newTraceId.getId());
+        Assert.assertEquals(newTraceId, propagatedTraceId);
+        Assert.assertEquals(propagatedTraceId, newTraceId);
+        Assert.assertEquals(newTraceId.hashCode(), propagatedTraceId.hashCode());
+        Assert.assertNull(propagatedTraceId.getGlobalId());
+        Assert.assertNotEquals(newTraceId, new NewDistributedTraceId());
+    }
+
+    private static void assertRendered(UUID uuid, long threadId, long sequence) {
+        String expected = StringUtil.join(
+            '.', uuid.toString().replaceAll("-", ""), String.valueOf(threadId), String.valueOf(sequence));
+        GlobalId id = new GlobalId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), threadId, sequence);
+        Assert.assertEquals(expected.length(), id.length());
+
+        byte[] bytes = new byte[GlobalId.MAX_LENGTH + 2];
+        Assert.assertEquals(expected.length(), id.writeTo(bytes, 2));
+        Assert.assertArrayEquals(
+            expected.getBytes(StandardCharsets.UTF_8), Arrays.copyOfRange(bytes, 2, 2 + expected.length()));
+        Assert.assertEquals(expected, id.toString());
+    }
+}
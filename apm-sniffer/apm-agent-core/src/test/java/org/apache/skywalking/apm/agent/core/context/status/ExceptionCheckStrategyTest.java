@@ -18,10 +18,8 @@
 
 package org.apache.skywalking.apm.agent.core.context.status;
 
-import java.util.Set;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
-import org.apache.skywalking.apm.agent.core.context.util.FieldGetter;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -37,11 +35,8 @@ public class ExceptionCheckStrategyTest {
     }
 
     @After
-    public void after() throws IllegalAccessException, NoSuchFieldException {
-        ((Set) FieldGetter.getValue(
-            ExceptionCheckContext.INSTANCE, "ignoredExceptions")).clear();
-        ((Set) FieldGetter.getValue(
-            ExceptionCheckContext.INSTANCE, "errorStatusExceptions")).clear();
+    public void after() {
+        ExceptionCheckContext.INSTANCE.invalidate();
     }
 
     @Test
@@ -65,4 +60,22 @@ public class ExceptionCheckStrategyTest {
         Assert.assertTrue(annotationMatchExceptionCheckStrategy.isError(new TestHierarchyMatchException()));
     }
 
+    @Test
+    public void checkHierarchyMatchByInterfaceAndAbsentClass() {
+        Config.StatusCheck.IGNORED_EXCEPTIONS = "org.apache.skywalking.NotExistException,"
+            + IgnoredMarker.class.getName();
+        ServiceManager.INSTANCE.boot();
+        HierarchyMatchExceptionCheckStrategy hierarchyMatchExceptionCheckStrategy = new HierarchyMatchExceptionCheckStrategy();
+        Assert.assertFalse(hierarchyMatchExceptionCheckStrategy.isError(new MarkedException()));
+        Assert.assertFalse(hierarchyMatchExceptionCheckStrategy.isError(new MarkedException() {
+        }));
+        Assert.assertTrue(hierarchyMatchExceptionCheckStrategy.isError(new TestNamedMatchException()));
+    }
+
+    private interface IgnoredMarker {
+    }
+
+    private static class MarkedException extends RuntimeException implements IgnoredMarker {
+    }
+
 }
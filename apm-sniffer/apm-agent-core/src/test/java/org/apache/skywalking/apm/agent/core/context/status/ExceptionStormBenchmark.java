@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.status;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.trace.LocalSpan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Spans keep logging a few kinds of exceptions, while some of the ignored exceptions are absent in the class loader of
+ * the traced ones. {@code hierarchyMatch} is the check of an exception class seen for the first time.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExceptionStormBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class StormState {
+        static {
+            Config.StatusCheck.IGNORED_EXCEPTIONS = "com.example.NotExistException,"
+                + "com.example.AnotherNotExistException,"
+                + "java.util.concurrent.TimeoutException,"
+                + TestNamedMatchException.class.getName();
+            Config.StatusCheck.MAX_RECURSIVE_DEPTH = 2;
+            ServiceManager.INSTANCE.boot();
+        }
+
+        private final Throwable[] exceptions = {
+            new IllegalStateException(),
+            new RuntimeException(new IOException()),
+            new TimeoutException(),
+            new TestHierarchyMatchException(),
+            new IllegalArgumentException(new TestNamedMatchException()),
+            new UnsupportedOperationException(),
+            new IOException(new IllegalStateException()),
+            new NullPointerException()
+        };
+        private final StatusCheckService statusCheckService = ServiceManager.INSTANCE.findService(
+            StatusCheckService.class);
+        private final HierarchyMatchExceptionCheckStrategy strategy = new HierarchyMatchExceptionCheckStrategy();
+        private int index;
+
+        private Throwable next() {
+            return exceptions[index++ & (exceptions.length - 1)];
+        }
+    }
+
+    @Benchmark
+    public boolean checkStatus(StormState state) {
+        return state.statusCheckService.isError(state.next());
+    }
+
+    @Benchmark
+    public boolean hierarchyMatch(StormState state) {
+        return state.strategy.isError(state.next());
+    }
+
+    @Benchmark
+    public LocalSpan logError(StormState state) {
+        LocalSpan span = new LocalSpan(0, -1, "storm", null);
+        span.log(state.next());
+        return span;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder().include(ExceptionStormBenchmark.class.getSimpleName())
+                                              .forks(1)
+                                              .warmupIterations(3)
+                                              .measurementIterations(5)
+                                              .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * # JMH version: 1.33
+     * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Throughput, ops/time
+     *
+     * Class.forName for every ignored exception
+     * Benchmark                                                    Mode  Cnt      Score      Error   Units
+     * ExceptionStormBenchmark.checkStatus                         thrpt    5     12.636 ±    3.628  ops/us
+     * ExceptionStormBenchmark.checkStatus:·gc.alloc.rate.norm     thrpt    5      0.002 ±    0.001    B/op
+     * ExceptionStormBenchmark.hierarchyMatch                      thrpt    5      0.028 ±    0.002  ops/us
+     * ExceptionStormBenchmark.hierarchyMatch:·gc.alloc.rate.norm  thrpt    5   3958.699 ±    1.512    B/op
+     * ExceptionStormBenchmark.logError                            thrpt    5      0.101 ±    0.071  ops/us
+     * ExceptionStormBenchmark.logError:·gc.alloc.rate.norm        thrpt    5  40638.941 ±    0.568    B/op
+     *
+     * Names of the class hierarchy compared with the ignored names
+     * Benchmark                                                    Mode  Cnt      Score      Error   Units
+     * ExceptionStormBenchmark.checkStatus                         thrpt    5     12.092 ±    2.090  ops/us
+     * ExceptionStormBenchmark.checkStatus:·gc.alloc.rate.norm     thrpt    5      0.002 ±    0.001    B/op
+     * ExceptionStormBenchmark.hierarchyMatch                      thrpt    5      8.190 ±    1.558  ops/us
+     * ExceptionStormBenchmark.hierarchyMatch:·gc.alloc.rate.norm  thrpt    5     76.071 ±    0.007    B/op
+     * ExceptionStormBenchmark.logError                            thrpt    5      0.116 ±    0.043  ops/us
+     * ExceptionStormBenchmark.logError:·gc.alloc.rate.norm        thrpt    5  40638.865 ±    0.974    B/op
+     */
+}
@@ -18,10 +18,8 @@
 
 package org.apache.skywalking.apm.agent.core.context.status;
 
-import java.util.Set;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
-import org.apache.skywalking.apm.agent.core.context.util.FieldGetter;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -44,11 +42,8 @@ public class StatusCheckServiceCheckTest {
     }
 
     @After
-    public void after() throws IllegalAccessException, NoSuchFieldException {
-        ((Set) FieldGetter.getValue(
-            ExceptionCheckContext.INSTANCE, "ignoredExceptions")).clear();
-        ((Set) FieldGetter.getValue(
-            ExceptionCheckContext.INSTANCE, "errorStatusExceptions")).clear();
+    public void after() {
+        ExceptionCheckContext.INSTANCE.invalidate();
     }
 
     @Test
@@ -78,4 +73,18 @@ public class StatusCheckServiceCheckTest {
         Assert.assertFalse(service.isError(exception3));
     }
 
+    @Test
+    public void testIgnoredExceptionsChanged() {
+        Config.StatusCheck.MAX_RECURSIVE_DEPTH = 1;
+        StatusCheckService service = ServiceManager.INSTANCE.findService(StatusCheckService.class);
+        Assert.assertFalse(service.isError(exception1));
+        Assert.assertTrue(service.isError(new IllegalStateException()));
+
+        Config.StatusCheck.IGNORED_EXCEPTIONS = "java.lang.IllegalStateException";
+        ServiceManager.INSTANCE.boot();
+        service = ServiceManager.INSTANCE.findService(StatusCheckService.class);
+        Assert.assertTrue(service.isError(exception1));
+        Assert.assertFalse(service.isError(new IllegalStateException()));
+    }
+
 }
@@ -20,10 +20,8 @@ package org.apache.skywalking.apm.agent.core.context.status;
 
 import static org.apache.skywalking.apm.agent.core.context.status.StatusChecker.HIERARCHY_MATCH;
 import static org.apache.skywalking.apm.agent.core.context.status.StatusChecker.OFF;
-import java.util.Set;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
 import org.apache.skywalking.apm.agent.core.conf.Config;
-import org.apache.skywalking.apm.agent.core.context.util.FieldGetter;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -39,11 +37,8 @@ public class StatusCheckerTest {
     }
 
     @After
-    public void after() throws IllegalAccessException, NoSuchFieldException {
-        ((Set) FieldGetter.getValue(
-            ExceptionCheckContext.INSTANCE, "ignoredExceptions")).clear();
-        ((Set) FieldGetter.getValue(
-            ExceptionCheckContext.INSTANCE, "errorStatusExceptions")).clear();
+    public void after() {
+        ExceptionCheckContext.INSTANCE.invalidate();
     }
 
     @Test
@@ -55,18 +50,31 @@ public class StatusCheckerTest {
     }
 
     @Test
-    public void checkInheritNamedAndAnnotationMatchStatusChecker() throws IllegalAccessException, NoSuchFieldException {
+    public void checkInheritNamedAndAnnotationMatchStatusChecker() {
         Assert.assertTrue(HIERARCHY_MATCH.checkStatus(new Throwable()));
         Assert.assertTrue(HIERARCHY_MATCH.checkStatus(new IllegalArgumentException()));
         Assert.assertFalse(HIERARCHY_MATCH.checkStatus(new TestNamedMatchException()));
         Assert.assertFalse(HIERARCHY_MATCH.checkStatus(new TestHierarchyMatchException()));
         Assert.assertFalse(HIERARCHY_MATCH.checkStatus(new TestAnnotationMatchException()));
-        Set ignoredExceptions = FieldGetter.getValue(
-            ExceptionCheckContext.INSTANCE, "ignoredExceptions");
-        Set errorStatusExceptions = FieldGetter.getValue(
-            ExceptionCheckContext.INSTANCE, "errorStatusExceptions");
-        Assert.assertTrue(ignoredExceptions.size() > 0);
-        Assert.assertTrue(errorStatusExceptions.size() > 0);
+        Assert.assertTrue(ExceptionCheckContext.INSTANCE.isChecked(new TestNamedMatchException()));
+        Assert.assertFalse(ExceptionCheckContext.INSTANCE.isError(new TestNamedMatchException()));
+        Assert.assertTrue(ExceptionCheckContext.INSTANCE.isChecked(new IllegalArgumentException()));
+        Assert.assertTrue(ExceptionCheckContext.INSTANCE.isError(new IllegalArgumentException()));
+        Assert.assertFalse(ExceptionCheckContext.INSTANCE.isChecked(new IllegalStateException()));
+    }
+
+    @Test
+    public void checkInvalidateCheckedStatus() {
+        Assert.assertFalse(HIERARCHY_MATCH.checkStatus(new TestNamedMatchException()));
+        Assert.assertTrue(ExceptionCheckContext.INSTANCE.isChecked(new TestNamedMatchException()));
+
+        ExceptionCheckContext.INSTANCE.invalidate();
+        Assert.assertFalse(ExceptionCheckContext.INSTANCE.isChecked(new TestNamedMatchException()));
+        Assert.assertTrue(ExceptionCheckContext.INSTANCE.isError(new TestNamedMatchException()));
+
+        ExceptionCheckContext.INSTANCE.registerErrorStatusException(new TestNamedMatchException());
+        Assert.assertTrue(ExceptionCheckContext.INSTANCE.isChecked(new TestNamedMatchException()));
+        Assert.assertTrue(ExceptionCheckContext.INSTANCE.isError(new TestNamedMatchException()));
     }
 
 }
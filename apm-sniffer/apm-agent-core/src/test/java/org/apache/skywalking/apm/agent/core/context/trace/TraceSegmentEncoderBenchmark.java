@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compare {@link TraceSegment#transform()}, the way reporters used to serialize segments, with
+ * {@link TraceSegmentEncoder}. Run with the GC profiler to see the allocation rate per operation.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, warmups = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TraceSegmentEncoderBenchmark {
+    @Param({
+        "1",
+        "20",
+        "200"
+    })
+    public int spanNum;
+
+    private TraceSegment segment;
+    private final DiscardOutputStream output = new DiscardOutputStream();
+
+    @Setup
+    public void setup() {
+        Config.Agent.SERVICE_NAME = "benchmark-service";
+        Config.Agent.INSTANCE_NAME = "benchmark-instance@127.0.0.1";
+        segment = new TraceSegment();
+        for (int i = spanNum - 1; i > 0; i--) {
+            ExitSpan span = new ExitSpan(i, 0, "/exit/" + i, "127.0.0.1:" + (8000 + i), null);
+            span.start();
+            span.setComponent(ComponentsDefine.HTTPCLIENT);
+            span.setLayer(SpanLayer.HTTP);
+            span.tag(Tags.URL, "http://127.0.0.1:" + (8000 + i) + "/exit/" + i);
+            span.tag(Tags.HTTP.METHOD, "GET");
+            span.tag(Tags.HTTP_RESPONSE_STATUS_CODE, "200");
+            if (i % 10 == 0) {
+                Map<String, String> event = new HashMap<>();
+                event.put("event", "error");
+                event.put("error.kind", IllegalStateException.class.getName());
+                event.put("message", "exception of span " + i);
+                span.errorOccurred().log(span.startTime, event);
+            }
+            span.endTime = span.startTime + i;
+            segment.archive(span);
+        }
+        EntrySpan entrySpan = new EntrySpan(0, -1, "/entry", null);
+        entrySpan.start();
+        entrySpan.setComponent(ComponentsDefine.TOMCAT);
+        entrySpan.setLayer(SpanLayer.HTTP);
+        entrySpan.tag(Tags.URL, "http://127.0.0.1:8080/entry");
+        entrySpan.tag(Tags.HTTP.METHOD, "POST");
+        entrySpan.endTime = entrySpan.startTime + spanNum;
+        segment.archive(entrySpan);
+        segment.finish(false);
+    }
+
+    @Benchmark
+    public void transform(Blackhole bh) throws IOException {
+        segment.transform().writeTo(output);
+        bh.consume(output);
+    }
+
+    @Benchmark
+    public void transformToByteArray(Blackhole bh) {
+        bh.consume(segment.transform().toByteArray());
+    }
+
+    @Benchmark
+    public void encoderWriteTo(Blackhole bh) throws IOException {
+        bh.consume(TraceSegmentEncoder.writeTo(segment, output));
+    }
+
+    @Benchmark
+    public void encoderToByteArray(Blackhole bh) {
+        bh.consume(segment.encode());
+    }
+
+    /**
+     * Stands for the write buffer of gRPC.
+     */
+    private static class DiscardOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(TraceSegmentEncoderBenchmark.class.getSimpleName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * # JMH version: 1.33
+     * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Throughput, ops/time
+     *
+     * Benchmark                                                                        (spanNum)   Mode  Cnt       Score      Error   Units
+     * TraceSegmentEncoderBenchmark.encoderToByteArray                                          1  thrpt    5    1237.661 ±  306.066  ops/ms
+     * TraceSegmentEncoderBenchmark.encoderToByteArray:·gc.alloc.rate.norm                      1  thrpt    5     312.290 ±    0.035    B/op
+     * TraceSegmentEncoderBenchmark.encoderToByteArray                                         20  thrpt    5     103.955 ±   31.640  ops/ms
+     * TraceSegmentEncoderBenchmark.encoderToByteArray:·gc.alloc.rate.norm                     20  thrpt    5    3659.453 ±    0.351    B/op
+     * TraceSegmentEncoderBenchmark.encoderToByteArray                                        200  thrpt    5      10.976 ±    4.873  ops/ms
+     * TraceSegmentEncoderBenchmark.encoderToByteArray:·gc.alloc.rate.norm                    200  thrpt    5   30525.246 ±    4.643    B/op
+     * TraceSegmentEncoderBenchmark.encoderWriteTo                                              1  thrpt    5    1389.153 ±  581.642  ops/ms
+     * TraceSegmentEncoderBenchmark.encoderWriteTo:·gc.alloc.rate.norm                          1  thrpt    5      40.044 ±    0.020    B/op
+     * TraceSegmentEncoderBenchmark.encoderWriteTo                                             20  thrpt    5     121.087 ±   52.428  ops/ms
+     * TraceSegmentEncoderBenchmark.encoderWriteTo:·gc.alloc.rate.norm                         20  thrpt    5     744.738 ±    0.257    B/op
+     * TraceSegmentEncoderBenchmark.encoderWriteTo                                            200  thrpt    5      14.653 ±   10.814  ops/ms
+     * TraceSegmentEncoderBenchmark.encoderWriteTo:·gc.alloc.rate.norm                        200  thrpt    5    7663.788 ±    1.023    B/op
+     * TraceSegmentEncoderBenchmark.transform                                                   1  thrpt    5     954.731 ±  509.229  ops/ms
+     * TraceSegmentEncoderBenchmark.transform:·gc.alloc.rate.norm                               1  thrpt    5     800.721 ±    0.046    B/op
+     * TraceSegmentEncoderBenchmark.transform                                                  20  thrpt    5      52.182 ±   14.432  ops/ms
+     * TraceSegmentEncoderBenchmark.transform:·gc.alloc.rate.norm                              20  thrpt    5   12731.778 ±    1.312    B/op
+     * TraceSegmentEncoderBenchmark.transform                                                 200  thrpt    5       6.631 ±    6.276  ops/ms
+     * TraceSegmentEncoderBenchmark.transform:·gc.alloc.rate.norm                             200  thrpt    5  101965.272 ±    6.126    B/op
+     * TraceSegmentEncoderBenchmark.transformToByteArray                                        1  thrpt    5    1299.234 ± 1375.866  ops/ms
+     * TraceSegmentEncoderBenchmark.transformToByteArray:·gc.alloc.rate.norm                    1  thrpt    5     752.669 ±    0.024    B/op
+     * TraceSegmentEncoderBenchmark.transformToByteArray                                       20  thrpt    5      62.852 ±   24.650  ops/ms
+     * TraceSegmentEncoderBenchmark.transformToByteArray:·gc.alloc.rate.norm                   20  thrpt    5   12731.497 ±    1.248    B/op
+     * TraceSegmentEncoderBenchmark.transformToByteArray                                      200  thrpt    5       7.075 ±    3.350  ops/ms
+     * TraceSegmentEncoderBenchmark.transformToByteArray:·gc.alloc.rate.norm                  200  thrpt    5  127114.885 ±   12.158    B/op
+     */
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.CarrierItem;
+import org.apache.skywalking.apm.agent.core.context.ContextCarrier;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.ContextSnapshot;
+import org.apache.skywalking.apm.agent.core.context.SW8CarrierItem;
+import org.apache.skywalking.apm.agent.core.context.tag.StringTag;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.agent.core.test.tools.SegmentStorage;
+import org.apache.skywalking.apm.agent.core.test.tools.SegmentStoragePoint;
+import org.apache.skywalking.apm.agent.core.test.tools.TracingSegmentRunner;
+import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(TracingSegmentRunner.class)
+public class TraceSegmentEncoderTest {
+
+    @SegmentStoragePoint
+    private SegmentStorage tracingData;
+
+    @Rule
+    public AgentServiceRule agentServiceRule = new AgentServiceRule();
+
+    @BeforeClass
+    public static void beforeClass() {
+        Config.Agent.KEEP_TRACING = true;
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        Config.Agent.KEEP_TRACING = false;
+        ServiceManager.INSTANCE.shutdown();
+    }
+
+    @Test
+    public void testEncodeCrossProcessSegment() throws IOException {
+        ContextCarrier contextCarrier = new ContextCarrier();
+        CarrierItem next = contextCarrier.items();
+        while (next.hasNext()) {
+            next = next.next();
+            if (SW8CarrierItem.HEADER_NAME.equals(next.getHeadKey())) {
+                next.setHeadValue("1-My40LjU=-MS4yLjM=-3-c2VydmljZQ==-aW5zdGFuY2U=-L2FwcA==-MTI3LjAuMC4xOjgwODA=");
+            }
+        }
+        AbstractSpan entrySpan = ContextManager.createEntrySpan("/testEntry", contextCarrier);
+        entrySpan.setComponent(ComponentsDefine.TOMCAT);
+        Tags.HTTP.METHOD.set(entrySpan, "GET");
+        Tags.URL.set(entrySpan, "127.0.0.1:8080");
+        new StringTag("no-value").set(entrySpan, null);
+        new StringTag("empty-value").set(entrySpan, "");
+        SpanLayer.asHttp(entrySpan);
+
+        AbstractSpan localSpan = ContextManager.createLocalSpan("/\u6d4b\u8bd5/\ud83d\ude00/\ud800");
+        localSpan.errorOccurred();
+        localSpan.skipAnalysis();
+        ContextManager.stopSpan();
+
+        AbstractSpan exitSpan = ContextManager.createExitSpan("/testExit", new ContextCarrier(), "127.0.0.1:12800");
+        exitSpan.log(new RuntimeException("exception"));
+        exitSpan.setComponent(ComponentsDefine.HTTPCLIENT);
+        SpanLayer.asRPCFramework(exitSpan);
+        ContextManager.stopSpan();
+
+        ContextManager.stopSpan();
+
+        assertEncoded(tracingData.getTraceSegments().get(0));
+    }
+
+    @Test
+    public void testEncodeCrossThreadSegment() throws IOException {
+        ContextManager.createLocalSpan("/parent");
+        ContextSnapshot snapshot = ContextManager.capture();
+        ContextManager.stopSpan();
+
+        AbstractSpan entrySpan = ContextManager.createEntrySpan("/child", null);
+        ContextManager.continued(snapshot);
+        entrySpan.log(System.currentTimeMillis(), Collections.singletonMap("event", ""));
+        ContextManager.stopSpan();
+
+        Assert.assertEquals(2, tracingData.getTraceSegments().size());
+        assertEncoded(tracingData.getTraceSegments().get(0));
+        assertEncoded(tracingData.getTraceSegments().get(1));
+    }
+
+    @Test
+    public void testEncodeEmptySegment() throws IOException {
+        assertEncoded(new TraceSegment().finish(true));
+    }
+
+    private static void assertEncoded(TraceSegment segment) throws IOException {
+        byte[] expected = segment.transform().toByteArray();
+        Assert.assertArrayEquals(expected, segment.encode());
+        Assert.assertEquals(expected.length, TraceSegmentEncoder.computeSize(segment));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Assert.assertEquals(expected.length, TraceSegmentEncoder.writeTo(segment, output));
+        Assert.assertArrayEquals(expected, output.toByteArray());
+    }
+}
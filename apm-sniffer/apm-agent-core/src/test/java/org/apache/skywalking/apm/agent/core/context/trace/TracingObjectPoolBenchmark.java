@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.TracingContext;
+import org.apache.skywalking.apm.agent.core.context.TracingContextListener;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.remote.TraceSegmentServiceClient;
+import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The allocation of one traced request, an entry span with 3 exit spans and a local span, with and without {@link
+ * Config.Agent#RECYCLE_TRACING_OBJECTS}. The finished segment is released right away, as the reporter does after
+ * sending it. Run with the GC profiler to see the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, warmups = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TracingObjectPoolBenchmark {
+    @Param({
+        "false",
+        "true"
+    })
+    public boolean recycle;
+
+    private TraceSegment finishedSegment;
+    private final TracingContextListener reporter = segment -> {
+        segment.retain();
+        finishedSegment = segment;
+    };
+
+    @Setup
+    public void setup() {
+        Config.Agent.KEEP_TRACING = true;
+        Config.Agent.RECYCLE_TRACING_OBJECTS = recycle;
+        ServiceManager.INSTANCE.boot();
+        TracingContext.ListenerManager.remove(ServiceManager.INSTANCE.findService(TraceSegmentServiceClient.class));
+        TracingContext.ListenerManager.add(reporter);
+    }
+
+    @TearDown
+    public void tearDown() {
+        TracingContext.ListenerManager.remove(reporter);
+        ServiceManager.INSTANCE.shutdown();
+    }
+
+    @Benchmark
+    public TraceSegment tracedRequest() {
+        AbstractSpan entrySpan = ContextManager.createEntrySpan("/benchmark/entry", null);
+        entrySpan.setComponent(ComponentsDefine.TOMCAT);
+        Tags.URL.set(entrySpan, "http://127.0.0.1:8080/benchmark/entry");
+        Tags.HTTP.METHOD.set(entrySpan, "GET");
+        SpanLayer.asHttp(entrySpan);
+        for (int i = 0; i < 3; i++) {
+            AbstractSpan exitSpan = ContextManager.createExitSpan("/benchmark/exit", "127.0.0.1:9090");
+            exitSpan.setComponent(ComponentsDefine.HTTPCLIENT);
+            Tags.URL.set(exitSpan, "http://127.0.0.1:9090/benchmark/exit");
+            SpanLayer.asHttp(exitSpan);
+            ContextManager.stopSpan();
+        }
+        ContextManager.createLocalSpan("/benchmark/local");
+        ContextManager.stopSpan();
+        Tags.HTTP_RESPONSE_STATUS_CODE.set(entrySpan, 200);
+        ContextManager.stopSpan();
+
+        TraceSegment segment = finishedSegment;
+        segment.release();
+        return segment;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(TracingObjectPoolBenchmark.class.getSimpleName())
+                                          .addProfiler(GCProfiler.class)
+                                          .build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * # JMH version: 1.33
+     * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+     * # Warmup: 5 iterations, 2 s each
+     * # Measurement: 10 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Throughput, ops/time
+     *
+     * Benchmark                                                        (recycle)   Mode  Cnt     Score    Error   Units
+     * TracingObjectPoolBenchmark.tracedRequest                             false  thrpt   10   635.249 ± 70.166  ops/ms
+     * TracingObjectPoolBenchmark.tracedRequest:·gc.alloc.rate              false  thrpt   10   748.483 ± 82.383  MB/sec
+     * TracingObjectPoolBenchmark.tracedRequest:·gc.alloc.rate.norm         false  thrpt   10  1545.397 ±  0.021    B/op
+     * TracingObjectPoolBenchmark.tracedRequest:·gc.count                   false  thrpt   10   749.000           counts
+     * TracingObjectPoolBenchmark.tracedRequest:·gc.time                    false  thrpt   10   362.000               ms
+     * TracingObjectPoolBenchmark.tracedRequest                              true  thrpt   10   603.327 ± 36.549  ops/ms
+     * TracingObjectPoolBenchmark.tracedRequest:·gc.alloc.rate               true  thrpt   10   335.058 ± 20.273  MB/sec
+     * TracingObjectPoolBenchmark.tracedRequest:·gc.alloc.rate.norm          true  thrpt   10   728.692 ±  0.030    B/op
+     * TracingObjectPoolBenchmark.tracedRequest:·gc.count                    true  thrpt   10   336.000           counts
+     * TracingObjectPoolBenchmark.tracedRequest:·gc.time                     true  thrpt   10   184.000               ms
+     */
+}
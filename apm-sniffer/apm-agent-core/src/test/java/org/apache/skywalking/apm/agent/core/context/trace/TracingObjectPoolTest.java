@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.TracingContext;
+import org.apache.skywalking.apm.agent.core.context.TracingContextListener;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.remote.TraceSegmentServiceClient;
+import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class TracingObjectPoolTest {
+
+    @Rule
+    public AgentServiceRule agentServiceRule = new AgentServiceRule();
+
+    private final List<TraceSegment> finishedSegments = new ArrayList<>();
+    private final TracingContextListener retainingListener = segment -> {
+        segment.retain();
+        finishedSegments.add(segment);
+    };
+
+    @BeforeClass
+    public static void beforeClass() {
+        Config.Agent.KEEP_TRACING = true;
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        Config.Agent.KEEP_TRACING = false;
+        ServiceManager.INSTANCE.shutdown();
+    }
+
+    @Before
+    public void setUp() {
+        Config.Agent.RECYCLE_TRACING_OBJECTS = true;
+        // Keep the segments away from the async reporter, to release them at a known time.
+        TracingContext.ListenerManager.remove(ServiceManager.INSTANCE.findService(TraceSegmentServiceClient.class));
+        TracingContext.ListenerManager.add(retainingListener);
+    }
+
+    @After
+    public void tearDown() {
+        TracingContext.ListenerManager.remove(retainingListener);
+        Config.Agent.RECYCLE_TRACING_OBJECTS = false;
+    }
+
+    @Test
+    public void testRecycleAfterLastRelease() {
+        AbstractSpan entrySpan = ContextManager.createEntrySpan("/entry", null);
+        Tags.URL.set(entrySpan, "127.0.0.1:8080");
+        AbstractSpan exitSpan = ContextManager.createExitSpan("/exit", "127.0.0.1:12800");
+        exitSpan.errorOccurred();
+        ContextManager.stopSpan();
+        ContextManager.stopSpan();
+
+        Assert.assertEquals(1, finishedSegments.size());
+        TraceSegment segment = finishedSegments.get(0);
+        Assert.assertEquals(2, segment.getSpans().size());
+        Assert.assertEquals("/entry", entrySpan.getOperationName());
+
+        segment.release();
+        Assert.assertTrue(segment.getSpans().isEmpty());
+        Assert.assertNull(entrySpan.getOperationName());
+        Assert.assertNull(exitSpan.getOperationName());
+        try {
+            entrySpan.tag(Tags.URL, "127.0.0.1:8080");
+            Assert.fail("The recycled span should not be used.");
+        } catch (AssertionError ignored) {
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testReleaseMoreThanRetained() {
+        ContextManager.createLocalSpan("/local");
+        ContextManager.stopSpan();
+
+        TraceSegment segment = finishedSegments.get(0);
+        segment.release();
+        segment.release();
+    }
+
+    @Test
+    public void testReuseRecycledSpans() {
+        Set<AbstractSpan> createdSpans = Collections.newSetFromMap(new IdentityHashMap<>());
+        int traceNum = 2000;
+        for (int i = 0; i < traceNum; i++) {
+            AbstractTracingSpan entrySpan = (AbstractTracingSpan) ContextManager.createEntrySpan("/entry/" + i, null);
+            Assert.assertEquals("/entry/" + i, entrySpan.getOperationName());
+            Assert.assertEquals(0, entrySpan.transform().getTagsCount());
+            Assert.assertEquals(0, entrySpan.transform().getLogsCount());
+            Assert.assertFalse(entrySpan.transform().getIsError());
+            entrySpan.tag(Tags.URL, "127.0.0.1:8080/" + i);
+            entrySpan.errorOccurred();
+            createdSpans.add(entrySpan);
+            ContextManager.stopSpan();
+
+            finishedSegments.remove(0).release();
+        }
+        Assert.assertTrue(createdSpans.size() < traceNum);
+    }
+
+    @Test
+    public void testNoRecycleWhenDeactivated() {
+        Config.Agent.RECYCLE_TRACING_OBJECTS = false;
+        AbstractSpan entrySpan = ContextManager.createEntrySpan("/entry", null);
+        ContextManager.stopSpan();
+
+        TraceSegment segment = finishedSegments.get(0);
+        segment.release();
+        segment.release();
+        Assert.assertEquals(1, segment.getSpans().size());
+        Assert.assertEquals("/entry", entrySpan.getOperationName());
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.util;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
+import org.apache.skywalking.apm.network.trace.component.ComponentsDefine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * A SQL heavy request: 20 statements executed in one entry span, traced the way PreparedStatementTracing does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OperationNameRegistryBenchmark {
+    private static final int STATEMENTS = 20;
+
+    @State(Scope.Benchmark)
+    public static class RequestState {
+        static {
+            // trace without the backend
+            Config.Agent.KEEP_TRACING = true;
+            ServiceManager.INSTANCE.boot();
+        }
+
+        private final String dbType = "Mysql";
+        private final String[] methods = {
+            "executeQuery",
+            "executeUpdate",
+            "execute",
+            "executeBatch"
+        };
+    }
+
+    @Benchmark
+    public Object joined(RequestState state) {
+        ContextManager.createEntrySpan("/orders", null);
+        for (int i = 0; i < STATEMENTS; i++) {
+            String method = state.methods[i & 3];
+            execute(state, state.dbType + "/JDBC/PreparedStatement/" + method);
+        }
+        AbstractSpan entrySpan = ContextManager.activeSpan();
+        ContextManager.stopSpan();
+        return entrySpan;
+    }
+
+    @Benchmark
+    public Object registered(RequestState state) {
+        ContextManager.createEntrySpan("/orders", null);
+        for (int i = 0; i < STATEMENTS; i++) {
+            String method = state.methods[i & 3];
+            execute(state, OperationNameRegistry.get(state.dbType, "/JDBC/PreparedStatement/", method));
+        }
+        AbstractSpan entrySpan = ContextManager.activeSpan();
+        ContextManager.stopSpan();
+        return entrySpan;
+    }
+
+    private static void execute(RequestState state, String operationName) {
+        AbstractSpan span = ContextManager.createExitSpan(operationName, "127.0.0.1:3306");
+        Tags.DB_TYPE.set(span, state.dbType);
+        Tags.DB_INSTANCE.set(span, "orders");
+        Tags.DB_STATEMENT.set(span, "SELECT * FROM orders WHERE id = ?");
+        span.setComponent(ComponentsDefine.MYSQL_JDBC_DRIVER);
+        SpanLayer.asDB(span);
+        ContextManager.stopSpan(span);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder().include(OperationNameRegistryBenchmark.class.getSimpleName())
+                                              .forks(1)
+                                              .warmupIterations(3)
+                                              .measurementIterations(5)
+                                              .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * # JMH version: 1.33
+     * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * Benchmark                                                         Mode  Cnt      Score      Error  Units
+     * OperationNameRegistryBenchmark.joined                             avgt    5  15706.070 ± 3329.064  ns/op
+     * OperationNameRegistryBenchmark.joined:·gc.alloc.rate.norm         avgt    5   7913.034 ±  211.599   B/op
+     * OperationNameRegistryBenchmark.registered                         avgt    5  12558.199 ± 1626.302  ns/op
+     * OperationNameRegistryBenchmark.registered:·gc.alloc.rate.norm     avgt    5   6329.025 ±  219.803   B/op
+     */
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class OperationNameRegistryTest {
+
+    @Test
+    public void testRegisteredNames() {
+        String method = "execute";
+        String name = OperationNameRegistry.get("Mysql", "/JDBC/PreparedStatement/", method);
+        assertEquals("Mysql/JDBC/PreparedStatement/execute", name);
+        assertSame(name, OperationNameRegistry.get("Mysql", "/JDBC/PreparedStatement/", new String(method)));
+        assertEquals("Mysql/JDBC/Statement/execute", OperationNameRegistry.get("Mysql", "/JDBC/Statement/", method));
+
+        String redisName = OperationNameRegistry.get("Jedis/", "get");
+        assertEquals("Jedis/get", redisName);
+        assertSame(redisName, OperationNameRegistry.get("Jedis/", "get"));
+
+        String driverName = OperationNameRegistry.get("Mysql", "/JDBC/", "PreparedStatement", "/", "executeQuery");
+        assertEquals("Mysql/JDBC/PreparedStatement/executeQuery", driverName);
+        assertSame(driverName, OperationNameRegistry.get("Mysql", "/JDBC/", "PreparedStatement", "/", "executeQuery"));
+
+        // the names are still the same after the registry is full, but not kept any more
+        for (int i = 0; i < OperationNameRegistry.MAX_SIZE; i++) {
+            OperationNameRegistry.get("Bounded/", String.valueOf(i));
+        }
+        assertSame(name, OperationNameRegistry.get("Mysql", "/JDBC/PreparedStatement/", method));
+        String unregistered = OperationNameRegistry.get("Unbounded/", "path");
+        assertEquals("Unbounded/path", unregistered);
+        assertNotSame(unregistered, OperationNameRegistry.get("Unbounded/", "path"));
+    }
+
+    @Test
+    public void testNullParts() {
+        assertEquals("Jedis/null", OperationNameRegistry.get("Jedis/", null));
+        assertEquals("null/JDBC/Statement/execute", OperationNameRegistry.get(null, "/JDBC/Statement/", "execute"));
+    }
+}
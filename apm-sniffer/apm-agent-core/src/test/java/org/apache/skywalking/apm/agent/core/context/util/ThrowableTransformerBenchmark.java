@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.util;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Convert exceptions with deep stacks, like the ones thrown through reactive operators, whose causes share most of
+ * their frames.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ThrowableTransformerBenchmark {
+
+    @Param({
+        "50",
+        "400"
+    })
+    public int frames;
+
+    @Param({
+        "2048",
+        "4000"
+    })
+    public int maxLength;
+
+    private Throwable throwable;
+
+    @Setup
+    public void setup() {
+        StackTraceElement[] stackTrace = new StackTraceElement[frames];
+        for (int i = 0; i < frames; i++) {
+            stackTrace[i] = new StackTraceElement(
+                "reactor.core.publisher.FluxMapFuseable$MapFuseableSubscriber" + i % 7, "onNext",
+                "FluxMapFuseable.java", 100 + i
+            );
+        }
+        Throwable rootCause = new IllegalStateException("connection reset");
+        rootCause.setStackTrace(stackTrace);
+        Throwable cause = new RuntimeException("query failed", rootCause);
+        cause.setStackTrace(Arrays.copyOfRange(stackTrace, 2, frames));
+        throwable = new RuntimeException("request failed", cause);
+        throwable.setStackTrace(Arrays.copyOfRange(stackTrace, 5, frames));
+    }
+
+    @Benchmark
+    public String convert2String() {
+        return ThrowableTransformer.INSTANCE.convert2String(throwable, maxLength);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder().include(ThrowableTransformerBenchmark.class.getSimpleName())
+                                              .forks(1)
+                                              .warmupIterations(3)
+                                              .measurementIterations(5)
+                                              .build();
+        new Runner(options).run();
+    }
+
+    /**
+     * # JMH version: 1.33
+     * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * A temporary String per frame, appended into a new StringBuilder
+     * Benchmark                                                        (frames)  (maxLength)  Mode  Cnt      Score      Error  Units
+     * ThrowableTransformerBenchmark.convert2String                           50         2048  avgt    5   5322.363 ± 2408.593  ns/op
+     * ThrowableTransformerBenchmark.convert2String:·gc.alloc.rate.norm       50         2048  avgt    5  27399.804 ±    0.864   B/op
+     * ThrowableTransformerBenchmark.convert2String                           50         4000  avgt    5   9611.200 ± 3319.993  ns/op
+     * ThrowableTransformerBenchmark.convert2String:·gc.alloc.rate.norm       50         4000  avgt    5  53013.904 ±    1.122   B/op
+     * ThrowableTransformerBenchmark.convert2String                          400         2048  avgt    5   5159.316 ± 1391.201  ns/op
+     * ThrowableTransformerBenchmark.convert2String:·gc.alloc.rate.norm      400         2048  avgt    5  28800.993 ±    0.923   B/op
+     * ThrowableTransformerBenchmark.convert2String                          400         4000  avgt    5  11540.696 ± 5110.156  ns/op
+     * ThrowableTransformerBenchmark.convert2String:·gc.alloc.rate.norm      400         4000  avgt    5  54415.238 ±    1.284   B/op
+     *
+     * Frame components appended into the capped buffer of the thread
+     * Benchmark                                                        (frames)  (maxLength)  Mode  Cnt      Score      Error  Units
+     * ThrowableTransformerBenchmark.convert2String                           50         2048  avgt    5   3050.134 ±  639.780  ns/op
+     * ThrowableTransformerBenchmark.convert2String:·gc.alloc.rate.norm       50         2048  avgt    5   2314.097 ±    0.164   B/op
+     * ThrowableTransformerBenchmark.convert2String                           50         4000  avgt    5   4845.731 ±  443.116  ns/op
+     * ThrowableTransformerBenchmark.convert2String:·gc.alloc.rate.norm       50         4000  avgt    5   4291.846 ±    0.271   B/op
+     * ThrowableTransformerBenchmark.convert2String                          400         2048  avgt    5   3961.585 ±  626.569  ns/op
+     * ThrowableTransformerBenchmark.convert2String:·gc.alloc.rate.norm      400         2048  avgt    5   3739.315 ±    0.120   B/op
+     * ThrowableTransformerBenchmark.convert2String                          400         4000  avgt    5   4375.263 ± 2141.728  ns/op
+     * ThrowableTransformerBenchmark.convert2String:·gc.alloc.rate.norm      400         4000  avgt    5   5693.056 ±    0.230   B/op
+     */
+}
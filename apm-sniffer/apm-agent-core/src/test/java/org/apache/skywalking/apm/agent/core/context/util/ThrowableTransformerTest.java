@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.context.util;
+
+import java.util.Arrays;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ThrowableTransformerTest {
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+
+    private static final StackTraceElement[] STACK_TRACE = {
+        new StackTraceElement("org.example.Dao", "query", "Dao.java", 12),
+        new StackTraceElement("org.example.Service", "call", "Service.java", -1),
+        new StackTraceElement("org.example.Native", "invoke", "Native.java", -2),
+        new StackTraceElement("org.example.Generated", "run", null, -1),
+        new StackTraceElement("org.example.Main", "main", "Main.java", 7)
+    };
+
+    @After
+    public void after() {
+        Config.Agent.CAUSE_EXCEPTION_DEPTH = 5;
+        Config.Agent.CAUSE_EXCEPTION_TRIM_COMMON_FRAMES = false;
+    }
+
+    @Test
+    public void testConvert() {
+        Throwable cause = new IllegalStateException();
+        cause.setStackTrace(STACK_TRACE);
+        Throwable throwable = new RuntimeException("request failed", cause);
+        throwable.setStackTrace(Arrays.copyOfRange(STACK_TRACE, 3, 5));
+
+        Assert.assertEquals(
+            lines(
+                "java.lang.RuntimeException: request failed",
+                "at org.example.Generated.run(Unknown Source)",
+                "at org.example.Main.main(Main.java:7)",
+                "java.lang.IllegalStateException",
+                "at org.example.Dao.query(Dao.java:12)",
+                "at org.example.Service.call(Service.java)",
+                "at org.example.Native.invoke(Native Method)",
+                "at org.example.Generated.run(Unknown Source)",
+                "at org.example.Main.main(Main.java:7)"
+            ),
+            ThrowableTransformer.INSTANCE.convert2String(throwable, 4000)
+        );
+    }
+
+    @Test
+    public void testConvertOverriddenToString() {
+        Throwable throwable = new IllegalStateException("request failed") {
+            @Override
+            public String toString() {
+                return "CustomException[code=500]";
+            }
+        };
+        throwable.setStackTrace(Arrays.copyOfRange(STACK_TRACE, 4, 5));
+
+        Assert.assertEquals(
+            lines(
+                "CustomException[code=500]",
+                "at org.example.Main.main(Main.java:7)"
+            ),
+            ThrowableTransformer.INSTANCE.convert2String(throwable, 4000)
+        );
+    }
+
+    @Test
+    public void testTrimCommonFrames() {
+        Config.Agent.CAUSE_EXCEPTION_TRIM_COMMON_FRAMES = true;
+        Throwable cause = new IllegalStateException("connection reset");
+        cause.setStackTrace(STACK_TRACE);
+        Throwable throwable = new RuntimeException(cause);
+        throwable.setStackTrace(Arrays.copyOfRange(STACK_TRACE, 3, 5));
+
+        Assert.assertEquals(
+            lines(
+                "java.lang.RuntimeException: java.lang.IllegalStateException: connection reset",
+                "at org.example.Generated.run(Unknown Source)",
+                "at org.example.Main.main(Main.java:7)",
+                "java.lang.IllegalStateException: connection reset",
+                "at org.example.Dao.query(Dao.java:12)",
+                "at org.example.Service.call(Service.java)",
+                "at org.example.Native.invoke(Native Method)",
+                "... 2 more"
+            ),
+            ThrowableTransformer.INSTANCE.convert2String(throwable, 4000)
+        );
+    }
+
+    @Test
+    public void testMaxLength() {
+        Throwable throwable = new RuntimeException(new IllegalStateException());
+        throwable.setStackTrace(STACK_TRACE);
+        String full = ThrowableTransformer.INSTANCE.convert2String(throwable, 4000);
+
+        for (int maxLength = 0; maxLength < full.length(); maxLength += 7) {
+            Assert.assertEquals(
+                full.substring(0, maxLength), ThrowableTransformer.INSTANCE.convert2String(throwable, maxLength));
+        }
+        Assert.assertEquals(full, ThrowableTransformer.INSTANCE.convert2String(throwable, full.length()));
+    }
+
+    @Test
+    public void testCauseExceptionDepth() {
+        Config.Agent.CAUSE_EXCEPTION_DEPTH = 1;
+        Throwable cause = new IllegalStateException();
+        cause.setStackTrace(STACK_TRACE);
+        Throwable throwable = new RuntimeException("request failed", cause);
+        throwable.setStackTrace(Arrays.copyOfRange(STACK_TRACE, 4, 5));
+
+        Assert.assertEquals(
+            lines("java.lang.RuntimeException: request failed", "at org.example.Main.main(Main.java:7)"),
+            ThrowableTransformer.INSTANCE.convert2String(throwable, 4000)
+        );
+    }
+
+    @Test
+    public void testEmptyStackTrace() {
+        Throwable cause = new IllegalStateException();
+        cause.setStackTrace(STACK_TRACE);
+        Throwable throwable = new RuntimeException("no stack", cause);
+        throwable.setStackTrace(new StackTraceElement[0]);
+
+        Assert.assertEquals(
+            lines("java.lang.RuntimeException: no stack"),
+            ThrowableTransformer.INSTANCE.convert2String(throwable, 4000)
+        );
+    }
+
+    @Test
+    public void testConvertInsideConversion() {
+        Throwable inner = new IllegalStateException("inner");
+        inner.setStackTrace(new StackTraceElement[0]);
+        Throwable throwable = new RuntimeException() {
+            @Override
+            public String getLocalizedMessage() {
+                return ThrowableTransformer.INSTANCE.convert2String(inner, 4000).trim();
+            }
+        };
+        throwable.setStackTrace(Arrays.copyOfRange(STACK_TRACE, 4, 5));
+
+        Assert.assertEquals(
+            lines(
+                throwable.getClass().getName() + ": java.lang.IllegalStateException: inner",
+                "at org.example.Main.main(Main.java:7)"
+            ),
+            ThrowableTransformer.INSTANCE.convert2String(throwable, 4000)
+        );
+    }
+
+    private static String lines(String... lines) {
+        StringBuilder builder = new StringBuilder();
+        for (String line : lines) {
+            builder.append(line).append(LINE_SEPARATOR);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.jvm;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.skywalking.apm.network.language.agent.v3.GC;
+import org.apache.skywalking.apm.network.language.agent.v3.GCPhase;
+import org.apache.skywalking.apm.network.language.agent.v3.JVMMetric;
+import org.apache.skywalking.apm.network.language.agent.v3.MemoryPool;
+import org.apache.skywalking.apm.network.language.agent.v3.PoolType;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JVMMetricsSenderTest {
+
+    @Test
+    public void testSingleMetricUntouched() {
+        List<JVMMetric> metrics = Collections.singletonList(metric(1, 100, 0));
+        Assert.assertSame(metrics, JVMMetricsSender.omitUnchanged(metrics));
+    }
+
+    @Test
+    public void testOmitUnchanged() {
+        List<JVMMetric> result = JVMMetricsSender.omitUnchanged(Arrays.asList(
+            metric(1, 100, 0),
+            metric(2, 100, 0),
+            metric(3, 200, 2),
+            metric(4, 200, 0)
+        ));
+        Assert.assertEquals(4, result.size());
+
+        // the first one keeps everything
+        Assert.assertEquals(metric(1, 100, 0), result.get(0));
+
+        Assert.assertEquals(2, result.get(1).getTime());
+        Assert.assertEquals(0, result.get(1).getMemoryPoolCount());
+        Assert.assertEquals(0, result.get(1).getGcCount());
+
+        Assert.assertEquals(1, result.get(2).getMemoryPoolCount());
+        Assert.assertEquals(200, result.get(2).getMemoryPool(0).getUsed());
+        Assert.assertEquals(1, result.get(2).getGcCount());
+        Assert.assertEquals(2, result.get(2).getGc(0).getCount());
+
+        Assert.assertEquals(0, result.get(3).getMemoryPoolCount());
+        Assert.assertEquals(0, result.get(3).getGcCount());
+    }
+
+    private static JVMMetric metric(long time, long edenUsed, long youngGCCount) {
+        return JVMMetric.newBuilder()
+                        .setTime(time)
+                        .addMemoryPool(MemoryPool.newBuilder().setType(PoolType.NEWGEN_USAGE).setUsed(edenUsed))
+                        .addMemoryPool(MemoryPool.newBuilder().setType(PoolType.OLDGEN_USAGE).setUsed(1000))
+                        .addGc(GC.newBuilder().setPhase(GCPhase.NEW).setCount(youngGCCount).setTime(youngGCCount * 10))
+                        .addGc(GC.newBuilder().setPhase(GCPhase.OLD))
+                        .build();
+    }
+}
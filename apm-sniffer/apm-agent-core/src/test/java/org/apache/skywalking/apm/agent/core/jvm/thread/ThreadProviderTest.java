@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.jvm.thread;
+
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.network.language.agent.v3.Thread;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ThreadProviderTest {
+
+    @After
+    public void tearDown() {
+        Config.Jvm.THREAD_STATE_SAMPLE_SIZE = 0;
+    }
+
+    @Test
+    public void testSampleWindow() {
+        long[] threadIds = new long[] {1, 2, 3, 4, 5};
+        Assert.assertArrayEquals(new long[] {1, 2}, ThreadProvider.sample(threadIds, 0, 2));
+        Assert.assertArrayEquals(new long[] {4, 5}, ThreadProvider.sample(threadIds, 3, 2));
+        Assert.assertArrayEquals(new long[] {5, 1, 2}, ThreadProvider.sample(threadIds, 4, 3));
+    }
+
+    @Test
+    public void testExtrapolate() {
+        Assert.assertEquals(0, ThreadProvider.extrapolate(0, 100, 3000));
+        Assert.assertEquals(750, ThreadProvider.extrapolate(25, 100, 3000));
+        Assert.assertEquals(3000, ThreadProvider.extrapolate(100, 100, 3000));
+        Assert.assertEquals(0, ThreadProvider.extrapolate(0, 0, 3000));
+    }
+
+    @Test
+    public void testSampledThreadMetrics() {
+        Config.Jvm.THREAD_STATE_SAMPLE_SIZE = 1;
+        Thread thread = ThreadProvider.INSTANCE.getThreadMetrics();
+        long stateCount = thread.getRunnableStateThreadCount() + thread.getBlockedStateThreadCount()
+            + thread.getWaitingStateThreadCount() + thread.getTimedWaitingStateThreadCount();
+        // only one thread is read, which stands for all of them
+        Assert.assertTrue(stateCount > 1);
+        Assert.assertTrue(thread.getLiveCount() > 1);
+    }
+}
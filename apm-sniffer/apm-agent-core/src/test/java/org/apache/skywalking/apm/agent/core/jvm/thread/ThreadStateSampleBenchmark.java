@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.jvm.thread;
+
+import java.util.concurrent.CountDownLatch;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collect the thread metrics of a JVM running 3000 more waiting threads, reading all of them or a sample of 256.
+ */
+@State(Scope.Benchmark)
+public class ThreadStateSampleBenchmark {
+    private static final int THREAD_COUNT = 3000;
+
+    @Param({
+        "0",
+        "256"
+    })
+    public int sampleSize;
+
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Config.Jvm.THREAD_STATE_SAMPLE_SIZE = sampleSize;
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            java.lang.Thread thread = new java.lang.Thread(() -> {
+                try {
+                    stopped.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stopped.countDown();
+        Config.Jvm.THREAD_STATE_SAMPLE_SIZE = 0;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void getThreadMetrics(Blackhole bh) {
+        bh.consume(ThreadProvider.INSTANCE.getThreadMetrics());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(ThreadStateSampleBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+
+
+    /**
+     * # JMH version: 1.33
+     * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * Benchmark                                                        (sampleSize)  Mode  Cnt       Score      Error  Units
+     * ThreadStateSampleBenchmark.getThreadMetrics                                 0  avgt    5    2857.892 ±  924.226  us/op
+     * ThreadStateSampleBenchmark.getThreadMetrics:·gc.alloc.rate.norm             0  avgt    5  794257.234 ±  148.530   B/op
+     * ThreadStateSampleBenchmark.getThreadMetrics                               256  avgt    5     352.233 ±   33.859  us/op
+     * ThreadStateSampleBenchmark.getThreadMetrics:·gc.alloc.rate.norm           256  avgt    5  102938.019 ±   16.226   B/op
+     */
+}
@@ -27,6 +27,10 @@ import org.apache.skywalking.apm.agent.core.conf.Constants;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
@@ -73,6 +77,72 @@ public class FileWriterTest {
         assertEquals(3, pathArr.length);
     }
 
+    @Test
+    public void testRolloverWhenLineExceedsMaxSize() throws IOException {
+        final String dir = Config.Logging.DIR;
+        final int maxFileSize = Config.Logging.MAX_FILE_SIZE;
+        Config.Logging.DIR = dir + Constants.PATH_SEPARATOR + "rollover";
+        Config.Logging.MAX_FILE_SIZE = 30;
+        try {
+            FileWriter writer = new FileWriter();
+            for (int i = 0; i < 10; i++) {
+                writer.write("abcdefghij");
+            }
+            writer.flush();
+
+            String[] historyFiles = new File(Config.Logging.DIR).list(new FilenameFilter() {
+                @Override
+                public boolean accept(File dir, String name) {
+                    return !name.equals(Config.Logging.FILE_NAME);
+                }
+            });
+            Arrays.sort(historyFiles);
+            // rolled over by the 3rd line, not at the end of the batch
+            assertEquals(3, readLines(historyFiles[0]).size());
+
+            int total = readLines(Config.Logging.FILE_NAME).size();
+            for (String historyFile : historyFiles) {
+                total += readLines(historyFile).size();
+            }
+            assertEquals(10, total);
+        } finally {
+            Config.Logging.DIR = dir;
+            Config.Logging.MAX_FILE_SIZE = maxFileSize;
+        }
+    }
+
+    @Test
+    public void testWriteDroppedCount() throws IOException {
+        final String dir = Config.Logging.DIR;
+        final int maxFileSize = Config.Logging.MAX_FILE_SIZE;
+        Config.Logging.DIR = dir + Constants.PATH_SEPARATOR + "dropped";
+        Config.Logging.MAX_FILE_SIZE = 300 * 1024 * 1024;
+        try {
+            FileWriter writer = new FileWriter();
+            for (int i = 0; i < 1030; i++) {
+                writer.write("line-" + i);
+            }
+            writer.flush();
+            writer.write("line-after");
+            writer.flush();
+
+            List<String> lines = readLines(Config.Logging.FILE_NAME);
+            assertEquals(1 + 1024 + 1, lines.size());
+            assertEquals("WARN 6 log lines were dropped, because the log buffer was full.", lines.get(0));
+            assertEquals("line-0", lines.get(1));
+            assertEquals("line-1023", lines.get(1024));
+            assertEquals("line-after", lines.get(1025));
+            assertEquals(1, new File(Config.Logging.DIR).list().length);
+        } finally {
+            Config.Logging.DIR = dir;
+            Config.Logging.MAX_FILE_SIZE = maxFileSize;
+        }
+    }
+
+    private static List<String> readLines(String fileName) throws IOException {
+        return Files.readAllLines(new File(Config.Logging.DIR, fileName).toPath(), Charset.defaultCharset());
+    }
+
     @AfterClass
     public static void clear() {
         Config.Logging.MAX_FILE_SIZE = 300 * 1024 * 1024;
@@ -22,6 +22,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.util.FieldGetter;
 import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
 import org.apache.skywalking.apm.network.language.agent.v3.Label;
@@ -85,6 +86,22 @@ public class CounterTest {
         validateMeterData("test", Arrays.asList(Label.newBuilder().setName("k1").setValue("v1").build()), -1d, counter.transform());
     }
 
+    @Test
+    public void testReportChangedOnly() {
+        Config.Meter.REPORT_CHANGED_ONLY = true;
+        try {
+            final Counter counter = MeterFactory.counter("test").tag("k1", "v1").mode(CounterMode.RATE).build();
+            counter.increment(2d);
+            validateMeterData("test", Arrays.asList(Label.newBuilder().setName("k1").setValue("v1").build()), 2d, counter.transform());
+            Assert.assertNull(counter.transform());
+
+            counter.increment(1d);
+            validateMeterData("test", Arrays.asList(Label.newBuilder().setName("k1").setValue("v1").build()), 1d, counter.transform());
+        } finally {
+            Config.Meter.REPORT_CHANGED_ONLY = false;
+        }
+    }
+
     /**
      * Check the single value message
      */
@@ -20,8 +20,10 @@ package org.apache.skywalking.apm.agent.core.meter;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
 import org.apache.skywalking.apm.agent.core.context.util.FieldGetter;
 import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
 import org.apache.skywalking.apm.network.language.agent.v3.Label;
@@ -80,6 +82,73 @@ public class HistogramTest {
         verifyHistogram("test", labels, Arrays.asList(1d, 2d, 5d), Arrays.asList(1L, 2L, 2L), histogram.transform());
     }
 
+    @Test
+    public void testBucketOfStepLayouts() {
+        // linear, binary exponential, exponential and custom steps
+        verifyBucketOfValues(Arrays.asList(0d, 10d, 20d, 30d, 40d, 50d));
+        verifyBucketOfValues(Arrays.asList(0.1d, 0.2d, 0.3d, 0.4d, 0.5d, 0.6d, 0.7d));
+        verifyBucketOfValues(Arrays.asList(0d, 1d, 2d, 4d, 8d, 16d, 32d, 64d));
+        verifyBucketOfValues(Arrays.asList(-5d, 0.5d, 5d, 50d, 500d, 5000d));
+        verifyBucketOfValues(Arrays.asList(1d, 5d, 10d, 50d, 100d, 250d, 1000d));
+    }
+
+    @Test
+    public void testReportChangedOnly() {
+        Config.Meter.REPORT_CHANGED_ONLY = true;
+        try {
+            final List<Label> labels = Arrays.asList(Label.newBuilder().setName("k1").setValue("v1").build());
+            final Histogram histogram = MeterFactory.histogram("test")
+                                                    .steps(Arrays.asList(2d, 5d))
+                                                    .minValue(1d)
+                                                    .tag("k1", "v1")
+                                                    .build();
+            Assert.assertNull(histogram.transform());
+
+            histogram.addValue(1);
+            histogram.addValue(7);
+            verifyHistogram(
+                "test", labels, Arrays.asList(1d, 2d, 5d), Arrays.asList(1L, 0L, 1L), histogram.transform());
+            Assert.assertNull(histogram.transform());
+
+            histogram.addValue(9);
+            verifyHistogram(
+                "test", labels, Arrays.asList(1d, 2d, 5d), Arrays.asList(1L, 0L, 2L), histogram.transform());
+        } finally {
+            Config.Meter.REPORT_CHANGED_ONLY = false;
+        }
+    }
+
+    /**
+     * Add values around every step, and check them against the buckets found by a linear scan.
+     */
+    private static void verifyBucketOfValues(List<Double> steps) {
+        final Histogram histogram = new Histogram(
+            new MeterId("test", MeterType.HISTOGRAM, Arrays.asList()), steps);
+        final long[] expected = new long[steps.size()];
+        final Random random = new Random(0);
+        final double first = steps.get(0);
+        final double last = steps.get(steps.size() - 1);
+        for (int i = 0; i < 10000; i++) {
+            double value;
+            if (i < steps.size() * 3) {
+                double step = steps.get(i / 3);
+                value = i % 3 == 0 ? Math.nextDown(step) : i % 3 == 1 ? step : Math.nextUp(step);
+            } else {
+                value = first + (last - first) * 1.2 * random.nextDouble() - (last - first) * 0.1;
+            }
+            histogram.addValue(value);
+            for (int bucket = steps.size() - 1; bucket >= 0; bucket--) {
+                if (value >= steps.get(bucket)) {
+                    expected[bucket]++;
+                    break;
+                }
+            }
+        }
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals("bucket " + steps.get(i), expected[i], histogram.buckets[i].count.sum());
+        }
+    }
+
     /**
      * Check histogram message
      */
@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.meter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.util.FieldGetter;
+import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.network.language.agent.v3.Label;
+import org.apache.skywalking.apm.network.language.agent.v3.MeterBucketValue;
+import org.apache.skywalking.apm.network.language.agent.v3.MeterData;
+import org.apache.skywalking.apm.network.language.agent.v3.MeterHistogram;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class PercentileTest {
+    @Rule
+    public AgentServiceRule agentServiceRule = new AgentServiceRule();
+
+    @AfterClass
+    public static void afterClass() {
+        ServiceManager.INSTANCE.shutdown();
+    }
+
+    @After
+    public void after() throws IllegalAccessException, NoSuchFieldException {
+        final MeterService meterService = ServiceManager.INSTANCE.findService(MeterService.class);
+        ((ConcurrentHashMap<MeterId, BaseMeter>) FieldGetter.getValue(meterService, "meterMap")).clear();
+    }
+
+    @Test
+    public void testRelativeAccuracy() {
+        final Percentile percentile = MeterFactory.percentile("test").relativeAccuracy(0.01).minValue(1e-6).maxBuckets(4096).build();
+        final Random random = new Random(0);
+        final double[] values = new double[100000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 3);
+            percentile.addValue(values[i]);
+        }
+        Arrays.sort(values);
+
+        Assert.assertEquals(values.length, percentile.getCount());
+        for (double p : new double[] {1, 25, 50, 75, 90, 99, 99.9, 100}) {
+            double expected = values[(int) Math.ceil(p / 100 * values.length) - 1];
+            double actual = percentile.getValueAtPercentile(p);
+            Assert.assertEquals("p" + p, expected, actual, expected * 0.01);
+        }
+    }
+
+    @Test
+    public void testOutOfRange() {
+        final Percentile percentile = MeterFactory.percentile("test").relativeAccuracy(0.01).minValue(1).maxBuckets(10).build();
+        Assert.assertTrue(Double.isNaN(percentile.getValueAtPercentile(50)));
+
+        percentile.addValue(0);
+        percentile.addValue(-3);
+        percentile.addValue(Double.NaN);
+        percentile.addValue(1e9);
+        percentile.addValue(Double.POSITIVE_INFINITY);
+        Assert.assertEquals(4, percentile.getCount());
+        Assert.assertEquals(0, percentile.getValueAtPercentile(50), 0.0);
+        // the values above the last bucket are counted in it
+        final double last = percentile.getValueAtPercentile(100);
+        Assert.assertTrue(last > 1 && last < 1.3);
+    }
+
+    @Test
+    public void testTransform() {
+        final List<Label> labels = Arrays.asList(Label.newBuilder().setName("k1").setValue("v1").build());
+        final Percentile percentile = MeterFactory.percentile("test").tag("k1", "v1").build();
+        percentile.addValue(0);
+        percentile.addValue(1);
+        percentile.addValue(10);
+        percentile.addValue(10);
+        percentile.addValue(1000);
+
+        final MeterData.Builder data = percentile.transform();
+        Assert.assertEquals(MeterData.HISTOGRAM_FIELD_NUMBER, data.getMetricCase().getNumber());
+        final MeterHistogram histogram = data.getHistogram();
+        Assert.assertEquals("test", histogram.getName());
+        Assert.assertEquals(labels, histogram.getLabelsList());
+        // the underflow bucket and all the 64 buckets
+        Assert.assertEquals(65, histogram.getValuesCount());
+        // the underflow bucket doesn't overlap the first one starting from the min value
+        Assert.assertTrue(histogram.getValues(0).getIsNegativeInfinity());
+        Assert.assertEquals(1, histogram.getValues(1).getBucket(), 0);
+        for (int i = 2; i < histogram.getValuesCount(); i++) {
+            Assert.assertTrue(histogram.getValues(i).getBucket() > histogram.getValues(i - 1).getBucket());
+        }
+        final List<MeterBucketValue> nonEmpty = histogram.getValuesList()
+                                                         .stream()
+                                                         .filter(value -> value.getCount() > 0)
+                                                         .collect(Collectors.toList());
+        Assert.assertEquals(4, nonEmpty.size());
+        Assert.assertTrue(nonEmpty.get(0).getIsNegativeInfinity());
+        Assert.assertEquals(1, nonEmpty.get(0).getCount());
+        verifyBucket(nonEmpty.get(1), 1, 1);
+        verifyBucket(nonEmpty.get(2), 10, 2);
+        verifyBucket(nonEmpty.get(3), 1000, 1);
+
+        // the bucket layout doesn't change with the values
+        percentile.addValue(1e9);
+        final MeterHistogram next = percentile.transform().getHistogram();
+        Assert.assertEquals(histogram.getValuesCount(), next.getValuesCount());
+        for (int i = 0; i < histogram.getValuesCount(); i++) {
+            Assert.assertEquals(histogram.getValues(i).getBucket(), next.getValues(i).getBucket(), 0);
+            Assert.assertEquals(
+                histogram.getValues(i).getIsNegativeInfinity(), next.getValues(i).getIsNegativeInfinity());
+        }
+    }
+
+    @Test
+    public void testReportChangedOnly() {
+        Config.Meter.REPORT_CHANGED_ONLY = true;
+        try {
+            final Percentile percentile = MeterFactory.percentile("test").build();
+            Assert.assertNull(percentile.transform());
+            percentile.addValue(5);
+            Assert.assertNotNull(percentile.transform());
+            Assert.assertNull(percentile.transform());
+        } finally {
+            Config.Meter.REPORT_CHANGED_ONLY = false;
+        }
+    }
+
+    @Test
+    public void testMerge() {
+        final Percentile percentile = new Percentile(
+            new MeterId("test1", MeterType.PERCENTILE, Arrays.asList()), 0.01, 0.001, 2048);
+        final Percentile other = new Percentile(
+            new MeterId("test2", MeterType.PERCENTILE, Arrays.asList()), 0.01, 0.001, 2048);
+        for (int i = 1; i <= 100; i++) {
+            (i % 2 == 0 ? percentile : other).addValue(i);
+        }
+        other.addValue(0);
+
+        percentile.merge(other);
+        Assert.assertEquals(101, percentile.getCount());
+        Assert.assertEquals(50, percentile.getValueAtPercentile(50), 0.5);
+        Assert.assertEquals(100, percentile.getValueAtPercentile(100), 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeDifferentBuckets() {
+        new Percentile(new MeterId("test1", MeterType.PERCENTILE, Arrays.asList()), 0.01, 0.001, 2048).merge(
+            new Percentile(new MeterId("test2", MeterType.PERCENTILE, Arrays.asList()), 0.02, 0.001, 2048));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeDifferentMinValue() {
+        new Percentile(new MeterId("test1", MeterType.PERCENTILE, Arrays.asList()), 0.01, 0.001, 2048).merge(
+            new Percentile(new MeterId("test2", MeterType.PERCENTILE, Arrays.asList()), 0.01, 0.00100001, 2048));
+    }
+
+    /**
+     * The bucket of the value starts from its lower bound, within the default relative accuracy below the value
+     */
+    private static void verifyBucket(MeterBucketValue bucketValue, double value, long count) {
+        Assert.assertEquals(count, bucketValue.getCount());
+        Assert.assertTrue(bucketValue.getBucket() <= value);
+        Assert.assertTrue(bucketValue.getBucket() > value / 1.25);
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.bytebuddy.description.NamedElement;
+import net.bytebuddy.description.annotation.AnnotationDescription;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.description.type.TypeList;
+import net.bytebuddy.dynamic.scaffold.InstrumentedType;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.skywalking.apm.agent.core.plugin.bytebuddy.AbstractJunction;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassAnnotationMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.HierarchyMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.IndirectMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.MethodAnnotationMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.MultiClassNameMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.NameMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.PrefixMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.ProtectiveShieldMatcher;
+import org.apache.skywalking.apm.agent.core.plugin.match.RegexMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.logical.LogicalMatchOperation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static net.bytebuddy.matcher.ElementMatchers.isInterface;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+
+/**
+ * Match the types of a synthetic 50k classes application against a plugin set shaped like the bundled plugins: 450
+ * name matches, 43 hierarchy matches, 38 multiple class names matches, 12 logical matches, 10 class annotation matches,
+ * 4 prefix matches, 3 method annotation matches and 1 regex match. Every type goes through the type matcher, and the
+ * matched ones through {@link PluginFinder#find(TypeDescription)}, as the agent builder does at startup. The indexed
+ * {@link PluginFinder} is compared with the former one checking every indirect match one by one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PluginFinderBenchmark {
+    private static final int TYPE_SIZE = 50000;
+    private static final String APP_PACKAGE = "com.example.app.";
+    private static final String LIBRARY_PACKAGE = "org.example.lib";
+
+    @Param({
+        "linear",
+        "indexed"
+    })
+    public String finder;
+
+    private final List<TypeDescription> types = new ArrayList<>(TYPE_SIZE);
+    private ElementMatcher<? super TypeDescription> matcher;
+    private Finder find;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0);
+        final TypeDescription.Generic object = TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Object.class);
+        final List<TypeDescription> interfaces = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            interfaces.add(InstrumentedType.Default.of(
+                LIBRARY_PACKAGE + i % 20 + ".Interface" + i, null, Opcodes.ACC_PUBLIC | Opcodes.ACC_INTERFACE));
+        }
+        final List<TypeDescription> annotations = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            annotations.add(InstrumentedType.Default.of(
+                LIBRARY_PACKAGE + i + ".Annotation" + i, null,
+                Opcodes.ACC_PUBLIC | Opcodes.ACC_INTERFACE | Opcodes.ACC_ABSTRACT | Opcodes.ACC_ANNOTATION
+            ));
+        }
+        final List<TypeDescription.Generic> superClasses = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            superClasses.add(InstrumentedType.Default.of(LIBRARY_PACKAGE + i % 20 + ".Base" + i, object, Opcodes.ACC_PUBLIC)
+                                                     .withInterfaces(new TypeList.Generic.Explicit(
+                                                         interfaces.get(random.nextInt(interfaces.size()))))
+                                                     .asGenericType());
+        }
+        for (int i = 0; i < TYPE_SIZE; i++) {
+            InstrumentedType type = InstrumentedType.Default.of(
+                APP_PACKAGE + "module" + i % 200 + ".Type" + i,
+                random.nextInt(4) == 0 ? superClasses.get(random.nextInt(superClasses.size())) : object,
+                Opcodes.ACC_PUBLIC
+            );
+            int interfaceCount = random.nextInt(3);
+            for (int j = 0; j < interfaceCount; j++) {
+                type = type.withInterfaces(new TypeList.Generic.Explicit(interfaces.get(random.nextInt(interfaces.size()))));
+            }
+            if (random.nextInt(10) == 0) {
+                type = type.withAnnotations(Collections.singletonList(
+                    AnnotationDescription.Builder.ofType(annotations.get(random.nextInt(annotations.size()))).build()));
+            }
+            types.add(type);
+        }
+
+        final List<AbstractClassEnhancePluginDefine> plugins = new ArrayList<>();
+        for (int i = 0; i < 450; i++) {
+            plugins.add(new PluginFinderTest.MatchPlugin(NameMatch.byName(LIBRARY_PACKAGE + i % 20 + ".Client" + i)));
+        }
+        for (int i = 0; i < 43; i++) {
+            plugins.add(new PluginFinderTest.MatchPlugin(HierarchyMatch.byHierarchyMatch(
+                interfaces.get(i * 2).getName())));
+        }
+        for (int i = 0; i < 38; i++) {
+            plugins.add(new PluginFinderTest.MatchPlugin(MultiClassNameMatch.byMultiClassMatch(
+                LIBRARY_PACKAGE + i + ".Impl", LIBRARY_PACKAGE + i + ".OtherImpl")));
+        }
+        for (int i = 0; i < 12; i++) {
+            plugins.add(new PluginFinderTest.MatchPlugin(LogicalMatchOperation.and(
+                PrefixMatch.nameStartsWith(LIBRARY_PACKAGE + i + "."),
+                HierarchyMatch.byHierarchyMatch(interfaces.get(i * 3).getName())
+            )));
+        }
+        for (int i = 0; i < 10; i++) {
+            plugins.add(new PluginFinderTest.MatchPlugin(ClassAnnotationMatch.byClassAnnotationMatch(
+                annotations.get(i).getName())));
+        }
+        for (int i = 0; i < 4; i++) {
+            plugins.add(new PluginFinderTest.MatchPlugin(PrefixMatch.nameStartsWith(APP_PACKAGE + "module1" + i)));
+        }
+        for (int i = 0; i < 3; i++) {
+            plugins.add(new PluginFinderTest.MatchPlugin(MethodAnnotationMatch.byMethodAnnotationMatch(
+                annotations.get(10 + i).getName())));
+        }
+        plugins.add(new PluginFinderTest.MatchPlugin(RegexMatch.byRegexMatch("org\\.example\\.lib[0-9]+\\.Proxy.*")));
+
+        if ("linear".equals(finder)) {
+            LinearPluginFinder linearPluginFinder = new LinearPluginFinder(plugins);
+            matcher = linearPluginFinder.buildMatch();
+            find = linearPluginFinder::find;
+        } else {
+            PluginFinder pluginFinder = new PluginFinder(plugins);
+            matcher = pluginFinder.buildMatch();
+            find = pluginFinder::find;
+        }
+    }
+
+    @Benchmark
+    public int matchApplication() {
+        int enhanced = 0;
+        for (TypeDescription type : types) {
+            if (matcher.matches(type)) {
+                enhanced += find.find(type).size();
+            }
+        }
+        return enhanced;
+    }
+
+    private interface Finder {
+        List<AbstractClassEnhancePluginDefine> find(TypeDescription typeDescription);
+    }
+
+    /**
+     * The former {@link PluginFinder}, checking every indirect match one by one.
+     */
+    private static class LinearPluginFinder {
+        private final Map<String, List<AbstractClassEnhancePluginDefine>> nameMatchDefine = new HashMap<>();
+        private final List<AbstractClassEnhancePluginDefine> signatureMatchDefine = new ArrayList<>();
+
+        LinearPluginFinder(List<AbstractClassEnhancePluginDefine> plugins) {
+            for (AbstractClassEnhancePluginDefine plugin : plugins) {
+                ClassMatch match = plugin.enhanceClass();
+                if (match instanceof NameMatch) {
+                    nameMatchDefine.computeIfAbsent(((NameMatch) match).getClassName(), k -> new LinkedList<>())
+                                   .add(plugin);
+                } else {
+                    signatureMatchDefine.add(plugin);
+                }
+            }
+        }
+
+        List<AbstractClassEnhancePluginDefine> find(TypeDescription typeDescription) {
+            List<AbstractClassEnhancePluginDefine> matchedPlugins = new LinkedList<>();
+            String typeName = typeDescription.getTypeName();
+            if (nameMatchDefine.containsKey(typeName)) {
+                matchedPlugins.addAll(nameMatchDefine.get(typeName));
+            }
+            for (AbstractClassEnhancePluginDefine pluginDefine : signatureMatchDefine) {
+                IndirectMatch match = (IndirectMatch) pluginDefine.enhanceClass();
+                if (match.isMatch(typeDescription)) {
+                    matchedPlugins.add(pluginDefine);
+                }
+            }
+            return matchedPlugins;
+        }
+
+        ElementMatcher<? super TypeDescription> buildMatch() {
+            ElementMatcher.Junction judge = new AbstractJunction<NamedElement>() {
+                @Override
+                public boolean matches(NamedElement target) {
+                    return nameMatchDefine.containsKey(target.getActualName());
+                }
+
+                @Override
+                public String toString() {
+                    return "nameMatchDefine";
+                }
+            };
+            for (AbstractClassEnhancePluginDefine define : signatureMatchDefine) {
+                judge = judge.or(((IndirectMatch) define.enhanceClass()).buildJunction());
+            }
+            judge = not(isInterface()).and(judge);
+            return new ProtectiveShieldMatcher(judge);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(PluginFinderBenchmark.class.getSimpleName())
+                                          .addProfiler(GCProfiler.class)
+                                          .forks(1)
+                                          .warmupIterations(3)
+                                          .measurementIterations(5)
+                                          .build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * # JMH version: 1.33
+     * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * Benchmark                                                    (finder)  Mode  Cnt           Score        Error  Units
+     * PluginFinderBenchmark.matchApplication                         linear  avgt    5        4574.520 ±    815.880  ms/op
+     * PluginFinderBenchmark.matchApplication:·gc.alloc.rate.norm     linear  avgt    5  2733999097.600 ±  42892.202   B/op
+     * PluginFinderBenchmark.matchApplication:·gc.count               linear  avgt    5         521.000              counts
+     * PluginFinderBenchmark.matchApplication:·gc.time                linear  avgt    5         182.000                  ms
+     * PluginFinderBenchmark.matchApplication                        indexed  avgt    5         234.945 ±     95.357  ms/op
+     * PluginFinderBenchmark.matchApplication:·gc.alloc.rate.norm    indexed  avgt    5   213051437.569 ±  18979.919   B/op
+     * PluginFinderBenchmark.matchApplication:·gc.count              indexed  avgt    5         373.000              counts
+     * PluginFinderBenchmark.matchApplication:·gc.time               indexed  avgt    5         130.000                  ms
+     */
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.ConstructorInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.InstanceMethodsInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.ClassInstanceMethodsEnhancePluginDefine;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassAnnotationMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.HierarchyMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.IndirectMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.MultiClassNameMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.NameMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.PrefixMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.RegexMatch;
+import org.apache.skywalking.apm.agent.core.plugin.match.logical.LogicalMatchOperation;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PluginFinderTest {
+    private static final String TEST_NAME = PluginFinderTest.class.getName();
+
+    private final List<AbstractClassEnhancePluginDefine> plugins = Arrays.asList(
+        new MatchPlugin(NameMatch.byName(TEST_NAME + "$SubService")),
+        new MatchPlugin(HierarchyMatch.byHierarchyMatch(TEST_NAME + "$Marker")),
+        new MatchPlugin(PrefixMatch.nameStartsWith(TEST_NAME + "$S")),
+        new MatchPlugin(HierarchyMatch.byHierarchyMatch(Runnable.class.getName(), TEST_NAME + "$Marker")),
+        new MatchPlugin(ClassAnnotationMatch.byClassAnnotationMatch(TEST_NAME + "$Traced")),
+        new MatchPlugin(MultiClassNameMatch.byMultiClassMatch(TEST_NAME + "$BaseService", "java.lang.String")),
+        new MatchPlugin(RegexMatch.byRegexMatch(".*Annotated.*")),
+        new MatchPlugin(PrefixMatch.nameStartsWith("org.apache.", "org.apache.skywalking.", TEST_NAME + "$BaseService")),
+        new MatchPlugin(LogicalMatchOperation.and(
+            PrefixMatch.nameStartsWith(TEST_NAME), HierarchyMatch.byHierarchyMatch(Runnable.class.getName())))
+    );
+
+    @Test
+    public void testFindAsLinearMatching() {
+        final PluginFinder finder = new PluginFinder(plugins);
+        final ElementMatcher<? super TypeDescription> matcher = finder.buildMatch();
+        for (Class<?> type : Arrays.asList(
+            BaseService.class, SubService.class, AnnotatedService.class, Marker.class, String.class, Object.class)) {
+            final TypeDescription typeDescription = TypeDescription.ForLoadedType.of(type);
+            final List<AbstractClassEnhancePluginDefine> expected = findLinearly(typeDescription);
+            Assert.assertEquals(type.getName(), expected, finder.find(typeDescription));
+            Assert.assertEquals(type.getName(), !expected.isEmpty() && !type.isInterface(),
+                                matcher.matches(typeDescription)
+            );
+        }
+    }
+
+    @Test
+    public void testFindInOrder() {
+        final PluginFinder finder = new PluginFinder(plugins);
+        Assert.assertEquals(
+            Arrays.asList(plugins.get(0), plugins.get(1), plugins.get(2), plugins.get(3), plugins.get(7), plugins.get(8)),
+            finder.find(TypeDescription.ForLoadedType.of(SubService.class))
+        );
+        Assert.assertEquals(
+            Arrays.asList(plugins.get(4), plugins.get(6), plugins.get(7)),
+            finder.find(TypeDescription.ForLoadedType.of(AnnotatedService.class))
+        );
+    }
+
+    /**
+     * The former way, checking every plugin one by one
+     */
+    private List<AbstractClassEnhancePluginDefine> findLinearly(TypeDescription typeDescription) {
+        final List<AbstractClassEnhancePluginDefine> matched = new ArrayList<>();
+        for (AbstractClassEnhancePluginDefine plugin : plugins) {
+            ClassMatch match = plugin.enhanceClass();
+            if (match instanceof NameMatch && ((NameMatch) match).getClassName().equals(typeDescription.getTypeName())) {
+                matched.add(plugin);
+            }
+        }
+        for (AbstractClassEnhancePluginDefine plugin : plugins) {
+            ClassMatch match = plugin.enhanceClass();
+            if (match instanceof IndirectMatch && ((IndirectMatch) match).isMatch(typeDescription)) {
+                matched.add(plugin);
+            }
+        }
+        return matched;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Traced {
+    }
+
+    public interface Marker {
+    }
+
+    public static class BaseService implements Marker {
+    }
+
+    public static class SubService extends BaseService implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+
+    @Traced
+    public static class AnnotatedService {
+    }
+
+    static class MatchPlugin extends ClassInstanceMethodsEnhancePluginDefine {
+        private final ClassMatch match;
+
+        MatchPlugin(ClassMatch match) {
+            this.match = match;
+        }
+
+        @Override
+        protected ClassMatch enhanceClass() {
+            return match;
+        }
+
+        @Override
+        public ConstructorInterceptPoint[] getConstructorsInterceptPoints() {
+            return new ConstructorInterceptPoint[0];
+        }
+
+        @Override
+        public InstanceMethodsInterceptPoint[] getInstanceMethodsInterceptPoints() {
+            return new InstanceMethodsInterceptPoint[0];
+        }
+    }
+}
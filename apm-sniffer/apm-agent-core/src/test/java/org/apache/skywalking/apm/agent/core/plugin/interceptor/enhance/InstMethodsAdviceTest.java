@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.matcher.ElementMatcher;
+import org.apache.skywalking.apm.agent.core.plugin.AbstractClassEnhancePluginDefine;
+import org.apache.skywalking.apm.agent.core.plugin.EnhanceContext;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.ConstructorInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.InstanceMethodsInterceptPoint;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.v2.ClassInstanceMethodsEnhancePluginDefineV2;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.v2.InstanceMethodsAroundInterceptorV2;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.v2.MethodInvocationContext;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.v2.InstanceMethodsInterceptV2Point;
+import org.apache.skywalking.apm.agent.core.plugin.match.ClassMatch;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static net.bytebuddy.matcher.ElementMatchers.any;
+import static net.bytebuddy.matcher.ElementMatchers.named;
+import static net.bytebuddy.matcher.ElementMatchers.not;
+
+public class InstMethodsAdviceTest {
+    private static final List<String> RECORDS = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        RECORDS.clear();
+    }
+
+    @Test
+    public void testInlinedInterceptor() throws Exception {
+        Target target = enhance(new AbstractClassEnhancePluginDefine[] {
+            new InlinedDefine()
+        });
+        Assert.assertTrue(target instanceof EnhancedInstance);
+
+        Assert.assertEquals("hello, sky!", target.greet("sky"));
+        Assert.assertEquals(42L, target.skip());
+        target.touch();
+        try {
+            target.fail();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("fail", e.getMessage());
+        }
+
+        Assert.assertEquals(9, RECORDS.size());
+        Assert.assertEquals("before greet [class java.lang.String] [sky]", RECORDS.get(0));
+        Assert.assertEquals("after greet hello, sky", RECORDS.get(1));
+        Assert.assertEquals("before skip [] []", RECORDS.get(2));
+        Assert.assertEquals("after skip 42", RECORDS.get(3));
+        Assert.assertEquals("before touch [] []", RECORDS.get(4));
+        Assert.assertEquals("after touch null", RECORDS.get(5));
+        Assert.assertEquals("before fail [] []", RECORDS.get(6));
+        Assert.assertEquals("exception fail fail", RECORDS.get(7));
+        Assert.assertEquals("after fail 0", RECORDS.get(8));
+    }
+
+    @Test
+    public void testInlinedInterceptorV2() throws Exception {
+        Target target = enhance(new AbstractClassEnhancePluginDefine[] {
+            new InlinedDefineV2()
+        });
+
+        Assert.assertEquals("hello, sky!", target.greet("sky"));
+        Assert.assertEquals(42L, target.skip());
+
+        Assert.assertEquals(4, RECORDS.size());
+        Assert.assertEquals("before greet [class java.lang.String] [sky]", RECORDS.get(0));
+        Assert.assertEquals("after greet hello, sky context of greet", RECORDS.get(1));
+        Assert.assertEquals("before skip [] []", RECORDS.get(2));
+        Assert.assertEquals("after skip 42 context of skip", RECORDS.get(3));
+    }
+
+    @Test
+    public void testFailedInterceptor() throws Exception {
+        Target target = enhance(new AbstractClassEnhancePluginDefine[] {
+            new FailedDefine()
+        });
+
+        Assert.assertEquals("hello, sky", target.greet("sky"));
+        target.touch();
+    }
+
+    private static Target enhance(AbstractClassEnhancePluginDefine[] defines) throws Exception {
+        DynamicType.Builder<?> builder = new ByteBuddy().rebase(TargetImpl.class)
+                                                        .name(TargetImpl.class.getName() + "$" + defines[0].getClass().getSimpleName());
+        EnhanceContext context = new EnhanceContext();
+        for (AbstractClassEnhancePluginDefine define : defines) {
+            builder = define.define(builder.toTypeDescription(), builder, InstMethodsAdviceTest.class.getClassLoader(), context);
+        }
+        Class<?> type = builder.make()
+                               .load(InstMethodsAdviceTest.class.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                               .getLoaded();
+        return (Target) type.getDeclaredConstructor().newInstance();
+    }
+
+    private static String format(Class<?>[] types) {
+        List<String> names = new ArrayList<>();
+        for (Class<?> type : types) {
+            names.add(type.toString());
+        }
+        return names.toString();
+    }
+
+    private static String format(Object[] arguments) {
+        List<String> values = new ArrayList<>();
+        for (Object argument : arguments) {
+            values.add(String.valueOf(argument));
+        }
+        return values.toString();
+    }
+
+    public interface Target {
+        String greet(String name);
+
+        long skip();
+
+        void touch();
+
+        int fail();
+    }
+
+    public static class TargetImpl implements Target {
+        @Override
+        public String greet(String name) {
+            return "hello, " + name;
+        }
+
+        @Override
+        public long skip() {
+            return 0L;
+        }
+
+        @Override
+        public void touch() {
+        }
+
+        @Override
+        public int fail() {
+            throw new IllegalStateException("fail");
+        }
+    }
+
+    public static class RecordInterceptor implements InstanceMethodsAroundInterceptor {
+        @Override
+        public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                 Class<?>[] argumentsTypes, MethodInterceptResult result) {
+            RECORDS.add("before " + method.getName() + " " + format(argumentsTypes) + " " + format(allArguments));
+            if (method.getName().equals("skip")) {
+                result.defineReturnValue(42L);
+            }
+        }
+
+        @Override
+        public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                  Class<?>[] argumentsTypes, Object ret) {
+            RECORDS.add("after " + method.getName() + " " + (method.getName().equals("fail") ? allArguments.length : ret));
+            return method.getName().equals("greet") ? ret + "!" : ret;
+        }
+
+        @Override
+        public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                          Class<?>[] argumentsTypes, Throwable t) {
+            RECORDS.add("exception " + method.getName() + " " + t.getMessage());
+        }
+    }
+
+    public static class RecordInterceptorV2 implements InstanceMethodsAroundInterceptorV2 {
+        @Override
+        public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                 Class<?>[] argumentsTypes, MethodInvocationContext context) {
+            RECORDS.add("before " + method.getName() + " " + format(argumentsTypes) + " " + format(allArguments));
+            context.setContext("context of " + method.getName());
+            if (method.getName().equals("skip")) {
+                context.defineReturnValue(42L);
+            }
+        }
+
+        @Override
+        public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                  Class<?>[] argumentsTypes, Object ret, MethodInvocationContext context) {
+            RECORDS.add("after " + method.getName() + " " + ret + " " + context.getContext());
+            return method.getName().equals("greet") ? ret + "!" : ret;
+        }
+
+        @Override
+        public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                          Class<?>[] argumentsTypes, Throwable t, MethodInvocationContext context) {
+            RECORDS.add("exception " + method.getName() + " " + t.getMessage());
+        }
+    }
+
+    public static class FailedInterceptor implements InstanceMethodsAroundInterceptor {
+        @Override
+        public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                 Class<?>[] argumentsTypes, MethodInterceptResult result) {
+            throw new IllegalStateException("before");
+        }
+
+        @Override
+        public Object afterMethod(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                  Class<?>[] argumentsTypes, Object ret) {
+            throw new IllegalStateException("after");
+        }
+
+        @Override
+        public void handleMethodException(EnhancedInstance objInst, Method method, Object[] allArguments,
+                                          Class<?>[] argumentsTypes, Throwable t) {
+            throw new IllegalStateException("exception");
+        }
+    }
+
+    public static class InlinedDefine extends ClassInstanceMethodsEnhancePluginDefine {
+        private final String interceptor;
+
+        public InlinedDefine() {
+            this(RecordInterceptor.class.getName());
+        }
+
+        protected InlinedDefine(String interceptor) {
+            this.interceptor = interceptor;
+        }
+
+        @Override
+        protected ClassMatch enhanceClass() {
+            return null;
+        }
+
+        @Override
+        public ConstructorInterceptPoint[] getConstructorsInterceptPoints() {
+            return new ConstructorInterceptPoint[0];
+        }
+
+        @Override
+        public InstanceMethodsInterceptPoint[] getInstanceMethodsInterceptPoints() {
+            return new InstanceMethodsInterceptPoint[] {
+                new InstanceMethodsInterceptPoint() {
+                    @Override
+                    public ElementMatcher<MethodDescription> getMethodsMatcher() {
+                        return not(named("getSkyWalkingDynamicField").or(named("setSkyWalkingDynamicField")));
+                    }
+
+                    @Override
+                    public String getMethodsInterceptor() {
+                        return interceptor;
+                    }
+
+                    @Override
+                    public boolean isOverrideArgs() {
+                        return false;
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isAdviceInlined() {
+            return true;
+        }
+    }
+
+    public static class FailedDefine extends InlinedDefine {
+        public FailedDefine() {
+            super(FailedInterceptor.class.getName());
+        }
+    }
+
+    public static class InlinedDefineV2 extends ClassInstanceMethodsEnhancePluginDefineV2 {
+        @Override
+        protected ClassMatch enhanceClass() {
+            return null;
+        }
+
+        @Override
+        public ConstructorInterceptPoint[] getConstructorsInterceptPoints() {
+            return new ConstructorInterceptPoint[0];
+        }
+
+        @Override
+        public InstanceMethodsInterceptV2Point[] getInstanceMethodsInterceptV2Points() {
+            return new InstanceMethodsInterceptV2Point[] {
+                new InstanceMethodsInterceptV2Point() {
+                    @Override
+                    public ElementMatcher<MethodDescription> getMethodsMatcher() {
+                        return any();
+                    }
+
+                    @Override
+                    public String getMethodsInterceptorV2() {
+                        return RecordInterceptorV2.class.getName();
+                    }
+
+                    @Override
+                    public boolean isOverrideArgs() {
+                        return false;
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isAdviceInlined() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.plugin.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.apache.skywalking.apm.agent.core.boot.AgentPackagePath;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+public class AgentClassLoaderTest {
+    private static final String RESOURCE = "skywalking-plugin.def";
+    private static final String DIRECTORY = "sample-dir/";
+    private static final String SAMPLE_CLASS_PATH = Sample.class.getName().replace('.', '/') + ".class";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private MockedStatic<AgentPackagePath> mockedAgentPackagePath;
+    private List<String> mount;
+    private boolean cacheJarIndex;
+    private File agentFolder;
+    private File pluginFolder;
+
+    @Before
+    public void setUp() throws IOException {
+        mount = Config.Plugin.MOUNT;
+        cacheJarIndex = Config.Plugin.CACHE_JAR_INDEX;
+        Config.Plugin.MOUNT = Collections.singletonList("plugins");
+
+        agentFolder = temporaryFolder.getRoot();
+        pluginFolder = temporaryFolder.newFolder("plugins");
+        mockedAgentPackagePath = Mockito.mockStatic(AgentPackagePath.class);
+        mockedAgentPackagePath.when(AgentPackagePath::getPath).thenReturn(agentFolder);
+
+        writeJar("a-plugin.jar", RESOURCE, DIRECTORY, SAMPLE_CLASS_PATH);
+        writeJar("b-plugin.jar", RESOURCE);
+    }
+
+    @After
+    public void tearDown() {
+        mockedAgentPackagePath.close();
+        Config.Plugin.MOUNT = mount;
+        Config.Plugin.CACHE_JAR_INDEX = cacheJarIndex;
+    }
+
+    @Test
+    public void testFindClassAndResources() throws Exception {
+        AgentClassLoader loader = new AgentClassLoader(null);
+
+        Class<?> sampleClass = loader.loadClass(Sample.class.getName());
+        Assert.assertSame(loader, sampleClass.getClassLoader());
+        Assert.assertNotSame(Sample.class, sampleClass);
+
+        List<URL> resources = Collections.list(loader.getResources(RESOURCE));
+        Assert.assertEquals(2, resources.size());
+        Assert.assertTrue(resources.get(0).toString().endsWith("a-plugin.jar!/" + RESOURCE));
+        Assert.assertTrue(resources.get(1).toString().endsWith("b-plugin.jar!/" + RESOURCE));
+        try (InputStream is = resources.get(1).openStream()) {
+            Assert.assertEquals(RESOURCE, readString(is));
+        }
+
+        Assert.assertTrue(loader.getResource(DIRECTORY).toString().endsWith("a-plugin.jar!/" + DIRECTORY));
+        Assert.assertNull(loader.getResource("not-exist.def"));
+        Assert.assertFalse(new File(agentFolder, "plugin-jar-index.cache").exists());
+    }
+
+    @Test(expected = ClassNotFoundException.class)
+    public void testClassNotFound() throws Exception {
+        new AgentClassLoader(null).loadClass("org.apache.skywalking.NotExist");
+    }
+
+    @Test
+    public void testCacheJarIndex() throws Exception {
+        Config.Plugin.CACHE_JAR_INDEX = true;
+        File indexFile = new File(agentFolder, "plugin-jar-index.cache");
+
+        AgentClassLoader loader = new AgentClassLoader(null);
+        Assert.assertEquals(2, Collections.list(loader.getResources(RESOURCE)).size());
+        Assert.assertTrue(indexFile.exists());
+
+        List<File> jarFiles = JarIndex.listJarFiles(Collections.singletonList(pluginFolder));
+        JarIndex index = JarIndex.load(indexFile, jarFiles);
+        Assert.assertNotNull(index);
+        Assert.assertEquals(1, index.find(SAMPLE_CLASS_PATH).size());
+        Assert.assertEquals(2, index.find(RESOURCE).size());
+
+        loader = new AgentClassLoader(null);
+        Assert.assertSame(loader, loader.loadClass(Sample.class.getName()).getClassLoader());
+        Assert.assertNotNull(loader.getResource(DIRECTORY));
+
+        // A new jar invalidates the saved index.
+        writeJar("c-plugin.jar", RESOURCE);
+        jarFiles = JarIndex.listJarFiles(Collections.singletonList(pluginFolder));
+        Assert.assertNull(JarIndex.load(indexFile, jarFiles));
+
+        loader = new AgentClassLoader(null);
+        Assert.assertEquals(3, Collections.list(loader.getResources(RESOURCE)).size());
+        Assert.assertNotNull(JarIndex.load(indexFile, jarFiles));
+    }
+
+    private void writeJar(String name, String... entries) throws IOException {
+        try (JarOutputStream jar = new JarOutputStream(new FileOutputStream(new File(pluginFolder, name)))) {
+            for (String entry : entries) {
+                jar.putNextEntry(new JarEntry(entry));
+                if (entry.endsWith("/")) {
+                    continue;
+                }
+                if (entry.endsWith(".class")) {
+                    try (InputStream is = AgentClassLoaderTest.class.getClassLoader().getResourceAsStream(entry)) {
+                        jar.write(readBytes(is));
+                    }
+                } else {
+                    jar.write(entry.getBytes("UTF-8"));
+                }
+                jar.closeEntry();
+            }
+        }
+    }
+
+    private static String readString(InputStream is) throws IOException {
+        return new String(readBytes(is), "UTF-8");
+    }
+
+    private static byte[] readBytes(InputStream is) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+            baos.write(buffer, 0, read);
+        }
+        return baos.toByteArray();
+    }
+
+    public static class Sample {
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.profile;
+
+import com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CodeSignatureCacheTest {
+    @Test
+    public void testSignatureSharedByEqualElements() {
+        CodeSignatureCache cache = new CodeSignatureCache();
+        ByteString signature = cache.get(new StackTraceElement("org.example.Foo", "bar", "Foo.java", 10));
+        Assert.assertEquals("org.example.Foo.bar:10", signature.toStringUtf8());
+        Assert.assertSame(signature, cache.get(new StackTraceElement("org.example.Foo", "bar", "Foo.java", 10)));
+        Assert.assertEquals(
+            "org.example.Foo.bar:11", cache.get(new StackTraceElement("org.example.Foo", "bar", "Foo.java", 11)).toStringUtf8());
+    }
+
+    @Test
+    public void testDumpedStackSignatures() {
+        CodeSignatureCache cache = new CodeSignatureCache();
+        StackTraceElement[] first = Thread.currentThread().getStackTrace();
+        StackTraceElement[] second = Thread.currentThread().getStackTrace();
+        // the frames below this method are the same in both dumps
+        for (int i = 2; i < first.length; i++) {
+            Assert.assertEquals(CodeSignatureCache.build(first[i]), cache.get(first[i]).toStringUtf8());
+            Assert.assertSame(cache.get(first[i]), cache.get(second[i]));
+        }
+    }
+}
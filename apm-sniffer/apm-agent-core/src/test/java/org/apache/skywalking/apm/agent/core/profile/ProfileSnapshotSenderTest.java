@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.profile;
+
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ServerInterceptors;
+import io.grpc.stub.StreamObserver;
+import io.grpc.testing.GrpcServerRule;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.TracingContext;
+import org.apache.skywalking.apm.agent.core.remote.GRPCChannelStatus;
+import org.apache.skywalking.apm.network.common.v3.Commands;
+import org.apache.skywalking.apm.network.language.profile.v3.ProfileTaskGrpc;
+import org.apache.skywalking.apm.network.language.profile.v3.ThreadSnapshot;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ProfileSnapshotSenderTest {
+    private static final Metadata.Key<String> MESSAGE_ENCODING = Metadata.Key.of(
+        "grpc-encoding", Metadata.ASCII_STRING_MARSHALLER);
+
+    @Rule
+    public GrpcServerRule grpcServerRule = new GrpcServerRule();
+
+    private final ProfileSnapshotSender sender = new ProfileSnapshotSender();
+    private final List<ThreadSnapshot> receivedSnapshots = new ArrayList<>();
+    private String receivedEncoding;
+
+    private final ProfileTaskGrpc.ProfileTaskImplBase serviceImplBase = new ProfileTaskGrpc.ProfileTaskImplBase() {
+        @Override
+        public StreamObserver<ThreadSnapshot> collectSnapshot(StreamObserver<Commands> responseObserver) {
+            return new StreamObserver<ThreadSnapshot>() {
+                @Override
+                public void onNext(ThreadSnapshot value) {
+                    receivedSnapshots.add(value);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onCompleted() {
+                    responseObserver.onNext(Commands.getDefaultInstance());
+                    responseObserver.onCompleted();
+                }
+            };
+        }
+    };
+
+    private final ServerInterceptor encodingRecorder = new ServerInterceptor() {
+        @Override
+        public <REQ, RESP> ServerCall.Listener<REQ> interceptCall(ServerCall<REQ, RESP> call, Metadata headers,
+                                                                  ServerCallHandler<REQ, RESP> next) {
+            receivedEncoding = headers.get(MESSAGE_ENCODING);
+            return next.startCall(call, headers);
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+        grpcServerRule.getServiceRegistry().addService(ServerInterceptors.intercept(serviceImplBase, encodingRecorder));
+        Field stub = ProfileSnapshotSender.class.getDeclaredField("profileTaskStub");
+        Field status = ProfileSnapshotSender.class.getDeclaredField("status");
+        stub.setAccessible(true);
+        status.setAccessible(true);
+        stub.set(sender, ProfileTaskGrpc.newStub(grpcServerRule.getChannel()));
+        status.set(sender, GRPCChannelStatus.CONNECTED);
+    }
+
+    @After
+    public void tearDown() {
+        Config.Profile.SNAPSHOT_TRANSPORT_COMPRESSION = "";
+    }
+
+    @Test
+    public void testSendSnapshots() {
+        List<TracingThreadSnapshot> snapshots = snapshots();
+
+        sender.send(snapshots);
+
+        Assert.assertNull(receivedEncoding);
+        assertReceived(snapshots);
+    }
+
+    @Test
+    public void testSendCompressedSnapshots() {
+        Config.Profile.SNAPSHOT_TRANSPORT_COMPRESSION = "gzip";
+        List<TracingThreadSnapshot> snapshots = snapshots();
+
+        sender.send(snapshots);
+
+        Assert.assertEquals("gzip", receivedEncoding);
+        assertReceived(snapshots);
+    }
+
+    private void assertReceived(List<TracingThreadSnapshot> snapshots) {
+        Assert.assertEquals(snapshots.size(), receivedSnapshots.size());
+        for (int i = 0; i < snapshots.size(); i++) {
+            Assert.assertEquals(snapshots.get(i).transform(), receivedSnapshots.get(i));
+        }
+    }
+
+    private static List<TracingThreadSnapshot> snapshots() {
+        ProfileTask task = new ProfileTask();
+        task.setTaskId("task");
+        task.setMaxSamplingCount(5);
+        ThreadProfiler profiler = new ThreadProfiler(
+            Mockito.mock(TracingContext.class), "segment", Thread.currentThread(), new ProfileTaskExecutionContext(task));
+        CodeSignatureCache signatureCache = new CodeSignatureCache();
+        return Arrays.asList(
+            profiler.buildSnapshot(0, Thread.currentThread().getStackTrace(), signatureCache),
+            profiler.buildSnapshot(1, Thread.currentThread().getStackTrace(), signatureCache)
+        );
+    }
+}
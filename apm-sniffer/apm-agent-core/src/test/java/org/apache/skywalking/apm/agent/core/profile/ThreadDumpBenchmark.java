@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.profile;
+
+import com.google.protobuf.ByteString;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Dump the stacks of 25 profiled threads, MAX_PARALLEL * MAX_ACCEPT_SUB_PARALLEL by default, which are 100 frames deep,
+ * the way {@link ProfileThread} does in one dump period.
+ */
+@State(Scope.Benchmark)
+public class ThreadDumpBenchmark {
+    private static final int THREAD_COUNT = 25;
+    private static final int STACK_DEPTH = 100;
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private final CountDownLatch stopped = new CountDownLatch(1);
+    private final Thread[] threads = new Thread[THREAD_COUNT];
+    private final long[] threadIds = new long[THREAD_COUNT];
+    private final CodeSignatureCache signatureCache = new CodeSignatureCache();
+
+    @Setup(Level.Trial)
+    public void setup() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(THREAD_COUNT);
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            threads[i] = new Thread(() -> park(STACK_DEPTH, started));
+            threads[i].setDaemon(true);
+            threads[i].start();
+            threadIds[i] = threads[i].getId();
+        }
+        started.await();
+    }
+
+    private void park(int depth, CountDownLatch started) {
+        if (depth > 0) {
+            park(depth - 1, started);
+            return;
+        }
+        started.countDown();
+        try {
+            stopped.await();
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        stopped.countDown();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void dumpPerThread(Blackhole bh) {
+        for (Thread thread : threads) {
+            StackTraceElement[] stackTrace = thread.getStackTrace();
+            int dumpElementCount = Math.min(stackTrace.length, Config.Profile.DUMP_MAX_STACK_DEPTH);
+            List<String> stackList = new ArrayList<>(dumpElementCount);
+            for (int i = dumpElementCount - 1; i >= 0; i--) {
+                stackList.add(CodeSignatureCache.build(stackTrace[i]));
+            }
+            bh.consume(stackList);
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public void dumpInBatch(Blackhole bh) {
+        ThreadInfo[] threadInfos = THREAD_MX_BEAN.getThreadInfo(threadIds, Config.Profile.DUMP_MAX_STACK_DEPTH);
+        for (ThreadInfo threadInfo : threadInfos) {
+            StackTraceElement[] stackTrace = threadInfo.getStackTrace();
+            List<ByteString> stackList = new ArrayList<>(stackTrace.length);
+            for (int i = stackTrace.length - 1; i >= 0; i--) {
+                stackList.add(signatureCache.get(stackTrace[i]));
+            }
+            bh.consume(stackList);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(ThreadDumpBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * # JMH version: 1.33
+     * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * Benchmark                                                Mode  Cnt       Score      Error  Units
+     * ThreadDumpBenchmark.dumpInBatch                          avgt    5    2719.844 ±  351.772  us/op
+     * ThreadDumpBenchmark.dumpInBatch:·gc.alloc.rate.norm      avgt    5  172101.970 ±  114.168   B/op
+     * ThreadDumpBenchmark.dumpPerThread                        avgt    5    3182.669 ± 1780.395  us/op
+     * ThreadDumpBenchmark.dumpPerThread:·gc.alloc.rate.norm    avgt    5  459251.373 ±   56.932   B/op
+     */
+}
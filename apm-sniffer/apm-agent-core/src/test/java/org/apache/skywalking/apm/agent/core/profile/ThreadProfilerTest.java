@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.profile;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.context.TracingContext;
+import org.apache.skywalking.apm.network.language.profile.v3.ThreadSnapshot;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ThreadProfilerTest {
+    private ThreadProfiler profiler;
+    private CodeSignatureCache signatureCache;
+
+    @Before
+    public void setUp() {
+        ProfileTask task = new ProfileTask();
+        task.setTaskId("task");
+        task.setMaxSamplingCount(5);
+        profiler = new ThreadProfiler(
+            Mockito.mock(TracingContext.class), "segment", Thread.currentThread(), new ProfileTaskExecutionContext(task));
+        signatureCache = new CodeSignatureCache();
+    }
+
+    @After
+    public void tearDown() {
+        Config.Profile.DUMP_MAX_STACK_DEPTH = 500;
+    }
+
+    @Test
+    public void testSnapshotsRoundTrip() throws InvalidProtocolBufferException {
+        StackTraceElement[][] dumps = {
+            stack("c", "b", "a"),
+            stack("c", "b", "a"),
+            stack("d", "b", "a"),
+            stack("b", "a"),
+            stack("e", "f", "b", "a"),
+            stack("e", "f", "b", "a")
+        };
+        for (int sequence = 0; sequence < dumps.length; sequence++) {
+            if (sequence == dumps.length - 1) {
+                Config.Profile.DUMP_MAX_STACK_DEPTH = 2;
+            }
+            TracingThreadSnapshot snapshot = profiler.buildSnapshot(sequence, dumps[sequence], signatureCache);
+
+            ThreadSnapshot decoded = ThreadSnapshot.parseFrom(snapshot.transform().toByteArray());
+            Assert.assertEquals("task", decoded.getTaskId());
+            Assert.assertEquals("segment", decoded.getTraceSegmentId());
+            Assert.assertEquals(sequence, decoded.getSequence());
+            Assert.assertEquals(sequence, decoded.getTime());
+            Assert.assertEquals(
+                expectedStack(dumps[sequence], Config.Profile.DUMP_MAX_STACK_DEPTH),
+                decoded.getStack().getCodeSignaturesList()
+            );
+        }
+    }
+
+    @Test
+    public void testThreadFinished() {
+        Assert.assertNull(profiler.buildSnapshot(0, null, signatureCache));
+        Assert.assertNull(profiler.buildSnapshot(0, new StackTraceElement[0], signatureCache));
+    }
+
+    private static StackTraceElement[] stack(String... methods) {
+        StackTraceElement[] stackTrace = new StackTraceElement[methods.length];
+        for (int i = 0; i < methods.length; i++) {
+            stackTrace[i] = new StackTraceElement("org.example.Foo", methods[i], "Foo.java", i);
+        }
+        return stackTrace;
+    }
+
+    private static List<String> expectedStack(StackTraceElement[] stackTrace, int maxDepth) {
+        List<String> stack = new ArrayList<>();
+        for (int i = Math.min(stackTrace.length, maxDepth) - 1; i >= 0; i--) {
+            stack.add(CodeSignatureCache.build(stackTrace[i]));
+        }
+        return stack;
+    }
+}
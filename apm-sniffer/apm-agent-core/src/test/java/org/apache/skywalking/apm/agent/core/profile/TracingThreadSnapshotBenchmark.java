@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.profile;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.network.language.profile.v3.ThreadSnapshot;
+import org.apache.skywalking.apm.network.language.profile.v3.ThreadStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Serialize the snapshot of a 200 frames deep stack, with the code signatures as strings encoded on every upload, or as
+ * the UTF-8 bytes from the {@link CodeSignatureCache} of the task.
+ */
+@State(Scope.Benchmark)
+public class TracingThreadSnapshotBenchmark {
+    private static final int STACK_DEPTH = 200;
+
+    private final List<String> stringStack = new ArrayList<>();
+    private TracingThreadSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        CodeSignatureCache signatureCache = new CodeSignatureCache();
+        List<ByteString> stack = new ArrayList<>();
+        for (int i = 0; i < STACK_DEPTH; i++) {
+            StackTraceElement element = new StackTraceElement(
+                "org.apache.skywalking.apm.testcase.service" + (i % 10) + ".ServiceImpl" + i, "invoke", "ServiceImpl.java", i);
+            stringStack.add(CodeSignatureCache.build(element));
+            stack.add(signatureCache.get(element));
+        }
+        snapshot = new TracingThreadSnapshot("task", "segment", 0, 0, stack);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public byte[] stringSignatures() {
+        final ThreadStack.Builder stackBuilder = ThreadStack.newBuilder();
+        for (String codeSign : stringStack) {
+            stackBuilder.addCodeSignatures(codeSign);
+        }
+        return ThreadSnapshot.newBuilder()
+                             .setTaskId("task")
+                             .setTraceSegmentId("segment")
+                             .setStack(stackBuilder)
+                             .build()
+                             .toByteArray();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @BenchmarkMode(Mode.AverageTime)
+    public byte[] cachedSignatures() {
+        return snapshot.transform().toByteArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options opt = new OptionsBuilder().include(TracingThreadSnapshotBenchmark.class.getSimpleName())
+                .forks(1)
+                .build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * # JMH version: 1.33
+     * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * Benchmark                                                            Mode  Cnt      Score     Error  Units
+     * TracingThreadSnapshotBenchmark.cachedSignatures                      avgt    5     18.112 ±   7.921  us/op
+     * TracingThreadSnapshotBenchmark.cachedSignatures:·gc.alloc.rate.norm  avgt    5  17087.391 ±   1.109   B/op
+     * TracingThreadSnapshotBenchmark.stringSignatures                      avgt    5     40.363 ±  21.202  us/op
+     * TracingThreadSnapshotBenchmark.stringSignatures:·gc.alloc.rate.norm  avgt    5  17087.923 ±   0.978   B/op
+     */
+}
@@ -50,6 +50,7 @@ import org.junit.runner.RunWith;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.spy;
 
 @RunWith(TracingSegmentRunner.class)
@@ -66,10 +67,12 @@ public class TraceSegmentServiceClientTest {
 
     private TraceSegmentServiceClient serviceClient = new TraceSegmentServiceClient();
     private List<SegmentObject> upstreamSegments;
+    private int streamCount;
 
     private TraceSegmentReportServiceGrpc.TraceSegmentReportServiceImplBase serviceImplBase = new TraceSegmentReportServiceGrpc.TraceSegmentReportServiceImplBase() {
         @Override
         public StreamObserver<SegmentObject> collect(final StreamObserver<Commands> responseObserver) {
+            streamCount++;
             return new StreamObserver<SegmentObject>() {
                 @Override
                 public void onNext(SegmentObject value) {
@@ -161,4 +164,109 @@ public class TraceSegmentServiceClientTest {
         assertThat(reconnect, is(true));
 
     }
+
+    @Test
+    public void testSendTraceSegmentThroughPersistentStream() {
+        Config.Collector.SEGMENT_STREAM_MODE = SegmentStreamMode.PERSISTENT;
+        try {
+            grpcServerRule.getServiceRegistry().addService(serviceImplBase);
+
+            AbstractSpan firstEntrySpan = ContextManager.createEntrySpan("/testFirstEntry", null);
+            firstEntrySpan.setComponent(ComponentsDefine.TOMCAT);
+            ContextManager.stopSpan();
+
+            serviceClient.consume(storage.getTraceSegments());
+            serviceClient.consume(storage.getTraceSegments());
+            serviceClient.onExit();
+
+            assertThat(upstreamSegments.size(), is(2));
+            assertThat(streamCount, is(1));
+        } finally {
+            Config.Collector.SEGMENT_STREAM_MODE = SegmentStreamMode.PER_BATCH;
+        }
+    }
+
+    @Test
+    public void testCompleteIdlePersistentStreamAfterRotation() throws IllegalAccessException, NoSuchFieldException {
+        Config.Collector.SEGMENT_STREAM_MODE = SegmentStreamMode.PERSISTENT;
+        int rotatePeriod = Config.Collector.SEGMENT_STREAM_ROTATE_PERIOD;
+        Config.Collector.SEGMENT_STREAM_ROTATE_PERIOD = 0;
+        try {
+            grpcServerRule.getServiceRegistry().addService(serviceImplBase);
+
+            AbstractSpan firstEntrySpan = ContextManager.createEntrySpan("/testFirstEntry", null);
+            firstEntrySpan.setComponent(ComponentsDefine.TOMCAT);
+            ContextManager.stopSpan();
+
+            serviceClient.consume(storage.getTraceSegments());
+            serviceClient.nothingToConsume();
+
+            assertThat(upstreamSegments.size(), is(1));
+            assertNull(FieldGetter.getValue(serviceClient, "persistentStream"));
+            boolean reconnect = FieldGetter.getValue(
+                ServiceManager.INSTANCE.findService(GRPCChannelManager.class), "reconnect");
+            assertThat(reconnect, is(false));
+        } finally {
+            Config.Collector.SEGMENT_STREAM_ROTATE_PERIOD = rotatePeriod;
+            Config.Collector.SEGMENT_STREAM_MODE = SegmentStreamMode.PER_BATCH;
+        }
+    }
+
+    @Test
+    public void testSendTraceSegmentThroughPipelinedStream() throws IllegalAccessException, NoSuchFieldException {
+        Config.Collector.SEGMENT_STREAM_MODE = SegmentStreamMode.PIPELINED;
+        try {
+            grpcServerRule.getServiceRegistry().addService(serviceImplBase);
+
+            AbstractSpan firstEntrySpan = ContextManager.createEntrySpan("/testFirstEntry", null);
+            firstEntrySpan.setComponent(ComponentsDefine.TOMCAT);
+            ContextManager.stopSpan();
+
+            Field lastLogTime = TraceSegmentServiceClient.class.getDeclaredField("lastLogTime");
+            lastLogTime.setAccessible(true);
+            lastLogTime.setLong(serviceClient, System.currentTimeMillis());
+
+            serviceClient.consume(storage.getTraceSegments());
+            long uplinked = FieldGetter.getValue(serviceClient, "segmentUplinkedCounter");
+            assertThat(uplinked, is(0L));
+            serviceClient.consume(storage.getTraceSegments());
+            serviceClient.onExit();
+
+            assertThat(upstreamSegments.size(), is(2));
+            assertThat(streamCount, is(2));
+            uplinked = FieldGetter.getValue(serviceClient, "segmentUplinkedCounter");
+            assertThat(uplinked, is(2L));
+        } finally {
+            Config.Collector.SEGMENT_STREAM_MODE = SegmentStreamMode.PER_BATCH;
+        }
+    }
+
+    @Test
+    public void testFinishPipelinedStreamAfterDisconnection() throws IllegalAccessException, NoSuchFieldException {
+        Config.Collector.SEGMENT_STREAM_MODE = SegmentStreamMode.PIPELINED;
+        try {
+            grpcServerRule.getServiceRegistry().addService(serviceImplBase);
+
+            AbstractSpan firstEntrySpan = ContextManager.createEntrySpan("/testFirstEntry", null);
+            firstEntrySpan.setComponent(ComponentsDefine.TOMCAT);
+            ContextManager.stopSpan();
+
+            Field lastLogTime = TraceSegmentServiceClient.class.getDeclaredField("lastLogTime");
+            lastLogTime.setAccessible(true);
+            lastLogTime.setLong(serviceClient, System.currentTimeMillis());
+
+            serviceClient.consume(storage.getTraceSegments());
+            serviceClient.statusChanged(GRPCChannelStatus.DISCONNECT);
+            serviceClient.consume(storage.getTraceSegments());
+
+            assertThat(upstreamSegments.size(), is(1));
+            assertNull(FieldGetter.getValue(serviceClient, "inFlightStreamStatus"));
+            long uplinked = FieldGetter.getValue(serviceClient, "segmentUplinkedCounter");
+            assertThat(uplinked, is(1L));
+            long abandoned = FieldGetter.getValue(serviceClient, "segmentAbandonedCounter");
+            assertThat(abandoned, is(1L));
+        } finally {
+            Config.Collector.SEGMENT_STREAM_MODE = SegmentStreamMode.PER_BATCH;
+        }
+    }
 }
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.sampling;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TokenBucketSamplerTest {
+    private static final long NOW = 1_000_000_000L;
+    private static final long PERIOD = TimeUnit.SECONDS.toNanos(3);
+
+    @Test
+    public void testBurstAndContinuousRefill() {
+        for (int processors : new int[] {1, 4, 16}) {
+            TokenBucketSampler sampler = new TokenBucketSampler(64, false, processors, NOW);
+            Assert.assertEquals(64, sampleUntilDenied(sampler, "/a", NOW));
+            // Refilled in proportion to the elapsed time.
+            Assert.assertEquals(16, sampleUntilDenied(sampler, "/a", NOW + PERIOD / 4));
+            Assert.assertEquals(64, sampleUntilDenied(sampler, "/a", NOW + PERIOD * 10));
+        }
+    }
+
+    @Test
+    public void testRateLowerThanStripes() {
+        TokenBucketSampler sampler = new TokenBucketSampler(3, false, 16, NOW);
+        Assert.assertEquals(2, sampleUntilDenied(sampler, "/a", NOW));
+        Assert.assertEquals(2, sampleUntilDenied(sampler, "/a", NOW + PERIOD * 2 / 3));
+    }
+
+    @Test
+    public void testForceSampledTakesTokens() {
+        TokenBucketSampler sampler = new TokenBucketSampler(64, false, 4, NOW);
+        for (int i = 0; i < 40; i++) {
+            sampler.forceSampled(NOW);
+        }
+        Assert.assertEquals(24, sampleUntilDenied(sampler, "/a", NOW));
+        // No debt when the buckets are empty already.
+        for (int i = 0; i < 100; i++) {
+            sampler.forceSampled(NOW);
+        }
+        Assert.assertEquals(64, sampleUntilDenied(sampler, "/a", NOW + PERIOD));
+    }
+
+    @Test
+    public void testQuietEndpointSampledWhenOthersBurst() {
+        TokenBucketSampler sampler = new TokenBucketSampler(64, true, 4, NOW);
+        int hotSampled = sampleUntilDenied(sampler, "/hot", NOW);
+        Assert.assertTrue(hotSampled >= 64);
+        Assert.assertTrue(sampler.trySampling("/quiet", NOW));
+        Assert.assertFalse(sampler.trySampling("/quiet", NOW));
+
+        // The endpoint shares are charged to the rate, the hot one waits for the refill.
+        long later = NOW + PERIOD;
+        int total = sampleUntilDenied(sampler, "/hot", later) + sampleUntilDenied(sampler, "/quiet", later);
+        Assert.assertTrue(total <= 64);
+        Assert.assertTrue(sampler.trySampling("/quiet", later + PERIOD * 2 / 64 + 1));
+    }
+
+    @Test
+    public void testEndpointsLimited() {
+        TokenBucketSampler sampler = new TokenBucketSampler(1, true, 1, NOW);
+        for (int i = 0; i < TokenBucketSampler.MAX_ENDPOINTS; i++) {
+            Assert.assertTrue(sampler.trySampling("/endpoint/" + i, NOW));
+        }
+        Assert.assertFalse(sampler.trySampling("/endpoint/overflow", NOW));
+    }
+
+    private static int sampleUntilDenied(TokenBucketSampler sampler, String operationName, long now) {
+        int sampled = 0;
+        while (sampler.trySampling(operationName, now)) {
+            sampled++;
+            Assert.assertTrue(sampled <= 10_000);
+        }
+        return sampled;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.agent.core.so11y;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.skywalking.apm.agent.core.boot.ServiceManager;
+import org.apache.skywalking.apm.agent.core.conf.Config;
+import org.apache.skywalking.apm.agent.core.meter.AbstractBuilder;
+import org.apache.skywalking.apm.agent.core.meter.BaseMeter;
+import org.apache.skywalking.apm.agent.core.meter.Histogram;
+import org.apache.skywalking.apm.agent.core.meter.MeterId;
+import org.apache.skywalking.apm.agent.core.meter.MeterService;
+import org.apache.skywalking.apm.agent.core.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.network.language.agent.v3.MeterBucketValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class AgentSo11yTest {
+
+    @Rule
+    public AgentServiceRule agentServiceRule = new AgentServiceRule();
+
+    @Before
+    public void setUp() throws Exception {
+        resetHistograms();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        Config.Plugin.INTERCEPTOR_TIME_COST_SAMPLE_RATE = 1;
+        Config.Plugin.INTERCEPTOR_TIME_COST_BY_INTERCEPTOR = false;
+        resetHistograms();
+    }
+
+    @Test
+    public void testHistogramPerPlugin() throws Exception {
+        AgentSo11y.durationOfInterceptor("plugin-a", "InterceptorA", 2000);
+        AgentSo11y.durationOfInterceptor("plugin-a", "InterceptorB", 2000);
+        AgentSo11y.durationOfInterceptor("plugin-b", "InterceptorA", 2000);
+
+        Assert.assertEquals(3, count(histogram("tracing_context_performance", null, null)));
+        Assert.assertEquals(2, count(histogram("interceptor_performance", "plugin-a", null)));
+        Assert.assertEquals(1, count(histogram("interceptor_performance", "plugin-b", null)));
+        Assert.assertEquals(2, histograms("interceptor_performance").size());
+        Assert.assertNull(histogram("interceptor_performance", "plugin-a", null).getTag("interceptor"));
+    }
+
+    @Test
+    public void testHistogramPerInterceptor() throws Exception {
+        Config.Plugin.INTERCEPTOR_TIME_COST_BY_INTERCEPTOR = true;
+        AgentSo11y.durationOfInterceptor("plugin-a", "InterceptorA", 2000);
+        AgentSo11y.durationOfInterceptor("plugin-a", "InterceptorA", 2000);
+        AgentSo11y.durationOfInterceptor("plugin-a", "InterceptorB", 2000);
+        // the same interceptor class of another plugin
+        AgentSo11y.durationOfInterceptor("plugin-b", "InterceptorA", 2000);
+
+        Assert.assertEquals(4, count(histogram("tracing_context_performance", null, null)));
+        Assert.assertEquals(2, count(histogram("interceptor_performance", "plugin-a", "InterceptorA")));
+        Assert.assertEquals(1, count(histogram("interceptor_performance", "plugin-a", "InterceptorB")));
+        Assert.assertEquals(1, count(histogram("interceptor_performance", "plugin-b", "InterceptorA")));
+        Assert.assertEquals(3, histograms("interceptor_performance").size());
+    }
+
+    @Test
+    public void testSampling() throws Exception {
+        Config.Plugin.INTERCEPTOR_TIME_COST_SAMPLE_RATE = 0;
+        Assert.assertFalse(AgentSo11y.isInterceptorTimeCostSampled());
+
+        Config.Plugin.INTERCEPTOR_TIME_COST_SAMPLE_RATE = 1;
+        for (int i = 0; i < 100; i++) {
+            Assert.assertTrue(AgentSo11y.isInterceptorTimeCostSampled());
+        }
+        AgentSo11y.durationOfInterceptor("plugin-a", "InterceptorA", 2000);
+        Assert.assertNull(histogram("tracing_context_performance", null, null).getTag("sample_rate"));
+        Assert.assertNull(histogram("interceptor_performance", "plugin-a", null).getTag("sample_rate"));
+        resetHistograms();
+
+        Config.Plugin.INTERCEPTOR_TIME_COST_SAMPLE_RATE = 4;
+        int sampled = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (AgentSo11y.isInterceptorTimeCostSampled()) {
+                sampled++;
+            }
+        }
+        // 25000 expected, the standard deviation is about 137
+        Assert.assertTrue(String.valueOf(sampled), sampled > 24000 && sampled < 26000);
+
+        AgentSo11y.durationOfInterceptor("plugin-a", "InterceptorA", 2000);
+        Assert.assertEquals("4", histogram("tracing_context_performance", null, null).getTag("sample_rate"));
+        Assert.assertEquals("4", histogram("interceptor_performance", "plugin-a", null).getTag("sample_rate"));
+    }
+
+    private static void resetHistograms() throws Exception {
+        Field interceptorTimeCost = AgentSo11y.class.getDeclaredField("INTERCEPTOR_TIME_COST");
+        interceptorTimeCost.setAccessible(true);
+        interceptorTimeCost.set(null, null);
+        Field cache = AgentSo11y.class.getDeclaredField("INTERCEPTOR_TIME_COST_CACHE");
+        cache.setAccessible(true);
+        ((Map<?, ?>) cache.get(null)).clear();
+        // the meter builders keep the meter service of the first test
+        Field meterService = AbstractBuilder.class.getDeclaredField("METER_SERVICE");
+        meterService.setAccessible(true);
+        meterService.set(null, null);
+        meters().clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<MeterId, BaseMeter> meters() throws Exception {
+        Field meterMap = MeterService.class.getDeclaredField("meterMap");
+        meterMap.setAccessible(true);
+        return (Map<MeterId, BaseMeter>) meterMap.get(ServiceManager.INSTANCE.findService(MeterService.class));
+    }
+
+    private static List<Histogram> histograms(String name) throws Exception {
+        List<Histogram> histograms = new ArrayList<>();
+        for (BaseMeter meter : meters().values()) {
+            if (meter.getName().equals(name)) {
+                histograms.add((Histogram) meter);
+            }
+        }
+        return histograms;
+    }
+
+    private static Histogram histogram(String name, String pluginName, String interceptorName) throws Exception {
+        for (Histogram histogram : histograms(name)) {
+            if ((pluginName == null || pluginName.equals(histogram.getTag("plugin_name")))
+                && (interceptorName == null || interceptorName.equals(histogram.getTag("interceptor")))) {
+                return histogram;
+            }
+        }
+        throw new AssertionError("No histogram " + name + " of " + pluginName + " " + interceptorName);
+    }
+
+    private static long count(Histogram histogram) {
+        long count = 0;
+        for (MeterBucketValue value : histogram.transform().getHistogram().getValuesList()) {
+            count += value.getCount();
+        }
+        return count;
+    }
+}
@@ -23,6 +23,7 @@ import org.apache.skywalking.apm.agent.core.context.ContextManager;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
+import org.apache.skywalking.apm.agent.core.context.util.OperationNameRegistry;
 import org.apache.skywalking.apm.plugin.jdbc.trace.ConnectionInfo;
 
 /**
@@ -33,7 +34,7 @@ public class ClickHouseStatementTracingWrapper {
     public static <T> T of(ConnectionInfo connectionInfo, String methodName, String sql,
             SupplierWithException<T> supplier) throws SQLException {
         final AbstractSpan span = ContextManager.createExitSpan(
-                connectionInfo.getDBType() + "/JDBC/Statement/" + methodName, connectionInfo.getDatabasePeer());
+                OperationNameRegistry.get(connectionInfo.getDBType(), "/JDBC/Statement/", methodName), connectionInfo.getDatabasePeer());
         try {
             Tags.DB_TYPE.set(span, connectionInfo.getDBType());
             Tags.DB_INSTANCE.set(span, connectionInfo.getDatabaseName());
@@ -23,6 +23,7 @@ import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.ContextManager;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
+import org.apache.skywalking.apm.agent.core.context.util.OperationNameRegistry;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
@@ -39,8 +40,10 @@ public class ConnectionServiceMethodInterceptor implements InstanceMethodsAround
         Class<?>[] argumentsTypes, MethodInterceptResult result) throws Throwable {
         ConnectionInfo connectInfo = (ConnectionInfo) objInst.getSkyWalkingDynamicField();
         if (connectInfo != null) {
-            AbstractSpan span = ContextManager.createExitSpan(connectInfo.getDBType() + "/JDBC/Connection/" + method.getName(), connectInfo
-                .getDatabasePeer());
+            AbstractSpan span = ContextManager.createExitSpan(
+                OperationNameRegistry.get(connectInfo.getDBType(), "/JDBC/Connection/", method.getName()),
+                connectInfo.getDatabasePeer()
+            );
             Tags.DB_TYPE.set(span, connectInfo.getDBType());
             Tags.DB_INSTANCE.set(span, connectInfo.getDatabaseName());
             Tags.DB_STATEMENT.set(span, "");
@@ -36,6 +36,20 @@ public class JDBCPluginConfig {
              * Set a negative number to save the complete parameter string to the tag.
              */
             public static int SQL_PARAMETERS_MAX_LENGTH = 512;
+            /**
+             * Only the first {@code SQL_PARAMETERS_MAX_COUNT} parameters of a statement are kept and saved into the
+             * tag, the others are replaced by "...".
+             * <p>
+             * Set a negative number to keep all parameters.
+             */
+            public static int SQL_PARAMETERS_MAX_COUNT = -1;
+            /**
+             * The parameters are only saved into the tag of the statements executed for at least {@code
+             * SQL_PARAMETERS_SLOW_THRESHOLD} milliseconds, which is decided after the execution.
+             * <p>
+             * Set a negative number to save the parameters of all statements.
+             */
+            public static long SQL_PARAMETERS_SLOW_THRESHOLD = -1;
             /**
              * For the sake of performance, SkyWalking won't save the entire sql body into the tag, but only the first
              * {@code SQL_BODY_MAX_LENGTH} characters.
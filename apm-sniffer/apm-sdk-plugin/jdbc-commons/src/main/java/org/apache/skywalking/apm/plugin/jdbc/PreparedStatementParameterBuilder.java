@@ -18,8 +18,20 @@
 
 package org.apache.skywalking.apm.plugin.jdbc;
 
+/**
+ * Format the parameters as {@code [p1,p2,...]}, limited by {@code SQL_PARAMETERS_MAX_COUNT} and {@code
+ * SQL_PARAMETERS_MAX_LENGTH}. The parameters out of the limits are not formatted at all, and the buffer is reused by
+ * the thread.
+ */
 public class PreparedStatementParameterBuilder {
     private static final String EMPTY_LIST = "[]";
+    private static final String ABBR = "...";
+    /**
+     * The buffers larger than this are not kept by the thread.
+     */
+    private static final int MAX_REUSED_BUFFER_SIZE = 4096;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
     private Object[] parameters;
     private Integer maxIndex;
 
@@ -38,35 +50,46 @@ public class PreparedStatementParameterBuilder {
             return EMPTY_LIST;
         }
 
-        return getParameterString();
-    }
-
-    private String getParameterString() {
-        StringBuilder stringBuilder = new StringBuilder();
-        boolean first = true;
-        for (int i = 0; i < getMaxIndex(); i++) {
-            Object parameter = parameters[i];
-            if (!first) {
-                stringBuilder.append(",");
-            }
-            stringBuilder.append(parameter);
-            first = false;
-
-            //  cut the string as soon as it reached the length limitation
-            if (JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH > 0 && (stringBuilder.length() + EMPTY_LIST.length()) > JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH) {
-                return format(stringBuilder).substring(0, JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH) + "...";
+        final StringBuilder buffer = BUFFER.get();
+        try {
+            return getParameterString(buffer);
+        } finally {
+            if (buffer.capacity() > MAX_REUSED_BUFFER_SIZE) {
+                BUFFER.remove();
+            } else {
+                buffer.setLength(0);
             }
         }
-        return format(stringBuilder);
     }
 
-    private int getMaxIndex() {
-        int maxIdx = maxIndex != null ? maxIndex : parameters.length;
-        return Math.min(maxIdx, parameters.length);
-    }
+    private String getParameterString(StringBuilder buffer) {
+        final int maxLength = JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH;
+        final int maxCount = JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_COUNT;
+        final int maxIdx = maxIndex != null ? maxIndex : parameters.length;
+        final boolean countLimited = maxCount >= 0 && maxIdx > maxCount;
+        final int count = Math.min(countLimited ? maxCount : maxIdx, parameters.length);
 
-    private String format(StringBuilder stringBuilder) {
-        return String.format("[%s]", stringBuilder.toString());
+        buffer.append('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            final String parameter = String.valueOf(parameters[i]);
+            if (maxLength > 0) {
+                // only the chars in the length limitation are copied
+                buffer.append(parameter, 0, Math.min(parameter.length(), Math.max(maxLength - buffer.length(), 0)));
+                //  cut the string as soon as it reached the length limitation
+                if (buffer.length() >= maxLength) {
+                    buffer.setLength(maxLength);
+                    return buffer.append(ABBR).toString();
+                }
+            } else {
+                buffer.append(parameter);
+            }
+        }
+        if (countLimited) {
+            buffer.append(count > 0 ? "," + ABBR : ABBR);
+        }
+        return buffer.append(']').toString();
     }
-
 }
@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdbc;
+
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.NoopSpan;
+import org.apache.skywalking.apm.plugin.jdbc.define.StatementEnhanceInfos;
+
+/**
+ * Sql parameters utility. The parameters are saved into the tag after the execution, so they are only formatted for
+ * the sampled statements slower than {@code JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_SLOW_THRESHOLD}, measured from
+ * the start of the exit span of the statement.
+ */
+public class SqlParametersUtil {
+
+    /**
+     * Save the parameters into the tag of the span if necessary, call it after the execution, right before the span
+     * stops, so the time since the start of the span is the duration of the span.
+     */
+    public static void tagParameters(AbstractSpan span, StatementEnhanceInfos statementEnhanceInfos) {
+        if (!JDBCPluginConfig.Plugin.JDBC.TRACE_SQL_PARAMETERS || statementEnhanceInfos == null) {
+            return;
+        }
+        // the span of the ignored trace
+        if (span instanceof NoopSpan) {
+            return;
+        }
+        final long slowThreshold = JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_SLOW_THRESHOLD;
+        if (slowThreshold > 0
+            && System.currentTimeMillis() - span.getStartTime() < slowThreshold) {
+            return;
+        }
+        final Object[] parameters = statementEnhanceInfos.getParameters();
+        if (parameters != null && parameters.length > 0) {
+            Tags.SQL_PARAMETERS.set(span, new PreparedStatementParameterBuilder()
+                .setParameters(parameters)
+                .setMaxIndex(statementEnhanceInfos.getMaxIndex())
+                .build());
+        }
+    }
+}
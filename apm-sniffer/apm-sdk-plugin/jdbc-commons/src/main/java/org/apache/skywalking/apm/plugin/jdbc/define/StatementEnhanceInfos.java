@@ -19,6 +19,7 @@
 package org.apache.skywalking.apm.plugin.jdbc.define;
 
 import java.util.Arrays;
+import org.apache.skywalking.apm.plugin.jdbc.JDBCPluginConfig;
 import org.apache.skywalking.apm.plugin.jdbc.trace.ConnectionInfo;
 
 /**
@@ -52,9 +53,13 @@ public class StatementEnhanceInfos {
 
     public void setParameter(int index, final Object parameter) {
         maxIndex = maxIndex > index ? maxIndex : index;
+        if (JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_COUNT >= 0 && index > JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_COUNT) {
+            // the parameter won't be saved into the tag
+            return;
+        }
         index--; // start from 1
         if (parameters == null) {
-            final int initialSize = Math.max(16, maxIndex);
+            final int initialSize = Math.max(16, index + 1);
             parameters = new Object[initialSize];
             Arrays.fill(parameters, null);
         }
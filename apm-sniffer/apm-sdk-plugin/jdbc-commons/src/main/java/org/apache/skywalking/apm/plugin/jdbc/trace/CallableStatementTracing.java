@@ -23,6 +23,7 @@ import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
 import org.apache.skywalking.apm.agent.core.context.ContextManager;
+import org.apache.skywalking.apm.agent.core.context.util.OperationNameRegistry;
 
 /**
  * {@link CallableStatementTracing} create an exit span when the client call the method in the class that extend {@link
@@ -32,8 +33,10 @@ public class CallableStatementTracing {
 
     public static <R> R execute(java.sql.CallableStatement realStatement, ConnectionInfo connectInfo, String method,
         String sql, Executable<R> exec) throws SQLException {
-        AbstractSpan span = ContextManager.createExitSpan(connectInfo.getDBType() + "/JDBC/CallableStatement/" + method, connectInfo
-            .getDatabasePeer());
+        AbstractSpan span = ContextManager.createExitSpan(
+            OperationNameRegistry.get(connectInfo.getDBType(), "/JDBC/CallableStatement/", method),
+            connectInfo.getDatabasePeer()
+        );
         try {
             Tags.DB_TYPE.set(span, connectInfo.getDBType());
             SpanLayer.asDB(span);
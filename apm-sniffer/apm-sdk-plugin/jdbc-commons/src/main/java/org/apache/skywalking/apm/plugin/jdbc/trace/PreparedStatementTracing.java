@@ -19,13 +19,12 @@
 package org.apache.skywalking.apm.plugin.jdbc.trace;
 
 import java.sql.SQLException;
-import java.util.Objects;
 import org.apache.skywalking.apm.agent.core.context.ContextManager;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
-import org.apache.skywalking.apm.plugin.jdbc.JDBCPluginConfig;
-import org.apache.skywalking.apm.plugin.jdbc.PreparedStatementParameterBuilder;
+import org.apache.skywalking.apm.agent.core.context.util.OperationNameRegistry;
+import org.apache.skywalking.apm.plugin.jdbc.SqlParametersUtil;
 import org.apache.skywalking.apm.plugin.jdbc.define.StatementEnhanceInfos;
 
 /**
@@ -37,7 +36,7 @@ public class PreparedStatementTracing {
     public static <R> R execute(java.sql.PreparedStatement realStatement, ConnectionInfo connectInfo, String method,
             String sql, Executable<R> exec, StatementEnhanceInfos statementEnhanceInfos) throws SQLException {
         final AbstractSpan span = ContextManager.createExitSpan(
-                connectInfo.getDBType() + "/JDBC/PreparedStatement/" + method, connectInfo
+                OperationNameRegistry.get(connectInfo.getDBType(), "/JDBC/PreparedStatement/", method), connectInfo
                         .getDatabasePeer());
         try {
             Tags.DB_TYPE.set(span, connectInfo.getDBType());
@@ -45,29 +44,16 @@ public class PreparedStatementTracing {
             Tags.DB_STATEMENT.set(span, sql);
             span.setComponent(connectInfo.getComponent());
             SpanLayer.asDB(span);
-            if (JDBCPluginConfig.Plugin.JDBC.TRACE_SQL_PARAMETERS && Objects.nonNull(statementEnhanceInfos)) {
-                final Object[] parameters = statementEnhanceInfos.getParameters();
-                if (parameters != null && parameters.length > 0) {
-                    int maxIndex = statementEnhanceInfos.getMaxIndex();
-                    Tags.SQL_PARAMETERS.set(span, getParameterString(parameters, maxIndex));
-                }
-            }
             return exec.exe(realStatement, sql);
         } catch (SQLException e) {
             span.log(e);
             throw e;
         } finally {
+            SqlParametersUtil.tagParameters(span, statementEnhanceInfos);
             ContextManager.stopSpan(span);
         }
     }
 
-    private static String getParameterString(Object[] parameters, int maxIndex) {
-        return new PreparedStatementParameterBuilder()
-                .setParameters(parameters)
-                .setMaxIndex(maxIndex)
-                .build();
-    }
-
     public interface Executable<R> {
 
         R exe(java.sql.PreparedStatement realConnection, String sql) throws SQLException;
@@ -18,6 +18,7 @@
 
 package org.apache.skywalking.apm.plugin.jdbc;
 
+import org.junit.After;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.is;
@@ -28,6 +29,12 @@ public class PreparedStatementParameterBuilderTest {
     private static final String EMPTY_LIST = "[]";
     private PreparedStatementParameterBuilder builder;
 
+    @After
+    public void clean() {
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH = 512;
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_COUNT = -1;
+    }
+
     @Test
     public void testDefaultBuilder() {
         builder = new PreparedStatementParameterBuilder();
@@ -107,4 +114,44 @@ public class PreparedStatementParameterBuilderTest {
         JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH = 20;
         assertThat(builder.build(), is("[test,1234]"));
     }
+
+    @Test
+    public void testMaxLengthOfLargeParameter() {
+        builder = new PreparedStatementParameterBuilder();
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            large.append('x');
+        }
+        builder.setParameters(new Object[]{"test", large.toString()});
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH = 10;
+        assertThat(builder.build(), is("[test,xxxx..."));
+        // the buffer is reused by the next build
+        builder.setParameters(PARAMETERS);
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH = 20;
+        assertThat(builder.build(), is("[test,1234]"));
+    }
+
+    @Test
+    public void testMaxCount() {
+        builder = new PreparedStatementParameterBuilder();
+        builder.setParameters(new Object[]{"a", "b", "c"});
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_COUNT = 2;
+        assertThat(builder.build(), is("[a,b,...]"));
+
+        builder.setMaxIndex(2);
+        assertThat(builder.build(), is("[a,b]"));
+
+        // the parameters out of the count are not kept
+        builder.setParameters(new Object[]{"a", "b"}).setMaxIndex(1000);
+        assertThat(builder.build(), is("[a,b,...]"));
+
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_COUNT = 0;
+        assertThat(builder.build(), is("[...]"));
+
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_COUNT = 2;
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH = 5;
+        assertThat(builder.build(), is("[a,b,...]"));
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_LENGTH = 3;
+        assertThat(builder.build(), is("[a,..."));
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdbc;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.skywalking.apm.agent.core.context.trace.ExitSpan;
+import org.apache.skywalking.apm.plugin.jdbc.define.StatementEnhanceInfos;
+import org.apache.skywalking.apm.plugin.jdbc.trace.ConnectionInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * A batch insert of 1000 rows in 5 columns binds 5000 parameters, then the parameters are tagged on the exit span.
+ * <ul>
+ *     <li>full: all the parameters are kept, as before {@code SQL_PARAMETERS_MAX_COUNT} was introduced</li>
+ *     <li>bounded: only the first 100 parameters are kept and formatted</li>
+ *     <li>slow: the statement is faster than {@code SQL_PARAMETERS_SLOW_THRESHOLD}, nothing is formatted</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SqlParametersBenchmark {
+    private static final int ROWS = 1000;
+    private static final int COLUMNS = 5;
+    private static final String SQL = "insert into t_user (id, name, email, age, created) values (?, ?, ?, ?, ?)";
+
+    @Param({
+        "full",
+        "bounded",
+        "slow"
+    })
+    public String capture;
+
+    private final ConnectionInfo connectionInfo = new ConnectionInfo(null, "Mysql", "127.0.0.1", 3306, "test");
+    private final Object[][] rows = new Object[ROWS][];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        JDBCPluginConfig.Plugin.JDBC.TRACE_SQL_PARAMETERS = true;
+        switch (capture) {
+            case "bounded":
+                JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_COUNT = 100;
+                break;
+            case "slow":
+                JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_SLOW_THRESHOLD = 100;
+                break;
+            default:
+        }
+        for (int i = 0; i < ROWS; i++) {
+            rows[i] = new Object[] {
+                (long) i,
+                "user-" + i,
+                "user-" + i + "@example.com",
+                20 + i % 50,
+                "2023-01-01 00:00:00"
+            };
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        JDBCPluginConfig.Plugin.JDBC.TRACE_SQL_PARAMETERS = false;
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_MAX_COUNT = -1;
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_SLOW_THRESHOLD = -1;
+    }
+
+    @Benchmark
+    public ExitSpan executeBatch() {
+        StatementEnhanceInfos statementEnhanceInfos = new StatementEnhanceInfos(connectionInfo, SQL, "PreparedStatement");
+        int index = 1;
+        for (Object[] row : rows) {
+            for (Object value : row) {
+                statementEnhanceInfos.setParameter(index++, value);
+            }
+        }
+        ExitSpan span = new ExitSpan(1, 0, "Mysql/JDBC/PreparedStatement/executeBatch", "127.0.0.1:3306", null);
+        span.start();
+        SqlParametersUtil.tagParameters(span, statementEnhanceInfos);
+        return span;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder().include(SqlParametersBenchmark.class.getName()).forks(1).build();
+        new Runner(opt).run();
+    }
+
+    /**
+     * # JMH version: 1.33
+     * # VM version: JDK 17.0.9, OpenJDK 64-Bit Server VM, 17.0.9+9
+     * # Warmup: 3 iterations, 2 s each
+     * # Measurement: 5 iterations, 2 s each
+     * # Threads: 1 thread, will synchronize iterations
+     * # Benchmark mode: Average time, time/op
+     *
+     * Before SQL_PARAMETERS_MAX_COUNT and SQL_PARAMETERS_SLOW_THRESHOLD:
+     * Benchmark                                                   (capture)  Mode  Cnt      Score     Error  Units
+     * SqlParametersBenchmark.executeBatch                              full  avgt    5     57.497 ±   6.863  us/op
+     * SqlParametersBenchmark.executeBatch:·gc.alloc.rate.norm          full  avgt    5  73817.543 ±   1.115   B/op
+     *
+     * After:
+     * Benchmark                                                   (capture)  Mode  Cnt      Score     Error  Units
+     * SqlParametersBenchmark.executeBatch                              full  avgt    5     59.464 ±   8.879  us/op
+     * SqlParametersBenchmark.executeBatch:·gc.alloc.rate.norm          full  avgt    5  67516.031 ±   2.270   B/op
+     * SqlParametersBenchmark.executeBatch                           bounded  avgt    5     20.080 ±   7.342  us/op
+     * SqlParametersBenchmark.executeBatch:·gc.alloc.rate.norm       bounded  avgt    5   2850.835 ±   0.261   B/op
+     * SqlParametersBenchmark.executeBatch                              slow  avgt    5     57.886 ±  21.837  us/op
+     * SqlParametersBenchmark.executeBatch:·gc.alloc.rate.norm          slow  avgt    5  65776.369 ±  51.423   B/op
+     */
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jdbc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.apache.skywalking.apm.agent.core.context.tag.AbstractTag;
+import org.apache.skywalking.apm.agent.core.context.tag.Tags;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.NoopSpan;
+import org.apache.skywalking.apm.plugin.jdbc.define.StatementEnhanceInfos;
+import org.apache.skywalking.apm.plugin.jdbc.trace.ConnectionInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SqlParametersUtilTest {
+    private StatementEnhanceInfos statementEnhanceInfos;
+
+    @Before
+    public void setUp() {
+        JDBCPluginConfig.Plugin.JDBC.TRACE_SQL_PARAMETERS = true;
+        statementEnhanceInfos = new StatementEnhanceInfos(mock(ConnectionInfo.class), "select ?", "PreparedStatement");
+        statementEnhanceInfos.setParameter(1, "abcd");
+    }
+
+    @After
+    public void clean() {
+        JDBCPluginConfig.Plugin.JDBC.TRACE_SQL_PARAMETERS = false;
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_SLOW_THRESHOLD = -1;
+    }
+
+    @Test
+    public void testTagParameters() {
+        AbstractSpan span = mock(AbstractSpan.class);
+        SqlParametersUtil.tagParameters(span, statementEnhanceInfos);
+        verify(span).tag(eq(Tags.SQL_PARAMETERS), eq("[abcd]"));
+    }
+
+    @Test
+    public void testTraceSqlParametersOff() {
+        JDBCPluginConfig.Plugin.JDBC.TRACE_SQL_PARAMETERS = false;
+        AbstractSpan span = mock(AbstractSpan.class);
+        SqlParametersUtil.tagParameters(span, statementEnhanceInfos);
+        verify(span, never()).tag(any(AbstractTag.class), anyString());
+    }
+
+    @Test
+    public void testNoopSpan() {
+        NoopSpan span = mock(NoopSpan.class);
+        SqlParametersUtil.tagParameters(span, statementEnhanceInfos);
+        verify(span, never()).tag(any(AbstractTag.class), anyString());
+    }
+
+    @Test
+    public void testSlowThreshold() {
+        JDBCPluginConfig.Plugin.JDBC.SQL_PARAMETERS_SLOW_THRESHOLD = 60_000;
+        AbstractSpan span = mock(AbstractSpan.class);
+        when(span.getStartTime()).thenReturn(System.currentTimeMillis());
+        SqlParametersUtil.tagParameters(span, statementEnhanceInfos);
+        verify(span, never()).tag(any(AbstractTag.class), anyString());
+
+        // the span started a minute ago
+        when(span.getStartTime()).thenReturn(System.currentTimeMillis() - 60_000);
+        SqlParametersUtil.tagParameters(span, statementEnhanceInfos);
+        verify(span).tag(eq(Tags.SQL_PARAMETERS), eq("[abcd]"));
+    }
+}
@@ -21,6 +21,7 @@ import org.apache.skywalking.apm.agent.core.context.ContextManager;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
+import org.apache.skywalking.apm.agent.core.context.util.OperationNameRegistry;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
@@ -38,7 +39,7 @@ public class JedisMethodInterceptor implements InstanceMethodsAroundInterceptor
     public void beforeMethod(EnhancedInstance objInst, Method method, Object[] allArguments, Class<?>[] argumentsTypes,
                              MethodInterceptResult result) throws Throwable {
         String peer = String.valueOf(objInst.getSkyWalkingDynamicField());
-        AbstractSpan span = ContextManager.createExitSpan("Jedis/" + method.getName(), peer);
+        AbstractSpan span = ContextManager.createExitSpan(OperationNameRegistry.get("Jedis/", method.getName()), peer);
         span.setComponent(ComponentsDefine.JEDIS);
         SpanLayer.asCache(span);
         String methodName = method.getName();
@@ -22,6 +22,7 @@ import org.apache.skywalking.apm.agent.core.context.tag.StringTag;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
+import org.apache.skywalking.apm.agent.core.context.util.OperationNameRegistry;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
@@ -55,7 +56,7 @@ public abstract class AbstractConnectionInterceptor implements InstanceMethodsAr
         ConnectionInformation connectionData = (ConnectionInformation) objInst.getSkyWalkingDynamicField();
         // Use cluster information to adapt Virtual Cache if exists, otherwise use real server host
         String peer =  StringUtil.isBlank(connectionData.getClusterNodes()) ? connectionData.getActualTarget() : connectionData.getClusterNodes();
-        AbstractSpan span = ContextManager.createExitSpan("Jedis/" + cmd, peer);
+        AbstractSpan span = ContextManager.createExitSpan(OperationNameRegistry.get("Jedis/", cmd), peer);
         span.setComponent(ComponentsDefine.JEDIS);
         readKeyIfNecessary(iterator).ifPresent(key -> Tags.CACHE_KEY.set(span, key));
         Tags.CACHE_CMD.set(span, cmd);
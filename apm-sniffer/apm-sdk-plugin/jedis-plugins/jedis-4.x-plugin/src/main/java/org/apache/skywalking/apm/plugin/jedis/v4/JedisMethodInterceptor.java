@@ -22,6 +22,7 @@ import org.apache.skywalking.apm.agent.core.context.tag.StringTag;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
+import org.apache.skywalking.apm.agent.core.context.util.OperationNameRegistry;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
@@ -39,7 +40,7 @@ public class JedisMethodInterceptor implements InstanceMethodsAroundInterceptor
         final ConnectionInformation connectionData = (ConnectionInformation) objInst.getSkyWalkingDynamicField();
         // Use cluster information to adapt Virtual Cache if exists, otherwise use real server host
         String peer =  StringUtil.isBlank(connectionData.getClusterNodes()) ? connectionData.getActualTarget() : connectionData.getClusterNodes();
-        AbstractSpan span = ContextManager.createExitSpan("Jedis/" + method.getName(), peer);
+        AbstractSpan span = ContextManager.createExitSpan(OperationNameRegistry.get("Jedis/", method.getName()), peer);
         span.setComponent(ComponentsDefine.JEDIS);
         SpanLayer.asCache(span);
         Tags.CACHE_TYPE.set(span, "Redis");
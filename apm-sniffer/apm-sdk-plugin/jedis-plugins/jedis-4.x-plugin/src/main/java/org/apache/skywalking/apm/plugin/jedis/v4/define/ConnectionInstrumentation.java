@@ -78,4 +78,12 @@ public class ConnectionInstrumentation extends AbstractWitnessInstrumentation {
                 }
         };
     }
+
+    /**
+     * Every command goes through {@code executeCommand}, which is declared by the connection itself.
+     */
+    @Override
+    public boolean isAdviceInlined() {
+        return true;
+    }
 }
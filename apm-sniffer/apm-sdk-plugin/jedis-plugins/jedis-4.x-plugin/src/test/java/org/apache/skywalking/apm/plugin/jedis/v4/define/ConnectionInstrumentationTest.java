@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.apache.skywalking.apm.plugin.jedis.v4.define;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.ClassFileLocator;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.pool.TypePool;
+import org.apache.skywalking.apm.agent.core.context.trace.AbstractTracingSpan;
+import org.apache.skywalking.apm.agent.core.context.trace.TraceSegment;
+import org.apache.skywalking.apm.agent.core.plugin.EnhanceContext;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.AdvisedMethod;
+import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.ConstructorInter;
+import org.apache.skywalking.apm.agent.test.helper.SegmentHelper;
+import org.apache.skywalking.apm.agent.test.helper.SpanHelper;
+import org.apache.skywalking.apm.agent.test.tools.AgentServiceRule;
+import org.apache.skywalking.apm.agent.test.tools.SegmentStorage;
+import org.apache.skywalking.apm.agent.test.tools.SegmentStoragePoint;
+import org.apache.skywalking.apm.agent.test.tools.TracingSegmentRunner;
+import org.apache.skywalking.apm.plugin.jedis.v4.ConnectionExecuteInterceptor;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import redis.clients.jedis.Connection;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.exceptions.JedisConnectionException;
+
+@RunWith(TracingSegmentRunner.class)
+public class ConnectionInstrumentationTest {
+    private static final String ENHANCE_CLASS = "redis.clients.jedis.Connection";
+
+    @SegmentStoragePoint
+    private SegmentStorage segmentStorage;
+
+    @Rule
+    public AgentServiceRule serviceRule = new AgentServiceRule();
+
+    @Test
+    public void testInlinedExecuteInterceptor() throws Exception {
+        ConnectionInstrumentation define = new ConnectionInstrumentation() {
+            {
+                // named by the plugin definition file in the agent
+                setPluginName("jedis-4.x");
+            }
+        };
+        Assert.assertTrue(define.isAdviceInlined());
+
+        // enhance the connection class before it is loaded, as the agent does
+        ClassLoader classLoader = ConnectionInstrumentationTest.class.getClassLoader();
+        TypeDescription typeDescription = TypePool.Default.of(classLoader).describe(ENHANCE_CLASS).resolve();
+        DynamicType.Builder<?> builder = new ByteBuddy().rebase(typeDescription, ClassFileLocator.ForClassLoader.of(classLoader));
+        builder = define.define(typeDescription, builder, classLoader, new EnhanceContext());
+        builder.make().load(classLoader, ClassLoadingStrategy.Default.INJECTION);
+
+        // nothing listens on port 1, so the command fails when connecting
+        Jedis jedis = new Jedis(new HostAndPort("127.0.0.1", 1));
+        Assert.assertTrue(jedis.getConnection() instanceof EnhancedInstance);
+        try {
+            jedis.get("mykey");
+            Assert.fail();
+        } catch (JedisConnectionException e) {
+            // expected
+        }
+
+        // the interceptor is inlined into Connection#executeCommand, with no delegate of the instance methods, while
+        // the constructor still delegates to ConstructorInter
+        for (Field field : Connection.class.getDeclaredFields()) {
+            String typeName = field.getType().getSimpleName();
+            Assert.assertFalse(
+                field.getName() + " " + typeName,
+                typeName.contains("Inter") && !field.getType().equals(ConstructorInter.class)
+            );
+        }
+        // the advised method is resolved by its first call
+        AdvisedMethod executeCommand = null;
+        for (AdvisedMethod advisedMethod : advisedMethods()) {
+            if (advisedMethod.getMethod() != null && advisedMethod.getMethod().getDeclaringClass().equals(Connection.class)) {
+                executeCommand = advisedMethod;
+            }
+        }
+        Assert.assertNotNull(executeCommand);
+        Assert.assertEquals("executeCommand", executeCommand.getMethod().getName());
+        Assert.assertTrue(executeCommand.getInterceptor() instanceof ConnectionExecuteInterceptor);
+
+        List<TraceSegment> traceSegments = segmentStorage.getTraceSegments();
+        Assert.assertEquals(1, traceSegments.size());
+        List<AbstractTracingSpan> spans = SegmentHelper.getSpans(traceSegments.get(0));
+        Assert.assertEquals(1, spans.size());
+        AbstractTracingSpan span = spans.get(0);
+        Assert.assertEquals("Jedis/get", span.getOperationName());
+        Assert.assertTrue(span.isExit());
+        Assert.assertEquals("127.0.0.1:1", SpanHelper.getPeer(span));
+        Assert.assertTrue(SpanHelper.getErrorOccurred(span));
+        Assert.assertEquals(1, SpanHelper.getLogs(span).size());
+    }
+
+    private static AdvisedMethod[] advisedMethods() throws Exception {
+        Field advisedMethods = AdvisedMethod.class.getDeclaredField("ADVISED_METHODS");
+        advisedMethods.setAccessible(true);
+        return (AdvisedMethod[]) advisedMethods.get(null);
+    }
+}
@@ -22,12 +22,12 @@ import org.apache.skywalking.apm.agent.core.context.ContextManager;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
+import org.apache.skywalking.apm.agent.core.context.util.OperationNameRegistry;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
-import org.apache.skywalking.apm.plugin.jdbc.JDBCPluginConfig;
-import org.apache.skywalking.apm.plugin.jdbc.PreparedStatementParameterBuilder;
 import org.apache.skywalking.apm.plugin.jdbc.SqlBodyUtil;
+import org.apache.skywalking.apm.plugin.jdbc.SqlParametersUtil;
 import org.apache.skywalking.apm.plugin.jdbc.define.StatementEnhanceInfos;
 import org.apache.skywalking.apm.plugin.jdbc.trace.ConnectionInfo;
 
@@ -50,14 +50,6 @@ public class PreparedStatementExecuteMethodsInterceptor implements InstanceMetho
         Tags.DB_STATEMENT.set(span, SqlBodyUtil.limitSqlBodySize(cacheObject.getSql()));
         span.setComponent(connectInfo.getComponent());
 
-        if (JDBCPluginConfig.Plugin.JDBC.TRACE_SQL_PARAMETERS) {
-            final Object[] parameters = cacheObject.getParameters();
-            if (parameters != null && parameters.length > 0) {
-                int maxIndex = cacheObject.getMaxIndex();
-                Tags.SQL_PARAMETERS.set(span, getParameterString(parameters, maxIndex));
-            }
-        }
-
         SpanLayer.asDB(span);
     }
 
@@ -66,6 +58,7 @@ public class PreparedStatementExecuteMethodsInterceptor implements InstanceMetho
                                     Class<?>[] argumentsTypes, Object ret) {
         StatementEnhanceInfos cacheObject = (StatementEnhanceInfos) objInst.getSkyWalkingDynamicField();
         if (cacheObject.getConnectionInfo() != null) {
+            SqlParametersUtil.tagParameters(ContextManager.activeSpan(), cacheObject);
             ContextManager.stopSpan();
         }
         return ret;
@@ -81,13 +74,6 @@ public class PreparedStatementExecuteMethodsInterceptor implements InstanceMetho
     }
 
     private String buildOperationName(ConnectionInfo connectionInfo, String methodName, String statementName) {
-        return connectionInfo.getDBType() + "/JDBC/" + statementName + "/" + methodName;
-    }
-
-    private String getParameterString(Object[] parameters, int maxIndex) {
-        return new PreparedStatementParameterBuilder()
-            .setParameters(parameters)
-            .setMaxIndex(maxIndex)
-            .build();
+        return OperationNameRegistry.get(connectionInfo.getDBType(), "/JDBC/", statementName, "/", methodName);
     }
 }
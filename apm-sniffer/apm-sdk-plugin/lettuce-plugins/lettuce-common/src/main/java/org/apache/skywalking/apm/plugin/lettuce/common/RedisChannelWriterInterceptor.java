@@ -28,6 +28,7 @@ import org.apache.skywalking.apm.agent.core.context.ContextManager;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
+import org.apache.skywalking.apm.agent.core.context.util.OperationNameRegistry;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.InstanceMethodsAroundInterceptor;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.MethodInterceptResult;
@@ -73,12 +74,12 @@ public class RedisChannelWriterInterceptor implements InstanceMethodsAroundInter
         if (allArguments[0] instanceof RedisCommand) {
             RedisCommand<?, ?, ?> redisCommand = (RedisCommand<?, ?, ?>) allArguments[0];
             command = getCommandName(redisCommand.getType());
-            operationName = operationName + command;
+            operationName = OperationNameRegistry.get(operationName, command);
             if (LettucePluginConfig.Plugin.Lettuce.TRACE_REDIS_PARAMETERS) {
                 key = getArgsKey(redisCommand);
             }
         } else if (allArguments[0] instanceof Collection) {
-            operationName = operationName + "BATCH_WRITE";
+            operationName = OperationNameRegistry.get(operationName, "BATCH_WRITE");
             command = "BATCH_WRITE";
         }
         AbstractSpan span = ContextManager.createExitSpan(operationName, peer);
@@ -26,6 +26,7 @@ import org.apache.skywalking.apm.agent.core.context.ContextManager;
 import org.apache.skywalking.apm.agent.core.context.tag.Tags;
 import org.apache.skywalking.apm.agent.core.context.trace.AbstractSpan;
 import org.apache.skywalking.apm.agent.core.context.trace.SpanLayer;
+import org.apache.skywalking.apm.agent.core.context.util.OperationNameRegistry;
 import org.apache.skywalking.apm.agent.core.logging.api.ILog;
 import org.apache.skywalking.apm.agent.core.logging.api.LogManager;
 import org.apache.skywalking.apm.agent.core.plugin.interceptor.enhance.EnhancedInstance;
@@ -67,7 +68,7 @@ public class RedisConnectionMethodInterceptor implements InstanceMethodsAroundIn
         Object[] arguments = new Object[0];
 
         if (allArguments[0] instanceof CommandsData) {
-            operationName = operationName + "BATCH_EXECUTE";
+            operationName = OperationNameRegistry.get(operationName, "BATCH_EXECUTE");
             command = "BATCH_EXECUTE";
             if (RedissonPluginConfig.Plugin.Redisson.SHOW_BATCH_COMMANDS) {
                 command += ":" + showBatchCommands((CommandsData) allArguments[0]);
@@ -78,7 +79,7 @@ public class RedisConnectionMethodInterceptor implements InstanceMethodsAroundIn
             if ("PING".equals(command) && !RedissonPluginConfig.Plugin.Redisson.SHOW_PING_COMMAND) {
                 return;
             } else {
-                operationName = operationName + command;
+                operationName = OperationNameRegistry.get(operationName, command);
                 arguments = commandData.getParams();
             }
         }
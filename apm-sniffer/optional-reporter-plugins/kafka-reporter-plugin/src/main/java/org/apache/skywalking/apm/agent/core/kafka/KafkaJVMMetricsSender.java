@@ -53,7 +53,7 @@ public class KafkaJVMMetricsSender extends JVMMetricsSender implements KafkaConn
 
             if (producer != null) {
                 JVMMetricCollection metrics = JVMMetricCollection.newBuilder()
-                                                                 .addAllMetrics(buffer)
+                                                                 .addAllMetrics(omitUnchanged(buffer))
                                                                  .setService(Config.Agent.SERVICE_NAME)
                                                                  .setServiceInstance(Config.Agent.INSTANCE_NAME)
                                                                  .build();
@@ -36,10 +36,11 @@ import org.apache.skywalking.apm.agent.core.remote.TraceSegmentServiceClient;
 import org.apache.skywalking.apm.commons.datacarrier.DataCarrier;
 import org.apache.skywalking.apm.commons.datacarrier.buffer.BufferStrategy;
 import org.apache.skywalking.apm.commons.datacarrier.consumer.IConsumer;
-import org.apache.skywalking.apm.network.language.agent.v3.SegmentObject;
 
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.BUFFER_SIZE;
 import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.CHANNEL_SIZE;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.CONSUME_CYCLE;
+import static org.apache.skywalking.apm.agent.core.conf.Config.Buffer.SEGMENT_WAIT_STRATEGY;
 
 /**
  * A tracing segment data reporter.
@@ -63,7 +64,7 @@ public class KafkaTraceSegmentServiceClient implements BootService, IConsumer<Tr
     @Override
     public void boot() {
         carrier = new DataCarrier<>(CHANNEL_SIZE, BUFFER_SIZE, BufferStrategy.IF_POSSIBLE);
-        carrier.consume(this, 1);
+        carrier.consume(this, 1, CONSUME_CYCLE, SEGMENT_WAIT_STRATEGY);
     }
 
     @Override
@@ -85,15 +86,17 @@ public class KafkaTraceSegmentServiceClient implements BootService, IConsumer<Tr
     @Override
     public void consume(final List<TraceSegment> data) {
         if (producer == null) {
+            data.forEach(TraceSegment::release);
             return;
         }
         data.forEach(traceSegment -> {
-            SegmentObject upstreamSegment = traceSegment.transform();
             ProducerRecord<String, Bytes> record = new ProducerRecord<>(
                 topic,
-                upstreamSegment.getTraceSegmentId(),
-                Bytes.wrap(upstreamSegment.toByteArray())
+                traceSegment.getTraceSegmentId(),
+                Bytes.wrap(traceSegment.encode())
             );
+            // Encoded already, the segment could be recycled.
+            traceSegment.release();
             producer.send(record, (m, e) -> {
                 if (Objects.nonNull(e)) {
                     LOGGER.error("Failed to report TraceSegment.", e);
@@ -122,7 +125,10 @@ public class KafkaTraceSegmentServiceClient implements BootService, IConsumer<Tr
             LOGGER.debug("Trace[TraceId={}] is ignored.", traceSegment.getTraceSegmentId());
             return;
         }
-        carrier.produce(traceSegment);
+        traceSegment.retain();
+        if (!carrier.produce(traceSegment)) {
+            traceSegment.release();
+        }
     }
 
     @Override